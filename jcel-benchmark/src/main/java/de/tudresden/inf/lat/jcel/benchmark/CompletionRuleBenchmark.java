@@ -0,0 +1,289 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.ClassifierStatusImpl;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.CompletionRuleChainSelector;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RChain;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.SChain;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR1SRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR2SRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR3SRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR4RRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR4SRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR5RRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR6RRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR6RTrRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR7RRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR7SRule;
+import de.tudresden.inf.lat.jcel.core.completion.common.REntry;
+import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.core.completion.common.SEntry;
+import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR3SExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR4RExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR4SExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR5RExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR6RExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR6SExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR7RExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR8RExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR8SExtRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR9RExtOptRule;
+import de.tudresden.inf.lat.jcel.core.completion.ext.CR9RExtRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntologyImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.ComplexAxiomExpressivityDetector;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.normalization.OntologyNormalizer;
+
+/**
+ * Benchmark of the individual completion rules. The classifier status is
+ * prepared by saturating a generated ontology with the rule chains selected
+ * for its expressivity. Each invocation applies one rule to every entry of S
+ * (for the rules observing S) or of R (for the rules observing R). Since the
+ * status is already saturated, the entries produced by the rule are already
+ * in S or R, but the rule still adds them to the queues of pending entries.
+ * The measured time is then the time needed to match the rule and to add the
+ * produced entries to those queues. The queues are emptied before each
+ * invocation, so every invocation starts with empty queues. Each invocation
+ * takes milliseconds, so the overhead of a setup at the level of invocations
+ * is negligible.
+ * 
+ * @see SObserverRule
+ * @see RObserverRule
+ * 
+ * @author Julian Mendez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompletionRuleBenchmark {
+
+	private static final int numberOfObjectProperties = 0x10;
+
+	/**
+	 * Number of classes of the generated ontology.
+	 */
+	@Param({ "1000", "10000" })
+	public int numberOfClasses;
+
+	/**
+	 * Simple name of the class of the completion rule. Any completion rule can
+	 * be given, but the default values are the rules selected for the
+	 * generated ontology.
+	 */
+	@Param({ "CR1SRule", "CR2SRule", "CR3SRule", "CR4SRule", "CR4RRule", "CR5RRule", "CR6RTrRule" })
+	public String rule;
+
+	private int[] relationLeft;
+	private int[] relationProperty;
+	private int[] relationRight;
+	private Map<String, RObserverRule> rObserverRules;
+	private Map<String, SObserverRule> sObserverRules;
+	private ClassifierStatusImpl status;
+	private int[] subsumee;
+	private int[] subsumer;
+
+	/**
+	 * Constructs a new benchmark of the completion rules.
+	 */
+	public CompletionRuleBenchmark() {
+	}
+
+	/**
+	 * Applies the completion rule to every entry of S or R, depending on the
+	 * rule.
+	 * 
+	 * @return the number of entries where the rule was applied
+	 */
+	@Benchmark
+	public int apply() {
+		int ret = 0;
+		if (this.sObserverRules.containsKey(this.rule)) {
+			SObserverRule current = this.sObserverRules.get(this.rule);
+			for (int i = 0; i < this.subsumee.length; i++) {
+				if (current.apply(this.status, this.subsumee[i], this.subsumer[i])) {
+					ret++;
+				}
+			}
+		} else {
+			RObserverRule current = this.rObserverRules.get(this.rule);
+			for (int i = 0; i < this.relationProperty.length; i++) {
+				if (current.apply(this.status, this.relationProperty[i], this.relationLeft[i],
+						this.relationRight[i])) {
+					ret++;
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Removes the entries that the previous invocation added to the queues of
+	 * pending entries of S and R.
+	 */
+	@Setup(Level.Invocation)
+	public void clearQueues() {
+		while (this.status.getNumberOfSEntries() > 0) {
+			this.status.removeNextSEntry();
+		}
+		while (this.status.getNumberOfREntries() > 0) {
+			this.status.removeNextREntry();
+		}
+	}
+
+	private void createRules() {
+		List<SObserverRule> listS = Arrays.asList(new CR1SRule(), new CR2SRule(), new CR3SRule(), new CR4SRule(),
+				new CR7SRule(), new CR3SExtRule(), new CR4SExtRule(), new CR6SExtRule(), new CR8SExtRule());
+		this.sObserverRules = new TreeMap<>();
+		listS.forEach(elem -> this.sObserverRules.put(elem.getClass().getSimpleName(), elem));
+
+		List<RObserverRule> listR = Arrays.asList(new CR4RRule(), new CR5RRule(), new CR6RRule(), new CR6RTrRule(),
+				new CR7RRule(), new CR4RExtRule(), new CR5RExtRule(), new CR6RExtRule(), new CR7RExtRule(),
+				new CR8RExtRule(), new CR9RExtRule(), new CR9RExtOptRule());
+		this.rObserverRules = new TreeMap<>();
+		listR.forEach(elem -> this.rObserverRules.put(elem.getClass().getSimpleName(), elem));
+	}
+
+	private void saturate(SChain chainS, RChain chainR) {
+		while ((this.status.getNumberOfSEntries() > 0) || (this.status.getNumberOfREntries() > 0)) {
+			if (this.status.getNumberOfSEntries() > 0) {
+				SEntry entry = this.status.removeNextSEntry();
+				if (this.status.addToS(entry.getSubClass(), entry.getSuperClass())) {
+					chainS.apply(this.status, entry.getSubClass(), entry.getSuperClass());
+				}
+			} else {
+				REntry entry = this.status.removeNextREntry();
+				if (this.status.addToR(entry.getProperty(), entry.getLeftClass(), entry.getRightClass())) {
+					chainR.apply(this.status, entry.getProperty(), entry.getLeftClass(), entry.getRightClass());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates the ontology, saturates the classifier status, and collects the
+	 * entries of S and R.
+	 */
+	@Setup
+	public void setUp() {
+		createRules();
+		if (!this.sObserverRules.containsKey(this.rule) && !this.rObserverRules.containsKey(this.rule)) {
+			throw new IllegalArgumentException("Invalid completion rule: '" + this.rule + "'.");
+		}
+
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		Set<ComplexIntegerAxiom> axioms = new OntologyGenerator(factory, OntologyGenerator.defaultSeed)
+				.createOntology(this.numberOfClasses, numberOfObjectProperties);
+		Set<Integer> classSet = new HashSet<>();
+		Set<Integer> objectPropertySet = new HashSet<>();
+		axioms.forEach(axiom -> {
+			classSet.addAll(axiom.getClassesInSignature());
+			objectPropertySet.addAll(axiom.getObjectPropertiesInSignature());
+		});
+		Set<NormalizedIntegerAxiom> normalizedAxioms = new OntologyNormalizer().normalize(axioms, factory);
+
+		ExtendedOntologyImpl extendedOntology = new ExtendedOntologyImpl();
+		extendedOntology.load(normalizedAxioms);
+		objectPropertySet.forEach(elem -> extendedOntology.addObjectProperty(elem));
+		classSet.forEach(elem -> extendedOntology.addClass(elem));
+
+		IntegerEntityManager entityManager = factory.getEntityManager();
+		this.status = new ClassifierStatusImpl(entityManager, extendedOntology);
+		extendedOntology.getClassSet().forEach(className -> {
+			this.status.addNewSEntry(className, className);
+			this.status.addNewSEntry(className, IntegerEntityManager.topClassId);
+		});
+		CompletionRuleChainSelector selector = new CompletionRuleChainSelector(
+				new ComplexAxiomExpressivityDetector(axioms));
+		saturate(selector.getSChain(), selector.getRChain());
+
+		List<int[]> pairs = new ArrayList<>();
+		List<int[]> triples = new ArrayList<>();
+		for (int classId = 0; classId < entityManager.size(); classId++) {
+			int x = classId;
+			this.status.getSubsumers(x).forEach(a -> pairs.add(new int[] { x, a }));
+			this.status.getObjectPropertiesByFirst(x).forEach(r -> this.status.getSecondByFirst(r, x)
+					.forEach(y -> triples.add(new int[] { r, x, y })));
+		}
+		this.subsumee = pairs.stream().mapToInt(pair -> pair[0]).toArray();
+		this.subsumer = pairs.stream().mapToInt(pair -> pair[1]).toArray();
+		this.relationProperty = triples.stream().mapToInt(triple -> triple[0]).toArray();
+		this.relationLeft = triples.stream().mapToInt(triple -> triple[1]).toArray();
+		this.relationRight = triples.stream().mapToInt(triple -> triple[2]).toArray();
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraphImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerRelationMapImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraphImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+
+/**
+ * Benchmark of the construction of the graphs that store the sets S and R and
+ * of the class hierarchy computed from S. The subsumers are the transitive
+ * closure of a random directed acyclic graph where each class has one or two
+ * parents.
+ * 
+ * @see IntegerSubsumerGraphImpl
+ * @see IntegerRelationMapImpl
+ * @see IntegerHierarchicalGraphImpl
+ * 
+ * @author Julian Mendez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GraphBenchmark {
+
+	private static final int bottomClassId = IntegerEntityManager.bottomClassId;
+	private static final int firstClassId = IntegerEntityManager.firstUsableIdentifier;
+	private static final int numberOfObjectProperties = 0x10;
+	private static final int topClassId = IntegerEntityManager.topClassId;
+
+	/**
+	 * Number of classes.
+	 */
+	@Param({ "1000", "10000" })
+	public int numberOfClasses;
+
+	private int[] relationLeft;
+	private int[] relationProperty;
+	private int[] relationRight;
+	private int[] subsumee;
+	private int[] subsumer;
+	private IntegerSubsumerGraphImpl subsumerGraph;
+
+	/**
+	 * Constructs a new benchmark of the graphs.
+	 */
+	public GraphBenchmark() {
+	}
+
+	/**
+	 * Builds the class hierarchy from a prepared graph of subsumers.
+	 * 
+	 * @return the class hierarchy
+	 */
+	@Benchmark
+	public IntegerHierarchicalGraphImpl buildHierarchicalGraph() {
+		return new IntegerHierarchicalGraphImpl(this.subsumerGraph);
+	}
+
+	/**
+	 * Adds all the prepared triples to an empty relation map.
+	 * 
+	 * @return the relation map
+	 */
+	@Benchmark
+	public IntegerRelationMapImpl buildRelationMap() {
+		IntegerRelationMapImpl ret = new IntegerRelationMapImpl();
+		for (int i = 0; i < this.relationProperty.length; i++) {
+			ret.add(this.relationProperty[i], this.relationLeft[i], this.relationRight[i]);
+		}
+		return ret;
+	}
+
+	/**
+	 * Adds all the prepared pairs to an empty graph of subsumers.
+	 * 
+	 * @return the graph of subsumers
+	 */
+	@Benchmark
+	public IntegerSubsumerGraphImpl buildSubsumerGraph() {
+		IntegerSubsumerGraphImpl ret = new IntegerSubsumerGraphImpl(bottomClassId, topClassId);
+		for (int i = 0; i < this.subsumee.length; i++) {
+			ret.addAncestor(this.subsumee[i], this.subsumer[i]);
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates the pairs of S, the triples of R, and the graph of subsumers.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(OntologyGenerator.defaultSeed);
+
+		List<Set<Integer>> closure = new ArrayList<>();
+		int numberOfPairs = 0;
+		for (int i = 0; i < this.numberOfClasses; i++) {
+			Set<Integer> subsumers = new TreeSet<>();
+			subsumers.add(firstClassId + i);
+			subsumers.add(topClassId);
+			if (i > 0) {
+				subsumers.addAll(closure.get(random.nextInt(i)));
+				if (random.nextBoolean()) {
+					subsumers.addAll(closure.get(random.nextInt(i)));
+				}
+			}
+			closure.add(subsumers);
+			numberOfPairs += subsumers.size();
+		}
+
+		this.subsumee = new int[numberOfPairs];
+		this.subsumer = new int[numberOfPairs];
+		int index = 0;
+		for (int i = 0; i < this.numberOfClasses; i++) {
+			for (int elem : closure.get(i)) {
+				this.subsumee[index] = firstClassId + i;
+				this.subsumer[index] = elem;
+				index++;
+			}
+		}
+		this.subsumerGraph = buildSubsumerGraph();
+
+		int numberOfTriples = 4 * this.numberOfClasses;
+		this.relationProperty = new int[numberOfTriples];
+		this.relationLeft = new int[numberOfTriples];
+		this.relationRight = new int[numberOfTriples];
+		int firstObjectPropertyId = firstClassId + this.numberOfClasses;
+		for (int i = 0; i < numberOfTriples; i++) {
+			this.relationProperty[i] = firstObjectPropertyId + random.nextInt(numberOfObjectProperties);
+			this.relationLeft[i] = firstClassId + random.nextInt(this.numberOfClasses);
+			this.relationRight[i] = firstClassId + random.nextInt(this.numberOfClasses);
+		}
+	}
+
+}
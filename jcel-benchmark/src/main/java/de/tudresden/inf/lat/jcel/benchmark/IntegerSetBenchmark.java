@@ -0,0 +1,181 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.benchmark;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.tudresden.inf.lat.jcel.core.graph.ArraySet;
+import de.tudresden.inf.lat.jcel.core.graph.HashArraySet;
+
+/**
+ * Benchmark of the sets of integers used to store the subsumers and the
+ * relations during the classification.
+ * 
+ * @see ArraySet
+ * @see HashArraySet
+ * 
+ * @author Julian Mendez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegerSetBenchmark {
+
+	/**
+	 * Name of the set implementation.
+	 */
+	@Param({ "ArraySet", "HashArraySet" })
+	public String implementation;
+
+	/**
+	 * Number of elements added to the set.
+	 */
+	@Param({ "16", "256", "4096" })
+	public int size;
+
+	private int[] elements;
+	private Set<Integer> filledSet;
+	private int[] probes;
+
+	/**
+	 * Constructs a new benchmark of the sets of integers.
+	 */
+	public IntegerSetBenchmark() {
+	}
+
+	/**
+	 * Adds all the elements to an empty set.
+	 * 
+	 * @return the set
+	 */
+	@Benchmark
+	public Set<Integer> add() {
+		Set<Integer> ret = createSet();
+		for (int elem : this.elements) {
+			ret.add(elem);
+		}
+		return ret;
+	}
+
+	/**
+	 * Looks up the probes, half of which are in the set.
+	 * 
+	 * @return the number of probes found in the set
+	 */
+	@Benchmark
+	public int contains() {
+		int ret = 0;
+		for (int elem : this.probes) {
+			if (this.filledSet.contains(elem)) {
+				ret++;
+			}
+		}
+		return ret;
+	}
+
+	private Set<Integer> createSet() {
+		Set<Integer> ret;
+		if (this.implementation.equals("ArraySet")) {
+			ret = new ArraySet();
+		} else if (this.implementation.equals("HashArraySet")) {
+			ret = new HashArraySet();
+		} else {
+			throw new IllegalArgumentException("Invalid implementation: '" + this.implementation + "'.");
+		}
+		return ret;
+	}
+
+	/**
+	 * Iterates over all the elements of the set.
+	 * 
+	 * @return the sum of the elements
+	 */
+	@Benchmark
+	public long iterate() {
+		long ret = 0;
+		for (Integer elem : this.filledSet) {
+			ret += elem;
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates the elements and the probes.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(OntologyGenerator.defaultSeed);
+		int range = 4 * this.size;
+		this.elements = new int[this.size];
+		this.probes = new int[this.size];
+		for (int i = 0; i < this.size; i++) {
+			this.elements[i] = random.nextInt(range);
+		}
+		for (int i = 0; i < this.size; i++) {
+			this.probes[i] = (i % 2 == 0) ? this.elements[random.nextInt(this.size)] : range + random.nextInt(range);
+		}
+		this.filledSet = add();
+	}
+
+}
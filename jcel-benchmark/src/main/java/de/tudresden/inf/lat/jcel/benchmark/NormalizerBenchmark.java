@@ -0,0 +1,143 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.normalization.OntologyNormalizer;
+import de.tudresden.inf.lat.jcel.ontology.normalization.SimpleNormalizer;
+
+/**
+ * Benchmark of the normalization of a generated ontology. The normalization
+ * creates auxiliary entities, so the ontology and its factory are created
+ * again before each iteration.
+ * 
+ * @see SimpleNormalizer
+ * @see OntologyNormalizer
+ * 
+ * @author Julian Mendez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizerBenchmark {
+
+	private static final int numberOfObjectProperties = 0x10;
+
+	/**
+	 * Number of classes of the generated ontology.
+	 */
+	@Param({ "1000", "10000" })
+	public int numberOfClasses;
+
+	private Set<ComplexIntegerAxiom> axioms;
+	private IntegerOntologyObjectFactory factory;
+	private SimpleNormalizer normalizer;
+
+	/**
+	 * Constructs a new benchmark of the normalization.
+	 */
+	public NormalizerBenchmark() {
+	}
+
+	/**
+	 * Applies one normalization step to each axiom of the ontology.
+	 * 
+	 * @return the number of axioms produced
+	 */
+	@Benchmark
+	public int normalizeAxioms() {
+		int ret = 0;
+		for (ComplexIntegerAxiom axiom : this.axioms) {
+			ret += this.normalizer.normalize(axiom).size();
+		}
+		return ret;
+	}
+
+	/**
+	 * Normalizes the whole ontology.
+	 * 
+	 * @return the normalized axioms
+	 */
+	@Benchmark
+	public Set<NormalizedIntegerAxiom> normalizeOntology() {
+		return new OntologyNormalizer().normalize(this.axioms, this.factory);
+	}
+
+	/**
+	 * Creates the factory, the ontology, and the normalizer.
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() {
+		this.factory = new IntegerOntologyObjectFactoryImpl();
+		this.axioms = new OntologyGenerator(this.factory, OntologyGenerator.defaultSeed)
+				.createOntology(this.numberOfClasses, numberOfObjectProperties);
+		this.normalizer = new SimpleNormalizer(this.factory);
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+
+/**
+ * An object of this class generates a synthetic EL<sup>+</sup> ontology. The
+ * generated ontology depends only on the seed and on the requested size, so
+ * that two runs of the same benchmark process the same axioms. For each class
+ * A<sub>i</sub> with <i>i</i> &gt; 0, the ontology contains:
+ * <ul>
+ * <li>A<sub>i</sub> \u2291 A<sub>j</sub>, for some <i>j</i> &lt; <i>i</i>,</li>
+ * <li>A<sub>i</sub> \u2291 &exist; r <i>.</i> A<sub>j</sub>, for every second
+ * class,</li>
+ * <li>&exist; r <i>.</i> A<sub>j</sub> \u2291 A<sub>i</sub>, for some <i>j</i>
+ * &ge; <i>i</i>, for every third class,</li>
+ * <li>A<sub>i</sub> \u2293 A<sub>j</sub> \u2291 A<sub>k</sub>, for some
+ * <i>j</i>, <i>k</i> &lt; <i>i</i>, for every fifth class.</li>
+ * </ul>
+ * Each object property r<sub>k</sub> with odd <i>k</i> is a subproperty of
+ * r<sub>k-1</sub>, and r<sub>0</sub> is transitive. The fillers on the left
+ * side and the superclasses of the conjunctions are chosen so that the
+ * saturated set S stays roughly linear in the number of classes.
+ * 
+ * @author Julian Mendez
+ */
+public class OntologyGenerator {
+
+	/**
+	 * Default seed used by the benchmarks.
+	 */
+	public static final long defaultSeed = 0x6A63656CL;
+
+	private static final String classPrefix = "A";
+	private static final String objectPropertyPrefix = "r";
+
+	private final Set<IntegerAnnotation> annotations = Collections.emptySet();
+	private final IntegerOntologyObjectFactory factory;
+	private final long seed;
+
+	/**
+	 * Constructs a new ontology generator.
+	 * 
+	 * @param factory
+	 *            factory used to create the entities and the axioms
+	 * @param seed
+	 *            seed of the pseudorandom generator
+	 */
+	public OntologyGenerator(IntegerOntologyObjectFactory factory, long seed) {
+		Objects.requireNonNull(factory);
+		this.factory = factory;
+		this.seed = seed;
+	}
+
+	/**
+	 * Generates a new ontology.
+	 * 
+	 * @param numberOfClasses
+	 *            number of class names
+	 * @param numberOfObjectProperties
+	 *            number of object property names
+	 * @return a new ontology
+	 */
+	public Set<ComplexIntegerAxiom> createOntology(int numberOfClasses, int numberOfObjectProperties) {
+		if (numberOfClasses < 1) {
+			throw new IllegalArgumentException("Invalid number of classes: '" + numberOfClasses + "'.");
+		}
+		if (numberOfObjectProperties < 1) {
+			throw new IllegalArgumentException(
+					"Invalid number of object properties: '" + numberOfObjectProperties + "'.");
+		}
+		Random random = new Random(this.seed);
+		IntegerDataTypeFactory dataTypeFactory = this.factory.getDataTypeFactory();
+		ComplexIntegerAxiomFactory axiomFactory = this.factory.getComplexAxiomFactory();
+
+		List<IntegerClass> classes = new ArrayList<>();
+		for (int i = 0; i < numberOfClasses; i++) {
+			classes.add(dataTypeFactory.createClass(this.factory.getEntityManager()
+					.createNamedEntity(IntegerEntityType.CLASS, classPrefix + i, false)));
+		}
+		List<IntegerObjectProperty> properties = new ArrayList<>();
+		for (int k = 0; k < numberOfObjectProperties; k++) {
+			properties.add(dataTypeFactory.createObjectProperty(this.factory.getEntityManager()
+					.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, objectPropertyPrefix + k, false)));
+		}
+
+		Set<ComplexIntegerAxiom> ret = new HashSet<>();
+		ret.add(axiomFactory.createTransitiveObjectPropertyAxiom(properties.get(0), this.annotations));
+		for (int k = 1; k < numberOfObjectProperties; k += 2) {
+			ret.add(axiomFactory.createSubObjectPropertyOfAxiom(properties.get(k), properties.get(k - 1),
+					this.annotations));
+		}
+
+		for (int i = 1; i < numberOfClasses; i++) {
+			IntegerClass current = classes.get(i);
+			ret.add(axiomFactory.createSubClassOfAxiom(current, classes.get(random.nextInt(i)), this.annotations));
+
+			if (i % 2 == 0) {
+				IntegerObjectProperty property = properties.get(random.nextInt(numberOfObjectProperties));
+				IntegerClass filler = classes.get(random.nextInt(numberOfClasses));
+				ret.add(axiomFactory.createSubClassOfAxiom(current,
+						dataTypeFactory.createObjectSomeValuesFrom(property, filler), this.annotations));
+			}
+
+			if (i % 3 == 0) {
+				IntegerObjectProperty property = properties.get(random.nextInt(numberOfObjectProperties));
+				IntegerClass filler = classes.get(i + random.nextInt(numberOfClasses - i));
+				ret.add(axiomFactory.createSubClassOfAxiom(
+						dataTypeFactory.createObjectSomeValuesFrom(property, filler), current, this.annotations));
+			}
+
+			if (i % 5 == 0) {
+				Set<IntegerClassExpression> operands = new HashSet<>();
+				operands.add(current);
+				operands.add(classes.get(random.nextInt(i)));
+				IntegerClass superClass = classes.get(random.nextInt(i));
+				ret.add(axiomFactory.createSubClassOfAxiom(dataTypeFactory.createObjectIntersectionOf(operands),
+						superClass, this.annotations));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the factory used to create the entities and the axioms.
+	 * 
+	 * @return the factory used to create the entities and the axioms
+	 */
+	public IntegerOntologyObjectFactory getFactory() {
+		return this.factory;
+	}
+
+	/**
+	 * Returns the seed of the pseudorandom generator.
+	 * 
+	 * @return the seed of the pseudorandom generator
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+}
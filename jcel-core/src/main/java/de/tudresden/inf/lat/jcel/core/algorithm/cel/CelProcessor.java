@@ -109,11 +109,13 @@ public class CelProcessor implements Processor {
 	private final NormalizedIntegerAxiomFactory axiomFactory;
 	private IntegerSubsumerGraphImpl classGraph = null;
 	private IntegerHierarchicalGraph classHierarchy = null;
+	private IntegerHierarchicalGraph classHierarchyWithNominals = null;
 	private IntegerHierarchicalGraph dataPropertyHierarchy = null;
 	private OptMap<Integer, Set<Integer>> directTypes = null;
 	private final IntegerEntityManager entityManager;
 	private CelExtendedOntology extendedOntology = null;
 	private boolean isReady = false;
+	private boolean nominalsProcessed = false;
 	private IntegerSubsumerGraphImpl objectPropertyGraph = null;
 	private IntegerHierarchicalGraph objectPropertyHierarchy = null;
 	private OptMap<Integer, Set<Integer>> propertyUsedByClass = null;
@@ -157,6 +159,26 @@ public class CelProcessor implements Processor {
 		});
 	}
 
+	private synchronized IntegerHierarchicalGraph computeClassHierarchy() {
+		if (Objects.isNull(this.classHierarchy)) {
+			processNominals();
+			removeAuxiliaryNominals();
+			this.classHierarchy = new IntegerHierarchicalGraphImpl(this.classGraph);
+			this.classGraph = null;
+		}
+		return this.classHierarchy;
+	}
+
+	private synchronized OptMap<Integer, Set<Integer>> computeDirectTypes() {
+		if (Objects.isNull(this.directTypes)) {
+			processNominals();
+			this.directTypes = Objects.isNull(this.classHierarchyWithNominals) ? new OptMapImpl<>(new HashMap<>())
+					: computeDirectTypes(this.classHierarchyWithNominals);
+			releaseClassHierarchyWithNominals();
+		}
+		return this.directTypes;
+	}
+
 	/**
 	 * @param hierarchicalGraph
 	 *            graph containing direct subsumers
@@ -177,6 +199,25 @@ public class CelProcessor implements Processor {
 		return ret;
 	}
 
+	private synchronized IntegerHierarchicalGraph computeObjectPropertyHierarchy() {
+		if (Objects.isNull(this.objectPropertyHierarchy)) {
+			removeAuxiliaryObjectProperties();
+			this.objectPropertyHierarchy = new IntegerHierarchicalGraphImpl(this.objectPropertyGraph);
+			this.objectPropertyGraph = null;
+		}
+		return this.objectPropertyHierarchy;
+	}
+
+	private synchronized OptMap<Integer, Set<Integer>> computeSameIndividualMap() {
+		if (Objects.isNull(this.sameIndividualMap)) {
+			processNominals();
+			this.sameIndividualMap = Objects.isNull(this.classHierarchyWithNominals) ? new OptMapImpl<>(new HashMap<>())
+					: computeSameIndividualMap(this.classHierarchyWithNominals);
+			releaseClassHierarchyWithNominals();
+		}
+		return this.sameIndividualMap;
+	}
+
 	private OptMap<Integer, Set<Integer>> computeSameIndividualMap(IntegerHierarchicalGraph hierarchicalGraph) {
 		OptMap<Integer, Set<Integer>> ret = new OptMapImpl<>(new HashMap<>());
 		Set<Integer> individuals = getEntityManager().getEntities(IntegerEntityType.INDIVIDUAL, false);
@@ -271,7 +312,7 @@ public class CelProcessor implements Processor {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return this.classHierarchy;
+		return computeClassHierarchy();
 	}
 
 	@Override
@@ -312,7 +353,7 @@ public class CelProcessor implements Processor {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return Collections.unmodifiableMap(this.directTypes.asMap());
+		return Collections.unmodifiableMap(computeDirectTypes().asMap());
 	}
 
 	/**
@@ -337,7 +378,7 @@ public class CelProcessor implements Processor {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return this.objectPropertyHierarchy;
+		return computeObjectPropertyHierarchy();
 	}
 
 	public NormalizedIntegerAxiomFactory getOntologyObjectFactory() {
@@ -381,7 +422,7 @@ public class CelProcessor implements Processor {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return Collections.unmodifiableMap(this.sameIndividualMap.asMap());
+		return Collections.unmodifiableMap(computeSameIndividualMap().asMap());
 	}
 
 	/**
@@ -448,22 +489,17 @@ public class CelProcessor implements Processor {
 	}
 
 	/**
-	 * Post processes the data after the classification phase.
+	 * Post processes the data after the classification phase. Each
+	 * post-processing stage is computed the first time that its result is
+	 * requested.
 	 */
-	protected void postProcess() {
-		removeAuxiliaryObjectProperties();
-		this.objectPropertyHierarchy = new IntegerHierarchicalGraphImpl(this.objectPropertyGraph);
-		this.objectPropertyGraph = null;
-
-		removeAuxiliaryClassesExceptNominals();
-		IntegerHierarchicalGraph hierarchicalGraph = new IntegerHierarchicalGraphImpl(this.classGraph);
-		processNominals(hierarchicalGraph);
-		this.directTypes = computeDirectTypes(hierarchicalGraph);
-		this.sameIndividualMap = computeSameIndividualMap(hierarchicalGraph);
-
-		removeAuxiliaryNominals();
-		this.classHierarchy = new IntegerHierarchicalGraphImpl(this.classGraph);
-		this.classGraph = null;
+	protected synchronized void postProcess() {
+		this.classHierarchy = null;
+		this.classHierarchyWithNominals = null;
+		this.directTypes = null;
+		this.nominalsProcessed = false;
+		this.objectPropertyHierarchy = null;
+		this.sameIndividualMap = null;
 	}
 
 	private void prepareQueue(CelExtendedOntology ontology) {
@@ -685,6 +721,22 @@ public class CelProcessor implements Processor {
 		});
 	}
 
+	/**
+	 * Processes the nominals. This stage removes the auxiliary classes that
+	 * are not nominals and keeps the class hierarchy with nominals, which is
+	 * needed to compute the direct types and the map of same individuals.
+	 */
+	private synchronized void processNominals() {
+		if (!this.nominalsProcessed) {
+			removeAuxiliaryClassesExceptNominals();
+			if (!getEntityManager().getEntities(IntegerEntityType.INDIVIDUAL, false).isEmpty()) {
+				this.classHierarchyWithNominals = new IntegerHierarchicalGraphImpl(this.classGraph);
+				processNominals(this.classHierarchyWithNominals);
+			}
+			this.nominalsProcessed = true;
+		}
+	}
+
 	/**
 	 * Processes the nominals after the execution of the classification
 	 * algorithm. It requires a hierarchical graph to get the descendants.
@@ -715,6 +767,12 @@ public class CelProcessor implements Processor {
 		});
 	}
 
+	private void releaseClassHierarchyWithNominals() {
+		if (Objects.nonNull(this.directTypes) && Objects.nonNull(this.sameIndividualMap)) {
+			this.classHierarchyWithNominals = null;
+		}
+	}
+
 	private void removeAuxiliaryClassesExceptNominals() {
 		Set<Integer> reqClasses = new HashSet<>();
 		getClassGraph().getElements().forEach(elem -> {
@@ -0,0 +1,199 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.common;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.core.graph.MappedHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.core.graph.MappedIntegerSetMap;
+
+/**
+ * An object of this class is a processor whose classification was computed
+ * by another processor and stored in a file. The file is memory-mapped, and
+ * the hierarchies and maps are read from the file when they are queried, so
+ * loading a stored classification does not depend on the size of the
+ * ontology.
+ * <p>
+ * The file is a sequence of <code>int</code> containing a magic number, the
+ * format version, the class hierarchy, the object property hierarchy, the
+ * data property hierarchy, the direct types, and the same-individual map.
+ * </p>
+ * 
+ * @author Julian Mendez
+ */
+public class MappedProcessor implements Processor {
+
+	private static final int magicNumber = 0x4A43454D;
+	private static final int version = 1;
+
+	private final IntegerHierarchicalGraph classHierarchy;
+	private final IntegerHierarchicalGraph dataPropertyHierarchy;
+	private final Map<Integer, Set<Integer>> directTypes;
+	private final IntegerHierarchicalGraph objectPropertyHierarchy;
+	private final Map<Integer, Set<Integer>> sameIndividualMap;
+
+	/**
+	 * Constructs a new processor from a stored classification.
+	 * 
+	 * @param file
+	 *            file created by {@link #save(Processor, File)}
+	 * @throws IOException
+	 *             if the file cannot be read, or if it is not a valid stored
+	 *             classification
+	 */
+	public MappedProcessor(File file) throws IOException {
+		Objects.requireNonNull(file);
+		IntBuffer buffer;
+		try (RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel()) {
+			if (channel.size() > Integer.MAX_VALUE || (channel.size() % Integer.BYTES) != 0) {
+				throw new IOException("Invalid stored classification size: '" + channel.size() + "'.");
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asIntBuffer();
+		}
+		try {
+			if (buffer.limit() < 2 || buffer.get(0) != magicNumber) {
+				throw new IOException("Invalid stored classification: '" + file + "'.");
+			}
+			if (buffer.get(1) != version) {
+				throw new IOException("Invalid stored classification version: '" + buffer.get(1) + "'.");
+			}
+			MappedHierarchicalGraph classGraph = new MappedHierarchicalGraph(buffer, 2);
+			MappedHierarchicalGraph objectPropertyGraph = new MappedHierarchicalGraph(buffer, classGraph.getEnd());
+			MappedHierarchicalGraph dataPropertyGraph = new MappedHierarchicalGraph(buffer,
+					objectPropertyGraph.getEnd());
+			MappedIntegerSetMap directTypesMap = new MappedIntegerSetMap(buffer, dataPropertyGraph.getEnd());
+			MappedIntegerSetMap sameIndividuals = new MappedIntegerSetMap(buffer, directTypesMap.getEnd());
+			this.classHierarchy = classGraph;
+			this.objectPropertyHierarchy = objectPropertyGraph;
+			this.dataPropertyHierarchy = dataPropertyGraph;
+			this.directTypes = Collections.unmodifiableMap(directTypesMap);
+			this.sameIndividualMap = Collections.unmodifiableMap(sameIndividuals);
+		} catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Invalid stored classification: '" + file + "'.", e);
+		}
+	}
+
+	/**
+	 * Saves the classification computed by a processor in a file.
+	 * 
+	 * @param processor
+	 *            processor that has finished the classification
+	 * @param file
+	 *            file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 * @throws UnclassifiedOntologyException
+	 *             if the processor has not finished the classification
+	 */
+	public static void save(Processor processor, File file) throws IOException {
+		Objects.requireNonNull(processor);
+		Objects.requireNonNull(file);
+		if (!processor.isReady()) {
+			throw new UnclassifiedOntologyException();
+		}
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			output.writeInt(magicNumber);
+			output.writeInt(version);
+			MappedHierarchicalGraph.write(output, processor.getClassHierarchy());
+			MappedHierarchicalGraph.write(output, processor.getObjectPropertyHierarchy());
+			MappedHierarchicalGraph.write(output, processor.getDataPropertyHierarchy());
+			Map<Integer, Set<Integer>> directTypesMap = processor.getDirectTypes();
+			MappedIntegerSetMap.write(output, directTypesMap.keySet(), directTypesMap::get);
+			Map<Integer, Set<Integer>> sameIndividuals = processor.getSameIndividualMap();
+			MappedIntegerSetMap.write(output, sameIndividuals.keySet(), sameIndividuals::get);
+		}
+	}
+
+	@Override
+	public IntegerHierarchicalGraph getClassHierarchy() {
+		return this.classHierarchy;
+	}
+
+	@Override
+	public IntegerHierarchicalGraph getDataPropertyHierarchy() {
+		return this.dataPropertyHierarchy;
+	}
+
+	@Override
+	public Map<Integer, Set<Integer>> getDirectTypes() {
+		return this.directTypes;
+	}
+
+	@Override
+	public IntegerHierarchicalGraph getObjectPropertyHierarchy() {
+		return this.objectPropertyHierarchy;
+	}
+
+	@Override
+	public Map<Integer, Set<Integer>> getSameIndividualMap() {
+		return this.sameIndividualMap;
+	}
+
+	@Override
+	public boolean isReady() {
+		return true;
+	}
+
+	@Override
+	public boolean process() {
+		return false;
+	}
+
+}
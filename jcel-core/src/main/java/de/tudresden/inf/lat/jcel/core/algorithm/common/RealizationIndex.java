@@ -0,0 +1,156 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.common;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class is an index that relates each class with its
+ * instances. The instances are grouped in sets of individuals that are the
+ * same individual. The direct instances are computed when the index is
+ * created, and the instances of a class are computed using the class
+ * hierarchy the first time they are requested.
+ * 
+ * @author Julian Mendez
+ */
+public class RealizationIndex {
+
+	private final OptMap<Integer, Set<Set<Integer>>> allInstances = new OptMapImpl<>(new HashMap<>());
+	private final IntegerHierarchicalGraph classHierarchy;
+	private final OptMap<Integer, Set<Set<Integer>>> directInstances = new OptMapImpl<>(new HashMap<>());
+
+	/**
+	 * Constructs a new realization index.
+	 * 
+	 * @param classHierarchy
+	 *            class hierarchy
+	 * @param directTypes
+	 *            map of direct types for every individual
+	 * @param sameIndividualMap
+	 *            map of same individuals
+	 */
+	public RealizationIndex(IntegerHierarchicalGraph classHierarchy, Map<Integer, Set<Integer>> directTypes,
+			Map<Integer, Set<Integer>> sameIndividualMap) {
+		Objects.requireNonNull(classHierarchy);
+		Objects.requireNonNull(directTypes);
+		Objects.requireNonNull(sameIndividualMap);
+		this.classHierarchy = classHierarchy;
+		directTypes.keySet().forEach(indivId -> {
+			Set<Integer> sameIndividuals = sameIndividualMap.get(indivId);
+			Set<Integer> group = Objects.isNull(sameIndividuals) ? Collections.singleton(indivId)
+					: Collections.unmodifiableSet(sameIndividuals);
+			directTypes.get(indivId).forEach(classId -> {
+				Optional<Set<Set<Integer>>> optGroups = this.directInstances.get(classId);
+				if (!optGroups.isPresent()) {
+					optGroups = Optional.of(new HashSet<>());
+					this.directInstances.put(classId, optGroups.get());
+				}
+				optGroups.get().add(group);
+			});
+		});
+	}
+
+	private Set<Set<Integer>> computeInstances(Integer classId) {
+		Set<Set<Integer>> ret = new HashSet<>();
+		ret.addAll(getDirectInstances(classId));
+		this.classHierarchy.getDescendants(classId).forEach(descendant -> ret.addAll(getDirectInstances(descendant)));
+		return Collections.unmodifiableSet(ret);
+	}
+
+	/**
+	 * Returns the direct instances of a class, grouped in sets of individuals
+	 * that are the same individual.
+	 * 
+	 * @param classId
+	 *            class
+	 * @return the direct instances of a class
+	 */
+	public Set<Set<Integer>> getDirectInstances(Integer classId) {
+		Objects.requireNonNull(classId);
+		Optional<Set<Set<Integer>>> optGroups = this.directInstances.get(classId);
+		return optGroups.isPresent() ? Collections.unmodifiableSet(optGroups.get()) : Collections.emptySet();
+	}
+
+	/**
+	 * Returns the instances of a class, grouped in sets of individuals that are
+	 * the same individual.
+	 * 
+	 * @param classId
+	 *            class
+	 * @param direct
+	 *            <code>true</code> if only the direct instances are requested
+	 * @return the instances of a class
+	 */
+	public Set<Set<Integer>> getInstances(Integer classId, boolean direct) {
+		Objects.requireNonNull(classId);
+		Set<Set<Integer>> ret;
+		if (direct) {
+			ret = getDirectInstances(classId);
+		} else {
+			synchronized (this.allInstances) {
+				Optional<Set<Set<Integer>>> optGroups = this.allInstances.get(classId);
+				if (!optGroups.isPresent()) {
+					optGroups = Optional.of(computeInstances(classId));
+					this.allInstances.put(classId, optGroups.get());
+				}
+				ret = optGroups.get();
+			}
+		}
+		return ret;
+	}
+
+}
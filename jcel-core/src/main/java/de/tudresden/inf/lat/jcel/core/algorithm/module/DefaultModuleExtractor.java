@@ -47,20 +47,17 @@
 package de.tudresden.inf.lat.jcel.core.algorithm.module;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerAxiom;
-import de.tudresden.inf.lat.util.map.OptMap;
-import de.tudresden.inf.lat.util.map.OptMapImpl;
 
 /**
  * An object of this class is a module extractor, i.e. it can extract a subset
- * of axioms that are relevant to answer a query.
+ * of axioms that are relevant to answer a query. To extract several modules
+ * from the same set of axioms, {@link IndexedModuleExtractor} builds the index
+ * of axioms only once.
  * 
  * @author Julian Mendez
  */
@@ -72,54 +69,6 @@ public class DefaultModuleExtractor {
 	public DefaultModuleExtractor() {
 	}
 
-	/**
-	 * Returns a map that relates a class with the set of axioms where this
-	 * class occurs on the left side of the axiom
-	 * 
-	 * @param normalizedAxioms
-	 *            normalized axioms
-	 * @return a map that relates a class with the set of axioms where this
-	 *         class occurs on the left side of the axiom
-	 */
-	OptMap<Integer, Set<DefaultIdentifierCollector>> buildMapOfAxioms(
-			Set<DefaultIdentifierCollector> normalizedAxioms) {
-		OptMap<Integer, Set<DefaultIdentifierCollector>> map = new OptMapImpl<>(new HashMap<>());
-		normalizedAxioms.forEach(axiom -> {
-			Set<Integer> classesOnTheLeft = axiom.getClassesOnTheLeft();
-			classesOnTheLeft.forEach(classId -> {
-				Optional<Set<DefaultIdentifierCollector>> optValue = map.get(classId);
-				if (!optValue.isPresent()) {
-					optValue = Optional.of(new HashSet<>());
-					map.put(classId, optValue.get());
-				}
-				optValue.get().add(axiom);
-			});
-		});
-		return map;
-	}
-
-	Set<NormalizedIntegerAxiom> getAxiomsWithoutEntitiesOnTheLeft(Set<DefaultIdentifierCollector> axioms) {
-		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
-		axioms.forEach(axiom -> {
-			if (axiom.getClassesOnTheLeft().isEmpty() && axiom.getObjectPropertiesOnTheLeft().isEmpty()) {
-				ret.add(axiom.getAxiom());
-			}
-		});
-		return ret;
-	}
-
-	Set<DefaultIdentifierCollector> getAxiomsWithClassesOnTheLeft(Set<Integer> classesToVisit,
-			OptMap<Integer, Set<DefaultIdentifierCollector>> map) {
-		Set<DefaultIdentifierCollector> ret = new HashSet<>();
-		classesToVisit.forEach(classId -> {
-			Optional<Set<DefaultIdentifierCollector>> optNewAxioms = map.get(classId);
-			if (optNewAxioms.isPresent()) {
-				ret.addAll(optNewAxioms.get());
-			}
-		});
-		return ret;
-	}
-
 	Set<Integer> getEntities(IntegerAxiom axiom) {
 		Set<Integer> ret = new TreeSet<>();
 		ret.addAll(axiom.getClassesInSignature());
@@ -140,38 +89,7 @@ public class DefaultModuleExtractor {
 	 * @return a module, i.e. a subset of axioms relevant to answer a query
 	 */
 	public Module extractModule(Collection<NormalizedIntegerAxiom> setOfAxioms, Set<Integer> setOfClasses) {
-
-		Set<NormalizedIntegerAxiom> newAxioms = new HashSet<>();
-
-		Set<DefaultIdentifierCollector> axioms = new HashSet<>();
-		setOfAxioms.forEach(axiom -> axioms.add(new DefaultIdentifierCollector(axiom)));
-
-		newAxioms.addAll(getAxiomsWithoutEntitiesOnTheLeft(axioms));
-
-		OptMap<Integer, Set<DefaultIdentifierCollector>> map = buildMapOfAxioms(axioms);
-
-		Set<Integer> visitedClasses = new TreeSet<>();
-		Set<Integer> classesToVisit = new TreeSet<>();
-		classesToVisit.addAll(setOfClasses);
-		int resultSize = -1;
-		while (newAxioms.size() > resultSize) {
-			resultSize = newAxioms.size();
-
-			Set<DefaultIdentifierCollector> axiomsToVisit = getAxiomsWithClassesOnTheLeft(classesToVisit, map);
-			visitedClasses.addAll(classesToVisit);
-			classesToVisit.clear();
-
-			axiomsToVisit.forEach(axiom -> {
-				classesToVisit.addAll(axiom.getClassesOnTheRight());
-				newAxioms.add(axiom.getAxiom());
-			});
-			classesToVisit.removeAll(visitedClasses);
-		}
-
-		Set<Integer> entities = new TreeSet<>();
-		entities.addAll(visitedClasses);
-		newAxioms.forEach(axiom -> entities.addAll(getEntities(axiom)));
-		return new Module(entities, newAxioms);
+		return new IndexedModuleExtractor(setOfAxioms).extractModule(setOfClasses);
 	}
 
 }
@@ -0,0 +1,215 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.module;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class is a module extractor that can be reused for many
+ * queries on the same set of axioms. It builds the map from classes to the
+ * axioms that have these classes on the left side only once, and can keep the
+ * most recently extracted modules. The extracted modules are the same as the
+ * ones extracted by {@link DefaultModuleExtractor}.
+ * 
+ * @author Julian Mendez
+ */
+public class IndexedModuleExtractor {
+
+	private final List<DefaultIdentifierCollector> axiomList = new ArrayList<>();
+	private final OptMap<Integer, int[]> axiomsByClassOnTheLeft = new OptMapImpl<>(new HashMap<>());
+	private final Set<NormalizedIntegerAxiom> axiomsWithoutEntitiesOnTheLeft = new HashSet<>();
+	private final OptMap<Set<Integer>, Module> cache;
+	private final DefaultModuleExtractor helper = new DefaultModuleExtractor();
+
+	/**
+	 * Constructs a new module extractor that does not keep the extracted
+	 * modules.
+	 * 
+	 * @param setOfAxioms
+	 *            set of axioms
+	 */
+	public IndexedModuleExtractor(Collection<NormalizedIntegerAxiom> setOfAxioms) {
+		this(setOfAxioms, 0);
+	}
+
+	/**
+	 * Constructs a new module extractor.
+	 * 
+	 * @param setOfAxioms
+	 *            set of axioms
+	 * @param maxNumberOfModules
+	 *            maximum number of extracted modules to keep, or 0 to keep
+	 *            none
+	 */
+	public IndexedModuleExtractor(Collection<NormalizedIntegerAxiom> setOfAxioms, int maxNumberOfModules) {
+		Objects.requireNonNull(setOfAxioms);
+		if (maxNumberOfModules < 0) {
+			throw new IllegalArgumentException("Invalid maximum number of modules: '" + maxNumberOfModules + "'.");
+		}
+		this.cache = new OptMapImpl<>(new LinkedHashMap<Set<Integer>, Module>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 4911823402165632709L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Set<Integer>, Module> eldest) {
+				return size() > maxNumberOfModules;
+			}
+
+		});
+		buildIndex(setOfAxioms);
+	}
+
+	private void buildIndex(Collection<NormalizedIntegerAxiom> setOfAxioms) {
+		Set<NormalizedIntegerAxiom> visitedAxioms = new HashSet<>();
+		OptMap<Integer, List<Integer>> map = new OptMapImpl<>(new HashMap<>());
+		setOfAxioms.forEach(axiom -> {
+			if (visitedAxioms.add(axiom)) {
+				DefaultIdentifierCollector collector = new DefaultIdentifierCollector(axiom);
+				if (collector.getClassesOnTheLeft().isEmpty() && collector.getObjectPropertiesOnTheLeft().isEmpty()) {
+					this.axiomsWithoutEntitiesOnTheLeft.add(axiom);
+				}
+				Integer axiomIndex = this.axiomList.size();
+				this.axiomList.add(collector);
+				collector.getClassesOnTheLeft().forEach(classId -> {
+					Optional<List<Integer>> optValue = map.get(classId);
+					if (!optValue.isPresent()) {
+						optValue = Optional.of(new ArrayList<>());
+						map.put(classId, optValue.get());
+					}
+					optValue.get().add(axiomIndex);
+				});
+			}
+		});
+		map.keySet().forEach(classId -> this.axiomsByClassOnTheLeft.put(classId,
+				map.get(classId).get().stream().mapToInt(Integer::intValue).toArray()));
+	}
+
+	private Module computeModule(Set<Integer> setOfClasses) {
+		Set<NormalizedIntegerAxiom> newAxioms = new HashSet<>();
+		newAxioms.addAll(this.axiomsWithoutEntitiesOnTheLeft);
+
+		BitSet visitedAxioms = new BitSet(this.axiomList.size());
+		Set<Integer> visitedClasses = new TreeSet<>();
+		Deque<Integer> classesToVisit = new ArrayDeque<>();
+		setOfClasses.forEach(classId -> {
+			if (visitedClasses.add(classId)) {
+				classesToVisit.add(classId);
+			}
+		});
+
+		while (!classesToVisit.isEmpty()) {
+			Integer classId = classesToVisit.poll();
+			Optional<int[]> optAxiomIndices = this.axiomsByClassOnTheLeft.get(classId);
+			if (optAxiomIndices.isPresent()) {
+				for (int axiomIndex : optAxiomIndices.get()) {
+					if (!visitedAxioms.get(axiomIndex)) {
+						visitedAxioms.set(axiomIndex);
+						DefaultIdentifierCollector axiom = this.axiomList.get(axiomIndex);
+						newAxioms.add(axiom.getAxiom());
+						axiom.getClassesOnTheRight().forEach(rightClassId -> {
+							if (visitedClasses.add(rightClassId)) {
+								classesToVisit.add(rightClassId);
+							}
+						});
+					}
+				}
+			}
+		}
+
+		Set<Integer> entities = new TreeSet<>();
+		entities.addAll(visitedClasses);
+		newAxioms.forEach(axiom -> entities.addAll(this.helper.getEntities(axiom)));
+		return new Module(Collections.unmodifiableSet(entities), Collections.unmodifiableSet(newAxioms));
+	}
+
+	/**
+	 * Returns a module, i.e. a subset of axioms relevant to answer a query.
+	 * The module is kept for later queries on the same classes, so its
+	 * entities and axioms cannot be modified.
+	 * 
+	 * @param setOfClasses
+	 *            set of classes
+	 * @return a module, i.e. a subset of axioms relevant to answer a query
+	 */
+	public Module extractModule(Set<Integer> setOfClasses) {
+		Objects.requireNonNull(setOfClasses);
+		Set<Integer> key = Collections.unmodifiableSet(new TreeSet<>(setOfClasses));
+		Optional<Module> optModule = lookUp(key);
+		if (!optModule.isPresent()) {
+			optModule = Optional.of(computeModule(key));
+			store(key, optModule.get());
+		}
+		return optModule.get();
+	}
+
+	private synchronized Optional<Module> lookUp(Set<Integer> setOfClasses) {
+		return this.cache.get(setOfClasses);
+	}
+
+	private synchronized void store(Set<Integer> setOfClasses, Module module) {
+		this.cache.put(setOfClasses, module);
+	}
+
+}
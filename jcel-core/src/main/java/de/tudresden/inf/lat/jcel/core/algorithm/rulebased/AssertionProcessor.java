@@ -0,0 +1,652 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.module.DefaultIdentifierCollector;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI0Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NominalAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class materializes the types of the individuals that only
+ * appear in assertions, without using one context of the classification
+ * algorithm for the auxiliary nominal of each individual.
+ * <p>
+ * The normalized axioms are split into terminological axioms and assertions.
+ * The assertions are the axioms {a} \u2291 A and {a} \u2291 &exist; r
+ * <i>.</i> B, where B is a class or another nominal {b}. They are kept as
+ * arrays of integers indexed by individual. This is only applicable if no
+ * other axiom refers to an auxiliary nominal.
+ * </p>
+ * <p>
+ * After the terminological axioms are classified, the type set T(a) of each
+ * individual a is computed with the following rules, where the successors
+ * of a are the individuals and classes asserted or derived for a:
+ * <ul>
+ * <li><b>if</b> A &isin; T(a) <b>then</b> T(a) := T(a) &cup; S(A)</li>
+ * <li><b>if</b> A<sub>1</sub> &isin; T(a), A<sub>2</sub> &isin; T(a) and
+ * A<sub>1</sub> \u2293 A<sub>2</sub> \u2291 B &isin; <i>T</i> <b>then</b>
+ * T(a) := T(a) &cup; {B}</li>
+ * <li><b>if</b> x is an r-successor of a, A is a type of x, and &exist; s
+ * <i>.</i> A \u2291 B &isin; <i>T</i> with r \u2291 s <b>then</b> T(a) :=
+ * T(a) &cup; {B}</li>
+ * <li><b>if</b> x is an r-successor of a and &perp; is a type of x
+ * <b>then</b> T(a) := T(a) &cup; {&perp;}</li>
+ * <li><b>if</b> x is an r-successor of a, y is an s-successor of x, and r
+ * \u2218 s \u2291 t &isin; <i>T</i> <b>then</b> y is a t-successor of a</li>
+ * </ul>
+ * The types of a class A are S(A), and its successors are given by R. Since
+ * the terminological axioms do not refer to nominals, S and R are not
+ * modified by the assertions.
+ * </p>
+ * 
+ * @author Julian Mendez
+ */
+class AssertionProcessor {
+
+	private static final int bottomClassId = IntegerEntityManager.bottomClassId;
+	private static final int topClassId = IntegerEntityManager.topClassId;
+
+	private final OptMap<Integer, Set<Long>> derivedEdges = new OptMapImpl<>(new HashMap<>());
+	private final OptMap<Integer, Set<Integer>> derivedPredecessors = new OptMapImpl<>(new HashMap<>());
+	private int[] edgeProperty;
+	private int[] edgeStart;
+	private int[] edgeTarget;
+	private final IntegerEntityManager entityManager;
+	private boolean inconsistent = false;
+	private final OptMap<Integer, Integer> indexOfNominal = new OptMapImpl<>(new HashMap<>());
+	private final int[] individuals;
+	private ExtendedOntology ontology = null;
+	private int[] predecessor;
+	private int[] predecessorStart;
+	private ClassifierStatusImpl status = null;
+	private final OptMap<Integer, Set<Integer>> superPropertyCache = new OptMapImpl<>(new HashMap<>());
+	private final Set<NormalizedIntegerAxiom> terminologicalAxioms = new HashSet<>();
+	private int[] toldType;
+	private int[] toldTypeStart;
+	private int[][] types;
+
+	/**
+	 * Constructs a new assertion processor.
+	 * 
+	 * @param normalizedAxiomSet
+	 *            set of normalized axioms
+	 * @param entityManager
+	 *            entity manager
+	 */
+	AssertionProcessor(Set<NormalizedIntegerAxiom> normalizedAxiomSet, IntegerEntityManager entityManager) {
+		Objects.requireNonNull(normalizedAxiomSet);
+		Objects.requireNonNull(entityManager);
+		this.entityManager = entityManager;
+
+		this.individuals = entityManager.getIndividuals().stream().mapToInt(Integer::intValue).sorted().toArray();
+		for (int index = 0; index < this.individuals.length; index++) {
+			this.indexOfNominal.put(entityManager.getAuxiliaryNominal(this.individuals[index]).get(), index);
+		}
+
+		IntStream.Builder toldTypeSubject = IntStream.builder();
+		IntStream.Builder toldTypeClass = IntStream.builder();
+		IntStream.Builder edgeSubject = IntStream.builder();
+		IntStream.Builder edgePropertyBuilder = IntStream.builder();
+		IntStream.Builder edgeTargetBuilder = IntStream.builder();
+		normalizedAxiomSet.forEach(axiom -> {
+			if (axiom instanceof NominalAxiom) {
+				// the auxiliary nominal is identified by the entity manager
+			} else if ((axiom instanceof GCI0Axiom) && isNominal(((GCI0Axiom) axiom).getSubClass())
+					&& !isNominal(((GCI0Axiom) axiom).getSuperClass())) {
+				GCI0Axiom gci0 = (GCI0Axiom) axiom;
+				toldTypeSubject.add(this.indexOfNominal.get(gci0.getSubClass()).get());
+				toldTypeClass.add(gci0.getSuperClass());
+			} else if ((axiom instanceof GCI2Axiom) && isNominal(((GCI2Axiom) axiom).getSubClass())) {
+				GCI2Axiom gci2 = (GCI2Axiom) axiom;
+				edgeSubject.add(this.indexOfNominal.get(gci2.getSubClass()).get());
+				edgePropertyBuilder.add(gci2.getPropertyInSuperClass());
+				edgeTargetBuilder.add(encodeTarget(gci2.getClassInSuperClass()));
+			} else {
+				this.terminologicalAxioms.add(axiom);
+			}
+		});
+
+		int[] subjects = toldTypeSubject.build().toArray();
+		this.toldTypeStart = createStart(subjects);
+		this.toldType = sortBy(subjects, this.toldTypeStart, toldTypeClass.build().toArray());
+
+		subjects = edgeSubject.build().toArray();
+		this.edgeStart = createStart(subjects);
+		this.edgeProperty = sortBy(subjects, this.edgeStart, edgePropertyBuilder.build().toArray());
+		this.edgeTarget = sortBy(subjects, this.edgeStart, edgeTargetBuilder.build().toArray());
+
+		int[] targets = Arrays.stream(this.edgeTarget).map(target -> (target >= 0) ? target : this.individuals.length)
+				.toArray();
+		int[] sources = new int[this.edgeTarget.length];
+		for (int index = 0; index < this.individuals.length; index++) {
+			for (int edge = this.edgeStart[index]; edge < this.edgeStart[index + 1]; edge++) {
+				sources[edge] = index;
+			}
+		}
+		this.predecessorStart = createStart(targets);
+		this.predecessor = sortBy(targets, this.predecessorStart, sources);
+	}
+
+	private boolean addDerivedEdge(int index, int property, int target) {
+		Optional<Set<Long>> optEdges = this.derivedEdges.get(index);
+		if (!optEdges.isPresent()) {
+			optEdges = Optional.of(new HashSet<>());
+			this.derivedEdges.put(index, optEdges.get());
+		}
+		boolean ret = optEdges.get().add((((long) property) << Integer.SIZE) | (target & 0xFFFFFFFFL));
+		if (ret && (target >= 0)) {
+			Optional<Set<Integer>> optPredecessors = this.derivedPredecessors.get(target);
+			if (!optPredecessors.isPresent()) {
+				optPredecessors = Optional.of(new HashSet<>());
+				this.derivedPredecessors.put(target, optPredecessors.get());
+			}
+			optPredecessors.get().add(index);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the array of start positions for the given subjects, such that
+	 * the elements of subject <i>i</i> are between positions
+	 * <code>start[i]</code> (inclusive) and <code>start[i + 1]</code>
+	 * (exclusive).
+	 * 
+	 * @param subjects
+	 *            subject of each element
+	 * @return the array of start positions for the given subjects
+	 */
+	private int[] createStart(int[] subjects) {
+		int[] ret = new int[this.individuals.length + 2];
+		for (int subject : subjects) {
+			ret[subject + 1]++;
+		}
+		for (int index = 0; index < this.individuals.length + 1; index++) {
+			ret[index + 1] += ret[index];
+		}
+		return ret;
+	}
+
+	private int encodeTarget(int classId) {
+		Optional<Integer> optIndex = this.indexOfNominal.get(classId);
+		return optIndex.isPresent() ? optIndex.get() : -classId - 1;
+	}
+
+	/**
+	 * Applies the given function to each property and successor of the given
+	 * individual. The successor is an individual index if it is nonnegative,
+	 * and it is an encoded class otherwise.
+	 * 
+	 * @param index
+	 *            individual index
+	 * @param function
+	 *            function that receives a property and a successor
+	 */
+	private void forEachEdge(int index, EdgeConsumer function) {
+		for (int edge = this.edgeStart[index]; edge < this.edgeStart[index + 1]; edge++) {
+			function.accept(this.edgeProperty[edge], this.edgeTarget[edge]);
+		}
+		Optional<Set<Long>> optEdges = this.derivedEdges.get(index);
+		if (optEdges.isPresent()) {
+			new HashSet<>(optEdges.get())
+					.forEach(edge -> function.accept((int) (edge >>> Integer.SIZE), (int) edge.longValue()));
+		}
+	}
+
+	/**
+	 * Applies the given function to each object property and individual that
+	 * are related to the given individual, according to the asserted and
+	 * derived edges and the object property hierarchy. Each pair is visited
+	 * only once.
+	 * 
+	 * @param individual
+	 *            individual
+	 * @param function
+	 *            function that receives an object property and an individual
+	 */
+	void forEachObjectPropertyValue(int individual, EdgeConsumer function) {
+		Objects.requireNonNull(function);
+		int index = Arrays.binarySearch(this.individuals, individual);
+		if (index >= 0) {
+			Set<Long> visited = new HashSet<>();
+			forEachEdge(index, (property, target) -> {
+				if (target >= 0) {
+					getSuperProperties(property).forEach(superProperty -> {
+						if (visited.add((((long) superProperty) << Integer.SIZE) | target)) {
+							function.accept(superProperty, this.individuals[target]);
+						}
+					});
+				}
+			});
+		}
+	}
+
+	/**
+	 * Applies the given function to each successor of the given individual or
+	 * class using the given property.
+	 * 
+	 * @param target
+	 *            individual index or encoded class
+	 * @param property
+	 *            object property
+	 * @param function
+	 *            function that receives the successor
+	 */
+	private void forEachSuccessor(int target, int property, IntConsumer function) {
+		if (target >= 0) {
+			forEachEdge(target, (currentProperty, successor) -> {
+				if (getSuperProperties(currentProperty).contains(property)) {
+					function.accept(successor);
+				}
+			});
+			if (Objects.nonNull(this.types[target])) {
+				for (int type : this.types[target]) {
+					this.status.getSecondByFirst(property, type).forEach(classId -> function.accept(-classId - 1));
+				}
+			}
+		} else {
+			this.status.getSecondByFirst(property, -target - 1).forEach(classId -> function.accept(-classId - 1));
+		}
+	}
+
+	/**
+	 * Returns the set of normalized axioms for the assertions. This is used
+	 * when the assertions need to be classified together with the
+	 * terminological axioms.
+	 * 
+	 * @param factory
+	 *            factory of normalized axioms
+	 * @return the set of normalized axioms for the assertions
+	 */
+	Set<NormalizedIntegerAxiom> getAssertionAxioms(NormalizedIntegerAxiomFactory factory) {
+		Objects.requireNonNull(factory);
+		Set<IntegerAnnotation> annotations = Collections.emptySet();
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
+		for (int index = 0; index < this.individuals.length; index++) {
+			int nominal = this.entityManager.getAuxiliaryNominal(this.individuals[index]).get();
+			ret.add(factory.createNominalAxiom(nominal, this.individuals[index], annotations));
+			for (int position = this.toldTypeStart[index]; position < this.toldTypeStart[index + 1]; position++) {
+				ret.add(factory.createGCI0Axiom(nominal, this.toldType[position], annotations));
+			}
+			for (int edge = this.edgeStart[index]; edge < this.edgeStart[index + 1]; edge++) {
+				int target = this.edgeTarget[edge];
+				int classId = (target >= 0)
+						? this.entityManager.getAuxiliaryNominal(this.individuals[target]).get() : -target - 1;
+				ret.add(factory.createGCI2Axiom(nominal, this.edgeProperty[edge], classId, annotations));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the classes that are used in the assertions.
+	 * 
+	 * @return the classes that are used in the assertions
+	 */
+	Set<Integer> getClasses() {
+		Set<Integer> ret = new HashSet<>();
+		Arrays.stream(this.toldType).forEach(ret::add);
+		Arrays.stream(this.edgeTarget).filter(target -> target < 0).forEach(target -> ret.add(-target - 1));
+		return ret;
+	}
+
+	/**
+	 * Returns a map with the direct types of each individual. An individual
+	 * that is unsatisfiable has the bottom class as its direct type.
+	 * 
+	 * @param classHierarchy
+	 *            class hierarchy without auxiliary classes
+	 * @return a map with the direct types of each individual
+	 */
+	OptMap<Integer, Set<Integer>> getDirectTypes(IntegerHierarchicalGraph classHierarchy) {
+		Objects.requireNonNull(classHierarchy);
+		Set<Integer> elements = classHierarchy.getElements();
+		OptMap<Integer, Set<Integer>> ret = new OptMapImpl<>(new HashMap<>());
+		for (int index = 0; index < this.individuals.length; index++) {
+			int[] currentTypes = this.types[index];
+			Set<Integer> directTypes = new HashSet<>();
+			if (Arrays.binarySearch(currentTypes, bottomClassId) >= 0) {
+				directTypes.addAll(classHierarchy.getEquivalents(classHierarchy.getBottomElement()));
+			} else {
+				for (int type : currentTypes) {
+					if (elements.contains(type) && classHierarchy.getChildren(type).stream()
+							.noneMatch(child -> Arrays.binarySearch(currentTypes, child) >= 0)) {
+						directTypes.add(type);
+					}
+				}
+			}
+			ret.put(this.individuals[index], Collections.unmodifiableSet(directTypes));
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the number of individuals.
+	 * 
+	 * @return the number of individuals
+	 */
+	int getNumberOfIndividuals() {
+		return this.individuals.length;
+	}
+
+	/**
+	 * Returns the object properties that are used in the assertions.
+	 * 
+	 * @return the object properties that are used in the assertions
+	 */
+	Set<Integer> getObjectProperties() {
+		Set<Integer> ret = new HashSet<>();
+		Arrays.stream(this.edgeProperty).forEach(ret::add);
+		return ret;
+	}
+
+	/**
+	 * Returns a map that relates each individual with the set of individuals
+	 * that are equivalent to it. Since no axiom relates two auxiliary
+	 * nominals, each individual is only equivalent to itself.
+	 * 
+	 * @return a map that relates each individual with the set of individuals
+	 *         that are equivalent to it
+	 */
+	OptMap<Integer, Set<Integer>> getSameIndividualMap() {
+		OptMap<Integer, Set<Integer>> ret = new OptMapImpl<>(new HashMap<>());
+		for (int individual : this.individuals) {
+			ret.put(individual, Collections.singleton(individual));
+		}
+		return ret;
+	}
+
+	private Set<Integer> getSuperProperties(int property) {
+		Optional<Set<Integer>> optSet = this.superPropertyCache.get(property);
+		if (!optSet.isPresent()) {
+			Set<Integer> set = new HashSet<>();
+			Deque<Integer> toVisit = new ArrayDeque<>();
+			toVisit.add(property);
+			while (!toVisit.isEmpty()) {
+				Integer current = toVisit.pop();
+				if (set.add(current)) {
+					this.ontology.getRI2rAxioms(current).forEach(axiom -> toVisit.add(axiom.getSuperProperty()));
+				}
+			}
+			optSet = Optional.of(set);
+			this.superPropertyCache.put(property, set);
+		}
+		return optSet.get();
+	}
+
+	/**
+	 * Returns the terminological axioms, i.e. the axioms that are not
+	 * assertions.
+	 * 
+	 * @return the terminological axioms
+	 */
+	Set<NormalizedIntegerAxiom> getTerminologicalAxioms() {
+		return Collections.unmodifiableSet(this.terminologicalAxioms);
+	}
+
+	private boolean hasType(int target, int classId) {
+		boolean ret = false;
+		if (target >= 0) {
+			ret = Objects.nonNull(this.types[target]) && (Arrays.binarySearch(this.types[target], classId) >= 0);
+		} else {
+			ret = (-target - 1 == classId) || (classId == topClassId)
+					|| this.status.getSubsumers(-target - 1).contains(classId);
+		}
+		return ret;
+	}
+
+	/**
+	 * Tells whether the assertions can be processed separately, i.e. whether
+	 * no terminological axiom refers to an auxiliary nominal.
+	 * 
+	 * @return <code>true</code> if and only if the assertions can be processed
+	 *         separately
+	 */
+	boolean isApplicable() {
+		return this.terminologicalAxioms.stream().noneMatch(this::refersToIndividual);
+	}
+
+	/**
+	 * Tells whether some individual is unsatisfiable. This is only valid after
+	 * the types have been computed.
+	 * 
+	 * @return <code>true</code> if and only if some individual is
+	 *         unsatisfiable
+	 */
+	boolean isInconsistent() {
+		return this.inconsistent;
+	}
+
+	private boolean isNominal(int classId) {
+		return this.indexOfNominal.get(classId).isPresent();
+	}
+
+	/**
+	 * Computes the types of all the individuals. This method needs the
+	 * classifier status after the classification of the terminological axioms
+	 * and before the auxiliary classes are removed from the class graph.
+	 * 
+	 * @param status
+	 *            classifier status
+	 */
+	void process(ClassifierStatusImpl status) {
+		Objects.requireNonNull(status);
+		this.status = status;
+		this.ontology = status.getExtendedOntology();
+		this.types = new int[this.individuals.length][];
+		this.derivedEdges.clear();
+		this.derivedPredecessors.clear();
+		this.superPropertyCache.clear();
+
+		BitSet queued = new BitSet();
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		for (int index = 0; index < this.individuals.length; index++) {
+			queued.set(index);
+			toVisit.add(index);
+		}
+		while (!toVisit.isEmpty()) {
+			int index = toVisit.poll();
+			queued.clear(index);
+			if (update(index)) {
+				Set<Integer> predecessors = new HashSet<>();
+				for (int position = this.predecessorStart[index]; position < this.predecessorStart[index
+						+ 1]; position++) {
+					predecessors.add(this.predecessor[position]);
+				}
+				predecessors.addAll(this.derivedPredecessors.get(index).orElse(Collections.emptySet()));
+				predecessors.forEach(current -> {
+					if (!queued.get(current)) {
+						queued.set(current);
+						toVisit.add(current);
+					}
+				});
+			}
+		}
+
+		this.inconsistent = Arrays.stream(this.types)
+				.anyMatch(currentTypes -> Arrays.binarySearch(currentTypes, bottomClassId) >= 0);
+		this.status = null;
+	}
+
+	/**
+	 * Tells whether the given axiom refers to an auxiliary nominal of any
+	 * individual, including the individuals created after this processor.
+	 * 
+	 * @param axiom
+	 *            normalized axiom
+	 * @return <code>true</code> if and only if the given axiom refers to an
+	 *         auxiliary nominal
+	 */
+	boolean refersToIndividual(NormalizedIntegerAxiom axiom) {
+		Objects.requireNonNull(axiom);
+		DefaultIdentifierCollector collector = new DefaultIdentifierCollector(axiom);
+		return (axiom instanceof NominalAxiom)
+				|| collector.getClassesOnTheLeft().stream()
+						.anyMatch(classId -> this.entityManager.getIndividual(classId).isPresent())
+				|| collector.getClassesOnTheRight().stream()
+						.anyMatch(classId -> this.entityManager.getIndividual(classId).isPresent());
+	}
+
+	private int[] sortBy(int[] subjects, int[] start, int[] values) {
+		int[] next = Arrays.copyOf(start, start.length);
+		int[] ret = new int[values.length];
+		for (int position = 0; position < values.length; position++) {
+			ret[next[subjects[position]]++] = values[position];
+		}
+		return ret;
+	}
+
+	/**
+	 * Applies the rules to the given individual until no more types or
+	 * successors can be derived.
+	 * 
+	 * @param index
+	 *            individual index
+	 * @return <code>true</code> if and only if a type or a successor was
+	 *         derived
+	 */
+	private boolean update(int index) {
+		BitSet currentTypes = new BitSet();
+		Deque<Integer> newTypes = new ArrayDeque<>();
+		IntConsumer addType = classId -> {
+			if (!currentTypes.get(classId)) {
+				currentTypes.set(classId);
+				newTypes.add(classId);
+			}
+		};
+		int previousNumberOfTypes = -1;
+		boolean newEdgeAdded = false;
+		if (Objects.isNull(this.types[index])) {
+			addType.accept(topClassId);
+			for (int position = this.toldTypeStart[index]; position < this.toldTypeStart[index + 1]; position++) {
+				addType.accept(this.toldType[position]);
+			}
+		} else {
+			previousNumberOfTypes = this.types[index].length;
+			Arrays.stream(this.types[index]).forEach(currentTypes::set);
+		}
+
+		boolean changed = true;
+		while (changed) {
+			while (!newTypes.isEmpty()) {
+				int classId = newTypes.pop();
+				this.status.getSubsumers(classId).forEach(addType::accept);
+				this.ontology.getGCI1Axioms(classId).forEach(axiom -> {
+					int other = (axiom.getLeftSubClass() == classId) ? axiom.getRightSubClass()
+							: axiom.getLeftSubClass();
+					if (currentTypes.get(other)) {
+						addType.accept(axiom.getSuperClass());
+					}
+				});
+			}
+
+			this.types[index] = currentTypes.stream().toArray();
+
+			forEachEdge(index, (property, target) -> {
+				if (hasType(target, bottomClassId)) {
+					addType.accept(bottomClassId);
+				}
+				getSuperProperties(property).forEach(superProperty -> this.ontology.getGCI3rAxioms(superProperty)
+						.forEach(axiom -> {
+							if (hasType(target, axiom.getClassInSubClass())) {
+								addType.accept(axiom.getSuperClass());
+							}
+						}));
+			});
+
+			Set<Long> newEdges = new HashSet<>();
+			forEachEdge(index, (property, target) -> getSuperProperties(property)
+					.forEach(superProperty -> this.ontology.getRI3AxiomsByLeft(superProperty).forEach(axiom -> {
+						long superPropertyOfChain = axiom.getSuperProperty();
+						forEachSuccessor(target, axiom.getRightSubProperty(), successor -> newEdges
+								.add((superPropertyOfChain << Integer.SIZE) | (successor & 0xFFFFFFFFL)));
+					})));
+			boolean edgeAdded = false;
+			for (long edge : newEdges) {
+				edgeAdded |= addDerivedEdge(index, (int) (edge >>> Integer.SIZE), (int) edge);
+			}
+
+			newEdgeAdded |= edgeAdded;
+			changed = !newTypes.isEmpty() || edgeAdded;
+		}
+		this.types[index] = currentTypes.stream().toArray();
+		return (this.types[index].length != previousNumberOfTypes) || newEdgeAdded;
+	}
+
+	/**
+	 * Consumer of a property and a successor.
+	 */
+	@FunctionalInterface
+	interface EdgeConsumer {
+
+		void accept(int property, int target);
+
+	}
+
+}
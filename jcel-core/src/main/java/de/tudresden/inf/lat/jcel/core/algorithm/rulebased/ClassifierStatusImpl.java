@@ -47,6 +47,8 @@
 package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
 
 import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Collection;
@@ -62,11 +64,13 @@ import java.util.TreeSet;
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
 import de.tudresden.inf.lat.jcel.core.completion.common.REntry;
 import de.tudresden.inf.lat.jcel.core.completion.common.SEntry;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerBinaryRelation;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerRelationMapImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerBidirectionalGraphImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraphImpl;
 import de.tudresden.inf.lat.jcel.core.graph.VNode;
 import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
+import de.tudresden.inf.lat.jcel.core.graph.VNodeObjectSomeValuesFrom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
@@ -510,6 +514,74 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		}
 	}
 
+	/**
+	 * Reads the sets S, R, and V, and the queues of entries to be processed,
+	 * as written by {@link #writeCheckpoint(DataOutput)}. This classifier
+	 * status must have been created with the same extended ontology and
+	 * entity manager as the status that wrote the checkpoint.
+	 * 
+	 * @param input
+	 *            input
+	 * @throws IOException
+	 *             if something goes wrong with the input
+	 */
+	void readCheckpoint(DataInput input) throws IOException {
+		synchronized (this.monitorClassGraph) {
+			int numberOfClasses = input.readInt();
+			for (int index = 0; index < numberOfClasses; index++) {
+				int classId = input.readInt();
+				int numberOfSubsumers = input.readInt();
+				this.classGraph.add(classId);
+				if (numberOfSubsumers < 0) {
+					if (classId != bottomClassId) {
+						this.classGraph.addAncestor(classId, bottomClassId);
+					}
+				} else {
+					for (int subsumerIndex = 0; subsumerIndex < numberOfSubsumers; subsumerIndex++) {
+						this.classGraph.addAncestor(classId, input.readInt());
+					}
+				}
+			}
+		}
+
+		synchronized (this.monitorRelationSet) {
+			int numberOfTriplets = input.readInt();
+			for (int index = 0; index < numberOfTriplets; index++) {
+				this.relationSet.add(input.readInt(), input.readInt(), input.readInt());
+			}
+		}
+
+		this.nodeSet.clear();
+		this.invNodeSet.clear();
+		int numberOfNodes = input.readInt();
+		for (int index = 0; index < numberOfNodes; index++) {
+			int nodeId = input.readInt();
+			VNodeImpl node = new VNodeImpl(input.readInt());
+			int numberOfExistentials = input.readInt();
+			for (int existentialIndex = 0; existentialIndex < numberOfExistentials; existentialIndex++) {
+				node.addExistential(input.readInt(), input.readInt());
+			}
+			this.nodeSet.put(nodeId, node);
+			this.invNodeSet.put(node, nodeId);
+		}
+
+		synchronized (this.monitorSetQsubS) {
+			this.setQsubS.clear();
+			int numberOfSEntries = input.readInt();
+			for (int index = 0; index < numberOfSEntries; index++) {
+				this.setQsubS.add(new SEntryImpl(input.readInt(), input.readInt()));
+			}
+		}
+
+		synchronized (this.monitorSetQsubR) {
+			this.setQsubR.clear();
+			int numberOfREntries = input.readInt();
+			for (int index = 0; index < numberOfREntries; index++) {
+				this.setQsubR.add(new REntryImpl(input.readInt(), input.readInt(), input.readInt()));
+			}
+		}
+	}
+
 	/**
 	 * Returns the next R-entry and removes it from the set to be processed.
 	 * 
@@ -586,4 +658,83 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		writer.flush();
 	}
 
+	/**
+	 * Writes the sets S, R, and V, and the queues of entries to be processed.
+	 * The extended ontology and the entity manager are not written.
+	 * 
+	 * @param output
+	 *            output
+	 * @throws IOException
+	 *             if something goes wrong with the output
+	 */
+	void writeCheckpoint(DataOutput output) throws IOException {
+		synchronized (this.monitorClassGraph) {
+			Collection<Integer> classes = this.classGraph.getElements();
+			output.writeInt(classes.size());
+			for (Integer classId : classes) {
+				Collection<Integer> subsumers = this.classGraph.getSubsumers(classId);
+				output.writeInt(classId);
+				if (subsumers.contains(bottomClassId)) {
+					output.writeInt(-1);
+				} else {
+					output.writeInt(subsumers.size());
+					for (Integer subsumer : subsumers) {
+						output.writeInt(subsumer);
+					}
+				}
+			}
+		}
+
+		synchronized (this.monitorRelationSet) {
+			int numberOfTriplets = 0;
+			for (Integer propertyId : this.relationSet.getElements()) {
+				IntegerBinaryRelation relation = this.relationSet.get(propertyId);
+				for (Integer first : relation.getElements()) {
+					numberOfTriplets += relation.getByFirst(first).size();
+				}
+			}
+			output.writeInt(numberOfTriplets);
+			for (Integer propertyId : this.relationSet.getElements()) {
+				IntegerBinaryRelation relation = this.relationSet.get(propertyId);
+				for (Integer first : relation.getElements()) {
+					for (Integer second : relation.getByFirst(first)) {
+						output.writeInt(propertyId);
+						output.writeInt(first);
+						output.writeInt(second);
+					}
+				}
+			}
+		}
+
+		output.writeInt(this.nodeSet.size());
+		for (Integer nodeId : this.nodeSet.keySet()) {
+			VNodeImpl node = this.nodeSet.get(nodeId).get();
+			output.writeInt(nodeId);
+			output.writeInt(node.getClassId());
+			Collection<VNodeObjectSomeValuesFrom> existentials = node.getExistentialEntries();
+			output.writeInt(existentials.size());
+			for (VNodeObjectSomeValuesFrom existential : existentials) {
+				output.writeInt(existential.getObjectPropertyId());
+				output.writeInt(existential.getClassId());
+			}
+		}
+
+		synchronized (this.monitorSetQsubS) {
+			output.writeInt(this.setQsubS.size());
+			for (SEntry entry : this.setQsubS) {
+				output.writeInt(entry.getSubClass());
+				output.writeInt(entry.getSuperClass());
+			}
+		}
+
+		synchronized (this.monitorSetQsubR) {
+			output.writeInt(this.setQsubR.size());
+			for (REntry entry : this.setQsubR) {
+				output.writeInt(entry.getProperty());
+				output.writeInt(entry.getLeftClass());
+				output.writeInt(entry.getRightClass());
+			}
+		}
+	}
+
 }
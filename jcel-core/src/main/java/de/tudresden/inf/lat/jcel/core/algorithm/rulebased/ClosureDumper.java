@@ -0,0 +1,368 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import de.tudresden.inf.lat.jcel.core.graph.IntegerBinaryRelation;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerRelationMap;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraph;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+
+/**
+ * An object of this class writes set S and set R as triples, in Turtle or in
+ * N-Triples. Unlike {@link TurtleRenderer}, the rendered form of every entity
+ * is computed once, the prefixes are found without parsing the names as URIs,
+ * and the triples are formatted in parallel in chunks, which are written in
+ * order. <br>
+ * Names that are not IRIs, like the names of auxiliary entities, are written
+ * in the namespace {@link #defaultNamespace}. The characters that cannot
+ * appear in an IRI between <code>&lt;</code> and <code>&gt;</code> are
+ * written as <code>&#92;uXXXX</code> escapes.
+ * 
+ * @author Julian Mendez
+ */
+public class ClosureDumper {
+
+	/**
+	 * Syntax of the output.
+	 */
+	public enum Format {
+		NTRIPLES, TURTLE
+	}
+
+	/**
+	 * An object implementing this interface formats the triples of one
+	 * element.
+	 */
+	private interface ElementFormatter {
+
+		/**
+		 * Appends the triples of the element with the given position.
+		 * 
+		 * @param index
+		 *            position of the element
+		 * @param sbuf
+		 *            buffer
+		 * @param terms
+		 *            rendered entities
+		 * @return the number of triples appended
+		 */
+		int format(int index, StringBuilder sbuf, String[] terms);
+
+	}
+
+	public static final String defaultNamespace = "https://lat.inf.tu-dresden.de/jcel/";
+	private static final int elementsPerChunk = 0x400;
+	private static final String forbiddenIriCharacters = "<>\"{}|^`\\";
+	private static final String fragmentSeparator = "#";
+	private static final String gzipSuffix = ".gz";
+	private static final String lineEnd = " .\n";
+	private static final String prefixBeginning = "p";
+	private static final String prefixKeyword = "@prefix";
+	private static final String prefixSeparator = ":";
+	private static final String slash = "/";
+	private static final String space = " ";
+	private static final String tab = "\t";
+	private static final String uriDelimiterLeft = "<";
+	private static final String uriDelimiterRight = ">";
+
+	private final String[] abbreviatedTerms;
+	private final String[] fullTerms;
+	private final int numberOfChunksPerRound;
+	private final Map<String, String> prefixMap = new TreeMap<>();
+	private final String subClassOfAbbreviated;
+	private final String subClassOfFull;
+
+	/**
+	 * Constructs a new dumper for the entities of the given entity manager.
+	 * 
+	 * @param entityManager
+	 *            entity manager
+	 */
+	public ClosureDumper(IntegerEntityManager entityManager) {
+		Objects.requireNonNull(entityManager);
+		int size = entityManager.size();
+		String[] iris = new String[size];
+		IntStream.range(0, size).parallel().forEach(id -> iris[id] = getIri(entityManager.getName(id)));
+
+		TreeSet<String> namespaces = new TreeSet<>();
+		for (String iri : iris) {
+			namespaces.add(getNamespace(iri));
+		}
+		namespaces.remove(defaultNamespace);
+		namespaces.remove("");
+		this.prefixMap.put(defaultNamespace, "");
+		namespaces.forEach(namespace -> this.prefixMap.put(namespace, prefixBeginning + this.prefixMap.size()));
+
+		this.fullTerms = new String[size];
+		this.abbreviatedTerms = new String[size];
+		IntStream.range(0, size).parallel().forEach(id -> {
+			this.fullTerms[id] = getFullTerm(iris[id]);
+			this.abbreviatedTerms[id] = getAbbreviatedTerm(iris[id]);
+		});
+		String subClassOfIri = defaultNamespace + Renderer.subClassOf;
+		this.subClassOfFull = getFullTerm(subClassOfIri);
+		this.subClassOfAbbreviated = getAbbreviatedTerm(subClassOfIri);
+		this.numberOfChunksPerRound = 4 * Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Creates a writer for the given file, which is compressed with gzip if
+	 * the file name ends with <code>.gz</code>.
+	 * 
+	 * @param file
+	 *            file
+	 * @return a writer for the given file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static Writer createWriter(File file) throws IOException {
+		Objects.requireNonNull(file);
+		OutputStream output = new FileOutputStream(file);
+		if (file.getName().endsWith(gzipSuffix)) {
+			output = new GZIPOutputStream(output);
+		}
+		return new OutputStreamWriter(output, StandardCharsets.UTF_8);
+	}
+
+	private long dump(Writer writer, Format format, int numberOfElements, ElementFormatter formatter)
+			throws IOException {
+		BufferedWriter output = new BufferedWriter(writer);
+		if (format.equals(Format.TURTLE)) {
+			writePrefixes(output);
+		}
+		String[] terms = format.equals(Format.TURTLE) ? this.abbreviatedTerms : this.fullTerms;
+		long ret = 0;
+		int elementsPerRound = elementsPerChunk * this.numberOfChunksPerRound;
+		for (int roundStart = 0; roundStart < numberOfElements; roundStart += elementsPerRound) {
+			int start = roundStart;
+			int end = Math.min(numberOfElements, start + elementsPerRound);
+			int numberOfChunks = (end - start + elementsPerChunk - 1) / elementsPerChunk;
+			long[] counts = new long[numberOfChunks];
+			List<StringBuilder> chunks = IntStream.range(0, numberOfChunks).parallel().mapToObj(chunk -> {
+				StringBuilder sbuf = new StringBuilder();
+				int chunkEnd = Math.min(end, start + (chunk + 1) * elementsPerChunk);
+				for (int index = start + chunk * elementsPerChunk; index < chunkEnd; index++) {
+					counts[chunk] += formatter.format(index, sbuf, terms);
+				}
+				return sbuf;
+			}).collect(Collectors.toList());
+			for (StringBuilder chunk : chunks) {
+				output.append(chunk);
+			}
+			for (long count : counts) {
+				ret += count;
+			}
+		}
+		output.flush();
+		return ret;
+	}
+
+	/**
+	 * Writes set R. Each triple has an object property as predicate, and two
+	 * classes as subject and object.
+	 * 
+	 * @param setR
+	 *            set R
+	 * @param writer
+	 *            writer
+	 * @param format
+	 *            syntax of the output
+	 * @return the number of triples written
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public long dumpSetR(IntegerRelationMap setR, Writer writer, Format format) throws IOException {
+		Objects.requireNonNull(setR);
+		Objects.requireNonNull(writer);
+		Objects.requireNonNull(format);
+		List<int[]> pairs = new ArrayList<>();
+		setR.getElements().forEach(property -> setR.get(property).getElements()
+				.forEach(left -> pairs.add(new int[] { property, left })));
+		return dump(writer, format, pairs.size(), (index, sbuf, terms) -> {
+			int property = pairs.get(index)[0];
+			int left = pairs.get(index)[1];
+			IntegerBinaryRelation relation = setR.get(property);
+			int ret = 0;
+			for (Integer right : relation.getByFirst(left)) {
+				writeTriple(sbuf, terms[left], terms[property], terms[right]);
+				ret++;
+			}
+			return ret;
+		});
+	}
+
+	/**
+	 * Writes set S. Each triple has a class as subject, a subsumer of it as
+	 * object, and <code>isA</code> as predicate.
+	 * 
+	 * @param setS
+	 *            set S
+	 * @param writer
+	 *            writer
+	 * @param format
+	 *            syntax of the output
+	 * @return the number of triples written
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public long dumpSetS(IntegerSubsumerGraph setS, Writer writer, Format format) throws IOException {
+		Objects.requireNonNull(setS);
+		Objects.requireNonNull(writer);
+		Objects.requireNonNull(format);
+		int[] classes = setS.getElements().stream().mapToInt(Integer::intValue).toArray();
+		String predicate = format.equals(Format.TURTLE) ? this.subClassOfAbbreviated : this.subClassOfFull;
+		return dump(writer, format, classes.length, (index, sbuf, terms) -> {
+			int subClass = classes[index];
+			int ret = 0;
+			for (Integer superClass : setS.getSubsumers(subClass)) {
+				writeTriple(sbuf, terms[subClass], predicate, terms[superClass]);
+				ret++;
+			}
+			return ret;
+		});
+	}
+
+	private String escapeIri(String iri) {
+		StringBuilder sbuf = new StringBuilder();
+		iri.chars().forEach(ch -> {
+			if (ch <= ' ' || forbiddenIriCharacters.indexOf(ch) >= 0) {
+				sbuf.append(String.format("\\u%04X", ch));
+			} else {
+				sbuf.append((char) ch);
+			}
+		});
+		return sbuf.toString();
+	}
+
+	private String getAbbreviatedTerm(String iri) {
+		String ret = getFullTerm(iri);
+		String namespace = getNamespace(iri);
+		String prefix = this.prefixMap.get(namespace);
+		String localName = iri.substring(namespace.length());
+		if (Objects.nonNull(prefix) && isLocalName(localName)) {
+			ret = prefix + prefixSeparator + localName;
+		}
+		return ret;
+	}
+
+	private String getFullTerm(String iri) {
+		return uriDelimiterLeft + escapeIri(iri) + uriDelimiterRight;
+	}
+
+	private String getIri(String name) {
+		int colon = name.indexOf(prefixSeparator);
+		boolean hasScheme = colon > 0
+				&& name.substring(0, colon).chars().allMatch(ch -> Character.isLetterOrDigit(ch) || ch == '+'
+						|| ch == '-' || ch == '.')
+				&& Character.isLetter(name.charAt(0));
+		return hasScheme ? name : defaultNamespace + name;
+	}
+
+	private String getNamespace(String iri) {
+		int pos = iri.lastIndexOf(fragmentSeparator);
+		if (pos < 0) {
+			pos = iri.lastIndexOf(slash);
+		}
+		return iri.substring(0, pos + 1);
+	}
+
+	/**
+	 * Returns the prefixes used in Turtle, as a map from namespaces to
+	 * prefix names.
+	 * 
+	 * @return the prefixes used in Turtle
+	 */
+	public Map<String, String> getPrefixMap() {
+		return new TreeMap<>(this.prefixMap);
+	}
+
+	private boolean isLocalName(String name) {
+		return !name.isEmpty() && Character.isLetterOrDigit(name.charAt(0))
+				&& name.chars().allMatch(ch -> Character.isLetterOrDigit(ch) || ch == '_' || ch == '-');
+	}
+
+	private void writePrefixes(BufferedWriter output) throws IOException {
+		for (Map.Entry<String, String> entry : this.prefixMap.entrySet()) {
+			output.write(prefixKeyword);
+			output.write(space);
+			output.write(entry.getValue());
+			output.write(prefixSeparator);
+			output.write(space);
+			output.write(getFullTerm(entry.getKey()));
+			output.write(lineEnd);
+		}
+		output.newLine();
+	}
+
+	private void writeTriple(StringBuilder sbuf, String subject, String predicate, String object) {
+		sbuf.append(subject);
+		sbuf.append(tab);
+		sbuf.append(predicate);
+		sbuf.append(tab);
+		sbuf.append(object);
+		sbuf.append(lineEnd);
+	}
+
+}
@@ -0,0 +1,347 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraphImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerRelationMapImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraphImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class processes the nominals after the execution of the
+ * classification algorithm. For each auxiliary nominal, it adds the subsumers
+ * of a descendant <i>d</i> to the subsumers of another descendant <i>c</i> if
+ * <i>d</i> is reachable from <i>c</i> or from any nominal using the relations
+ * in R.
+ * <p>
+ * The reachable classes and the subsumers are kept as bit sets indexed by
+ * class identifier. The classes reachable from any nominal are computed once
+ * with a single traversal, the classes reachable from a particular class are
+ * computed on demand and kept, and the new subsumers of a class are collected
+ * before they are added to the class graph. The descendants of each nominal
+ * are computed once from the hierarchical graph, and then only extended with
+ * the classes that become descendants of that nominal because of the
+ * subsumers added during the processing.
+ * </p>
+ * 
+ * @author Julian Mendez
+ */
+class NominalProcessor {
+
+	private final OptMap<Integer, Set<Integer>> addedSubsumees = new OptMapImpl<>(new HashMap<>());
+	private final IntegerSubsumerGraphImpl classGraph;
+	private final IntegerEntityManager entityManager;
+	private final OptMap<Integer, BitSet> reachabilityCache = new OptMapImpl<>(new HashMap<>());
+	private final IntegerRelationMapImpl relationSet;
+	private final OptMap<Integer, BitSet> subsumerCache = new OptMapImpl<>(new HashMap<>());
+
+	/**
+	 * Constructs a new nominal processor.
+	 * 
+	 * @param status
+	 *            classifier status after the classification
+	 * @param entityManager
+	 *            entity manager
+	 */
+	NominalProcessor(ClassifierStatusImpl status, IntegerEntityManager entityManager) {
+		Objects.requireNonNull(status);
+		Objects.requireNonNull(entityManager);
+		this.classGraph = status.getClassGraph();
+		this.entityManager = entityManager;
+		this.relationSet = status.getRelationSet();
+	}
+
+	/**
+	 * Returns all classes reachable from the given classes using a path where
+	 * each segment is from any of the properties in R. The given classes are
+	 * included.
+	 * 
+	 * @param sources
+	 *            first elements of the paths
+	 * @return the set of all classes reachable from the given classes
+	 */
+	private BitSet computeReachability(Collection<Integer> sources) {
+		BitSet ret = new BitSet();
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		sources.forEach(source -> {
+			if (!ret.get(source)) {
+				ret.set(source);
+				toVisit.add(source);
+			}
+		});
+		while (!toVisit.isEmpty()) {
+			int elem = toVisit.poll();
+			this.relationSet.getRelationsByFirst(elem).forEach(r -> {
+				this.relationSet.getByFirst(r, elem).forEach(next -> {
+					if (!ret.get(next)) {
+						ret.set(next);
+						toVisit.add(next);
+					}
+				});
+			});
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the descendants of a vertex in the hierarchical graph, including
+	 * the vertex itself and its equivalent vertices. The subsumers added during
+	 * the processing are also taken into account.
+	 * 
+	 * @param hierarchicalGraph
+	 *            hierarchical graph
+	 * @param vertex
+	 *            starting vertex to compute the descendants
+	 * @return the descendants of a vertex
+	 */
+	private List<Integer> getDescendants(IntegerHierarchicalGraph hierarchicalGraph, Integer vertex) {
+		List<Integer> ret = new ArrayList<>();
+		BitSet visited = new BitSet();
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		visited.set(vertex);
+		toVisit.add(vertex);
+		while (!toVisit.isEmpty()) {
+			Integer elem = toVisit.poll();
+			ret.add(elem);
+			hierarchicalGraph.getEquivalents(elem).forEach(equivalent -> {
+				if (!visited.get(equivalent)) {
+					visited.set(equivalent);
+					toVisit.add(equivalent);
+				}
+			});
+			hierarchicalGraph.getChildren(elem).forEach(child -> {
+				if (!visited.get(child)) {
+					visited.set(child);
+					toVisit.add(child);
+				}
+			});
+			Optional<Set<Integer>> optSubsumees = this.addedSubsumees.get(elem);
+			if (optSubsumees.isPresent()) {
+				optSubsumees.get().forEach(subsumee -> {
+					if (!visited.get(subsumee)) {
+						visited.set(subsumee);
+						toVisit.add(subsumee);
+					}
+				});
+			}
+		}
+		return ret;
+	}
+
+	private BitSet getReachableClasses(Integer c) {
+		Optional<BitSet> optReachableClasses = this.reachabilityCache.get(c);
+		if (!optReachableClasses.isPresent()) {
+			optReachableClasses = Optional.of(computeReachability(Collections.singleton(c)));
+			this.reachabilityCache.put(c, optReachableClasses.get());
+		}
+		return optReachableClasses.get();
+	}
+
+	private BitSet getSubsumers(Integer c) {
+		Optional<BitSet> optSubsumers = this.subsumerCache.get(c);
+		if (!optSubsumers.isPresent()) {
+			optSubsumers = Optional.of(toBitSet(this.classGraph.getSubsumers(c)));
+			this.subsumerCache.put(c, optSubsumers.get());
+		}
+		return optSubsumers.get();
+	}
+
+	private boolean isSubset(BitSet subset, BitSet superset) {
+		boolean ret = true;
+		for (int elem = subset.nextSetBit(0); ret && (elem >= 0); elem = subset.nextSetBit(elem + 1)) {
+			ret = superset.get(elem);
+		}
+		return ret;
+	}
+
+	/**
+	 * Processes the nominals. It requires a hierarchical graph to get the
+	 * descendants. The propagation is repeated until no class gets new
+	 * subsumers, and therefore the result does not depend on the order in
+	 * which the nominals and their descendants are visited. A class can become
+	 * a descendant of a nominal when it gets new subsumers, and then this
+	 * class and its descendants are added to the descendants of that nominal.
+	 * 
+	 * @param hierarchicalGraph
+	 *            the hierarchical graph
+	 * @return the hierarchical graph of the class graph after processing the
+	 *         nominals, which is the given graph if no class got new subsumers
+	 */
+	public IntegerHierarchicalGraph process(IntegerHierarchicalGraph hierarchicalGraph) {
+		Objects.requireNonNull(hierarchicalGraph);
+		Collection<Integer> nominals = this.entityManager.getAuxiliaryNominals();
+		BitSet reachableFromNominals = computeReachability(nominals);
+		List<List<Integer>> listOfDescendants = new ArrayList<>();
+		List<BitSet> listOfDescendantSets = new ArrayList<>();
+		nominals.forEach(nominal -> {
+			List<Integer> descendants = getDescendants(hierarchicalGraph, nominal);
+			listOfDescendants.add(descendants);
+			listOfDescendantSets.add(toBitSet(descendants));
+		});
+
+		boolean changed = false;
+		boolean changedInRound = true;
+		while (changedInRound) {
+			changedInRound = false;
+			for (List<Integer> descendants : listOfDescendants) {
+				for (int index = 0; index < descendants.size(); index++) {
+					Integer c = descendants.get(index);
+					BitSet newSubsumers = propagate(c, descendants, reachableFromNominals);
+					if (!newSubsumers.isEmpty()) {
+						changedInRound = true;
+						updateDescendants(hierarchicalGraph, c, newSubsumers, listOfDescendants,
+								listOfDescendantSets);
+					}
+				}
+			}
+			changed |= changedInRound;
+		}
+		return changed ? new IntegerHierarchicalGraphImpl(this.classGraph) : hierarchicalGraph;
+	}
+
+	/**
+	 * Adds to the subsumers of <i>c</i> the subsumers of each class <i>d</i>
+	 * that is reachable from <i>c</i> or from any nominal, where <i>c</i> and
+	 * <i>d</i> are descendants of the same nominal. A class <i>d</i> is only
+	 * considered if S(<i>d</i>) is not already contained in S(<i>c</i>). The
+	 * new subsumers are collected first and added to the class graph at the
+	 * end.
+	 * 
+	 * @param c
+	 *            class
+	 * @param descendants
+	 *            descendants of a nominal, including <i>c</i>
+	 * @param reachableFromNominals
+	 *            classes reachable from any nominal
+	 * @return the new subsumers of <i>c</i>
+	 */
+	private BitSet propagate(Integer c, List<Integer> descendants, BitSet reachableFromNominals) {
+		BitSet subsumersOfC = (BitSet) getSubsumers(c).clone();
+		BitSet newSubsumers = new BitSet();
+		descendants.forEach(d -> {
+			if (!c.equals(d)) {
+				BitSet subsumersOfD = getSubsumers(d);
+				if (!isSubset(subsumersOfD, subsumersOfC)
+						&& (reachableFromNominals.get(d) || getReachableClasses(c).get(d))) {
+					BitSet difference = (BitSet) subsumersOfD.clone();
+					difference.andNot(subsumersOfC);
+					newSubsumers.or(difference);
+					subsumersOfC.or(difference);
+				}
+			}
+		});
+		if (!newSubsumers.isEmpty()) {
+			newSubsumers.stream().forEach(elem -> {
+				this.classGraph.addAncestor(c, elem);
+				Optional<Set<Integer>> optSubsumees = this.addedSubsumees.get(elem);
+				if (!optSubsumees.isPresent()) {
+					optSubsumees = Optional.of(new HashSet<>());
+					this.addedSubsumees.put(elem, optSubsumees.get());
+				}
+				optSubsumees.get().add(c);
+			});
+			this.subsumerCache.put(c, toBitSet(this.classGraph.getSubsumers(c)));
+		}
+		return newSubsumers;
+	}
+
+	private BitSet toBitSet(Collection<Integer> collection) {
+		BitSet ret = new BitSet();
+		collection.forEach(elem -> ret.set(elem));
+		return ret;
+	}
+
+	/**
+	 * Adds <i>c</i> and its descendants to the descendants of each nominal
+	 * that has a descendant among the new subsumers of <i>c</i>. Since the
+	 * descendants of a nominal are closed under descendants, only the nominals
+	 * that do not already have <i>c</i> as descendant are considered.
+	 * 
+	 * @param hierarchicalGraph
+	 *            the hierarchical graph
+	 * @param c
+	 *            class that got new subsumers
+	 * @param newSubsumers
+	 *            new subsumers of <i>c</i>
+	 * @param listOfDescendants
+	 *            descendants of each nominal
+	 * @param listOfDescendantSets
+	 *            descendants of each nominal, as bit sets
+	 */
+	private void updateDescendants(IntegerHierarchicalGraph hierarchicalGraph, Integer c, BitSet newSubsumers,
+			List<List<Integer>> listOfDescendants, List<BitSet> listOfDescendantSets) {
+		for (int index = 0; index < listOfDescendantSets.size(); index++) {
+			BitSet descendantSet = listOfDescendantSets.get(index);
+			if (!descendantSet.get(c) && newSubsumers.intersects(descendantSet)) {
+				List<Integer> descendants = listOfDescendants.get(index);
+				getDescendants(hierarchicalGraph, c).forEach(elem -> {
+					if (!descendantSet.get(elem)) {
+						descendantSet.set(elem);
+						descendants.add(elem);
+					}
+				});
+			}
+		}
+	}
+
+}
@@ -0,0 +1,684 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.core.saturation.SubPropertyNormalizer;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.FunctObjectPropAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI0Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI1Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.GCI3Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NominalAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomVisitor;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI1Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI3Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RangeAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManagerImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.OntologyExpressivity;
+import de.tudresden.inf.lat.jcel.coreontology.expressivity.ExpressivityName;
+
+/**
+ * An object of this class is a normalized ontology that is ready to be loaded
+ * by a {@link RuleBasedProcessor}. It contains the normalized axioms after the
+ * saturation of the object property axioms, the original classes and object
+ * properties, the expressivity, and the entity manager that created the
+ * identifiers.
+ * <p>
+ * A snapshot can be saved in a compact binary format and loaded again by
+ * memory-mapping the file. Loading a snapshot skips the translation, the
+ * normalization, and the saturation of the ontology. The annotations of the
+ * normalized axioms are not stored, since they do not take part in the
+ * classification. The header of the file keeps a fingerprint of the source
+ * of the snapshot, which can be used to detect whether a saved snapshot is
+ * outdated.
+ * </p>
+ * 
+ * @author Julian Mendez
+ */
+public class NormalizedOntologySnapshot {
+
+	/**
+	 * An object of this class encodes a normalized axiom as an array of
+	 * integers. The first element is the tag of the axiom, and the remaining
+	 * elements are its arguments.
+	 */
+	private static class AxiomEncoder implements NormalizedIntegerAxiomVisitor<int[]> {
+
+		@Override
+		public int[] visit(FunctObjectPropAxiom axiom) {
+			return new int[] { tagFunctObjectProp, axiom.getProperty() };
+		}
+
+		@Override
+		public int[] visit(GCI0Axiom axiom) {
+			return new int[] { tagGCI0, axiom.getSubClass(), axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI1Axiom axiom) {
+			return new int[] { tagGCI1, axiom.getLeftSubClass(), axiom.getRightSubClass(), axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI2Axiom axiom) {
+			return new int[] { tagGCI2, axiom.getSubClass(), axiom.getPropertyInSuperClass(),
+					axiom.getClassInSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI3Axiom axiom) {
+			return new int[] { tagGCI3, axiom.getPropertyInSubClass(), axiom.getClassInSubClass(),
+					axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(NominalAxiom axiom) {
+			return new int[] { tagNominal, axiom.getClassExpression(), axiom.getIndividual() };
+		}
+
+		@Override
+		public int[] visit(RangeAxiom axiom) {
+			return new int[] { tagRange, axiom.getProperty(), axiom.getRange() };
+		}
+
+		@Override
+		public int[] visit(RI1Axiom axiom) {
+			return new int[] { tagRI1, axiom.getSuperProperty() };
+		}
+
+		@Override
+		public int[] visit(RI2Axiom axiom) {
+			return new int[] { tagRI2, axiom.getSubProperty(), axiom.getSuperProperty() };
+		}
+
+		@Override
+		public int[] visit(RI3Axiom axiom) {
+			return new int[] { tagRI3, axiom.getLeftSubProperty(), axiom.getRightSubProperty(),
+					axiom.getSuperProperty() };
+		}
+
+	}
+
+	/**
+	 * An object of this class is an expressivity read from a snapshot.
+	 */
+	private static class StoredExpressivity implements OntologyExpressivity {
+
+		private final int flags;
+		private final String name;
+
+		StoredExpressivity(int flags) {
+			this.flags = flags;
+			this.name = (new ExpressivityName()).getName(this);
+		}
+
+		@Override
+		public boolean hasBottom() {
+			return (this.flags & flagBottom) != 0;
+		}
+
+		@Override
+		public boolean hasDatatype() {
+			return (this.flags & flagDatatype) != 0;
+		}
+
+		@Override
+		public boolean hasFunctionalObjectProperty() {
+			return (this.flags & flagFunctionalObjectProperty) != 0;
+		}
+
+		@Override
+		public boolean hasIndividual() {
+			return (this.flags & flagIndividual) != 0;
+		}
+
+		@Override
+		public boolean hasInverseObjectProperty() {
+			return (this.flags & flagInverseObjectProperty) != 0;
+		}
+
+		@Override
+		public boolean hasNominal() {
+			return (this.flags & flagNominal) != 0;
+		}
+
+		@Override
+		public boolean hasReflexiveObjectProperty() {
+			return (this.flags & flagReflexiveObjectProperty) != 0;
+		}
+
+		@Override
+		public boolean hasSubObjectPropertyOf() {
+			return (this.flags & flagSubObjectPropertyOf) != 0;
+		}
+
+		@Override
+		public boolean hasSubPropertyChainOf() {
+			return (this.flags & flagSubPropertyChainOf) != 0;
+		}
+
+		@Override
+		public boolean hasTransitiveObjectProperty() {
+			return (this.flags & flagTransitiveObjectProperty) != 0;
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+	}
+
+	private static final byte auxiliaryFlag = 0x10;
+	private static final int flagBottom = 0x001;
+	private static final int flagDatatype = 0x002;
+	private static final int flagFunctionalObjectProperty = 0x004;
+	private static final int flagIndividual = 0x008;
+	private static final int flagInverseObjectProperty = 0x010;
+	private static final int flagNominal = 0x020;
+	private static final int flagReflexiveObjectProperty = 0x040;
+	private static final int flagSubObjectPropertyOf = 0x080;
+	private static final int flagSubPropertyChainOf = 0x100;
+	private static final int flagTransitiveObjectProperty = 0x200;
+	private static final byte kindAnonymous = 0;
+	private static final byte kindInverseObjectProperty = 3;
+	private static final byte kindMask = 0x0F;
+	private static final byte kindNamed = 1;
+	private static final byte kindNominal = 2;
+	private static final int magicNumber = 0x4A43454C;
+	private static final int tagFunctObjectProp = 0;
+	private static final int tagGCI0 = 1;
+	private static final int tagGCI1 = 2;
+	private static final int tagGCI2 = 3;
+	private static final int tagGCI3 = 4;
+	private static final int tagNominal = 5;
+	private static final int tagRange = 6;
+	private static final int tagRI1 = 7;
+	private static final int tagRI2 = 8;
+	private static final int tagRI3 = 9;
+	private static final int version = 2;
+
+	private final Set<NormalizedIntegerAxiom> axiomSet;
+	private final Set<Integer> classSet;
+	private final IntegerEntityManager entityManager;
+	private final OntologyExpressivity expressivity;
+	private final Set<Integer> objectPropertySet;
+	private final String source;
+
+	/**
+	 * Constructs a new snapshot of a normalized ontology. The object property
+	 * axioms are saturated, and this can create new auxiliary object
+	 * properties in the given entity manager.
+	 * 
+	 * @param originalObjectProperties
+	 *            set of original object properties
+	 * @param originalClasses
+	 *            set of original classes
+	 * @param normalizedAxiomSet
+	 *            set of normalized axioms
+	 * @param expressivity
+	 *            expressivity
+	 * @param factory
+	 *            factory of normalized integer axioms
+	 * @param entityManager
+	 *            entity manager
+	 */
+	public NormalizedOntologySnapshot(Set<Integer> originalObjectProperties, Set<Integer> originalClasses,
+			Set<NormalizedIntegerAxiom> normalizedAxiomSet, OntologyExpressivity expressivity,
+			NormalizedIntegerAxiomFactory factory, IntegerEntityManager entityManager) {
+		Objects.requireNonNull(originalObjectProperties);
+		Objects.requireNonNull(originalClasses);
+		Objects.requireNonNull(normalizedAxiomSet);
+		Objects.requireNonNull(expressivity);
+		Objects.requireNonNull(factory);
+		Objects.requireNonNull(entityManager);
+		this.objectPropertySet = Collections.unmodifiableSet(new HashSet<>(originalObjectProperties));
+		this.classSet = Collections.unmodifiableSet(new HashSet<>(originalClasses));
+		this.axiomSet = Collections
+				.unmodifiableSet((new SubPropertyNormalizer(factory, entityManager)).apply(normalizedAxiomSet));
+		this.expressivity = new StoredExpressivity(getFlags(expressivity));
+		this.entityManager = entityManager;
+		this.source = "";
+	}
+
+	private NormalizedOntologySnapshot(Set<Integer> objectPropertySet, Set<Integer> classSet,
+			Set<NormalizedIntegerAxiom> axiomSet, OntologyExpressivity expressivity,
+			IntegerEntityManager entityManager, String source) {
+		this.objectPropertySet = Collections.unmodifiableSet(objectPropertySet);
+		this.classSet = Collections.unmodifiableSet(classSet);
+		this.axiomSet = Collections.unmodifiableSet(axiomSet);
+		this.expressivity = expressivity;
+		this.entityManager = entityManager;
+		this.source = source;
+	}
+
+	private static int getFlags(OntologyExpressivity expressivity) {
+		int ret = 0;
+		ret |= expressivity.hasBottom() ? flagBottom : 0;
+		ret |= expressivity.hasDatatype() ? flagDatatype : 0;
+		ret |= expressivity.hasFunctionalObjectProperty() ? flagFunctionalObjectProperty : 0;
+		ret |= expressivity.hasIndividual() ? flagIndividual : 0;
+		ret |= expressivity.hasInverseObjectProperty() ? flagInverseObjectProperty : 0;
+		ret |= expressivity.hasNominal() ? flagNominal : 0;
+		ret |= expressivity.hasReflexiveObjectProperty() ? flagReflexiveObjectProperty : 0;
+		ret |= expressivity.hasSubObjectPropertyOf() ? flagSubObjectPropertyOf : 0;
+		ret |= expressivity.hasSubPropertyChainOf() ? flagSubPropertyChainOf : 0;
+		ret |= expressivity.hasTransitiveObjectProperty() ? flagTransitiveObjectProperty : 0;
+		return ret;
+	}
+
+	/**
+	 * Loads a snapshot from a file. The file is memory-mapped, and a new entity
+	 * manager is created with the same identifiers and names of the entity
+	 * manager of the saved snapshot.
+	 * 
+	 * @param file
+	 *            file created by {@link #save(File)}
+	 * @param factory
+	 *            factory of normalized integer axioms
+	 * @return the snapshot stored in the file
+	 * @throws IOException
+	 *             if the file cannot be read, or if it is not a valid
+	 *             snapshot
+	 */
+	public static NormalizedOntologySnapshot load(File file, NormalizedIntegerAxiomFactory factory)
+			throws IOException {
+		Objects.requireNonNull(file);
+		Objects.requireNonNull(factory);
+		try (RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel()) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot is too large to be mapped: '" + file + "'.");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return read(buffer, factory);
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated snapshot: '" + file + "'.", e);
+		}
+	}
+
+	/**
+	 * Reads a snapshot from a buffer, starting at its current position. After
+	 * reading, the position of the buffer is the end of the snapshot.
+	 * 
+	 * @param buffer
+	 *            buffer
+	 * @param factory
+	 *            factory of normalized integer axioms
+	 * @return the snapshot stored in the buffer
+	 * @throws IOException
+	 *             if the buffer does not contain a valid snapshot
+	 */
+	static NormalizedOntologySnapshot read(ByteBuffer buffer, NormalizedIntegerAxiomFactory factory)
+			throws IOException {
+		if (buffer.getInt() != magicNumber) {
+			throw new IOException("Invalid snapshot: the file does not start with the expected magic number.");
+		}
+		int fileVersion = buffer.getInt();
+		if (fileVersion != version) {
+			throw new IOException("Invalid snapshot version: '" + fileVersion + "'.");
+		}
+		String source = readString(buffer);
+		OntologyExpressivity expressivity = new StoredExpressivity(buffer.getInt());
+		IntegerEntityManager entityManager = readEntityManager(buffer);
+		Set<Integer> objectPropertySet = readIntegerSet(buffer);
+		Set<Integer> classSet = readIntegerSet(buffer);
+		int numberOfAxioms = buffer.getInt();
+		Set<NormalizedIntegerAxiom> axiomSet = new HashSet<>();
+		for (int index = 0; index < numberOfAxioms; index++) {
+			axiomSet.add(readAxiom(buffer, factory));
+		}
+		return new NormalizedOntologySnapshot(objectPropertySet, classSet, axiomSet, expressivity, entityManager,
+				source);
+	}
+
+	private static NormalizedIntegerAxiom readAxiom(ByteBuffer buffer, NormalizedIntegerAxiomFactory factory)
+			throws IOException {
+		Set<IntegerAnnotation> annotations = Collections.emptySet();
+		int tag = buffer.getInt();
+		switch (tag) {
+		case tagFunctObjectProp:
+			return factory.createFunctObjectPropAxiom(buffer.getInt(), annotations);
+		case tagGCI0:
+			return factory.createGCI0Axiom(buffer.getInt(), buffer.getInt(), annotations);
+		case tagGCI1:
+			return factory.createGCI1Axiom(buffer.getInt(), buffer.getInt(), buffer.getInt(), annotations);
+		case tagGCI2:
+			return factory.createGCI2Axiom(buffer.getInt(), buffer.getInt(), buffer.getInt(), annotations);
+		case tagGCI3:
+			return factory.createGCI3Axiom(buffer.getInt(), buffer.getInt(), buffer.getInt(), annotations);
+		case tagNominal:
+			return factory.createNominalAxiom(buffer.getInt(), buffer.getInt(), annotations);
+		case tagRange:
+			return factory.createRangeAxiom(buffer.getInt(), buffer.getInt(), annotations);
+		case tagRI1:
+			return factory.createRI1Axiom(buffer.getInt(), annotations);
+		case tagRI2:
+			return factory.createRI2Axiom(buffer.getInt(), buffer.getInt(), annotations);
+		case tagRI3:
+			return factory.createRI3Axiom(buffer.getInt(), buffer.getInt(), buffer.getInt(), annotations);
+		default:
+			throw new IOException("Invalid axiom tag: '" + tag + "'.");
+		}
+	}
+
+	private static IntegerEntityManager readEntityManager(ByteBuffer buffer) throws IOException {
+		IntegerEntityManager ret = new IntegerEntityManagerImpl();
+		IntegerEntityType[] types = IntegerEntityType.values();
+		int size = buffer.getInt();
+		for (int id = IntegerEntityManager.firstUsableIdentifier; id < size; id++) {
+			int typeIndex = buffer.get();
+			if (typeIndex < 0 || typeIndex >= types.length) {
+				throw new IOException("Invalid entity type: '" + typeIndex + "'.");
+			}
+			IntegerEntityType type = types[typeIndex];
+			byte kind = buffer.get();
+			boolean auxiliary = (kind & auxiliaryFlag) != 0;
+			Integer created;
+			switch (kind & kindMask) {
+			case kindAnonymous:
+				created = ret.createAnonymousEntity(type, auxiliary);
+				break;
+			case kindNamed:
+				created = ret.createNamedEntity(type, readString(buffer), auxiliary);
+				break;
+			case kindNominal:
+				created = ret.createOrGetClassIdForIndividual(buffer.getInt());
+				break;
+			case kindInverseObjectProperty:
+				created = ret.createOrGetInverseObjectPropertyOf(buffer.getInt());
+				break;
+			default:
+				throw new IOException("Invalid entity kind: '" + kind + "'.");
+			}
+			if (created != id) {
+				throw new IOException("Invalid entity identifier: '" + created + "' (expected '" + id + "').");
+			}
+		}
+		int numberOfInversePairs = buffer.getInt();
+		for (int index = 0; index < numberOfInversePairs; index++) {
+			ret.proposeInverseObjectPropertyOf(buffer.getInt(), buffer.getInt());
+		}
+		return ret;
+	}
+
+	private static Set<Integer> readIntegerSet(ByteBuffer buffer) {
+		int size = buffer.getInt();
+		Set<Integer> ret = new HashSet<>();
+		for (int index = 0; index < size; index++) {
+			ret.add(buffer.getInt());
+		}
+		return ret;
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the normalized axioms, after the saturation of the object
+	 * property axioms.
+	 * 
+	 * @return the normalized axioms
+	 */
+	public Set<NormalizedIntegerAxiom> getAxioms() {
+		return this.axiomSet;
+	}
+
+	/**
+	 * Returns the original classes.
+	 * 
+	 * @return the original classes
+	 */
+	public Set<Integer> getClasses() {
+		return this.classSet;
+	}
+
+	private String getDefaultName(Integer id) {
+		return (this.entityManager.isAuxiliary(id) ? IntegerEntityManagerImpl.auxiliaryEntity
+				: IntegerEntityManagerImpl.anonymousEntity) + id;
+	}
+
+	/**
+	 * Returns the entity manager.
+	 * 
+	 * @return the entity manager
+	 */
+	public IntegerEntityManager getEntityManager() {
+		return this.entityManager;
+	}
+
+	/**
+	 * Returns the expressivity.
+	 * 
+	 * @return the expressivity
+	 */
+	public OntologyExpressivity getExpressivity() {
+		return this.expressivity;
+	}
+
+	private byte getKind(Integer id) {
+		byte ret;
+		if (this.entityManager.getAuxiliaryInverseObjectProperties().contains(id)) {
+			ret = kindInverseObjectProperty;
+		} else if (this.entityManager.getIndividual(id).isPresent()) {
+			ret = kindNominal;
+		} else if (this.entityManager.getName(id).equals(getDefaultName(id))) {
+			ret = kindAnonymous;
+		} else {
+			ret = kindNamed;
+		}
+		if (this.entityManager.isAuxiliary(id)) {
+			ret |= auxiliaryFlag;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the original object properties.
+	 * 
+	 * @return the original object properties
+	 */
+	public Set<Integer> getObjectProperties() {
+		return this.objectPropertySet;
+	}
+
+	/**
+	 * Returns the fingerprint of the source of this snapshot, or an empty
+	 * string if it is unknown.
+	 * 
+	 * @return the fingerprint of the source of this snapshot
+	 */
+	public String getSource() {
+		return this.source;
+	}
+
+	/**
+	 * Saves this snapshot in a file.
+	 * 
+	 * @param file
+	 *            file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		Objects.requireNonNull(file);
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			write(output);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "[expressivity: " + this.expressivity + ", classes: " + this.classSet.size() + ", object properties: "
+				+ this.objectPropertySet.size() + ", axioms: " + this.axiomSet.size() + "]";
+	}
+
+	/**
+	 * Returns a copy of this snapshot with the given fingerprint of its
+	 * source. The fingerprint is stored in the header of the file when the
+	 * snapshot is saved.
+	 * 
+	 * @param source
+	 *            fingerprint of the source, for example, the size and the
+	 *            modification time of the ontology file
+	 * @return a copy of this snapshot with the given fingerprint of its source
+	 */
+	public NormalizedOntologySnapshot withSource(String source) {
+		Objects.requireNonNull(source);
+		return new NormalizedOntologySnapshot(this.objectPropertySet, this.classSet, this.axiomSet,
+				this.expressivity, this.entityManager, source);
+	}
+
+	/**
+	 * Writes this snapshot, in the format read by
+	 * {@link #read(ByteBuffer, NormalizedIntegerAxiomFactory)}.
+	 * 
+	 * @param output
+	 *            output
+	 * @throws IOException
+	 *             if something goes wrong with the output
+	 */
+	void write(DataOutput output) throws IOException {
+		output.writeInt(magicNumber);
+		output.writeInt(version);
+		writeString(output, this.source);
+		output.writeInt(getFlags(this.expressivity));
+		writeEntityManager(output);
+		writeIntegerSet(output, this.objectPropertySet);
+		writeIntegerSet(output, this.classSet);
+		output.writeInt(this.axiomSet.size());
+		AxiomEncoder encoder = new AxiomEncoder();
+		for (NormalizedIntegerAxiom axiom : this.axiomSet) {
+			for (int value : axiom.accept(encoder)) {
+				output.writeInt(value);
+			}
+		}
+	}
+
+	private void writeEntityManager(DataOutput output) throws IOException {
+		int size = this.entityManager.size();
+		output.writeInt(size);
+		for (int id = IntegerEntityManager.firstUsableIdentifier; id < size; id++) {
+			output.writeByte(this.entityManager.getType(id).ordinal());
+			byte kind = getKind(id);
+			output.writeByte(kind);
+			switch (kind & kindMask) {
+			case kindNamed:
+				byte[] bytes = this.entityManager.getName(id).getBytes(StandardCharsets.UTF_8);
+				output.writeInt(bytes.length);
+				output.write(bytes);
+				break;
+			case kindNominal:
+				output.writeInt(this.entityManager.getIndividual(id).get());
+				break;
+			case kindInverseObjectProperty:
+				output.writeInt(this.entityManager.getInverseObjectProperty(id).get());
+				break;
+			default:
+				break;
+			}
+		}
+		Set<Integer> auxInverseProperties = this.entityManager.getAuxiliaryInverseObjectProperties();
+		List<Integer> inversePairs = new ArrayList<>();
+		this.entityManager.getEntities(IntegerEntityType.OBJECT_PROPERTY).stream()
+				.filter(property -> !auxInverseProperties.contains(property)).forEach(property -> {
+					Optional<Integer> optInverse = this.entityManager.getInverseObjectProperty(property);
+					if (optInverse.isPresent() && (property < optInverse.get())
+							&& !auxInverseProperties.contains(optInverse.get())) {
+						inversePairs.add(property);
+						inversePairs.add(optInverse.get());
+					}
+				});
+		output.writeInt(inversePairs.size() / 2);
+		for (Integer elem : inversePairs) {
+			output.writeInt(elem);
+		}
+	}
+
+	private void writeIntegerSet(DataOutput output, Set<Integer> set) throws IOException {
+		output.writeInt(set.size());
+		for (Integer elem : set) {
+			output.writeInt(elem);
+		}
+	}
+
+	private void writeString(DataOutput output, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.UnclassifiedOntologyException;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+
+/**
+ * An object of this class writes the realization computed by a rule-based
+ * processor, using the OWL 2 functional syntax. The assertions are written
+ * individual by individual, reading the direct types, the map of same
+ * individuals and the object property values of each individual, so that the
+ * inferred ontology is never kept in memory.
+ * 
+ * @author Julian Mendez
+ */
+public class RealizationExporter {
+
+	private static final String bottomClassName = "http://www.w3.org/2002/07/owl#Nothing";
+	private static final String classAssertion = "ClassAssertion";
+	private static final String objectPropertyAssertion = "ObjectPropertyAssertion";
+	private static final String ontologyBeginning = "Ontology(";
+	private static final String ontologyEnd = ")";
+	private static final String parenthesisLeft = "(";
+	private static final String parenthesisRight = ")";
+	private static final String sameIndividual = "SameIndividual";
+	private static final String space = " ";
+	private static final String uriDelimiterLeft = "<";
+	private static final String uriDelimiterRight = ">";
+
+	private final RuleBasedProcessor processor;
+
+	/**
+	 * Constructs a new realization exporter.
+	 * 
+	 * @param processor
+	 *            rule-based processor
+	 */
+	public RealizationExporter(RuleBasedProcessor processor) {
+		Objects.requireNonNull(processor);
+		this.processor = processor;
+	}
+
+	/**
+	 * Writes the realization to the given output stream, using UTF-8. The
+	 * output stream is flushed but not closed.
+	 * 
+	 * @param output
+	 *            output stream
+	 * @return the number of assertions written
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws UnclassifiedOntologyException
+	 *             if the classification has not finished yet
+	 */
+	public long export(OutputStream output) throws IOException, UnclassifiedOntologyException {
+		Objects.requireNonNull(output);
+		return export(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes the realization to the given writer. For each individual, it
+	 * writes its direct types, the individuals that are the same as it, and
+	 * its object property values. The object property values are read for one
+	 * individual at a time, so only the values of the current individual are
+	 * kept in memory. The writer is flushed but not closed.
+	 * 
+	 * @param writer
+	 *            writer
+	 * @return the number of assertions written
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws UnclassifiedOntologyException
+	 *             if the classification has not finished yet
+	 */
+	public long export(Writer writer) throws IOException, UnclassifiedOntologyException {
+		Objects.requireNonNull(writer);
+		BufferedWriter output = new BufferedWriter(writer);
+		Map<Integer, Set<Integer>> directTypes = this.processor.getDirectTypes();
+		Map<Integer, Set<Integer>> sameIndividualMap = this.processor.getSameIndividualMap();
+		int[] individuals = directTypes.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+
+		long ret = 0;
+		output.write(ontologyBeginning);
+		output.newLine();
+		for (int individual : individuals) {
+			String individualName = getName(individual);
+
+			for (int type : sort(directTypes.get(individual))) {
+				if (type != IntegerEntityManager.topClassId) {
+					renderAssertion(output, classAssertion, getName(type), individualName);
+					ret++;
+				}
+			}
+
+			Set<Integer> sameIndividuals = sameIndividualMap.getOrDefault(individual, Collections.emptySet());
+			int[] sortedSameIndividuals = sort(sameIndividuals);
+			if ((sortedSameIndividuals.length > 1) && (sortedSameIndividuals[0] == individual)) {
+				String[] names = new String[sortedSameIndividuals.length];
+				for (int index = 0; index < names.length; index++) {
+					names[index] = getName(sortedSameIndividuals[index]);
+				}
+				renderAssertion(output, sameIndividual, names);
+				ret++;
+			}
+
+			Map<Integer, Set<Integer>> values = this.processor.getObjectPropertyValues(individual);
+			for (int property : sort(values.keySet())) {
+				String propertyName = getName(property);
+				for (int value : sort(values.get(property))) {
+					renderAssertion(output, objectPropertyAssertion, propertyName, individualName, getName(value));
+					ret++;
+				}
+			}
+		}
+		output.write(ontologyEnd);
+		output.newLine();
+		output.flush();
+		return ret;
+	}
+
+	private String getName(int identifier) {
+		return (identifier == IntegerEntityManager.bottomClassId) ? bottomClassName
+				: this.processor.getEntityManager().getName(identifier);
+	}
+
+	private void renderAssertion(BufferedWriter output, String keyword, String... names) throws IOException {
+		output.write(keyword);
+		output.write(parenthesisLeft);
+		for (int index = 0; index < names.length; index++) {
+			if (index > 0) {
+				output.write(space);
+			}
+			output.write(uriDelimiterLeft);
+			output.write(names[index]);
+			output.write(uriDelimiterRight);
+		}
+		output.write(parenthesisRight);
+		output.newLine();
+	}
+
+	private int[] sort(Set<Integer> set) {
+		return set.stream().mapToInt(Integer::intValue).sorted().toArray();
+	}
+
+}
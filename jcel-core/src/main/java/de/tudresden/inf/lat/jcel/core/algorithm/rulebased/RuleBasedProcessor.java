@@ -46,11 +46,23 @@
 
 package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -63,7 +75,9 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.common.RealizationIndex;
 import de.tudresden.inf.lat.jcel.core.algorithm.common.UnclassifiedOntologyException;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.AssertionProcessor.EdgeConsumer;
 import de.tudresden.inf.lat.jcel.core.completion.common.REntry;
 import de.tudresden.inf.lat.jcel.core.completion.common.SEntry;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerBinaryRelation;
@@ -123,23 +137,35 @@ public class RuleBasedProcessor implements Processor {
 
 	private static final Logger logger = Logger.getLogger(RuleBasedProcessor.class.getName());
 
+	private static final int checkpointMagicNumber = 0x4A434550;
+	private static final int checkpointVersion = 1;
 	private static final long loggingFrequency = 0x1000000;
+	private static final int parallelLoadingThreshold = 0x10000;
 	private static final long threadWaitingTime = 0x20;
 	private static final Integer topClassId = IntegerEntityManager.topClassId;
 
+	private AssertionProcessor assertionProcessor = null;
 	private RChain chainR = null;
 	private SChain chainS = null;
+	private File checkpointFile = null;
+	private long checkpointInterval = 0;
 	private IntegerHierarchicalGraph classHierarchy = null;
+	private IntegerHierarchicalGraph classHierarchyWithNominals = null;
+	private ClosureDumper closureDumper = null;
 	private IntegerHierarchicalGraph dataPropertyHierarchy = null;
 	private OptMap<Integer, Set<Integer>> directTypes = null;
 	private final IntegerEntityManager entityManager;
 	private final NormalizedIntegerAxiomFactory factory;
 	private boolean isReady = false;
 	private long iteration = 0;
+	private long lastCheckpointTime = 0;
 	private long loggingCount = loggingFrequency;
 	private final boolean multiThreadedMode = false;
+	private boolean nominalsProcessed = false;
 	private IntegerHierarchicalGraph objectPropertyHierarchy = null;
+	private RealizationIndex realizationIndex = null;
 	private OptMap<Integer, Set<Integer>> sameIndividualMap = null;
+	private NormalizedOntologySnapshot snapshot = null;
 	private ClassifierStatusImpl status = null;
 	private WorkerThreadR threadR1 = null;
 	private WorkerThreadR threadR2 = null;
@@ -165,6 +191,37 @@ public class RuleBasedProcessor implements Processor {
 	public RuleBasedProcessor(Set<Integer> originalObjectProperties, Set<Integer> originalClasses,
 			Set<NormalizedIntegerAxiom> normalizedAxiomSet, OntologyExpressivity expressivity,
 			NormalizedIntegerAxiomFactory factory, IntegerEntityManager entityManager) {
+		this(originalObjectProperties, originalClasses, normalizedAxiomSet, expressivity, factory, entityManager,
+				false);
+	}
+
+	/**
+	 * Constructs a new rule-based processor. In ABox materialization mode, the
+	 * individuals that only appear in assertions do not take part in the
+	 * classification. Their types are materialized after the classification
+	 * of the remaining axioms. This mode is only used if no other axiom refers
+	 * to an individual and if there are no inverse or functional object
+	 * properties.
+	 * 
+	 * @param originalObjectProperties
+	 *            set of original object properties
+	 * @param originalClasses
+	 *            set of original classes
+	 * @param normalizedAxiomSet
+	 *            set of normalized axioms
+	 * @param expressivity
+	 *            expressivity
+	 * @param factory
+	 *            factory of normalized integer axioms
+	 * @param entityManager
+	 *            entity manager
+	 * @param aboxMaterializationMode
+	 *            <code>true</code> to materialize the assertions separately
+	 */
+	public RuleBasedProcessor(Set<Integer> originalObjectProperties, Set<Integer> originalClasses,
+			Set<NormalizedIntegerAxiom> normalizedAxiomSet, OntologyExpressivity expressivity,
+			NormalizedIntegerAxiomFactory factory, IntegerEntityManager entityManager,
+			boolean aboxMaterializationMode) {
 		Objects.requireNonNull(originalObjectProperties);
 		Objects.requireNonNull(originalClasses);
 		Objects.requireNonNull(normalizedAxiomSet);
@@ -179,17 +236,148 @@ public class RuleBasedProcessor implements Processor {
 		this.chainR = selector.getRChain();
 		this.chainS = selector.getSChain();
 
-		preProcess(createExtendedOntology(originalObjectProperties, originalClasses, normalizedAxiomSet));
+		Set<NormalizedIntegerAxiom> axiomSet = normalizedAxiomSet;
+		Set<Integer> objectPropertySet = originalObjectProperties;
+		Set<Integer> classSet = originalClasses;
+		if (aboxMaterializationMode && !expressivity.hasInverseObjectProperty()
+				&& !expressivity.hasFunctionalObjectProperty()) {
+			AssertionProcessor processor = new AssertionProcessor(normalizedAxiomSet, entityManager);
+			if (processor.isApplicable()) {
+				this.assertionProcessor = processor;
+				axiomSet = processor.getTerminologicalAxioms();
+				objectPropertySet = new HashSet<>(originalObjectProperties);
+				objectPropertySet.addAll(processor.getObjectProperties());
+				classSet = new HashSet<>(originalClasses);
+				classSet.addAll(processor.getClasses());
+				logger.fine("ABox materialization mode for " + processor.getNumberOfIndividuals() + " individuals.");
+			} else {
+				logger.fine("ABox materialization mode is not applicable, because some axiom refers to an individual.");
+			}
+		}
+
+		preProcess(createExtendedOntology(objectPropertySet, classSet, axiomSet));
+	}
+
+	/**
+	 * Constructs a new rule-based processor for a normalized ontology
+	 * snapshot. The axioms of the snapshot are already saturated, so they are
+	 * loaded without any further preprocessing. The ABox materialization mode
+	 * is not used.
+	 * 
+	 * @param snapshot
+	 *            normalized ontology snapshot
+	 * @param factory
+	 *            factory of normalized integer axioms
+	 */
+	public RuleBasedProcessor(NormalizedOntologySnapshot snapshot, NormalizedIntegerAxiomFactory factory) {
+		Objects.requireNonNull(snapshot);
+		Objects.requireNonNull(factory);
+		this.factory = factory;
+		this.entityManager = snapshot.getEntityManager();
+		this.snapshot = snapshot;
+
+		CompletionRuleChainSelector selector = new CompletionRuleChainSelector(snapshot.getExpressivity());
+		selector.activateProfiler();
+		this.chainR = selector.getRChain();
+		this.chainS = selector.getSChain();
+
+		preProcess(loadExtendedOntology(snapshot.getObjectProperties(), snapshot.getClasses(), snapshot.getAxioms()));
+	}
+
+	/**
+	 * Creates a processor from a checkpoint, and restores the state of the
+	 * classification, so that it can continue with {@link #process()}.
+	 * 
+	 * @param file
+	 *            checkpoint file created by {@link #saveCheckpoint(File)}
+	 * @param factory
+	 *            factory of normalized integer axioms
+	 * @return a processor that continues the classification stored in the
+	 *         checkpoint
+	 * @throws IOException
+	 *             if the file cannot be read, or if it is not a valid
+	 *             checkpoint
+	 */
+	public static RuleBasedProcessor resume(File file, NormalizedIntegerAxiomFactory factory) throws IOException {
+		Objects.requireNonNull(file);
+		Objects.requireNonNull(factory);
+		try (RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel()) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					Math.min(channel.size(), Integer.MAX_VALUE));
+			if (buffer.getInt() != checkpointMagicNumber) {
+				throw new IOException("Invalid checkpoint: '" + file + "'.");
+			}
+			int fileVersion = buffer.getInt();
+			if (fileVersion != checkpointVersion) {
+				throw new IOException("Invalid checkpoint version: '" + fileVersion + "'.");
+			}
+			RuleBasedProcessor ret = new RuleBasedProcessor(NormalizedOntologySnapshot.read(buffer, factory),
+					factory);
+			channel.position(buffer.position());
+			ret.status.readCheckpoint(new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel))));
+			logger.fine("processor resumed from checkpoint '" + file + "'.");
+			return ret;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated checkpoint: '" + file + "'.", e);
+		}
 	}
 
 	public void addAxioms(Set<NormalizedIntegerAxiom> normalizedAxiomSet) {
 		Objects.requireNonNull(normalizedAxiomSet);
 		logger.fine("adding axioms ...");
+		if (Objects.nonNull(this.assertionProcessor)
+				&& normalizedAxiomSet.stream().anyMatch(this.assertionProcessor::refersToIndividual)) {
+			logger.fine("leaving ABox materialization mode ...");
+			this.status.getExtendedOntology()
+					.load(this.assertionProcessor.getAssertionAxioms(getOntologyObjectFactory()));
+			this.assertionProcessor = null;
+		}
 		this.status.getExtendedOntology().load(normalizedAxiomSet);
+		if (Objects.nonNull(this.checkpointFile)) {
+			logger.fine("checkpoints disabled, because the ontology no longer corresponds to the snapshot.");
+			this.checkpointFile = null;
+		}
+		this.snapshot = null;
+		this.closureDumper = null;
 		preProcess(this.status.getExtendedOntology());
 		logger.fine("processor reset.");
 	}
 
+	private void addObjectPropertyValue(OptMap<Integer, Set<Integer>> map, int property, int value) {
+		if (!getEntityManager().isAuxiliary(property) && (property != IntegerEntityManager.topObjectPropertyId)
+				&& (property != IntegerEntityManager.bottomObjectPropertyId)) {
+			Optional<Set<Integer>> optValues = map.get(property);
+			if (!optValues.isPresent()) {
+				optValues = Optional.of(new HashSet<>());
+				map.put(property, optValues.get());
+			}
+			optValues.get().add(value);
+		}
+	}
+
+	private synchronized IntegerHierarchicalGraph computeClassHierarchy() {
+		if (Objects.isNull(this.classHierarchy)) {
+			processNominals();
+			removeAuxiliaryNominals();
+			this.classHierarchy = new IntegerHierarchicalGraphImpl(this.status.getClassGraph());
+		}
+		return this.classHierarchy;
+	}
+
+	private synchronized OptMap<Integer, Set<Integer>> computeDirectTypes() {
+		if (Objects.isNull(this.directTypes)) {
+			processNominals();
+			if (Objects.nonNull(this.assertionProcessor)) {
+				this.directTypes = this.assertionProcessor.getDirectTypes(computeClassHierarchy());
+			} else {
+				this.directTypes = Objects.isNull(this.classHierarchyWithNominals)
+						? new OptMapImpl<>(new HashMap<>()) : computeDirectTypes(this.classHierarchyWithNominals);
+			}
+			releaseClassHierarchyWithNominals();
+		}
+		return this.directTypes;
+	}
+
 	/**
 	 * @param hierarchicalGraph
 	 *            graph containing direct subsumers
@@ -210,41 +398,34 @@ public class RuleBasedProcessor implements Processor {
 		return ret;
 	}
 
-	/**
-	 * This is a graph reachability algorithm that returns all elements d
-	 * reachable from an element c using a path where each segment is from any
-	 * of the properties in R.
-	 * 
-	 * @param c
-	 *            first element in the path
-	 * @return the set of all nodes reachable from c using any possible segment
-	 */
-	private Set<Integer> computeReachability(Integer c) {
-		Set<Integer> ret = new HashSet<>();
-		Set<Integer> toVisit = new HashSet<>();
-		toVisit.add(c);
-		while (!toVisit.isEmpty()) {
-			Integer elem = toVisit.iterator().next();
-			toVisit.remove(elem);
-			ret.add(elem);
-			Set<Integer> newToVisit = new HashSet<>();
-			this.status.getObjectPropertiesByFirst(elem).forEach(r -> {
-				IntegerBinaryRelation relation = this.status.getRelationSet().get(r);
-				newToVisit.addAll(relation.getByFirst(elem));
-			});
-			newToVisit.removeAll(ret);
-			toVisit.addAll(newToVisit);
+	private synchronized IntegerHierarchicalGraph computeObjectPropertyHierarchy() {
+		if (Objects.isNull(this.objectPropertyHierarchy)) {
+			this.objectPropertyHierarchy = new IntegerHierarchicalGraphImpl(
+					createObjectPropertyGraphWithoutAuxiliary());
 		}
-		return ret;
+		return this.objectPropertyHierarchy;
 	}
 
-	private Set<Integer> computeReachability(Integer c, OptMap<Integer, Set<Integer>> reachableNodeCache) {
-		Optional<Set<Integer>> optReachableNodes = reachableNodeCache.get(c);
-		if (!optReachableNodes.isPresent()) {
-			optReachableNodes = Optional.of(computeReachability(c));
-			reachableNodeCache.put(c, optReachableNodes.get());
+	private synchronized RealizationIndex computeRealizationIndex() {
+		if (Objects.isNull(this.realizationIndex)) {
+			this.realizationIndex = new RealizationIndex(computeClassHierarchy(), computeDirectTypes().asMap(),
+					computeSameIndividualMap().asMap());
 		}
-		return optReachableNodes.get();
+		return this.realizationIndex;
+	}
+
+	private synchronized OptMap<Integer, Set<Integer>> computeSameIndividualMap() {
+		if (Objects.isNull(this.sameIndividualMap)) {
+			processNominals();
+			if (Objects.nonNull(this.assertionProcessor)) {
+				this.sameIndividualMap = this.assertionProcessor.getSameIndividualMap();
+			} else {
+				this.sameIndividualMap = Objects.isNull(this.classHierarchyWithNominals)
+						? new OptMapImpl<>(new HashMap<>()) : computeSameIndividualMap(this.classHierarchyWithNominals);
+			}
+			releaseClassHierarchyWithNominals();
+		}
+		return this.sameIndividualMap;
 	}
 
 	private OptMap<Integer, Set<Integer>> computeSameIndividualMap(IntegerHierarchicalGraph hierarchicalGraph) {
@@ -282,12 +463,58 @@ public class RuleBasedProcessor implements Processor {
 			Set<Integer> originalClassSet, Set<NormalizedIntegerAxiom> axioms) {
 		SubPropertyNormalizer subPropNormalizer = new SubPropertyNormalizer(getOntologyObjectFactory(),
 				getEntityManager());
-		Set<NormalizedIntegerAxiom> saturatedNormalizedAxiomSet = subPropNormalizer.apply(axioms);
-		ExtendedOntology extendedOntology = new ExtendedOntologyImpl();
-		extendedOntology.load(saturatedNormalizedAxiomSet);
-		originalObjectPropertySet.forEach(elem -> extendedOntology.addObjectProperty(elem));
-		originalClassSet.forEach(elem -> extendedOntology.addClass(elem));
-		return extendedOntology;
+		return loadExtendedOntology(originalObjectPropertySet, originalClassSet, subPropNormalizer.apply(axioms));
+	}
+
+	/**
+	 * Returns a copy of the object property graph without any of the
+	 * auxiliary object properties, including the ones generated as inverse of
+	 * another one. The object property graph of the classifier status is not
+	 * modified, since it is still read by the completion rules.
+	 * 
+	 * @return a copy of the object property graph without the auxiliary
+	 *         object properties
+	 */
+	private IntegerSubsumerGraph createObjectPropertyGraphWithoutAuxiliary() {
+		IntegerSubsumerGraph graph = getObjectPropertyGraph();
+		IntegerSubsumerGraphImpl ret = new IntegerSubsumerGraphImpl(IntegerEntityManager.bottomObjectPropertyId,
+				IntegerEntityManager.topObjectPropertyId);
+		graph.getElements().stream().filter(elem -> !getEntityManager().isAuxiliary(elem)).forEach(elem -> {
+			ret.add(elem);
+			graph.getSubsumers(elem).stream().filter(superElem -> !getEntityManager().isAuxiliary(superElem))
+					.forEach(superElem -> ret.addAncestor(elem, superElem));
+		});
+		return ret;
+	}
+
+	/**
+	 * Enables periodic checkpoints. While processing, the state of the
+	 * classification is saved in the given file every time that the given
+	 * interval has elapsed since the last checkpoint. The file is replaced
+	 * atomically, so it always contains a complete checkpoint. Only
+	 * processors created from a {@link NormalizedOntologySnapshot} can save
+	 * checkpoints.
+	 * 
+	 * @param file
+	 *            checkpoint file
+	 * @param interval
+	 *            minimum time between checkpoints, in milliseconds
+	 * @throws IllegalStateException
+	 *             if this processor was not created from a normalized
+	 *             ontology snapshot
+	 */
+	public void enableCheckpoints(File file, long interval) {
+		Objects.requireNonNull(file);
+		if (interval <= 0) {
+			throw new IllegalArgumentException("Invalid checkpoint interval: '" + interval + "'.");
+		}
+		if (Objects.isNull(this.snapshot)) {
+			throw new IllegalStateException(
+					"Checkpoints are only available for processors created from a normalized ontology snapshot.");
+		}
+		this.checkpointFile = file;
+		this.checkpointInterval = interval;
+		this.lastCheckpointTime = System.currentTimeMillis();
 	}
 
 	/**
@@ -304,7 +531,20 @@ public class RuleBasedProcessor implements Processor {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return this.classHierarchy;
+		return computeClassHierarchy();
+	}
+
+	/**
+	 * Returns the dumper of set S and set R. It is created the first time
+	 * that it is needed, and it is kept until new axioms are added.
+	 * 
+	 * @return the dumper of set S and set R
+	 */
+	private synchronized ClosureDumper getClosureDumper() {
+		if (Objects.isNull(this.closureDumper)) {
+			this.closureDumper = new ClosureDumper(getEntityManager());
+		}
+		return this.closureDumper;
 	}
 
 	/**
@@ -323,6 +563,8 @@ public class RuleBasedProcessor implements Processor {
 		ret.add(createEntry("auxiliary classes created (including nominals)",
 				"" + getEntityManager().getEntities(IntegerEntityType.CLASS, true).size()));
 		ret.add(createEntry("auxiliary classes created for nominals", "" + getEntityManager().getIndividuals().size()));
+		ret.add(createEntry("individuals processed by ABox materialization", ""
+				+ (Objects.isNull(this.assertionProcessor) ? 0 : this.assertionProcessor.getNumberOfIndividuals())));
 		ret.add(createEntry("auxiliary object properties created",
 				"" + getEntityManager().getEntities(IntegerEntityType.OBJECT_PROPERTY, true).size()));
 		ret.add(createEntry("chain S", this.chainS.toString()));
@@ -338,37 +580,12 @@ public class RuleBasedProcessor implements Processor {
 		return this.dataPropertyHierarchy;
 	}
 
-	/**
-	 * Computes the descendants using only a hierarchical graph.
-	 * 
-	 * @param hierarchicalGraph
-	 *            a hierarchical graph containing parents and children
-	 * @param vertex
-	 *            starting vertex to compute the descendants
-	 * @return the descendants according the graph
-	 */
-	private Set<Integer> getDescendants(IntegerHierarchicalGraph hierarchicalGraph, Integer vertex) {
-		Set<Integer> visited = new HashSet<>();
-		Set<Integer> queue = new HashSet<>();
-		queue.add(vertex);
-		while (!queue.isEmpty()) {
-			Integer elem = queue.iterator().next();
-			queue.remove(elem);
-			visited.add(elem);
-			Set<Integer> children = new HashSet<>();
-			children.addAll(hierarchicalGraph.getChildren(elem));
-			children.removeAll(visited);
-			queue.addAll(children);
-		}
-		return visited;
-	}
-
 	@Override
 	public Map<Integer, Set<Integer>> getDirectTypes() {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return Collections.unmodifiableMap(this.directTypes.asMap());
+		return Collections.unmodifiableMap(computeDirectTypes().asMap());
 	}
 
 	protected IntegerEntityManager getEntityManager() {
@@ -384,7 +601,41 @@ public class RuleBasedProcessor implements Processor {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return this.objectPropertyHierarchy;
+		return computeObjectPropertyHierarchy();
+	}
+
+	/**
+	 * Returns the object property values of the given individual, as a map
+	 * that relates each named object property with the individuals that are
+	 * its values. These values are read from the relation of the completion
+	 * between auxiliary nominals, or from the assertion graph in ABox
+	 * materialization mode. The top and bottom object properties are not
+	 * included.
+	 * 
+	 * @param individual
+	 *            individual
+	 * @return the object property values of the given individual
+	 * @throws UnclassifiedOntologyException
+	 *             if the classification has not finished yet
+	 */
+	public Map<Integer, Set<Integer>> getObjectPropertyValues(int individual) throws UnclassifiedOntologyException {
+		if (!isReady()) {
+			throw new UnclassifiedOntologyException();
+		}
+		OptMap<Integer, Set<Integer>> ret = new OptMapImpl<>(new HashMap<>());
+		EdgeConsumer addValue = (property, value) -> addObjectPropertyValue(ret, property, value);
+		if (Objects.nonNull(this.assertionProcessor)) {
+			processNominals();
+			this.assertionProcessor.forEachObjectPropertyValue(individual, addValue);
+		} else {
+			Optional<Integer> optNominal = getEntityManager().getAuxiliaryNominal(individual);
+			if (optNominal.isPresent()) {
+				getRelationIdSet().forEach(property -> getRelation(property).getByFirst(optNominal.get())
+						.forEach(successor -> getEntityManager().getIndividual(successor)
+								.ifPresent(value -> addValue.accept(property, value))));
+			}
+		}
+		return Collections.unmodifiableMap(ret.asMap());
 	}
 
 	/**
@@ -396,6 +647,21 @@ public class RuleBasedProcessor implements Processor {
 		return this.factory;
 	}
 
+	/**
+	 * Returns the index that relates each class with its instances.
+	 * 
+	 * @return the index that relates each class with its instances if the
+	 *         classification has finished
+	 * @throws UnclassifiedOntologyException
+	 *             if the classification has not finished yet
+	 */
+	public RealizationIndex getRealizationIndex() throws UnclassifiedOntologyException {
+		if (!isReady()) {
+			throw new UnclassifiedOntologyException();
+		}
+		return computeRealizationIndex();
+	}
+
 	/**
 	 * Returns the binary relation for a given id, or and empty relation if the
 	 * id is unknown.
@@ -424,7 +690,7 @@ public class RuleBasedProcessor implements Processor {
 		if (!isReady()) {
 			throw new UnclassifiedOntologyException();
 		}
-		return Collections.unmodifiableMap(this.sameIndividualMap.asMap());
+		return Collections.unmodifiableMap(computeSameIndividualMap().asMap());
 	}
 
 	/**
@@ -444,27 +710,74 @@ public class RuleBasedProcessor implements Processor {
 		return ret;
 	}
 
+	/**
+	 * Tells whether some individual is unsatisfiable according to the
+	 * assertions processed in ABox materialization mode. Without this mode,
+	 * the individuals are classified as auxiliary nominals, and this method
+	 * returns <code>false</code>.
+	 * 
+	 * @return <code>true</code> if and only if some individual processed in
+	 *         ABox materialization mode is unsatisfiable
+	 * @throws UnclassifiedOntologyException
+	 *             if the ontology has not been classified
+	 */
+	public boolean hasUnsatisfiableIndividual() throws UnclassifiedOntologyException {
+		if (!isReady()) {
+			throw new UnclassifiedOntologyException();
+		}
+		boolean ret = false;
+		if (Objects.nonNull(this.assertionProcessor)) {
+			processNominals();
+			ret = this.assertionProcessor.isInconsistent();
+		}
+		return ret;
+	}
+
 	@Override
 	public boolean isReady() {
 		return this.isReady;
 	}
 
+	private ExtendedOntology loadExtendedOntology(Set<Integer> originalObjectPropertySet,
+			Set<Integer> originalClassSet, Set<NormalizedIntegerAxiom> saturatedNormalizedAxiomSet) {
+		ExtendedOntologyImpl extendedOntology = new ExtendedOntologyImpl();
+		int numberOfCores = Runtime.getRuntime().availableProcessors();
+		if ((numberOfCores > 1) && (saturatedNormalizedAxiomSet.size() >= parallelLoadingThreshold)) {
+			logger.fine("loading " + saturatedNormalizedAxiomSet.size() + " normalized axioms using " + numberOfCores
+					+ " threads ...");
+			extendedOntology.load(saturatedNormalizedAxiomSet, numberOfCores);
+		} else {
+			extendedOntology.load(saturatedNormalizedAxiomSet);
+		}
+		originalObjectPropertySet.forEach(elem -> extendedOntology.addObjectProperty(elem));
+		originalClassSet.forEach(elem -> extendedOntology.addClass(elem));
+		return extendedOntology;
+	}
+
 	/**
-	 * Post processes the data after the classification phase.
+	 * Post processes the data after the classification phase. Each
+	 * post-processing stage is computed the first time that its result is
+	 * requested, so that, for example, the direct types are not computed if
+	 * only the class hierarchy is requested.
 	 */
-	protected void postProcess() {
-		removeAuxiliaryObjectProperties();
-		this.objectPropertyHierarchy = new IntegerHierarchicalGraphImpl(getObjectPropertyGraph());
-
-		removeAuxiliaryClassesExceptNominals();
-		IntegerHierarchicalGraph hierarchicalGraph = new IntegerHierarchicalGraphImpl(this.status.getClassGraph());
-		processNominals(hierarchicalGraph);
-		this.directTypes = computeDirectTypes(hierarchicalGraph);
-		this.sameIndividualMap = computeSameIndividualMap(hierarchicalGraph);
-
-		removeAuxiliaryNominals();
-		this.classHierarchy = new IntegerHierarchicalGraphImpl(this.status.getClassGraph());
-	};
+	protected synchronized void postProcess() {
+		this.classHierarchy = null;
+		this.classHierarchyWithNominals = null;
+		this.directTypes = null;
+		this.nominalsProcessed = false;
+		this.realizationIndex = null;
+		this.sameIndividualMap = null;
+	}
+
+	/**
+	 * Computes the object property hierarchy, which does not need the
+	 * saturation of the ontology. After this, the hierarchy is already
+	 * computed when {@link #getObjectPropertyHierarchy()} is called, once the
+	 * ontology is classified.
+	 */
+	public void precomputeObjectPropertyHierarchy() {
+		computeObjectPropertyHierarchy();
+	}
 
 	/**
 	 * The configuration follows the following steps:
@@ -481,6 +794,7 @@ public class RuleBasedProcessor implements Processor {
 
 		this.isReady = false;
 		this.status = new ClassifierStatusImpl(getEntityManager(), ontology);
+		this.objectPropertyHierarchy = null;
 		this.dataPropertyHierarchy = new IntegerHierarchicalGraphImpl(new IntegerSubsumerGraphImpl(
 				IntegerEntityManager.bottomDataPropertyId, IntegerEntityManager.topDataPropertyId));
 		Set<Integer> classNameSet = new HashSet<>();
@@ -590,34 +904,25 @@ public class RuleBasedProcessor implements Processor {
 	}
 
 	/**
-	 * Processes the nominals after the execution of the classification
-	 * algorithm. It requires a hierarchical graph to get the descendants.
-	 * 
-	 * @param hierarchicalGraph
-	 *            the hierarchical graph
+	 * Processes the nominals. This stage removes the auxiliary classes that
+	 * are not nominals and keeps the class hierarchy with nominals, which is
+	 * needed to compute the direct types and the map of same individuals. If
+	 * there are no individuals, this class hierarchy is not computed. In ABox
+	 * materialization mode, the types of the individuals are computed instead,
+	 * before the auxiliary classes are removed.
 	 */
-	private void processNominals(IntegerHierarchicalGraph hierarchicalGraph) {
-		OptMap<Integer, Set<Integer>> reachabilityCache = new OptMapImpl<>(new HashMap<>());
-		Set<Integer> nominals = getEntityManager().getAuxiliaryNominals();
-		nominals.forEach(indiv -> {
-			Set<Integer> descendants = getDescendants(hierarchicalGraph, indiv);
-			descendants.forEach(c -> {
-				descendants.forEach(d -> {
-					Collection<Integer> sC = getClassGraph().getSubsumers(c);
-					Collection<Integer> sD = getClassGraph().getSubsumers(d);
-					if (!(sD.containsAll(sC))) {
-						if (computeReachability(c, reachabilityCache).contains(d)) {
-							sD.forEach(elem -> this.status.getClassGraph().addAncestor(c, elem));
-						}
-						nominals.forEach(nominal -> {
-							if (computeReachability(nominal, reachabilityCache).contains(d)) {
-								sD.forEach(elem -> this.status.getClassGraph().addAncestor(c, elem));
-							}
-						});
-					}
-				});
-			});
-		});
+	private synchronized void processNominals() {
+		if (!this.nominalsProcessed) {
+			if (Objects.nonNull(this.assertionProcessor)) {
+				this.assertionProcessor.process(this.status);
+			}
+			removeAuxiliaryClassesExceptNominals();
+			if (Objects.isNull(this.assertionProcessor) && !getEntityManager().getIndividuals().isEmpty()) {
+				this.classHierarchyWithNominals = new NominalProcessor(this.status, getEntityManager())
+						.process(new IntegerHierarchicalGraphImpl(this.status.getClassGraph()));
+			}
+			this.nominalsProcessed = true;
+		}
 	}
 
 	private boolean processREntries() {
@@ -676,11 +981,18 @@ public class RuleBasedProcessor implements Processor {
 				} else {
 					processREntries();
 				}
+				saveCheckpointIfDue();
 			}
 		}
 		return !this.isReady;
 	}
 
+	private void releaseClassHierarchyWithNominals() {
+		if (Objects.nonNull(this.directTypes) && Objects.nonNull(this.sameIndividualMap)) {
+			this.classHierarchyWithNominals = null;
+		}
+	}
+
 	private void removeAuxiliaryClassesExceptNominals() {
 		Set<Integer> reqClasses = new HashSet<>();
 		getClassGraph().getElements().forEach(elem -> {
@@ -700,17 +1012,51 @@ public class RuleBasedProcessor implements Processor {
 	}
 
 	/**
-	 * This method removes the auxiliary object properties that were not
-	 * generated as inverse of another one.
+	 * Saves the state of the classification in a file. The file contains the
+	 * normalized ontology snapshot, the state of the entity manager, the sets
+	 * S, R, and V, and the entries that are still to be processed.
+	 * 
+	 * @param file
+	 *            checkpoint file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 * @throws IllegalStateException
+	 *             if this processor was not created from a normalized
+	 *             ontology snapshot, or if the classification is finished
 	 */
-	private void removeAuxiliaryObjectProperties() {
-		Set<Integer> reqObjectProperties = new HashSet<>();
-		getObjectPropertyGraph().getElements().forEach(elem -> {
-			if (!getEntityManager().isAuxiliary(elem)) {
-				reqObjectProperties.add(elem);
+	public void saveCheckpoint(File file) throws IOException {
+		Objects.requireNonNull(file);
+		if (Objects.isNull(this.snapshot)) {
+			throw new IllegalStateException(
+					"Checkpoints are only available for processors created from a normalized ontology snapshot.");
+		}
+		if (this.isReady) {
+			throw new IllegalStateException("The classification is already finished.");
+		}
+		File temporaryFile = new File(file.getPath() + ".tmp");
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+			output.writeInt(checkpointMagicNumber);
+			output.writeInt(checkpointVersion);
+			this.snapshot.write(output);
+			this.status.writeCheckpoint(output);
+		}
+		Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		this.lastCheckpointTime = System.currentTimeMillis();
+	}
+
+	private void saveCheckpointIfDue() {
+		if (Objects.nonNull(this.checkpointFile) && !this.isReady
+				&& (System.currentTimeMillis() - this.lastCheckpointTime) >= this.checkpointInterval) {
+			try {
+				saveCheckpoint(this.checkpointFile);
+				logger.fine("checkpoint saved in '" + this.checkpointFile + "'.");
+			} catch (IOException e) {
+				this.lastCheckpointTime = System.currentTimeMillis();
+				logger.warning("checkpoint could not be saved in '" + this.checkpointFile + "': " + e.getMessage());
 			}
-		});
-		this.status.getObjectPropertyGraph().retainAll(reqObjectProperties);
+		}
 	}
 
 	public String showConfigurationInfo() {
@@ -736,6 +1082,9 @@ public class RuleBasedProcessor implements Processor {
 	}
 
 	public void outputSetS(Writer writer) throws IOException {
+		if (isReady()) {
+			computeClassHierarchy();
+		}
 		this.status.outputSetS(writer);
 	}
 
@@ -743,4 +1092,39 @@ public class RuleBasedProcessor implements Processor {
 		this.status.outputSetR(writer);
 	}
 
+	/**
+	 * Writes set S as triples, formatting them in parallel. This is faster
+	 * than {@link #outputSetS(Writer)} for large ontologies.
+	 * 
+	 * @param writer
+	 *            writer
+	 * @param format
+	 *            syntax of the output
+	 * @return the number of triples written
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public long dumpSetS(Writer writer, ClosureDumper.Format format) throws IOException {
+		if (isReady()) {
+			computeClassHierarchy();
+		}
+		return getClosureDumper().dumpSetS(this.status.getClassGraph(), writer, format);
+	}
+
+	/**
+	 * Writes set R as triples, formatting them in parallel. This is faster
+	 * than {@link #outputSetR(Writer)} for large ontologies.
+	 * 
+	 * @param writer
+	 *            writer
+	 * @param format
+	 *            syntax of the output
+	 * @return the number of triples written
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public long dumpSetR(Writer writer, ClosureDumper.Format format) throws IOException {
+		return getClosureDumper().dumpSetR(this.status.getRelationSet(), writer, format);
+	}
+
 }
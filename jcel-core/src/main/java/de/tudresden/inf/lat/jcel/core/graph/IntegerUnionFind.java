@@ -0,0 +1,218 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class implements a partition of non-negative integers in disjoint sets
+ * (union-find). It uses arrays of <code>int</code> indexed by the elements,
+ * with exponential growth, union by size, and path halving. It is intended for
+ * entity identifiers, which are small consecutive numbers.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerUnionFind {
+
+	private static final int absent = -1;
+	private static final int exponentialGrowthFactor = 2;
+	private static final int initialSize = 0x10;
+
+	private int numberOfElements = 0;
+	private int[] parent = null;
+	private int[] size = null;
+
+	/**
+	 * Constructs an empty partition.
+	 */
+	public IntegerUnionFind() {
+		clear();
+	}
+
+	/**
+	 * Adds an element as a singleton, if it is not already in the partition.
+	 * 
+	 * @param elem
+	 *            element
+	 * @return <code>true</code> if and only if the element was added
+	 */
+	public boolean add(int elem) {
+		if (elem < 0) {
+			throw new IllegalArgumentException("Negative element: '" + elem + "'.");
+		}
+		boolean ret = false;
+		if (!contains(elem)) {
+			ensureCapacity(elem + 1);
+			this.parent[elem] = elem;
+			this.size[elem] = 1;
+			this.numberOfElements++;
+			ret = true;
+		}
+		return ret;
+	}
+
+	/**
+	 * Removes all the elements.
+	 */
+	public void clear() {
+		this.parent = new int[initialSize];
+		Arrays.fill(this.parent, absent);
+		this.size = new int[initialSize];
+		this.numberOfElements = 0;
+	}
+
+	/**
+	 * Tells whether the element is in the partition.
+	 * 
+	 * @param elem
+	 *            element
+	 * @return <code>true</code> if and only if the element is in the partition
+	 */
+	public boolean contains(int elem) {
+		return (elem >= 0) && (elem < this.parent.length) && (this.parent[elem] != absent);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > this.parent.length) {
+			int newLength = Math.max(capacity, exponentialGrowthFactor * this.parent.length);
+			int oldLength = this.parent.length;
+			this.parent = Arrays.copyOf(this.parent, newLength);
+			Arrays.fill(this.parent, oldLength, newLength, absent);
+			this.size = Arrays.copyOf(this.size, newLength);
+		}
+	}
+
+	/**
+	 * Returns the representative of the set containing the given element.
+	 * 
+	 * @param elem
+	 *            element
+	 * @return the representative of the set containing the given element
+	 */
+	public int find(int elem) {
+		if (!contains(elem)) {
+			throw new IllegalArgumentException("Element not found: '" + elem + "'.");
+		}
+		int current = elem;
+		while (this.parent[current] != current) {
+			this.parent[current] = this.parent[this.parent[current]];
+			current = this.parent[current];
+		}
+		return current;
+	}
+
+	/**
+	 * Returns the sets of the partition. The sets are sorted by their least
+	 * element.
+	 * 
+	 * @return the sets of the partition
+	 */
+	public List<Set<Integer>> getSets() {
+		List<Set<Integer>> ret = new ArrayList<>();
+		int[] setIndex = new int[this.parent.length];
+		Arrays.fill(setIndex, absent);
+		for (int elem = 0; elem < this.parent.length; elem++) {
+			if (this.parent[elem] != absent) {
+				int root = find(elem);
+				if (setIndex[root] == absent) {
+					setIndex[root] = ret.size();
+					ret.add(new HashSet<>());
+				}
+				ret.get(setIndex[root]).add(elem);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the number of elements in the partition.
+	 * 
+	 * @return the number of elements in the partition
+	 */
+	public int size() {
+		return this.numberOfElements;
+	}
+
+	@Override
+	public String toString() {
+		return getSets().toString();
+	}
+
+	/**
+	 * Merges the sets containing the given elements. Elements that are not in
+	 * the partition are added first.
+	 * 
+	 * @param first
+	 *            first element
+	 * @param second
+	 *            second element
+	 * @return <code>true</code> if and only if two different sets were merged
+	 */
+	public boolean union(int first, int second) {
+		add(first);
+		add(second);
+		int firstRoot = find(first);
+		int secondRoot = find(second);
+		boolean ret = false;
+		if (firstRoot != secondRoot) {
+			if (this.size[firstRoot] < this.size[secondRoot]) {
+				int tmp = firstRoot;
+				firstRoot = secondRoot;
+				secondRoot = tmp;
+			}
+			this.parent[secondRoot] = firstRoot;
+			this.size[firstRoot] += this.size[secondRoot];
+			ret = true;
+		}
+		return ret;
+	}
+
+}
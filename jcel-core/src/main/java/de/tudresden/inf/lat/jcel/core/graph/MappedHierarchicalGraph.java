@@ -0,0 +1,225 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements a read-only hierarchical graph stored in a buffer,
+ * which is usually a memory-mapped file. The stored sequence of
+ * <code>int</code> contains the bottom element, the top element, and the
+ * parents, children, and equivalents of each element, each of them stored as
+ * a {@link MappedIntegerSetMap}.
+ * 
+ * @author Julian Mendez
+ */
+public class MappedHierarchicalGraph implements IntegerHierarchicalGraph {
+
+	private final Integer bottomElement;
+	private final MappedIntegerSetMap children;
+	private final MappedIntegerSetMap equivalents;
+	private final MappedIntegerSetMap parents;
+	private final Integer topElement;
+
+	/**
+	 * Constructs a new hierarchical graph.
+	 * 
+	 * @param buffer
+	 *            buffer
+	 * @param start
+	 *            index of the graph in the buffer
+	 */
+	public MappedHierarchicalGraph(IntBuffer buffer, int start) {
+		Objects.requireNonNull(buffer);
+		this.bottomElement = buffer.get(start);
+		this.topElement = buffer.get(start + 1);
+		this.parents = new MappedIntegerSetMap(buffer, start + 2);
+		this.children = new MappedIntegerSetMap(buffer, this.parents.getEnd());
+		this.equivalents = new MappedIntegerSetMap(buffer, this.children.getEnd());
+	}
+
+	/**
+	 * Writes a hierarchical graph, in the format read by this class.
+	 * 
+	 * @param output
+	 *            output
+	 * @param graph
+	 *            hierarchical graph
+	 * @throws IOException
+	 *             if something goes wrong with the output
+	 */
+	public static void write(DataOutput output, IntegerHierarchicalGraph graph) throws IOException {
+		Objects.requireNonNull(output);
+		Objects.requireNonNull(graph);
+		output.writeInt(graph.getBottomElement());
+		output.writeInt(graph.getTopElement());
+		MappedIntegerSetMap.write(output, graph.getElements(), graph::getParents);
+		MappedIntegerSetMap.write(output, graph.getElements(), graph::getChildren);
+		MappedIntegerSetMap.write(output, graph.getElements(), graph::getEquivalents);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		boolean ret = (this == o);
+		if (!ret && (o instanceof IntegerHierarchicalGraph)) {
+			IntegerHierarchicalGraph other = (IntegerHierarchicalGraph) o;
+			ret = getBottomElement().equals(other.getBottomElement()) && getTopElement().equals(other.getTopElement())
+					&& getElements().equals(other.getElements());
+
+			ret = ret && getElements().stream()
+					.allMatch(elem -> getChildren(elem).equals(other.getChildren(elem))
+							&& getParents(elem).equals(other.getParents(elem))
+							&& getEquivalents(elem).equals(other.getEquivalents(elem)));
+		}
+		return ret;
+	}
+
+	private Set<Integer> get(Map<Integer, Set<Integer>> map, Integer key) {
+		Set<Integer> ret = map.get(key);
+		if (Objects.isNull(ret)) {
+			throw new IllegalStateException("Illegal state of internal map, error retrieving '" + key + "'.");
+		}
+		return ret;
+	}
+
+	@Override
+	public Set<Integer> getAncestors(Integer orig) {
+		Objects.requireNonNull(orig);
+		return getReachable(this.parents, orig);
+	}
+
+	@Override
+	public Integer getBottomElement() {
+		return this.bottomElement;
+	}
+
+	@Override
+	public Set<Integer> getChildren(Integer elem) {
+		Objects.requireNonNull(elem);
+		return get(this.children, elem);
+	}
+
+	@Override
+	public Set<Integer> getDescendants(Integer orig) {
+		Objects.requireNonNull(orig);
+		return getReachable(this.children, orig);
+	}
+
+	@Override
+	public Set<Integer> getElements() {
+		return this.parents.keySet();
+	}
+
+	/**
+	 * Returns the index in the buffer that follows the last value of this
+	 * graph.
+	 * 
+	 * @return the index in the buffer that follows the last value of this
+	 *         graph
+	 */
+	public int getEnd() {
+		return this.equivalents.getEnd();
+	}
+
+	@Override
+	public Set<Integer> getEquivalents(Integer elem) {
+		Objects.requireNonNull(elem);
+		return get(this.equivalents, elem);
+	}
+
+	@Override
+	public Set<Integer> getParents(Integer elem) {
+		Objects.requireNonNull(elem);
+		return get(this.parents, elem);
+	}
+
+	private Set<Integer> getReachable(Map<Integer, Set<Integer>> map, Integer orig) {
+		Set<Integer> ret = new HashSet<>();
+		Set<Integer> toVisit = new HashSet<>();
+		toVisit.addAll(get(map, orig));
+		while (!toVisit.isEmpty()) {
+			Integer elem = toVisit.iterator().next();
+			toVisit.remove(elem);
+			ret.add(elem);
+			Set<Integer> related = new HashSet<>();
+			related.addAll(get(map, elem));
+			related.removeAll(ret);
+			toVisit.addAll(related);
+		}
+		return ret;
+	}
+
+	@Override
+	public Integer getTopElement() {
+		return this.topElement;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.parents.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer ret = new StringBuffer();
+		ret.append("\n* children : ");
+		ret.append(this.children);
+		ret.append("\n* parents : ");
+		ret.append(this.parents);
+		ret.append("\n* equivalents : ");
+		ret.append(this.equivalents);
+		ret.append("\n");
+		return ret.toString();
+	}
+
+}
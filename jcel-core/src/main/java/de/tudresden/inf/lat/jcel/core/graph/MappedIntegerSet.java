@@ -0,0 +1,139 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.nio.IntBuffer;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements a read-only set of integers stored as a sorted
+ * sequence of <code>int</code> in a buffer, which is usually a memory-mapped
+ * file. The elements are read from the buffer each time they are accessed,
+ * and the buffer is only read with absolute operations, so a set can be
+ * shared by different threads.
+ * 
+ * @author Julian Mendez
+ */
+public class MappedIntegerSet extends AbstractSet<Integer> {
+
+	private final IntBuffer buffer;
+	private final int size;
+	private final int start;
+
+	/**
+	 * Constructs a new set of integers.
+	 * 
+	 * @param buffer
+	 *            buffer
+	 * @param start
+	 *            index of the first element in the buffer
+	 * @param size
+	 *            number of elements
+	 */
+	public MappedIntegerSet(IntBuffer buffer, int start, int size) {
+		Objects.requireNonNull(buffer);
+		if (start < 0 || size < 0 || start > buffer.limit() - size) {
+			throw new IllegalArgumentException("Invalid range: '" + start + "', '" + size + "'.");
+		}
+		this.buffer = buffer;
+		this.start = start;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the position of an element in a sorted sequence of
+	 * <code>int</code>, or a negative number if the element is not in the
+	 * sequence.
+	 * 
+	 * @param buffer
+	 *            buffer
+	 * @param start
+	 *            index of the first element of the sequence in the buffer
+	 * @param size
+	 *            number of elements of the sequence
+	 * @param elem
+	 *            element to search
+	 * @return the position of an element in a sorted sequence of
+	 *         <code>int</code>, or a negative number if the element is not
+	 *         in the sequence
+	 */
+	static int binarySearch(IntBuffer buffer, int start, int size, int elem) {
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int value = buffer.get(start + middle);
+			if (value < elem) {
+				low = middle + 1;
+			} else if (value > elem) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	@Override
+	public boolean contains(Object elem) {
+		return (elem instanceof Integer) && binarySearch(this.buffer, this.start, this.size, (Integer) elem) >= 0;
+	}
+
+	@Override
+	public Iterator<Integer> iterator() {
+		return IntStream.range(this.start, this.start + this.size).mapToObj(index -> this.buffer.get(index)).iterator();
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+}
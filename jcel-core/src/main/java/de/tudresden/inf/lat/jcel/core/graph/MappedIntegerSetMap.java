@@ -0,0 +1,213 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements a read-only map from integers to sets of integers
+ * stored in a buffer, which is usually a memory-mapped file. The stored
+ * sequence of <code>int</code> contains the number <i>n</i> of keys, the
+ * <i>n</i> sorted keys, <i>n + 1</i> offsets, and the sorted values of each
+ * key, where the values of the <i>i</i>-th key are between the <i>i</i>-th
+ * offset and the next one.
+ * 
+ * @see MappedIntegerSet
+ * 
+ * @author Julian Mendez
+ */
+public class MappedIntegerSetMap extends AbstractMap<Integer, Set<Integer>> {
+
+	private final IntBuffer buffer;
+	private final int end;
+	private final int keysStart;
+	private final int offsetsStart;
+	private final int size;
+	private final int valuesStart;
+
+	/**
+	 * Constructs a new map of sets of integers.
+	 * 
+	 * @param buffer
+	 *            buffer
+	 * @param start
+	 *            index of the map in the buffer
+	 */
+	public MappedIntegerSetMap(IntBuffer buffer, int start) {
+		Objects.requireNonNull(buffer);
+		this.buffer = buffer;
+		this.size = buffer.get(start);
+		if (this.size < 0 || this.size > buffer.limit()) {
+			throw new IllegalArgumentException("Invalid number of keys: '" + this.size + "'.");
+		}
+		this.keysStart = start + 1;
+		this.offsetsStart = this.keysStart + this.size;
+		this.valuesStart = this.offsetsStart + this.size + 1;
+		this.end = this.valuesStart + buffer.get(this.offsetsStart + this.size);
+		if (this.end > buffer.limit()) {
+			throw new IllegalArgumentException("Invalid map size: '" + this.end + "'.");
+		}
+	}
+
+	/**
+	 * Writes a map of sets of integers, in the format read by this class.
+	 * 
+	 * @param output
+	 *            output
+	 * @param keys
+	 *            keys
+	 * @param function
+	 *            function that returns the values for each key
+	 * @throws IOException
+	 *             if something goes wrong with the output
+	 */
+	public static void write(DataOutput output, Collection<Integer> keys,
+			Function<Integer, ? extends Collection<Integer>> function) throws IOException {
+		Objects.requireNonNull(output);
+		Objects.requireNonNull(keys);
+		Objects.requireNonNull(function);
+		int[] sortedKeys = keys.stream().mapToInt(Integer::intValue).sorted().toArray();
+		List<int[]> values = new ArrayList<>();
+		for (int key : sortedKeys) {
+			values.add(function.apply(key).stream().mapToInt(Integer::intValue).sorted().toArray());
+		}
+		output.writeInt(sortedKeys.length);
+		for (int key : sortedKeys) {
+			output.writeInt(key);
+		}
+		int offset = 0;
+		output.writeInt(offset);
+		for (int[] array : values) {
+			offset += array.length;
+			output.writeInt(offset);
+		}
+		for (int[] array : values) {
+			for (int value : array) {
+				output.writeInt(value);
+			}
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof Integer)
+				&& MappedIntegerSet.binarySearch(this.buffer, this.keysStart, this.size, (Integer) key) >= 0;
+	}
+
+	@Override
+	public Set<Map.Entry<Integer, Set<Integer>>> entrySet() {
+		return new AbstractSet<Map.Entry<Integer, Set<Integer>>>() {
+
+			@Override
+			public Iterator<Map.Entry<Integer, Set<Integer>>> iterator() {
+				return IntStream.range(0, MappedIntegerSetMap.this.size)
+						.mapToObj(index -> (Map.Entry<Integer, Set<Integer>>) new AbstractMap.SimpleImmutableEntry<>(
+								MappedIntegerSetMap.this.buffer.get(MappedIntegerSetMap.this.keysStart + index),
+								getValues(index)))
+						.iterator();
+			}
+
+			@Override
+			public int size() {
+				return MappedIntegerSetMap.this.size;
+			}
+
+		};
+	}
+
+	@Override
+	public Set<Integer> get(Object key) {
+		Set<Integer> ret = null;
+		if (key instanceof Integer) {
+			int index = MappedIntegerSet.binarySearch(this.buffer, this.keysStart, this.size, (Integer) key);
+			if (index >= 0) {
+				ret = getValues(index);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the index in the buffer that follows the last value of this
+	 * map.
+	 * 
+	 * @return the index in the buffer that follows the last value of this map
+	 */
+	public int getEnd() {
+		return this.end;
+	}
+
+	private Set<Integer> getValues(int index) {
+		int first = this.buffer.get(this.offsetsStart + index);
+		int next = this.buffer.get(this.offsetsStart + index + 1);
+		return new MappedIntegerSet(this.buffer, this.valuesStart + first, next - first);
+	}
+
+	@Override
+	public Set<Integer> keySet() {
+		return new MappedIntegerSet(this.buffer, this.keysStart, this.size);
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+}
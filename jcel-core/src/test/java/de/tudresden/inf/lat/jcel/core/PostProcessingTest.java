@@ -0,0 +1,209 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.cel.CelProcessor;
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RuleBasedProcessor;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManagerImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.coreontology.expressivity.NormalizedAxiomExpressivityDetector;
+
+/**
+ * Tests for the post-processing stages of the processors. Each stage is
+ * computed the first time that its result is requested, so the results are
+ * compared with the ones obtained by requesting all the stages in the order
+ * in which they were computed eagerly: object property hierarchy, direct
+ * types, map of same individuals, and class hierarchy.
+ * 
+ * @see RuleBasedProcessor
+ * @see CelProcessor
+ * 
+ * @author Julian Mendez
+ */
+public class PostProcessingTest {
+
+	private static final List<Function<Processor, Object>> eagerStages = Collections
+			.unmodifiableList(Arrays.asList(Processor::getObjectPropertyHierarchy, Processor::getDirectTypes,
+					Processor::getSameIndividualMap, Processor::getClassHierarchy));
+
+	/**
+	 * Constructs a new set of tests for the post-processing stages.
+	 */
+	public PostProcessingTest() {
+	}
+
+	private List<Object> apply(Processor processor, List<Function<Processor, Object>> stages) {
+		List<Object> ret = new ArrayList<>();
+		stages.forEach(stage -> ret.add(stage.apply(processor)));
+		return ret;
+	}
+
+	/**
+	 * Creates and classifies the following ontology:
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>{a} \u2291 A ,</li>
+	 * <li>{a} \u2291 {b} ,</li>
+	 * <li>{b} \u2291 {a} ,</li>
+	 * <li>{c} \u2291 \u2203 r . A ,</li>
+	 * <li>r \u2291 s ,</li>
+	 * <li>\u2203 s . B \u2291 C</li>
+	 * </ol>
+	 * The entities are created in the same order every time, so their
+	 * identifiers are the same for every processor.
+	 * 
+	 * @param useCelProcessor
+	 *            <code>true</code> to use the CEL processor,
+	 *            <code>false</code> to use the rule-based processor
+	 * @return a classified processor
+	 */
+	private Processor createClassifiedProcessor(boolean useCelProcessor) {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		Set<NormalizedIntegerAxiom> ontology = new HashSet<>();
+		Integer a = entityManager.createNamedEntity(IntegerEntityType.CLASS, "A", false);
+		Integer b = entityManager.createNamedEntity(IntegerEntityType.CLASS, "B", false);
+		Integer c = entityManager.createNamedEntity(IntegerEntityType.CLASS, "C", false);
+		Integer r = entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "r", false);
+		Integer s = entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "s", false);
+		Integer nominalA = createNominal(entityManager, factory, ontology, "a");
+		Integer nominalB = createNominal(entityManager, factory, ontology, "b");
+		Integer nominalC = createNominal(entityManager, factory, ontology, "c");
+
+		ontology.add(factory.createGCI0Axiom(a, b, annotations));
+		ontology.add(factory.createGCI0Axiom(nominalA, a, annotations));
+		ontology.add(factory.createGCI0Axiom(nominalA, nominalB, annotations));
+		ontology.add(factory.createGCI0Axiom(nominalB, nominalA, annotations));
+		ontology.add(factory.createGCI2Axiom(nominalC, r, a, annotations));
+		ontology.add(factory.createRI2Axiom(r, s, annotations));
+		ontology.add(factory.createGCI3Axiom(s, b, c, annotations));
+
+		Set<Integer> originalObjectProperties = entityManager.getEntities(IntegerEntityType.OBJECT_PROPERTY, false);
+		Set<Integer> originalClasses = entityManager.getEntities(IntegerEntityType.CLASS, false);
+		Processor ret = useCelProcessor
+				? new CelProcessor(originalObjectProperties, originalClasses, ontology, factory, entityManager)
+				: new RuleBasedProcessor(originalObjectProperties, originalClasses, ontology,
+						new NormalizedAxiomExpressivityDetector(ontology), factory, entityManager);
+		while (!ret.isReady()) {
+			ret.process();
+		}
+		return ret;
+	}
+
+	private Integer createNominal(IntegerEntityManager entityManager, NormalizedIntegerAxiomFactory factory,
+			Set<NormalizedIntegerAxiom> ontology, String name) {
+		Integer individual = entityManager.createNamedEntity(IntegerEntityType.INDIVIDUAL, name, false);
+		Integer ret = entityManager.createOrGetClassIdForIndividual(individual);
+		ontology.add(factory.createNominalAxiom(ret, individual, new TreeSet<>()));
+		return ret;
+	}
+
+	/**
+	 * Tests that requesting each stage first, or all the stages in reverse
+	 * order, gives the same results as requesting all the stages in the eager
+	 * order.
+	 * 
+	 * @param useCelProcessor
+	 *            <code>true</code> to use the CEL processor,
+	 *            <code>false</code> to use the rule-based processor
+	 */
+	private void testStages(boolean useCelProcessor) {
+		List<Object> expected = apply(createClassifiedProcessor(useCelProcessor), eagerStages);
+		Map<?, ?> directTypes = (Map<?, ?>) expected.get(1);
+		Map<?, ?> sameIndividualMap = (Map<?, ?>) expected.get(2);
+		Assertions.assertEquals(3, directTypes.size());
+		Assertions.assertTrue(sameIndividualMap.values().stream().anyMatch(set -> ((Set<?>) set).size() == 2));
+
+		for (int index = 0; index < eagerStages.size(); index++) {
+			Object actual = eagerStages.get(index).apply(createClassifiedProcessor(useCelProcessor));
+			Assertions.assertEquals(expected.get(index), actual);
+		}
+
+		List<Function<Processor, Object>> reversedStages = new ArrayList<>(eagerStages);
+		Collections.reverse(reversedStages);
+		List<Object> actual = apply(createClassifiedProcessor(useCelProcessor), reversedStages);
+		Collections.reverse(actual);
+		Assertions.assertEquals(expected, actual);
+	}
+
+	/**
+	 * Tests the post-processing stages of the CEL processor.
+	 */
+	@Test
+	public void testCelProcessor() {
+		testStages(true);
+	}
+
+	/**
+	 * Tests the post-processing stages of the rule-based processor.
+	 */
+	@Test
+	public void testRuleBasedProcessor() {
+		testStages(false);
+	}
+
+}
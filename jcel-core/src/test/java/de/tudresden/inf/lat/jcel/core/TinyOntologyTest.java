@@ -90,6 +90,10 @@ public class TinyOntologyTest {
 		return entityManager.createNamedEntity(IntegerEntityType.CLASS, name, false);
 	}
 
+	private Integer createNewIndividual(IntegerEntityManager entityManager, String name) {
+		return entityManager.createNamedEntity(IntegerEntityType.INDIVIDUAL, name, false);
+	}
+
 	private Integer createNewObjectProperty(IntegerEntityManager entityManager, String name) {
 		return entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, name, false);
 	}
@@ -353,6 +357,111 @@ public class TinyOntologyTest {
 
 	}
 
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>B \u2291 {a} ,</li>
+	 * <li>{b} \u2291 \u2203 r . A</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>A &equiv; B</li>
+	 * </ul>
+	 */
+	@Test
+	public void testTinyOntology5() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		Set<NormalizedIntegerAxiom> ontology = new HashSet<>();
+		Integer a = createNewClass(entityManager, "A");
+		Integer b = createNewClass(entityManager, "B");
+		Integer r = createNewObjectProperty(entityManager, "r");
+		Integer indivA = createNewIndividual(entityManager, "a");
+		Integer indivB = createNewIndividual(entityManager, "b");
+		Integer nominalA = entityManager.createOrGetClassIdForIndividual(indivA);
+		Integer nominalB = entityManager.createOrGetClassIdForIndividual(indivB);
+		ontology.add(factory.createNominalAxiom(nominalA, indivA, annotations));
+		ontology.add(factory.createNominalAxiom(nominalB, indivB, annotations));
+
+		// 1
+		ontology.add(factory.createGCI0Axiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.createGCI0Axiom(b, nominalA, annotations));
+
+		// 3
+		ontology.add(factory.createGCI2Axiom(nominalB, r, a, annotations));
+
+		Processor processor = createProcessor(ontology, entityManager, factory);
+		classify(processor);
+
+		Set<Integer> equivalentsOfA = processor.getClassHierarchy().getEquivalents(a);
+		Assertions.assertTrue(equivalentsOfA.contains(b));
+	}
+
+	/**
+	 * <ol>
+	 * <li>X \u2291 {a} ,</li>
+	 * <li>Y \u2291 {a} ,</li>
+	 * <li>Y \u2291 {b} ,</li>
+	 * <li>{a} \u2291 \u2203 r . Y ,</li>
+	 * <li>E \u2291 {b} ,</li>
+	 * <li>E \u2291 F ,</li>
+	 * <li>X \u2291 \u2203 r . E</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>X \u2291 F</li>
+	 * </ul>
+	 * where X becomes a descendant of {b} only while the nominals are
+	 * processed.
+	 */
+	@Test
+	public void testTinyOntology6() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		Set<NormalizedIntegerAxiom> ontology = new HashSet<>();
+		Integer x = createNewClass(entityManager, "X");
+		Integer y = createNewClass(entityManager, "Y");
+		Integer e = createNewClass(entityManager, "E");
+		Integer f = createNewClass(entityManager, "F");
+		Integer r = createNewObjectProperty(entityManager, "r");
+		Integer indivA = createNewIndividual(entityManager, "a");
+		Integer indivB = createNewIndividual(entityManager, "b");
+		Integer nominalA = entityManager.createOrGetClassIdForIndividual(indivA);
+		Integer nominalB = entityManager.createOrGetClassIdForIndividual(indivB);
+		ontology.add(factory.createNominalAxiom(nominalA, indivA, annotations));
+		ontology.add(factory.createNominalAxiom(nominalB, indivB, annotations));
+
+		// 1
+		ontology.add(factory.createGCI0Axiom(x, nominalA, annotations));
+
+		// 2
+		ontology.add(factory.createGCI0Axiom(y, nominalA, annotations));
+
+		// 3
+		ontology.add(factory.createGCI0Axiom(y, nominalB, annotations));
+
+		// 4
+		ontology.add(factory.createGCI2Axiom(nominalA, r, y, annotations));
+
+		// 5
+		ontology.add(factory.createGCI0Axiom(e, nominalB, annotations));
+
+		// 6
+		ontology.add(factory.createGCI0Axiom(e, f, annotations));
+
+		// 7
+		ontology.add(factory.createGCI2Axiom(x, r, e, annotations));
+
+		Processor processor = createProcessor(ontology, entityManager, factory);
+		classify(processor);
+
+		Assertions.assertTrue(processor.getClassHierarchy().getAncestors(x).contains(f));
+	}
+
 	private void verifyOntology(Processor processor, Set<Integer> intermediateSet) {
 		Assertions.assertEquals(Collections.emptySet(),
 				processor.getClassHierarchy().getDescendants(processor.getClassHierarchy().getBottomElement()));
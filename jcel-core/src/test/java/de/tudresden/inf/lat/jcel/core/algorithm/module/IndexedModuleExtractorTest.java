@@ -0,0 +1,118 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.module;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
+
+/**
+ * Tests for the indexed module extractor.
+ * 
+ * @author Julian Mendez
+ */
+public class IndexedModuleExtractorTest {
+
+	public IndexedModuleExtractorTest() {
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>B \u2291 C ,</li>
+	 * <li>D \u2291 E</li>
+	 * </ol>
+	 */
+	@Test
+	public void testExtractModule() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		NormalizedIntegerAxiomFactoryImpl factory = new NormalizedIntegerAxiomFactoryImpl();
+		Integer a = 6;
+		Integer b = 7;
+		Integer c = 8;
+		Integer d = 9;
+		Integer e = 10;
+
+		NormalizedIntegerAxiom axiom1 = factory.createGCI0Axiom(a, b, annotations);
+		NormalizedIntegerAxiom axiom2 = factory.createGCI0Axiom(b, c, annotations);
+		NormalizedIntegerAxiom axiom3 = factory.createGCI0Axiom(d, e, annotations);
+		Set<NormalizedIntegerAxiom> ontology = new HashSet<>();
+		ontology.add(axiom1);
+		ontology.add(axiom2);
+		ontology.add(axiom3);
+
+		IndexedModuleExtractor extractor = new IndexedModuleExtractor(ontology, 0x10);
+		Module module = extractor.extractModule(Collections.singleton(a));
+
+		Set<NormalizedIntegerAxiom> expectedAxioms = new HashSet<>();
+		expectedAxioms.add(axiom1);
+		expectedAxioms.add(axiom2);
+		Assertions.assertEquals(expectedAxioms, module.getAxioms());
+
+		Set<Integer> expectedEntities = new TreeSet<>();
+		expectedEntities.add(a);
+		expectedEntities.add(b);
+		expectedEntities.add(c);
+		Assertions.assertEquals(expectedEntities, module.getEntities());
+
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> module.getAxioms().clear());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> module.getEntities().clear());
+		Assertions.assertSame(module, extractor.extractModule(Collections.singleton(a)));
+		Assertions.assertEquals(expectedAxioms, module.getAxioms());
+		Assertions.assertEquals(Collections.singleton(axiom3),
+				extractor.extractModule(Collections.singleton(d)).getAxioms());
+	}
+
+}
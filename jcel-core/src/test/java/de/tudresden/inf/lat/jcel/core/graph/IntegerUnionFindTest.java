@@ -0,0 +1,109 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the union-find partition of integers.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerUnionFindTest {
+
+	public IntegerUnionFindTest() {
+	}
+
+	@Test
+	public void testSets() {
+		IntegerUnionFind partition = new IntegerUnionFind();
+		IntStream.range(0, 0x1000).forEach(i -> {
+			partition.union(i, i % 0x10);
+		});
+		partition.add(0x2000);
+
+		Assertions.assertEquals(0x1001, partition.size());
+		List<Set<Integer>> sets = partition.getSets();
+		Assertions.assertEquals(0x11, sets.size());
+
+		IntStream.range(0, 0x10).forEach(i -> {
+			Set<Integer> expected = new HashSet<>();
+			IntStream.range(0, 0x100).forEach(j -> expected.add(i + (0x10 * j)));
+			Assertions.assertEquals(expected, sets.get(i));
+		});
+
+		Set<Integer> singleton = new HashSet<>();
+		singleton.add(0x2000);
+		Assertions.assertEquals(singleton, sets.get(0x10));
+	}
+
+	@Test
+	public void testUnion() {
+		IntegerUnionFind partition = new IntegerUnionFind();
+		Assertions.assertTrue(partition.add(3));
+		Assertions.assertFalse(partition.add(3));
+		Assertions.assertFalse(partition.contains(5));
+
+		Assertions.assertTrue(partition.union(3, 5));
+		Assertions.assertTrue(partition.union(7, 9));
+		Assertions.assertFalse(partition.union(5, 3));
+		Assertions.assertEquals(partition.find(3), partition.find(5));
+		Assertions.assertEquals(partition.find(7), partition.find(9));
+		Assertions.assertNotEquals(partition.find(3), partition.find(9));
+
+		Assertions.assertTrue(partition.union(9, 3));
+		Assertions.assertEquals(partition.find(5), partition.find(7));
+		Assertions.assertEquals(1, partition.getSets().size());
+	}
+
+}
@@ -46,12 +46,16 @@
 
 package de.tudresden.inf.lat.jcel.coreontology.axiom;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import de.tudresden.inf.lat.util.map.OptMap;
 import de.tudresden.inf.lat.util.map.OptMapImpl;
@@ -317,6 +321,89 @@ public class ExtendedOntologyImpl implements ExtendedOntology, NormalizedInteger
 		});
 	}
 
+	/**
+	 * Loads a set of normalized axioms using several threads. The axioms are
+	 * divided in partitions, each partition is indexed in a partial ontology,
+	 * and then the partial ontologies are merged into this ontology.
+	 * 
+	 * @param axiomSet
+	 *            set of normalized axioms to be loaded
+	 * @param numberOfPartitions
+	 *            number of partitions, which is usually the number of
+	 *            available processors
+	 */
+	public void load(Set<NormalizedIntegerAxiom> axiomSet, int numberOfPartitions) {
+		Objects.requireNonNull(axiomSet);
+		if (numberOfPartitions < 1) {
+			throw new IllegalArgumentException("Invalid number of partitions: '" + numberOfPartitions + "'.");
+		}
+		List<NormalizedIntegerAxiom> axiomList = new ArrayList<>(axiomSet);
+		int partitionSize = (axiomList.size() + numberOfPartitions - 1) / numberOfPartitions;
+		if (partitionSize == 0) {
+			return;
+		}
+		int actualNumberOfPartitions = (axiomList.size() + partitionSize - 1) / partitionSize;
+
+		List<ExtendedOntologyImpl> partialOntologies = IntStream.range(0, actualNumberOfPartitions).parallel()
+				.mapToObj(index -> {
+					ExtendedOntologyImpl partialOntology = new ExtendedOntologyImpl();
+					int start = index * partitionSize;
+					int end = Math.min(start + partitionSize, axiomList.size());
+					axiomList.subList(start, end).forEach(axiom -> {
+						axiom.accept(partialOntology);
+						partialOntology.addEntities(axiom);
+					});
+					return partialOntology;
+				}).collect(Collectors.toList());
+
+		partialOntologies.forEach(partialOntology -> merge(partialOntology));
+	}
+
+	/**
+	 * Adds all the axioms and entities of another ontology to this ontology.
+	 * 
+	 * @param other
+	 *            other ontology
+	 */
+	private void merge(ExtendedOntologyImpl other) {
+		mergeMap(this.mapOfGCI0, other.mapOfGCI0);
+		mergeMap(this.mapOfGCI1, other.mapOfGCI1);
+		mergeMap(this.mapOfGCI2, other.mapOfGCI2);
+		mergeMap(this.mapOfGCI3A, other.mapOfGCI3A);
+		mergeMap(this.mapOfGCI3r, other.mapOfGCI3r);
+		other.mapOfGCI3rA.keySet().forEach(objectPropertyId -> {
+			Optional<OptMap<Integer, Set<GCI3Axiom>>> optMap = this.mapOfGCI3rA.get(objectPropertyId);
+			if (!optMap.isPresent()) {
+				optMap = Optional.of(new OptMapImpl<>(new HashMap<>()));
+				this.mapOfGCI3rA.put(objectPropertyId, optMap.get());
+			}
+			mergeMap(optMap.get(), other.mapOfGCI3rA.get(objectPropertyId).get());
+		});
+		mergeMap(this.mapOfNominalAxiom, other.mapOfNominalAxiom);
+		mergeMap(this.mapOfRangeAxiom, other.mapOfRangeAxiom);
+		mergeMap(this.mapOfRI2r, other.mapOfRI2r);
+		mergeMap(this.mapOfRI2s, other.mapOfRI2s);
+		mergeMap(this.mapOfRI3ByLeft, other.mapOfRI3ByLeft);
+		mergeMap(this.mapOfRI3ByRight, other.mapOfRI3ByRight);
+		this.setOfAllObjectProperties.addAll(other.setOfAllObjectProperties);
+		this.setOfClasses.addAll(other.setOfClasses);
+		this.setOfFunctionalObjectProperties.addAll(other.setOfFunctionalObjectProperties);
+		this.setOfReflexiveObjectProperties.addAll(other.setOfReflexiveObjectProperties);
+		this.setOfTransitiveObjectProperties.addAll(other.setOfTransitiveObjectProperties);
+	}
+
+	private <T> void mergeMap(OptMap<Integer, Set<T>> map, OptMap<Integer, Set<T>> otherMap) {
+		otherMap.keySet().forEach(key -> {
+			Set<T> otherSet = otherMap.get(key).get();
+			Optional<Set<T>> optSet = map.get(key);
+			if (optSet.isPresent()) {
+				optSet.get().addAll(otherSet);
+			} else {
+				map.put(key, otherSet);
+			}
+		});
+	}
+
 	@Override
 	public String toString() {
 		StringBuffer sbuf = new StringBuffer();
@@ -185,6 +185,21 @@ public interface IntegerEntityManager {
 	 */
 	Set<Integer> getIndividuals();
 
+	/**
+	 * Returns an optional containing the inverse object property of the given
+	 * object property, or an empty optional if this property does not have an
+	 * inverse object property. Unlike
+	 * {@link #createOrGetInverseObjectPropertyOf(Integer)}, this method never
+	 * creates a new object property.
+	 *
+	 * @param propertyId
+	 *            property identifier
+	 * @return an optional containing the inverse object property of the given
+	 *         object property, or an empty optional if this property does not
+	 *         have an inverse object property
+	 */
+	Optional<Integer> getInverseObjectProperty(Integer propertyId);
+
 	/**
 	 * Returns the name defined for a certain entity.
 	 *
@@ -47,19 +47,19 @@
 package de.tudresden.inf.lat.jcel.coreontology.datatype;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.tudresden.inf.lat.util.map.OptMap;
 import de.tudresden.inf.lat.util.map.OptMapImpl;
 
 /**
  * An object of this class generates new identification numbers for object
- * properties and classes.
+ * properties and classes. It can be shared by processors running on different
+ * threads.
  * 
  * @author Julian Mendez
  */
@@ -68,16 +68,16 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	public static final String anonymousEntity = "AnonymousEntity";
 	public static final String auxiliaryEntity = "AuxiliaryEntity";
 
-	private final OptMap<IntegerEntityType, Set<Integer>> auxEntityMap = new OptMapImpl<>(new HashMap<>());
-	private final Set<Integer> auxEntitySet = new HashSet<>();
-	private final Set<Integer> auxInverseObjectPropertySet = new HashSet<>();
-	private final OptMap<Integer, Integer> auxNominalInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, Integer> auxNominalMap = new OptMapImpl<>(new HashMap<>());
-	private int entityCounter = firstUsableIdentifier;
-	private final OptMap<Integer, IntegerEntityType> entityTypeMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, Integer> inverseObjectPropertyMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, String> nameMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<IntegerEntityType, Set<Integer>> nonAuxEntityMap = new OptMapImpl<>(new HashMap<>());
+	private final OptMap<IntegerEntityType, Set<Integer>> auxEntityMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final Set<Integer> auxEntitySet = ConcurrentHashMap.newKeySet();
+	private final Set<Integer> auxInverseObjectPropertySet = ConcurrentHashMap.newKeySet();
+	private final OptMap<Integer, Integer> auxNominalInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, Integer> auxNominalMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private volatile int entityCounter = firstUsableIdentifier;
+	private final OptMap<Integer, IntegerEntityType> entityTypeMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, Integer> inverseObjectPropertyMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, String> nameMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<IntegerEntityType, Set<Integer>> nonAuxEntityMap = new OptMapImpl<>(new ConcurrentHashMap<>());
 
 	/**
 	 * Constructs a new identifier generator.
@@ -92,7 +92,7 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	}
 
 	@Override
-	public Integer createAnonymousEntity(IntegerEntityType type, boolean auxiliary) {
+	public synchronized Integer createAnonymousEntity(IntegerEntityType type, boolean auxiliary) {
 		Objects.requireNonNull(type);
 		Integer ret = this.entityCounter;
 		this.entityCounter++;
@@ -102,7 +102,7 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	}
 
 	@Override
-	public Integer createNamedEntity(IntegerEntityType type, String name, boolean auxiliary) {
+	public synchronized Integer createNamedEntity(IntegerEntityType type, String name, boolean auxiliary) {
 		Objects.requireNonNull(type);
 		Objects.requireNonNull(name);
 		Integer ret = createAnonymousEntity(type, auxiliary);
@@ -111,7 +111,7 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	}
 
 	@Override
-	public Integer createOrGetClassIdForIndividual(Integer individual) {
+	public synchronized Integer createOrGetClassIdForIndividual(Integer individual) {
 		Objects.requireNonNull(individual);
 		Optional<Integer> optId = this.auxNominalMap.get(individual);
 		if (!optId.isPresent()) {
@@ -123,7 +123,8 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	}
 
 	@Override
-	public Integer createOrGetInverseObjectPropertyOf(Integer propertyId) throws IndexOutOfBoundsException {
+	public synchronized Integer createOrGetInverseObjectPropertyOf(Integer propertyId)
+			throws IndexOutOfBoundsException {
 		Objects.requireNonNull(propertyId);
 		Optional<Integer> optId = this.inverseObjectPropertyMap.get(propertyId);
 		if (!optId.isPresent()) {
@@ -210,6 +211,12 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 		return Collections.unmodifiableSet(this.auxNominalMap.keySet());
 	}
 
+	@Override
+	public Optional<Integer> getInverseObjectProperty(Integer propertyId) {
+		Objects.requireNonNull(propertyId);
+		return this.inverseObjectPropertyMap.get(propertyId);
+	}
+
 	@Override
 	public String getName(Integer identifier) {
 		Objects.requireNonNull(identifier);
@@ -259,7 +266,7 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	}
 
 	@Override
-	public boolean proposeInverseObjectPropertyOf(Integer firstProperty, Integer secondProperty) {
+	public synchronized boolean proposeInverseObjectPropertyOf(Integer firstProperty, Integer secondProperty) {
 		Objects.requireNonNull(firstProperty);
 		Objects.requireNonNull(secondProperty);
 		boolean ret = false;
@@ -278,14 +285,14 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 			this.auxEntitySet.add(identifier);
 			Optional<Set<Integer>> optSet = this.auxEntityMap.get(type);
 			if (!optSet.isPresent()) {
-				optSet = Optional.of(new HashSet<>());
+				optSet = Optional.of(ConcurrentHashMap.newKeySet());
 				this.auxEntityMap.put(type, optSet.get());
 			}
 			optSet.get().add(identifier);
 		} else {
 			Optional<Set<Integer>> optSet = this.nonAuxEntityMap.get(type);
 			if (!optSet.isPresent()) {
-				optSet = Optional.of(new HashSet<>());
+				optSet = Optional.of(ConcurrentHashMap.newKeySet());
 				this.nonAuxEntityMap.put(type, optSet.get());
 			}
 			optSet.get().add(identifier);
@@ -0,0 +1,174 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the extended ontology.
+ * 
+ * @author Julian Mendez
+ */
+public class ExtendedOntologyImplTest {
+
+	private static final int firstClass = 0x100;
+	private static final int firstObjectProperty = 0x10;
+	private static final int numberOfAxioms = 0x800;
+	private static final int numberOfClasses = 0x40;
+	private static final int numberOfObjectProperties = 0x8;
+	private static final long seed = 0x1234;
+
+	/**
+	 * Constructs a new test for the extended ontology.
+	 */
+	public ExtendedOntologyImplTest() {
+	}
+
+	private void assertSameIndexes(ExtendedOntology expected, ExtendedOntology actual) {
+		Assertions.assertEquals(expected.getClassSet(), actual.getClassSet());
+		Assertions.assertEquals(expected.getObjectPropertySet(), actual.getObjectPropertySet());
+		Assertions.assertEquals(expected.getFunctionalObjectProperties(), actual.getFunctionalObjectProperties());
+		Assertions.assertEquals(expected.getReflexiveObjectProperties(), actual.getReflexiveObjectProperties());
+		Assertions.assertEquals(expected.getTransitiveObjectProperties(), actual.getTransitiveObjectProperties());
+		for (int classId = firstClass; classId < firstClass + numberOfClasses; classId++) {
+			Assertions.assertEquals(expected.getGCI0Axioms(classId), actual.getGCI0Axioms(classId));
+			Assertions.assertEquals(expected.getGCI1Axioms(classId), actual.getGCI1Axioms(classId));
+			Assertions.assertEquals(expected.getGCI2Axioms(classId), actual.getGCI2Axioms(classId));
+			Assertions.assertEquals(expected.getGCI3AAxioms(classId), actual.getGCI3AAxioms(classId));
+		}
+		for (int property = firstObjectProperty; property < firstObjectProperty
+				+ numberOfObjectProperties; property++) {
+			Assertions.assertEquals(expected.getGCI3rAxioms(property), actual.getGCI3rAxioms(property));
+			Assertions.assertEquals(expected.getRI2rAxioms(property), actual.getRI2rAxioms(property));
+			Assertions.assertEquals(expected.getRI2sAxioms(property), actual.getRI2sAxioms(property));
+			Assertions.assertEquals(expected.getRI3AxiomsByLeft(property), actual.getRI3AxiomsByLeft(property));
+			Assertions.assertEquals(expected.getRI3AxiomsByRight(property), actual.getRI3AxiomsByRight(property));
+			for (int classId = firstClass; classId < firstClass + numberOfClasses; classId++) {
+				Assertions.assertEquals(expected.getGCI3rAAxioms(property, classId),
+						actual.getGCI3rAAxioms(property, classId));
+			}
+		}
+	}
+
+	private Set<NormalizedIntegerAxiom> createAxioms() {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		Set<IntegerAnnotation> annotations = Collections.emptySet();
+		Random random = new Random(seed);
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
+		for (int index = 0; index < numberOfAxioms; index++) {
+			int a = firstClass + random.nextInt(numberOfClasses);
+			int b = firstClass + random.nextInt(numberOfClasses);
+			int c = firstClass + random.nextInt(numberOfClasses);
+			int r = firstObjectProperty + random.nextInt(numberOfObjectProperties);
+			int s = firstObjectProperty + random.nextInt(numberOfObjectProperties);
+			int t = firstObjectProperty + random.nextInt(numberOfObjectProperties);
+			switch (index % 8) {
+			case 0:
+				ret.add(factory.createGCI0Axiom(a, b, annotations));
+				break;
+			case 1:
+				ret.add(factory.createGCI1Axiom(a, b, c, annotations));
+				break;
+			case 2:
+				ret.add(factory.createGCI2Axiom(a, r, b, annotations));
+				break;
+			case 3:
+				ret.add(factory.createGCI3Axiom(r, a, b, annotations));
+				break;
+			case 4:
+				ret.add(factory.createRI2Axiom(r, s, annotations));
+				break;
+			case 5:
+				ret.add(factory.createRI3Axiom(r, s, t, annotations));
+				break;
+			case 6:
+				ret.add(factory.createRI3Axiom(r, r, r, annotations));
+				ret.add(factory.createFunctObjectPropAxiom(s, annotations));
+				break;
+			default:
+				ret.add(factory.createRI1Axiom(r, annotations));
+				ret.add(factory.createRangeAxiom(s, a, annotations));
+				break;
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Tests that an invalid number of partitions is rejected.
+	 */
+	@Test
+	public void testInvalidNumberOfPartitions() {
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new ExtendedOntologyImpl().load(Collections.emptySet(), 0));
+	}
+
+	/**
+	 * Tests that loading the axioms in partitions produces the same indexes
+	 * as loading them sequentially.
+	 */
+	@Test
+	public void testPartitionedLoad() {
+		Set<NormalizedIntegerAxiom> axioms = createAxioms();
+		ExtendedOntologyImpl expected = new ExtendedOntologyImpl();
+		expected.load(axioms);
+
+		int[] numbersOfPartitions = { 1, 2, 3, 7, axioms.size(), axioms.size() + 1 };
+		for (int numberOfPartitions : numbersOfPartitions) {
+			ExtendedOntologyImpl actual = new ExtendedOntologyImpl();
+			actual.load(axioms, numberOfPartitions);
+			assertSameIndexes(expected, actual);
+		}
+	}
+
+}
@@ -46,6 +46,8 @@
 
 package de.tudresden.inf.lat.jcel.ontology.axiom.extension;
 
+import java.util.Objects;
+
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
@@ -64,13 +66,26 @@ public class IntegerOntologyObjectFactoryImpl implements IntegerOntologyObjectFa
 
 	private final ComplexIntegerAxiomFactory complexAxiomFactory = new ComplexIntegerAxiomFactoryImpl();
 	private final IntegerDataTypeFactory dataTypeFactory = new IntegerDataTypeFactoryImpl();
-	private final IntegerEntityManager idGenerator = new IntegerEntityManagerImpl();
+	private final IntegerEntityManager idGenerator;
 	private final NormalizedIntegerAxiomFactory normalizedAxiomFactory = new NormalizedIntegerAxiomFactoryImpl();
 
 	/**
 	 * Constructs a new ontology object factory.
 	 */
 	public IntegerOntologyObjectFactoryImpl() {
+		this(new IntegerEntityManagerImpl());
+	}
+
+	/**
+	 * Constructs a new ontology object factory that uses an existing entity
+	 * manager.
+	 * 
+	 * @param entityManager
+	 *            entity manager
+	 */
+	public IntegerOntologyObjectFactoryImpl(IntegerEntityManager entityManager) {
+		Objects.requireNonNull(entityManager);
+		this.idGenerator = entityManager;
 	}
 
 	@Override
@@ -0,0 +1,344 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.console;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.owlapi.main.JcelReasoner;
+
+/**
+ * An object of this class classifies many ontologies in the same process,
+ * using a bounded pool of threads. The ontologies are given by a directory
+ * or by a manifest file, which has the name of one ontology file per line.
+ * Empty lines and lines starting with <code>#</code> are ignored, and
+ * relative names are resolved with respect to the directory of the manifest.
+ * The class hierarchy and the object property hierarchy of each ontology are
+ * written in the output directory, and a line with the times and the sizes of
+ * each classification is written in the metrics file, in the order in which
+ * the classifications finish. If a classification fails, its line has the
+ * error instead of the times and the sizes. A virtual machine error, like
+ * running out of memory, is written in the metrics file as well, but it stops
+ * the whole batch, since the process cannot be trusted afterwards. The output
+ * file of an ontology is
+ * named after the ontology file, and a number is added to the name when
+ * several ontology files have the same name.
+ * 
+ * @author Julian Mendez
+ */
+public class BatchClassifier {
+
+	private static final String commentPrefix = "#";
+	private static final String extensionFunctional = ".ofn";
+	private static final String extensionNTriples = ".nt";
+	private static final Logger logger = Logger.getLogger(BatchClassifier.class.getName());
+	public static final String metricsFileName = "metrics.tsv";
+	private static final String metricsHeader = "ontology\tstatus\taxioms\tloading_ms\tclassification_ms\twriting_ms"
+			+ "\toutput_axioms";
+	private static final String statusError = "error";
+	private static final String statusOk = "ok";
+	private static final String tab = "\t";
+
+	private final TaxonomyWriter.Format format;
+	private final int numberOfThreads;
+	private final long timeOut;
+
+	/**
+	 * Constructs a new batch classifier.
+	 * 
+	 * @param numberOfThreads
+	 *            number of ontologies classified at the same time
+	 * @param format
+	 *            syntax of the output
+	 * @param timeOut
+	 *            time-out in milliseconds for each ontology, or 0 for no
+	 *            time-out
+	 */
+	public BatchClassifier(int numberOfThreads, TaxonomyWriter.Format format, long timeOut) {
+		Objects.requireNonNull(format);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: '" + numberOfThreads + "'.");
+		}
+		if (timeOut < 0) {
+			throw new IllegalArgumentException("Invalid time-out: '" + timeOut + "'.");
+		}
+		this.numberOfThreads = numberOfThreads;
+		this.format = format;
+		this.timeOut = timeOut;
+	}
+
+	private String classify(File ontologyFile, File outputFile) throws OWLOntologyCreationException, IOException {
+		long wallClockTimeBeginning = System.currentTimeMillis();
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ontologyFile);
+		long wallClockTimeLoaded = System.currentTimeMillis();
+
+		JcelReasoner reasoner = new JcelReasoner(ontology, false);
+		long wallClockTimeClassified;
+		long wallClockTimeEnd;
+		long numberOfOutputAxioms;
+		try {
+			TimeOutMonitor monitor = new TimeOutMonitor(reasoner, this.timeOut);
+			if (this.timeOut > 0) {
+				monitor.start();
+			}
+			try {
+				reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY,
+						InferenceType.OBJECT_PROPERTY_HIERARCHY);
+			} finally {
+				monitor.interrupt();
+			}
+			wallClockTimeClassified = System.currentTimeMillis();
+
+			Processor processor = reasoner.getProcessor();
+			TaxonomyWriter taxonomyWriter = new TaxonomyWriter(processor.getClassHierarchy(),
+					processor.getObjectPropertyHierarchy(), reasoner.getTranslator().getTranslationRepository());
+			try (Writer writer = new OutputStreamWriter(Files.newOutputStream(outputFile.toPath()),
+					StandardCharsets.UTF_8)) {
+				numberOfOutputAxioms = taxonomyWriter.write(writer, this.format);
+			}
+			wallClockTimeEnd = System.currentTimeMillis();
+		} finally {
+			reasoner.dispose();
+		}
+
+		return statusOk + tab + ontology.getAxiomCount() + tab + (wallClockTimeLoaded - wallClockTimeBeginning) + tab
+				+ (wallClockTimeClassified - wallClockTimeLoaded) + tab + (wallClockTimeEnd - wallClockTimeClassified)
+				+ tab + numberOfOutputAxioms;
+	}
+
+	private boolean classifyAndLog(File ontologyFile, File outputFile, BufferedWriter metrics) throws IOException {
+		String line;
+		boolean classified;
+		VirtualMachineError fatalError = null;
+		try {
+			line = classify(ontologyFile, outputFile);
+			classified = true;
+		} catch (VirtualMachineError e) {
+			logger.severe("classification of '" + ontologyFile + "' stopped the batch (" + e + ")");
+			line = getErrorLine(e);
+			classified = false;
+			fatalError = e;
+		} catch (RuntimeException | Error | OWLOntologyCreationException | IOException e) {
+			logger.fine("classification of '" + ontologyFile + "' failed (" + e + ")");
+			line = getErrorLine(e);
+			classified = false;
+		}
+		synchronized (metrics) {
+			metrics.write(ontologyFile.getPath() + tab + line);
+			metrics.newLine();
+			metrics.flush();
+		}
+		if (Objects.nonNull(fatalError)) {
+			throw fatalError;
+		}
+		return classified;
+	}
+
+	/**
+	 * Classifies the ontologies given by a directory or by a manifest file.
+	 * 
+	 * @param input
+	 *            directory of ontologies or manifest file
+	 * @param outputDirectory
+	 *            directory to write the results and the metrics file
+	 * @return the number of ontologies that have been successfully classified
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public int classifyAll(File input, File outputDirectory) throws IOException {
+		Objects.requireNonNull(input);
+		Objects.requireNonNull(outputDirectory);
+		List<File> ontologyFiles = getOntologyFiles(input);
+		List<String> outputFileNames = getOutputFileNames(ontologyFiles);
+		outputDirectory.mkdirs();
+		logger.fine("classifying " + ontologyFiles.size() + " ontologies using " + this.numberOfThreads
+				+ " thread(s) ...");
+
+		ExecutorService executor = Executors.newFixedThreadPool(this.numberOfThreads);
+		try (BufferedWriter metrics = Files.newBufferedWriter(new File(outputDirectory, metricsFileName).toPath(),
+				StandardCharsets.UTF_8)) {
+			metrics.write(metricsHeader);
+			metrics.newLine();
+			metrics.flush();
+
+			List<Future<Boolean>> futureList = new ArrayList<>();
+			for (int index = 0; index < ontologyFiles.size(); index++) {
+				File ontologyFile = ontologyFiles.get(index);
+				File outputFile = new File(outputDirectory, outputFileNames.get(index));
+				futureList.add(executor.submit(() -> classifyAndLog(ontologyFile, outputFile, metrics)));
+			}
+
+			int ret = 0;
+			for (Future<Boolean> future : futureList) {
+				if (future.get()) {
+					ret++;
+				}
+			}
+			logger.fine(ret + " of " + ontologyFiles.size() + " ontologies classified.");
+			return ret;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof VirtualMachineError) {
+				throw (VirtualMachineError) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private String getErrorLine(Throwable e) {
+		return statusError + tab + e.toString().replace('\t', ' ').replace('\n', ' ');
+	}
+
+	/**
+	 * Returns the ontology files given by a directory or by a manifest file.
+	 * 
+	 * @param input
+	 *            directory of ontologies or manifest file
+	 * @return the ontology files given by a directory or by a manifest file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws IllegalArgumentException
+	 *             if the manifest file has the same ontology file more than
+	 *             once
+	 */
+	public List<File> getOntologyFiles(File input) throws IOException {
+		Objects.requireNonNull(input);
+		List<File> ret = new ArrayList<>();
+		Set<File> visited = new HashSet<>();
+		if (input.isDirectory()) {
+			File[] files = input.listFiles(file -> file.isFile() && !file.isHidden());
+			if (Objects.nonNull(files)) {
+				ret.addAll(Arrays.asList(files));
+				Collections.sort(ret);
+			}
+		} else {
+			try (BufferedReader reader = Files.newBufferedReader(input.toPath(), StandardCharsets.UTF_8)) {
+				for (String line = reader.readLine(); Objects.nonNull(line); line = reader.readLine()) {
+					String name = line.trim();
+					if (!name.isEmpty() && !name.startsWith(commentPrefix)) {
+						File file = new File(name);
+						File ontologyFile = file.isAbsolute() ? file
+								: new File(input.getAbsoluteFile().getParentFile(), name);
+						if (!visited.add(ontologyFile.getCanonicalFile())) {
+							throw new IllegalArgumentException("Duplicate ontology file: '" + ontologyFile + "'.");
+						}
+						ret.add(ontologyFile);
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the names of the output files, one for each ontology file. The
+	 * name of an output file is the name of the ontology file with the
+	 * extension of the output syntax. If several ontology files have the same
+	 * name, for example because they are in different directories, their
+	 * position in the list is added to the name, so that no output file is
+	 * written twice.
+	 * 
+	 * @param ontologyFiles
+	 *            ontology files
+	 * @return the names of the output files
+	 */
+	public List<String> getOutputFileNames(List<File> ontologyFiles) {
+		Objects.requireNonNull(ontologyFiles);
+		String extension = this.format.equals(TaxonomyWriter.Format.NTRIPLES) ? extensionNTriples
+				: extensionFunctional;
+		Map<String, Integer> occurrences = new HashMap<>();
+		ontologyFiles.forEach(file -> occurrences.merge(file.getName(), 1, Integer::sum));
+		Set<String> used = new HashSet<>();
+		List<String> ret = new ArrayList<>();
+		for (int index = 0; index < ontologyFiles.size(); index++) {
+			String name = ontologyFiles.get(index).getName();
+			int suffix = index + 1;
+			String candidate = occurrences.get(name) > 1 ? name + "." + suffix + extension : name + extension;
+			while (used.contains(candidate)) {
+				suffix++;
+				candidate = name + "." + suffix + extension;
+			}
+			used.add(candidate);
+			ret.add(candidate);
+		}
+		return ret;
+	}
+
+}
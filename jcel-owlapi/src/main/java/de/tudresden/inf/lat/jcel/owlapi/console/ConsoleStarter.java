@@ -52,13 +52,21 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
 
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.functional.renderer.OWLFunctionalSyntaxRenderer;
@@ -70,6 +78,7 @@ import org.semanticweb.owlapi.krss2.renderer.KRSSSyntaxRenderer;
 import org.semanticweb.owlapi.latex.renderer.LatexRenderer;
 import org.semanticweb.owlapi.manchestersyntax.renderer.ManchesterOWLSyntaxRenderer;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -77,7 +86,12 @@ import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.owlxml.renderer.OWLXMLRenderer;
 import org.semanticweb.owlapi.reasoner.InferenceType;
 
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.NormalizedOntologySnapshot;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
 import de.tudresden.inf.lat.jcel.owlapi.main.JcelReasoner;
+import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+import de.tudresden.inf.lat.jcel.reasoner.main.RuleBasedReasoner;
 import de.tudresden.inf.lat.jcel.reasoner.main.VersionInfo;
 
 /**
@@ -92,17 +106,20 @@ public class ConsoleStarter {
 	 * Mode of execution.
 	 */
 	public enum Mode {
-		CLASSIFICATION, CONSISTENCY, ENTAILMENT, NOTHING, QUERY, SATISFIABILITY
+		BATCH, CLASSIFICATION, CONSISTENCY, ENTAILMENT, NOTHING, QUERY, SATISFIABILITY, SERVER
 	}
 
+	public static final String cmdBatch = "batch";
 	public static final String cmdClassification = "classification";
 	public static final String cmdConsistency = "consistency";
 	public static final String cmdEntailment = "entailment";
 	public static final String cmdQuery = "query";
 	public static final String cmdSat = "sat";
 	public static final String cmdSatisfiability = "satisfiability ";
+	public static final String cmdServer = "server";
 
 	private static final String errorSuffix = "_err";
+	private static final String gzipSuffix = ".gz";
 
 	public static final String licenseInfo = "" + "Copyright (C) 2009-2014 Julian Mendez" + "\nLicenses:"
 			+ "\n  GNU Lesser General Public License version 3 <http://www.gnu.org/licenses/lgpl.txt>"
@@ -117,6 +134,7 @@ public class ConsoleStarter {
 	private static final String msgPartOperationTime = "Operation time: ";
 	private static final String msgPartStarted = "Started ";
 
+	public static final String optABoxMaterialization = "--aboxmaterialization";
 	public static final String optClassURI = "--classuri=";
 	public static final String optConclusion = "--conclusion=";
 	public static final String optHelp = "--help";
@@ -124,7 +142,11 @@ public class ConsoleStarter {
 	public static final String optOntology = "--ontology=";
 	public static final String optOperation = "--operation=";
 	public static final String optOutput = "--output=";
+	public static final String optPort = "--port=";
 	public static final String optRenderer = "--renderer=";
+	public static final String optSnapshot = "--snapshot=";
+	public static final String optStreaming = "--streaming";
+	public static final String optThreads = "--threads=";
 	public static final String optTimeOut = "--timeout=";
 	public static final String optVerbose = "--verbose";
 	public static final String optVersion = "--version";
@@ -134,6 +156,7 @@ public class ConsoleStarter {
 	public static final String rendererKRSS2OWL = "krss2owl";
 	public static final String rendererLatex = "latex";
 	public static final String rendererManchester = "manchester";
+	public static final String rendererNTriples = "ntriples";
 	public static final String rendererXML = "xml";
 	public static final String versionInfo = VersionInfo.reasonerName + " " + VersionInfo.reasonerVersion;
 
@@ -161,19 +184,40 @@ public class ConsoleStarter {
 
 	/** A very small help about how to start a new instance. */
 	private final String minihelp = "\nusage: java -jar jcel.jar <operation> <ontologyFile> <output> [<classURI>] [options]..."
+			+ "\n   or: java -jar jcel.jar " + cmdBatch + " <manifest> <outputDirectory> [" + optThreads + "THREADS] ["
+			+ optRenderer + "RENDERER] [" + optTimeOut + "MILLISECONDS] [" + optLogLevel + "LEVEL]"
+			+ "\n   or: java -jar jcel.jar " + cmdServer + " [" + optPort + "PORT] [" + optLogLevel + "LEVEL]"
 			+ "\n\n\n<operation>:" + "\n   " + cmdConsistency
 			+ "               determine whether the given ontology is consistent" + "\n   " + cmdSat
 			+ "                       determine whether the given class (<classURI>) is satisfiable with respect to the given ontology"
 			+ "\n   " + cmdClassification
 			+ "            compute the class hierarchy and the object property hierarchy of the given ontology"
 			+ "\n   " + cmdEntailment
-			+ "                determine whether the given ontology entails the given conclusion" + "\n\n"
+			+ "                determine whether the given ontology entails the given conclusion" + "\n   "
+			+ cmdBatch + "                     classify the ontologies listed in <manifest>, one file name per"
+			+ "\n                             line, or contained in the directory <manifest>, writing each"
+			+ "\n                             result with the " + rendererFunctional + " or the " + rendererNTriples
+			+ " renderer and a line per" + "\n                             ontology in "
+			+ BatchClassifier.metricsFileName + " of <outputDirectory>" + "\n   "
+			+ cmdServer + "                    keep the loaded ontologies classified and answer the requests read"
+			+ "\n                             line by line from the standard input, or from a local socket on"
+			+ "\n                             the given " + optPort + "PORT, using one thread per connection; see "
+			+ ReasoningServer.class.getSimpleName() + "\n\n"
 			+ "<ontologyFile>               ontology to be classified (or premise ontology)" + "\n\n"
 			+ "<output>                     output with the inferred data" + "\n\n"
 			+ "<classURI>                   (only for " + cmdSat + ") URI of the class to check satisfiability"
 			+ "\n\n\nthe available options are:" + "\n   " + optConclusion + "FILE         conclusion ontology"
+			+ "\n   " + optABoxMaterialization + "     compute the types of the individuals that only appear in"
+			+ "\n                             assertions after the classification"
 			+ "\n   " + optRenderer
 			+ "RENDERER       renderer for the class hierarchy computed by the classification operation" + "\n   "
+			+ optStreaming + "              write the class hierarchy and the object property hierarchy node by node,"
+			+ "\n                             using the " + rendererFunctional + " or the " + rendererNTriples
+			+ " renderer, and compress" + "\n                             the output if its name ends with "
+			+ gzipSuffix + "\n   " + optSnapshot
+			+ "FILE           (only with " + optStreaming + ") normalized ontology snapshot, which is created from"
+			+ "\n                             <ontologyFile> if FILE does not exist or <ontologyFile> has changed,"
+			+ "\n                             and is classified instead of <ontologyFile> otherwise" + "\n   "
 			+ optTimeOut + "MILLISECONDS    force a time-out after a given number of milliseconds" + "\n   "
 			+ optLogLevel + "LEVEL          log level" + "\n   " + optVerbose + "                 run verbose mode"
 			+ "\n   " + optHelp + "                    display this help" + "\n   " + optVersion
@@ -191,9 +235,13 @@ public class ConsoleStarter {
 			+ Level.FINEST.getName() + " | " + Level.ALL.getName()
 			+ "\n   MILLISECONDS              a natural number, e.g.: 300000" + "\n   OPERATION                 "
 			+ cmdConsistency + " | " + cmdSat + " | " + cmdClassification + " | " + cmdEntailment
+			+ "\n   PORT                      a port number, e.g.: 7070"
+			+ "\n   THREADS                   a positive number of ontologies classified at the same time, e.g.: 4"
 			+ "\n   RENDERER                  " + rendererFunctional + " | " + rendererKRSS + " | " + rendererKRSS2
 			+ " | " + rendererKRSS2OWL + " | " + rendererLatex + " | " + rendererManchester + " | " + rendererXML
+			+ " | " + rendererNTriples + " (only with " + optStreaming + ")"
 			+ "\n\n\n\n";
+	private boolean aboxMaterializationMode = false;
 	private long timeOut = 0;
 	private boolean timeOutMode = false;
 	private boolean verboseMode = false;
@@ -252,7 +300,7 @@ public class ConsoleStarter {
 		OWLOntology conclusionOntology = manager.loadOntologyFromOntologyDocument(conclusionFile);
 
 		logger.fine("starting reasoner ...");
-		JcelReasoner reasoner = new JcelReasoner(premiseOntology, false);
+		JcelReasoner reasoner = new JcelReasoner(premiseOntology, false, this.aboxMaterializationMode);
 
 		logger.fine("precomputing inferences ...");
 		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
@@ -319,6 +367,135 @@ public class ConsoleStarter {
 		logger.fine("jcel console finished.");
 	}
 
+	/**
+	 * Classifies a given ontology and writes the class hierarchy and the object
+	 * property hierarchy node by node, without creating the inferred ontology
+	 * in memory. The output is compressed with gzip if the name of the file
+	 * ends with <code>.gz</code>.
+	 *
+	 * @param ontologyFile
+	 *            ontology file to be classified
+	 * @param inferredFile
+	 *            file to write the inferred data
+	 * @param format
+	 *            syntax of the output
+	 * @throws OWLOntologyCreationException
+	 *             if the ontology could not be created
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void computeClassification(File ontologyFile, File inferredFile, TaxonomyWriter.Format format)
+			throws OWLOntologyCreationException, IOException {
+		Objects.requireNonNull(ontologyFile);
+		Objects.requireNonNull(inferredFile);
+		Objects.requireNonNull(format);
+		JcelReasoner reasoner = createReasoner(ontologyFile);
+
+		logger.fine("precomputing inferences ...");
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.OBJECT_PROPERTY_HIERARCHY);
+
+		logger.fine("writing output ...");
+		Processor processor = reasoner.getProcessor();
+		TaxonomyWriter taxonomyWriter = new TaxonomyWriter(processor.getClassHierarchy(),
+				processor.getObjectPropertyHierarchy(), reasoner.getTranslator().getTranslationRepository());
+		try (Writer writer = createOutputWriter(inferredFile)) {
+			long numberOfAxioms = taxonomyWriter.write(writer, format);
+			logger.fine("axioms written : " + numberOfAxioms);
+		}
+
+		logger.fine("jcel console finished.");
+	}
+
+	/**
+	 * Classifies a normalized ontology snapshot and writes the class hierarchy
+	 * and the object property hierarchy node by node. If the snapshot file
+	 * does not exist, or if it was created from a different version of the
+	 * ontology file, the snapshot is created from the given ontology file and
+	 * saved before the classification. The version of the ontology file is
+	 * identified by its size and its modification time, which are kept in the
+	 * header of the snapshot. Otherwise, the ontology file is not parsed, and
+	 * the translation repository is rebuilt from the entity manager of the
+	 * snapshot. The output is compressed with gzip if the name of the file
+	 * ends with <code>.gz</code>.
+	 *
+	 * @param ontologyFile
+	 *            ontology file used to create the snapshot
+	 * @param snapshotFile
+	 *            file of the normalized ontology snapshot
+	 * @param inferredFile
+	 *            file to write the inferred data
+	 * @param format
+	 *            syntax of the output
+	 * @throws OWLOntologyCreationException
+	 *             if the ontology could not be created
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void computeClassification(File ontologyFile, File snapshotFile, File inferredFile,
+			TaxonomyWriter.Format format) throws OWLOntologyCreationException, IOException {
+		Objects.requireNonNull(ontologyFile);
+		Objects.requireNonNull(snapshotFile);
+		Objects.requireNonNull(inferredFile);
+		Objects.requireNonNull(format);
+		logger.fine("starting jcel console ...");
+
+		String source = getSourceFingerprint(ontologyFile);
+		Translator translator = null;
+		NormalizedOntologySnapshot snapshot = null;
+		if (snapshotFile.exists()) {
+			logger.fine("loading normalized ontology snapshot ...");
+			snapshot = NormalizedOntologySnapshot.load(snapshotFile,
+					(new IntegerOntologyObjectFactoryImpl()).getNormalizedAxiomFactory());
+			if (snapshot.getSource().equals(source)) {
+				OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+				translator = new Translator(dataFactory,
+						new IntegerOntologyObjectFactoryImpl(snapshot.getEntityManager()));
+				translator.getTranslationRepository().addEntityManagerEntities(dataFactory);
+			} else {
+				logger.fine("normalized ontology snapshot does not match the ontology file.");
+				snapshot = null;
+			}
+		}
+
+		if (Objects.isNull(snapshot)) {
+			logger.fine("loading ontology using the OWL API ...");
+			OWLOntology ontology = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(ontologyFile);
+			translator = new Translator(ontology.getOWLOntologyManager().getOWLDataFactory(),
+					new IntegerOntologyObjectFactoryImpl());
+			translator.getTranslationRepository().addAxiomEntities(ontology);
+			Set<OWLAxiom> owlAxiomSet = new HashSet<>();
+			ontology.getImportsClosure().forEach(ont -> owlAxiomSet.addAll(ont.getAxioms()));
+
+			logger.fine("creating normalized ontology snapshot ...");
+			snapshot = RuleBasedReasoner.createNormalizedOntologySnapshot(translator.translateSA(owlAxiomSet),
+					translator.getOntologyObjectFactory()).withSource(source);
+			snapshot.save(snapshotFile);
+		}
+
+		logger.fine("classifying ...");
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(snapshot, translator.getOntologyObjectFactory());
+		reasoner.classify();
+
+		logger.fine("writing output ...");
+		Processor processor = reasoner.getProcessor();
+		TaxonomyWriter taxonomyWriter = new TaxonomyWriter(processor.getClassHierarchy(),
+				processor.getObjectPropertyHierarchy(), translator.getTranslationRepository());
+		try (Writer writer = createOutputWriter(inferredFile)) {
+			long numberOfAxioms = taxonomyWriter.write(writer, format);
+			logger.fine("axioms written : " + numberOfAxioms);
+		}
+
+		logger.fine("jcel console finished.");
+	}
+
+	private Writer createOutputWriter(File file) throws IOException {
+		OutputStream output = new FileOutputStream(file);
+		if (file.getName().endsWith(gzipSuffix)) {
+			output = new GZIPOutputStream(output);
+		}
+		return new OutputStreamWriter(output, StandardCharsets.UTF_8);
+	}
+
 	/**
 	 * Creates an instance of jcel reasoner using the given ontology file.
 	 *
@@ -341,7 +518,7 @@ public class ConsoleStarter {
 
 		long wallClockTimeBeginning = (new Date()).getTime();
 
-		JcelReasoner ret = new JcelReasoner(ontology, false);
+		JcelReasoner ret = new JcelReasoner(ontology, false, this.aboxMaterializationMode);
 
 		long wallClockTimeMidPoint = (new Date()).getTime();
 
@@ -369,6 +546,10 @@ public class ConsoleStarter {
 		return ret;
 	}
 
+	private String getSourceFingerprint(File file) {
+		return "size=" + file.length() + ",lastModified=" + file.lastModified();
+	}
+
 	/**
 	 * Returns the mode of execution that corresponds to the given identifier.
 	 *
@@ -379,7 +560,9 @@ public class ConsoleStarter {
 	public Mode parseMode(String argument) {
 		Objects.requireNonNull(argument);
 		Mode mode = Mode.NOTHING;
-		if (argument.equals(cmdClassification)) {
+		if (argument.equals(cmdBatch)) {
+			mode = Mode.BATCH;
+		} else if (argument.equals(cmdClassification)) {
 			mode = Mode.CLASSIFICATION;
 		} else if (argument.equals(cmdConsistency)) {
 			mode = Mode.CONSISTENCY;
@@ -389,6 +572,8 @@ public class ConsoleStarter {
 			mode = Mode.QUERY;
 		} else if (argument.equals(cmdEntailment)) {
 			mode = Mode.ENTAILMENT;
+		} else if (argument.equals(cmdServer)) {
+			mode = Mode.SERVER;
 		} else {
 			throw new IllegalArgumentException("Unrecognized mode: '" + argument + "'");
 		}
@@ -424,6 +609,27 @@ public class ConsoleStarter {
 		return ret;
 	}
 
+	/**
+	 * Returns the syntax of the output of the streaming writer that
+	 * corresponds to the given renderer identifier.
+	 *
+	 * @param argument
+	 *            renderer identifier
+	 * @return the syntax of the output of the streaming writer
+	 */
+	public TaxonomyWriter.Format parseTaxonomyFormat(String argument) {
+		Objects.requireNonNull(argument);
+		TaxonomyWriter.Format ret = null;
+		if (argument.equals(rendererFunctional)) {
+			ret = TaxonomyWriter.Format.FUNCTIONAL;
+		} else if (argument.equals(rendererNTriples)) {
+			ret = TaxonomyWriter.Format.NTRIPLES;
+		} else {
+			throw new IllegalArgumentException("Unsupported renderer for streaming output: '" + argument + "'.");
+		}
+		return ret;
+	}
+
 	/**
 	 * Returns a string that identifies the mode of execution (e.g.
 	 * classification, consistency, ...).
@@ -435,7 +641,9 @@ public class ConsoleStarter {
 	public String renderMode(Mode mode) {
 		Objects.requireNonNull(mode);
 		String ret = "";
-		if (mode.equals(Mode.CLASSIFICATION)) {
+		if (mode.equals(Mode.BATCH)) {
+			ret = cmdBatch;
+		} else if (mode.equals(Mode.CLASSIFICATION)) {
 			ret = cmdClassification;
 		} else if (mode.equals(Mode.CONSISTENCY)) {
 			ret = cmdConsistency;
@@ -445,6 +653,8 @@ public class ConsoleStarter {
 			ret = cmdQuery;
 		} else if (mode.equals(Mode.ENTAILMENT)) {
 			ret = cmdEntailment;
+		} else if (mode.equals(Mode.SERVER)) {
+			ret = cmdServer;
 		} else if (mode.equals(Mode.NOTHING)) {
 			ret = "";
 		} else {
@@ -479,6 +689,10 @@ public class ConsoleStarter {
 			} else if (arguments.contains(optVersion)) {
 				System.out.println(versionInfo);
 				System.out.println(licenseInfo);
+			} else if (arguments.get(0).equals(cmdBatch) && arguments.size() >= 3) {
+				startBatch(arguments);
+			} else if (arguments.get(0).equals(cmdServer)) {
+				startServer(arguments);
 			} else if (arguments.size() >= 3) {
 
 				Mode operation = null;
@@ -488,6 +702,9 @@ public class ConsoleStarter {
 				Level logLevel = Level.OFF;
 				IRI classIRI = null;
 				AbstractOWLRenderer renderer = null;
+				String rendererName = rendererFunctional;
+				boolean streamingMode = false;
+				File snapshotFile = null;
 
 				for (String argument : arguments) {
 
@@ -507,7 +724,17 @@ public class ConsoleStarter {
 						conclusionFile = new File(argument.substring(optConclusion.length()));
 
 					} else if (argument.startsWith(optRenderer)) {
-						renderer = parseRenderer(argument.substring(optRenderer.length()));
+						rendererName = argument.substring(optRenderer.length());
+						renderer = parseRenderer(rendererName);
+
+					} else if (argument.startsWith(optStreaming)) {
+						streamingMode = true;
+
+					} else if (argument.startsWith(optSnapshot)) {
+						snapshotFile = new File(argument.substring(optSnapshot.length()));
+
+					} else if (argument.startsWith(optABoxMaterialization)) {
+						this.aboxMaterializationMode = true;
 
 					} else if (argument.startsWith(optLogLevel)) {
 						logLevel = Level.parse(argument.substring(optLogLevel.length()));
@@ -552,7 +779,16 @@ public class ConsoleStarter {
 								msgPartStarted + renderMode(operation) + msgPartOn + ontologyFile.getAbsolutePath());
 					}
 
-					if (operation == Mode.CLASSIFICATION) {
+					if ((operation == Mode.CLASSIFICATION) && streamingMode && Objects.nonNull(snapshotFile)) {
+
+						computeClassification(ontologyFile, snapshotFile, outputFile,
+								parseTaxonomyFormat(rendererName));
+
+					} else if ((operation == Mode.CLASSIFICATION) && streamingMode) {
+
+						computeClassification(ontologyFile, outputFile, parseTaxonomyFormat(rendererName));
+
+					} else if (operation == Mode.CLASSIFICATION) {
 
 						computeClassification(ontologyFile, outputFile, renderer);
 
@@ -601,6 +837,80 @@ public class ConsoleStarter {
 		}
 	}
 
+	/**
+	 * Classifies the ontologies given by a manifest file or a directory, which
+	 * is the second parameter, and writes the results in the output
+	 * directory, which is the third parameter.
+	 *
+	 * @param arguments
+	 *            console parameters
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void startBatch(List<String> arguments) throws IOException {
+		Objects.requireNonNull(arguments);
+		int numberOfThreads = 1;
+		String rendererName = rendererFunctional;
+		long batchTimeOut = 0;
+		Level logLevel = Level.OFF;
+		for (String argument : arguments) {
+			if (argument.startsWith(optThreads)) {
+				numberOfThreads = Integer.parseInt(argument.substring(optThreads.length()));
+			} else if (argument.startsWith(optRenderer)) {
+				rendererName = argument.substring(optRenderer.length());
+			} else if (argument.startsWith(optTimeOut)) {
+				batchTimeOut = Long.parseLong(argument.substring(optTimeOut.length()));
+			} else if (argument.startsWith(optLogLevel)) {
+				logLevel = Level.parse(argument.substring(optLogLevel.length()));
+			}
+		}
+		logger.setLevel(logLevel);
+		logger.addHandler(new OutputStreamHandler(System.out));
+
+		BatchClassifier batchClassifier = new BatchClassifier(numberOfThreads, parseTaxonomyFormat(rendererName),
+				batchTimeOut);
+		int classified = batchClassifier.classifyAll(new File(arguments.get(1)), new File(arguments.get(2)));
+		if (arguments.contains(optVerbose)) {
+			this.verboseModeOutput.println(msgPartCompleted + cmdBatch + ": " + classified);
+		}
+	}
+
+	/**
+	 * Starts a reasoning server that answers the requests read from the
+	 * standard input, or from a local socket if a port is given.
+	 *
+	 * @param arguments
+	 *            console parameters
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void startServer(List<String> arguments) throws IOException {
+		Objects.requireNonNull(arguments);
+		int port = -1;
+		Level logLevel = Level.OFF;
+		for (String argument : arguments) {
+			if (argument.startsWith(optPort)) {
+				port = Integer.parseInt(argument.substring(optPort.length()));
+			} else if (argument.startsWith(optLogLevel)) {
+				logLevel = Level.parse(argument.substring(optLogLevel.length()));
+			}
+		}
+		logger.setLevel(logLevel);
+		logger.addHandler(new OutputStreamHandler(System.err));
+
+		ReasoningServer server = new ReasoningServer();
+		if (port < 0) {
+			try {
+				server.serve(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+						new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+			} finally {
+				server.shutdown();
+			}
+		} else {
+			server.serve(port);
+		}
+	}
+
 	private void storeInFile(String output, File outputFile) throws IOException {
 		BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile, true));
 		writer.write(output);
@@ -0,0 +1,463 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.console;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerNamedIndividual;
+import de.tudresden.inf.lat.jcel.owlapi.main.JcelReasoner;
+import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+import de.tudresden.inf.lat.jcel.reasoner.main.ClassificationSnapshot;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class is a long-running reasoning server. It loads
+ * ontologies once and keeps their classified reasoners in memory, so that
+ * many requests can be answered by the same process. The requests are read
+ * line by line, from the standard input or from connections to a local
+ * socket. Each line is a command followed by its arguments separated by
+ * spaces, and each request gets a single line as response, starting with
+ * <code>ok</code> or <code>error</code>. The connections are handled
+ * concurrently, and the queries on named classes and individuals are answered
+ * from the classification snapshot without locks. An ontology that is
+ * unloaded or loaded again is released only after the queries in progress on
+ * it have finished.
+ * <p>
+ * The commands are:
+ * </p>
+ * <ul>
+ * <li><code>load</code> <i>name</i> <i>file</i> : loads and classifies an
+ * ontology</li>
+ * <li><code>unload</code> <i>name</i> : removes an ontology</li>
+ * <li><code>classification</code> <i>name</i> <i>file</i> [<i>renderer</i>] :
+ * writes the class hierarchy and the object property hierarchy</li>
+ * <li><code>consistency</code> <i>name</i> : tells whether the ontology is
+ * consistent</li>
+ * <li><code>sat</code> <i>name</i> <i>class</i> : tells whether a class is
+ * satisfiable</li>
+ * <li><code>entailment</code> <i>name</i> <i>file</i> : tells whether the
+ * ontology entails the axioms in a file</li>
+ * <li><code>subclasses</code>, <code>superclasses</code>,
+ * <code>equivalents</code>, <code>instances</code> <i>name</i> <i>class</i>
+ * [<code>direct</code>] : DL queries on a named class</li>
+ * <li><code>types</code> <i>name</i> <i>individual</i> [<code>direct</code>]
+ * : types of an individual</li>
+ * <li><code>quit</code> : closes the connection</li>
+ * </ul>
+ * 
+ * @author Julian Mendez
+ */
+public class ReasoningServer {
+
+	/**
+	 * Reasoner of a loaded ontology. The queries hold the read lock, and the
+	 * reasoner is disposed while holding the write lock.
+	 */
+	private static class LoadedReasoner {
+
+		private boolean disposed = false;
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+		private final JcelReasoner reasoner;
+
+		LoadedReasoner(JcelReasoner reasoner) {
+			Objects.requireNonNull(reasoner);
+			this.reasoner = reasoner;
+		}
+
+		/**
+		 * Acquires the reasoner for a query. The reasoner must be released
+		 * with {@link #release()}.
+		 * 
+		 * @param name
+		 *            name of the ontology
+		 * @return the reasoner
+		 */
+		JcelReasoner acquire(String name) {
+			this.lock.readLock().lock();
+			if (this.disposed) {
+				this.lock.readLock().unlock();
+				throw new IllegalArgumentException("Unknown ontology: '" + name + "'.");
+			}
+			return this.reasoner;
+		}
+
+		/**
+		 * Disposes the reasoner, waiting for the queries in progress.
+		 */
+		void dispose() {
+			this.lock.writeLock().lock();
+			try {
+				if (!this.disposed) {
+					this.disposed = true;
+					this.reasoner.dispose();
+				}
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+
+		/**
+		 * Releases the reasoner acquired for a query.
+		 */
+		void release() {
+			this.lock.readLock().unlock();
+		}
+
+	}
+
+	public static final String cmdClassification = "classification";
+	public static final String cmdConsistency = "consistency";
+	public static final String cmdEntailment = "entailment";
+	public static final String cmdEquivalents = "equivalents";
+	public static final String cmdInstances = "instances";
+	public static final String cmdLoad = "load";
+	public static final String cmdQuit = "quit";
+	public static final String cmdSat = "sat";
+	public static final String cmdSubClasses = "subclasses";
+	public static final String cmdSuperClasses = "superclasses";
+	public static final String cmdTypes = "types";
+	public static final String cmdUnload = "unload";
+
+	private static final String gzipSuffix = ".gz";
+	private static final Logger logger = Logger.getLogger(ReasoningServer.class.getName());
+	private static final String optDirect = "direct";
+	private static final List<String> queryCommands = Arrays.asList(cmdClassification, cmdConsistency, cmdEntailment,
+			cmdEquivalents, cmdInstances, cmdSat, cmdSubClasses, cmdSuperClasses, cmdTypes);
+	private static final String responseError = "error";
+	private static final String responseOk = "ok";
+	private static final String separator = " ";
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final OptMap<String, LoadedReasoner> reasonerMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+
+	/**
+	 * Constructs a new reasoning server.
+	 */
+	public ReasoningServer() {
+	}
+
+	private String checkConsistency(JcelReasoner reasoner) {
+		ClassificationSnapshot snapshot = reasoner.getSnapshot();
+		OWLDataFactory dataFactory = getDataFactory(reasoner);
+		IntegerClass bottom = reasoner.getTranslator().translateC(dataFactory.getOWLNothing());
+		return "" + !snapshot.getTopClassNode().contains(bottom);
+	}
+
+	private String checkEntailment(JcelReasoner reasoner, File conclusionFile) throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology conclusionOntology = manager.loadOntologyFromOntologyDocument(conclusionFile);
+		synchronized (reasoner.getReasoner()) {
+			return "" + conclusionOntology.getAxioms().stream().allMatch(axiom -> reasoner.isEntailed(axiom));
+		}
+	}
+
+	private String checkSatisfiability(JcelReasoner reasoner, IRI classIRI) {
+		ClassificationSnapshot snapshot = reasoner.getSnapshot();
+		OWLDataFactory dataFactory = getDataFactory(reasoner);
+		Translator translator = reasoner.getTranslator();
+		IntegerClass bottom = translator.translateC(dataFactory.getOWLNothing());
+		return "" + !snapshot.getEquivalentClasses(translator.translateC(dataFactory.getOWLClass(classIRI)))
+				.contains(bottom);
+	}
+
+	private String computeClassification(JcelReasoner reasoner, File outputFile, TaxonomyWriter.Format format)
+			throws IOException {
+		TaxonomyWriter taxonomyWriter;
+		synchronized (reasoner.getReasoner()) {
+			Processor processor = reasoner.getProcessor();
+			taxonomyWriter = new TaxonomyWriter(processor.getClassHierarchy(), processor.getObjectPropertyHierarchy(),
+					reasoner.getTranslator().getTranslationRepository());
+		}
+		OutputStream output = Files.newOutputStream(outputFile.toPath());
+		if (outputFile.getName().endsWith(gzipSuffix)) {
+			output = new GZIPOutputStream(output);
+		}
+		try (Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
+			return "" + taxonomyWriter.write(writer, format);
+		}
+	}
+
+	/**
+	 * Executes a request and returns its response.
+	 * 
+	 * @param request
+	 *            request
+	 * @return the response to the request
+	 */
+	public String execute(String request) {
+		Objects.requireNonNull(request);
+		try {
+			return responseOk + separator + executeCommand(Arrays.asList(request.trim().split("\\s+")));
+		} catch (RuntimeException | OWLOntologyCreationException | IOException e) {
+			logger.fine("request failed: '" + request + "' (" + e + ")");
+			return responseError + separator + e.toString().replace('\n', ' ');
+		}
+	}
+
+	private String executeCommand(List<String> arguments) throws OWLOntologyCreationException, IOException {
+		String command = arguments.get(0);
+		if (command.equals(cmdLoad)) {
+			return load(getArgument(arguments, 1), new File(getArgument(arguments, 2)));
+		} else if (command.equals(cmdUnload)) {
+			return unload(getArgument(arguments, 1));
+		}
+
+		if (!queryCommands.contains(command)) {
+			throw new IllegalArgumentException("Unrecognized command: '" + command + "'.");
+		}
+
+		String name = getArgument(arguments, 1);
+		LoadedReasoner loadedReasoner = getLoadedReasoner(name);
+		JcelReasoner reasoner = loadedReasoner.acquire(name);
+		try {
+			return executeQuery(arguments, reasoner);
+		} finally {
+			loadedReasoner.release();
+		}
+	}
+
+	private String executeQuery(List<String> arguments, JcelReasoner reasoner)
+			throws OWLOntologyCreationException, IOException {
+		String command = arguments.get(0);
+		boolean direct = arguments.size() > 3 && arguments.get(3).equals(optDirect);
+		if (command.equals(cmdClassification)) {
+			TaxonomyWriter.Format format = arguments.size() > 3
+					&& arguments.get(3).equals(ConsoleStarter.rendererNTriples) ? TaxonomyWriter.Format.NTRIPLES
+							: TaxonomyWriter.Format.FUNCTIONAL;
+			return computeClassification(reasoner, new File(getArgument(arguments, 2)), format);
+		} else if (command.equals(cmdConsistency)) {
+			return checkConsistency(reasoner);
+		} else if (command.equals(cmdSat)) {
+			return checkSatisfiability(reasoner, IRI.create(getArgument(arguments, 2)));
+		} else if (command.equals(cmdEntailment)) {
+			return checkEntailment(reasoner, new File(getArgument(arguments, 2)));
+		} else if (command.equals(cmdSubClasses) || command.equals(cmdSuperClasses)
+				|| command.equals(cmdEquivalents) || command.equals(cmdInstances)) {
+			return queryClass(reasoner, command, IRI.create(getArgument(arguments, 2)), direct);
+		} else if (command.equals(cmdTypes)) {
+			return queryTypes(reasoner, IRI.create(getArgument(arguments, 2)), direct);
+		} else {
+			throw new IllegalArgumentException("Unrecognized command: '" + command + "'.");
+		}
+	}
+
+	private String getArgument(List<String> arguments, int index) {
+		if (index >= arguments.size()) {
+			throw new IllegalArgumentException("Missing argument " + index + " of '" + arguments.get(0) + "'.");
+		}
+		return arguments.get(index);
+	}
+
+	private OWLDataFactory getDataFactory(JcelReasoner reasoner) {
+		return reasoner.getRootOntology().getOWLOntologyManager().getOWLDataFactory();
+	}
+
+	private LoadedReasoner getLoadedReasoner(String name) {
+		Optional<LoadedReasoner> ret = this.reasonerMap.get(name);
+		if (!ret.isPresent()) {
+			throw new IllegalArgumentException("Unknown ontology: '" + name + "'.");
+		}
+		return ret.get();
+	}
+
+	private String load(String name, File ontologyFile) throws OWLOntologyCreationException {
+		logger.fine("loading ontology '" + name + "' from '" + ontologyFile + "' ...");
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ontologyFile);
+		JcelReasoner reasoner = new JcelReasoner(ontology, false);
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+		reasoner.getSnapshot();
+		Optional<LoadedReasoner> optPrevious = this.reasonerMap.put(name, new LoadedReasoner(reasoner));
+		if (optPrevious.isPresent()) {
+			optPrevious.get().dispose();
+		}
+		logger.fine("ontology '" + name + "' loaded.");
+		return name;
+	}
+
+	private String queryClass(JcelReasoner reasoner, String command, IRI classIRI, boolean direct) {
+		ClassificationSnapshot snapshot = reasoner.getSnapshot();
+		Translator translator = reasoner.getTranslator();
+		IntegerClass cls = translator.translateC(getDataFactory(reasoner).getOWLClass(classIRI));
+		Set<String> ret = new TreeSet<>();
+		if (command.equals(cmdInstances)) {
+			snapshot.getInstances(cls, direct)
+					.forEach(node -> node.forEach(indiv -> ret.add(translator.translateI(indiv).toStringID())));
+		} else if (command.equals(cmdEquivalents)) {
+			snapshot.getEquivalentClasses(cls).forEach(elem -> ret.add(translator.translateC(elem).toStringID()));
+		} else {
+			Set<Set<IntegerClass>> nodes = command.equals(cmdSubClasses) ? snapshot.getSubClasses(cls, direct)
+					: snapshot.getSuperClasses(cls, direct);
+			nodes.forEach(node -> node.forEach(elem -> ret.add(translator.translateC(elem).toStringID())));
+		}
+		return String.join(separator, ret);
+	}
+
+	private String queryTypes(JcelReasoner reasoner, IRI individualIRI, boolean direct) {
+		ClassificationSnapshot snapshot = reasoner.getSnapshot();
+		Translator translator = reasoner.getTranslator();
+		OWLNamedIndividual owlIndividual = getDataFactory(reasoner).getOWLNamedIndividual(individualIRI);
+		IntegerNamedIndividual individual = translator.translateI(owlIndividual);
+		Set<String> ret = new TreeSet<>();
+		snapshot.getTypes(individual, direct)
+				.forEach(node -> node.forEach(elem -> ret.add(translator.translateC(elem).toStringID())));
+		return String.join(separator, ret);
+	}
+
+	/**
+	 * Answers the requests read from the given reader, until the reader is
+	 * exhausted or the <code>quit</code> command is read.
+	 * 
+	 * @param input
+	 *            reader of requests
+	 * @param output
+	 *            writer of responses
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void serve(Reader input, Writer output) throws IOException {
+		Objects.requireNonNull(input);
+		Objects.requireNonNull(output);
+		BufferedReader reader = new BufferedReader(input);
+		BufferedWriter writer = new BufferedWriter(output);
+		for (String line = reader.readLine(); Objects.nonNull(line)
+				&& !line.trim().equals(cmdQuit); line = reader.readLine()) {
+			if (!line.trim().isEmpty()) {
+				writer.write(execute(line));
+				writer.newLine();
+				writer.flush();
+			}
+		}
+	}
+
+	/**
+	 * Accepts connections on a local socket and answers the requests of each
+	 * connection on its own thread. This method does not return unless the
+	 * socket is closed.
+	 * 
+	 * @param port
+	 *            port of the local socket
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void serve(int port) throws IOException {
+		try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+			logger.fine("listening on port " + serverSocket.getLocalPort() + " ...");
+			while (!serverSocket.isClosed()) {
+				Socket socket = serverSocket.accept();
+				this.executor.submit(() -> {
+					try (Socket connection = socket) {
+						serve(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8),
+								new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
+					} catch (IOException e) {
+						logger.fine("connection closed: " + e);
+					}
+				});
+			}
+		} finally {
+			shutdown();
+		}
+	}
+
+	/**
+	 * Stops the threads of the server and releases the reasoners.
+	 */
+	public void shutdown() {
+		this.executor.shutdownNow();
+		this.reasonerMap.values().forEach(reasoner -> reasoner.dispose());
+		this.reasonerMap.clear();
+	}
+
+	private String unload(String name) {
+		Optional<LoadedReasoner> optReasoner = this.reasonerMap.remove(name);
+		if (!optReasoner.isPresent()) {
+			throw new IllegalArgumentException("Unknown ontology: '" + name + "'.");
+		}
+		optReasoner.get().dispose();
+		return name;
+	}
+
+}
@@ -0,0 +1,297 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.console;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.owlapi.translator.TranslationRepository;
+
+/**
+ * An object of this class writes the class hierarchy and the object property
+ * hierarchy computed by the reasoner, reading them node by node from the
+ * hierarchical graphs. Unlike {@link OWLInferredOntologyWrapper}, it does not
+ * create an ontology in memory.
+ * 
+ * @author Julian Mendez
+ */
+public class TaxonomyWriter {
+
+	/**
+	 * Syntax of the output.
+	 */
+	public enum Format {
+		FUNCTIONAL, NTRIPLES
+	}
+
+	private static final String declaration = "Declaration";
+	private static final String equivalentClasses = "EquivalentClasses";
+	private static final String equivalentObjectProperties = "EquivalentObjectProperties";
+	private static final String keywordClass = "Class";
+	private static final String keywordObjectProperty = "ObjectProperty";
+	private static final String lineEnd = ".";
+	private static final String ontologyBeginning = "Ontology(";
+	private static final String ontologyEnd = ")";
+	private static final String owlClass = "http://www.w3.org/2002/07/owl#Class";
+	private static final String owlEquivalentClass = "http://www.w3.org/2002/07/owl#equivalentClass";
+	private static final String owlEquivalentProperty = "http://www.w3.org/2002/07/owl#equivalentProperty";
+	private static final String owlObjectProperty = "http://www.w3.org/2002/07/owl#ObjectProperty";
+	private static final String parenthesisLeft = "(";
+	private static final String parenthesisRight = ")";
+	private static final String rdfType = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+	private static final String rdfsSubClassOf = "http://www.w3.org/2000/01/rdf-schema#subClassOf";
+	private static final String rdfsSubPropertyOf = "http://www.w3.org/2000/01/rdf-schema#subPropertyOf";
+	private static final String space = " ";
+	private static final String subClassOf = "SubClassOf";
+	private static final String subObjectPropertyOf = "SubObjectPropertyOf";
+	private static final String uriDelimiterLeft = "<";
+	private static final String uriDelimiterRight = ">";
+
+	private final IntegerHierarchicalGraph classHierarchy;
+	private final IntegerHierarchicalGraph objectPropertyHierarchy;
+	private final TranslationRepository repository;
+
+	/**
+	 * Constructs a new taxonomy writer.
+	 * 
+	 * @param classHierarchy
+	 *            class hierarchy
+	 * @param objectPropertyHierarchy
+	 *            object property hierarchy
+	 * @param repository
+	 *            translation repository used to get the IRIs of the entities
+	 */
+	public TaxonomyWriter(IntegerHierarchicalGraph classHierarchy, IntegerHierarchicalGraph objectPropertyHierarchy,
+			TranslationRepository repository) {
+		Objects.requireNonNull(classHierarchy);
+		Objects.requireNonNull(objectPropertyHierarchy);
+		Objects.requireNonNull(repository);
+		this.classHierarchy = classHierarchy;
+		this.objectPropertyHierarchy = objectPropertyHierarchy;
+		this.repository = repository;
+	}
+
+	/**
+	 * Returns a map that relates each element of the graph with the
+	 * representative of its equivalence class, which is the minimum of its
+	 * equivalents. The equivalents are retrieved only once for each
+	 * equivalence class.
+	 * 
+	 * @param graph
+	 *            hierarchical graph
+	 * @param sortedElements
+	 *            elements of the graph in ascending order
+	 * @return a map that relates each element of the graph with the
+	 *         representative of its equivalence class
+	 */
+	private Map<Integer, Integer> computeRepresentatives(IntegerHierarchicalGraph graph, int[] sortedElements) {
+		Map<Integer, Integer> ret = new HashMap<>();
+		for (int element : sortedElements) {
+			if (!ret.containsKey(element)) {
+				graph.getEquivalents(element).forEach(equivalent -> ret.put(equivalent, element));
+				ret.put(element, element);
+			}
+		}
+		return ret;
+	}
+
+	private void renderDeclaration(BufferedWriter output, String entityKeyword, String iri) throws IOException {
+		output.write(declaration);
+		output.write(parenthesisLeft);
+		output.write(entityKeyword);
+		output.write(parenthesisLeft);
+		renderIRI(output, iri);
+		output.write(parenthesisRight);
+		output.write(parenthesisRight);
+		output.newLine();
+	}
+
+	private void renderFunctional(BufferedWriter output, String keyword, String... iris) throws IOException {
+		output.write(keyword);
+		output.write(parenthesisLeft);
+		for (int index = 0; index < iris.length; index++) {
+			if (index > 0) {
+				output.write(space);
+			}
+			renderIRI(output, iris[index]);
+		}
+		output.write(parenthesisRight);
+		output.newLine();
+	}
+
+	private void renderIRI(BufferedWriter output, String iri) throws IOException {
+		output.write(uriDelimiterLeft);
+		output.write(iri);
+		output.write(uriDelimiterRight);
+	}
+
+	private void renderTriple(BufferedWriter output, String subject, String predicate, String object)
+			throws IOException {
+		renderIRI(output, subject);
+		output.write(space);
+		renderIRI(output, predicate);
+		output.write(space);
+		renderIRI(output, object);
+		output.write(space);
+		output.write(lineEnd);
+		output.newLine();
+	}
+
+	private int[] sort(Set<Integer> set) {
+		return set.stream().mapToInt(Integer::intValue).sorted().toArray();
+	}
+
+	/**
+	 * Writes the class hierarchy and the object property hierarchy. For each
+	 * node of a hierarchy, it writes the declarations of its entities, the
+	 * equivalence between them, if there is more than one, and the
+	 * subsumptions between the node and each one of its parents. The writer is
+	 * flushed but not closed.
+	 * 
+	 * @param writer
+	 *            writer
+	 * @param format
+	 *            syntax of the output
+	 * @return the number of axioms written, or the number of triples if the
+	 *         output uses N-Triples
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public long write(Writer writer, Format format) throws IOException {
+		Objects.requireNonNull(writer);
+		Objects.requireNonNull(format);
+		BufferedWriter output = new BufferedWriter(writer);
+		long ret = 0;
+		if (format.equals(Format.FUNCTIONAL)) {
+			output.write(ontologyBeginning);
+			output.newLine();
+		}
+		ret += writeHierarchy(output, format, this.classHierarchy,
+				element -> this.repository.getOWLClass(element).getIRI().toString(), true);
+		ret += writeHierarchy(output, format, this.objectPropertyHierarchy,
+				element -> this.repository.getOWLObjectProperty(element).getIRI().toString(), false);
+		if (format.equals(Format.FUNCTIONAL)) {
+			output.write(ontologyEnd);
+			output.newLine();
+		}
+		output.flush();
+		return ret;
+	}
+
+	private long writeHierarchy(BufferedWriter output, Format format, IntegerHierarchicalGraph graph,
+			IntFunction<String> iriFunction, boolean isClassHierarchy) throws IOException {
+		String entityKeyword = isClassHierarchy ? keywordClass : keywordObjectProperty;
+		String entityType = isClassHierarchy ? owlClass : owlObjectProperty;
+		String equivalenceKeyword = isClassHierarchy ? equivalentClasses : equivalentObjectProperties;
+		String equivalencePredicate = isClassHierarchy ? owlEquivalentClass : owlEquivalentProperty;
+		String subsumptionKeyword = isClassHierarchy ? subClassOf : subObjectPropertyOf;
+		String subsumptionPredicate = isClassHierarchy ? rdfsSubClassOf : rdfsSubPropertyOf;
+		int bottomElement = graph.getBottomElement();
+		int topElement = graph.getTopElement();
+
+		int[] elements = sort(graph.getElements());
+		Map<Integer, Integer> representatives = computeRepresentatives(graph, elements);
+
+		long ret = 0;
+		for (int element : elements) {
+			String iri = iriFunction.apply(element);
+
+			if ((element != bottomElement) && (element != topElement)) {
+				if (format.equals(Format.FUNCTIONAL)) {
+					renderDeclaration(output, entityKeyword, iri);
+				} else {
+					renderTriple(output, iri, rdfType, entityType);
+				}
+				ret++;
+			}
+
+			if (representatives.get(element) == element) {
+				int[] equivalents = sort(graph.getEquivalents(element));
+				if (equivalents.length > 1) {
+					if (format.equals(Format.FUNCTIONAL)) {
+						String[] iris = new String[equivalents.length];
+						for (int index = 0; index < equivalents.length; index++) {
+							iris[index] = iriFunction.apply(equivalents[index]);
+						}
+						renderFunctional(output, equivalenceKeyword, iris);
+						ret++;
+					} else {
+						for (int equivalent : equivalents) {
+							if (equivalent != element) {
+								renderTriple(output, iri, equivalencePredicate, iriFunction.apply(equivalent));
+								ret++;
+							}
+						}
+					}
+				}
+
+				Set<Integer> parents = (representatives.get(bottomElement) == element) ? Collections.emptySet()
+						: graph.getParents(element);
+				int[] representativesOfParents = parents.stream().mapToInt(representatives::get).distinct().sorted()
+						.toArray();
+				for (int parent : representativesOfParents) {
+					if (format.equals(Format.FUNCTIONAL)) {
+						renderFunctional(output, subsumptionKeyword, iri, iriFunction.apply(parent));
+					} else {
+						renderTriple(output, iri, subsumptionPredicate, iriFunction.apply(parent));
+					}
+					ret++;
+				}
+			}
+		}
+		return ret;
+	}
+
+}
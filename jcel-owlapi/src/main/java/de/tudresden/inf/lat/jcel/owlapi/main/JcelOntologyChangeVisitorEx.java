@@ -79,7 +79,7 @@ public class JcelOntologyChangeVisitorEx implements OWLOntologyChangeVisitorEx<B
 	@Override
 	public Boolean visit(AddImport change) {
 		Objects.requireNonNull(change);
-		return false;
+		return this.reasoner.changeImports();
 	}
 
 	@Override
@@ -97,7 +97,7 @@ public class JcelOntologyChangeVisitorEx implements OWLOntologyChangeVisitorEx<B
 	@Override
 	public Boolean visit(RemoveImport change) {
 		Objects.requireNonNull(change);
-		return false;
+		return this.reasoner.changeImports();
 	}
 
 	@Override
@@ -47,11 +47,15 @@
 package de.tudresden.inf.lat.jcel.owlapi.main;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.logging.Logger;
@@ -69,6 +73,8 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyChangeVisitorEx;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
+import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.reasoner.AxiomNotInProfileException;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
 import org.semanticweb.owlapi.reasoner.ClassExpressionNotInProfileException;
@@ -87,12 +93,17 @@ import org.semanticweb.owlapi.reasoner.TimeOutException;
 import org.semanticweb.owlapi.reasoner.UnsupportedEntailmentTypeException;
 import org.semanticweb.owlapi.util.Version;
 
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
 import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
 import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+import de.tudresden.inf.lat.jcel.reasoner.main.ClassificationSnapshot;
+import de.tudresden.inf.lat.jcel.reasoner.main.IntegerInferenceType;
 import de.tudresden.inf.lat.jcel.reasoner.main.IntegerReasoner;
 import de.tudresden.inf.lat.jcel.reasoner.main.RuleBasedReasoner;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
 
 /**
  * This class is the connection with the OWL API. It implements some functions,
@@ -102,9 +113,14 @@ import de.tudresden.inf.lat.jcel.reasoner.main.RuleBasedReasoner;
  */
 public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 
+	private static final int axiomsPerTranslationThread = 4096;
+	private static final OptMap<InferenceType, IntegerInferenceType> inferenceTypeMap = createInferenceTypeMap();
 	private static final Logger logger = Logger.getLogger(JcelReasoner.class.getName());
 
+	private final boolean aboxMaterializationMode;
 	private final boolean buffering = false;
+	private final Set<OWLAxiom> changedAxioms = new HashSet<>();
+	private boolean importsChanged = true;
 	private RuleBasedReasoner jcelCore;
 	private final OWLOntologyChangeVisitorEx<Boolean> ontologyChangeVisitor = new JcelOntologyChangeVisitorEx(this);
 	private final Set<OWLAxiom> pendingAxiomAdditions = new HashSet<>();
@@ -114,6 +130,8 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	private final OWLOntology rootOntology;
 	private final Date start = new Date();
 	private final Set<AxiomType<?>> supportedAxiomTypes;
+	private final TaxonomyNodeCache taxonomyNodeCache;
+	private final OptMap<OWLAxiom, Set<ComplexIntegerAxiom>> translatedAxiomMap = new OptMapImpl<>(new HashMap<>());
 	private final Translator translator;
 
 	/**
@@ -125,11 +143,30 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	 *            <code>true</code> if and only if the reasoner is buffering
 	 */
 	public JcelReasoner(OWLOntology rootOntology, boolean buffering) {
+		this(rootOntology, buffering, false);
+	}
+
+	/**
+	 * Constructs a new jcel reasoner.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param aboxMaterializationMode
+	 *            <code>true</code> if the types of the individuals that only
+	 *            appear in assertions are materialized after the
+	 *            classification, instead of classifying one auxiliary nominal
+	 *            class per individual
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, boolean aboxMaterializationMode) {
 		Objects.requireNonNull(rootOntology);
 		logger.fine("configuring jcel reasoner ...");
+		this.aboxMaterializationMode = aboxMaterializationMode;
 		this.rootOntology = rootOntology;
 		this.translator = new Translator(rootOntology.getOWLOntologyManager().getOWLDataFactory(),
 				new IntegerOntologyObjectFactoryImpl());
+		this.taxonomyNodeCache = new TaxonomyNodeCache(this.translator);
 		this.rootOntology.getOWLOntologyManager().addOntologyChangeListener(this);
 		this.supportedAxiomTypes = getSupportedTypes();
 
@@ -159,12 +196,40 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		Objects.requireNonNull(axiom);
 		logger.finer("addAxiom(" + axiom + ")");
 		boolean ret = this.pendingAxiomAdditions.add(axiom);
+		this.changedAxioms.add(axiom);
 		if (!this.buffering) {
 			resetReasoner();
 		}
 		return ret;
 	}
 
+	/**
+	 * Notifies this reasoner that the imports of an ontology have changed. In
+	 * that case, the axioms of the imports closure are compared again with
+	 * the translated axioms.
+	 * 
+	 * @return <code>true</code>
+	 */
+	public boolean changeImports() {
+		logger.finer("changeImports()");
+		this.importsChanged = true;
+		if (!this.buffering) {
+			resetReasoner();
+		}
+		return true;
+	}
+
+	private static OptMap<InferenceType, IntegerInferenceType> createInferenceTypeMap() {
+		OptMap<InferenceType, IntegerInferenceType> ret = new OptMapImpl<>(new HashMap<>());
+		ret.put(InferenceType.CLASS_ASSERTIONS, IntegerInferenceType.CLASS_ASSERTIONS);
+		ret.put(InferenceType.CLASS_HIERARCHY, IntegerInferenceType.CLASS_HIERARCHY);
+		ret.put(InferenceType.DIFFERENT_INDIVIDUALS, IntegerInferenceType.DIFFERENT_INDIVIDUALS);
+		ret.put(InferenceType.OBJECT_PROPERTY_ASSERTIONS, IntegerInferenceType.OBJECT_PROPERTY_ASSERTIONS);
+		ret.put(InferenceType.OBJECT_PROPERTY_HIERARCHY, IntegerInferenceType.OBJECT_PROPERTY_HIERARCHY);
+		ret.put(InferenceType.SAME_INDIVIDUAL, IntegerInferenceType.SAME_INDIVIDUAL);
+		return ret;
+	}
+
 	@Override
 	public void dispose() {
 		logger.finer("dispose()");
@@ -185,7 +250,7 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public Node<OWLClass> getBottomClassNode() {
 		logger.finer("getBottomClassNode()");
-		Node<OWLClass> ret = getTranslator().translateSC(getReasoner().getBottomClassNode());
+		Node<OWLClass> ret = this.taxonomyNodeCache.getClassNode(getReasoner().getBottomClassNode());
 		logger.finer("" + ret);
 		return ret;
 	}
@@ -291,7 +356,7 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public Node<OWLClass> getEquivalentClasses(OWLClassExpression classExpression) {
 		Objects.requireNonNull(classExpression);
 		logger.finer("getEquivalentClasses(" + classExpression + ")");
-		Node<OWLClass> ret = getTranslator().translateSC(
+		Node<OWLClass> ret = this.taxonomyNodeCache.getClassNode(
 				getRegisteredClasses(getReasoner().getEquivalentClasses(getTranslator().translateCE(classExpression))));
 		logger.finer("" + ret);
 		return ret;
@@ -344,15 +409,44 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	}
 
 	private Set<ComplexIntegerAxiom> getIntegerOntology() {
-		Set<OWLAxiom> owlAxiomSet = new HashSet<>();
-		owlAxiomSet.addAll(this.rootOntology.getAxioms());
-		this.rootOntology.getImportsClosure().forEach(ont -> owlAxiomSet.addAll(ont.getAxioms()));
-
-		this.translator.getTranslationRepository().addAxiomEntities(this.rootOntology);
+		Set<OWLAxiom> addedAxioms = new HashSet<>();
+		if (this.importsChanged) {
+			Set<OWLAxiom> owlAxiomSet = new HashSet<>();
+			owlAxiomSet.addAll(this.rootOntology.getAxioms());
+			this.rootOntology.getImportsClosure().forEach(ont -> owlAxiomSet.addAll(ont.getAxioms()));
+
+			Set<OWLAxiom> removedAxioms = new HashSet<>(this.translatedAxiomMap.keySet());
+			removedAxioms.removeAll(owlAxiomSet);
+			removedAxioms.forEach(axiom -> this.translatedAxiomMap.remove(axiom));
+			owlAxiomSet.forEach(axiom -> {
+				if (!this.translatedAxiomMap.containsKey(axiom)) {
+					addedAxioms.add(axiom);
+				}
+			});
+			this.translator.getTranslationRepository().addAxiomEntities(this.rootOntology);
+			this.importsChanged = false;
+
+		} else {
+			this.changedAxioms.forEach(axiom -> {
+				if (this.rootOntology.containsAxiom(axiom, Imports.INCLUDED,
+						AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS)) {
+					if (!this.translatedAxiomMap.containsKey(axiom)) {
+						addedAxioms.add(axiom);
+					}
+				} else {
+					this.translatedAxiomMap.remove(axiom);
+				}
+			});
+		}
+		this.changedAxioms.clear();
 
-		logger.fine("translating axioms ...");
-		Set<ComplexIntegerAxiom> ret = this.translator.translateSA(owlAxiomSet);
+		int numberOfThreads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+				addedAxioms.size() / axiomsPerTranslationThread));
+		logger.fine("translating " + addedAxioms.size() + " axioms using " + numberOfThreads + " thread(s) ...");
+		this.translatedAxiomMap.putAll(this.translator.translateMA(addedAxioms, numberOfThreads));
 
+		Set<ComplexIntegerAxiom> ret = new HashSet<>();
+		this.translatedAxiomMap.values().forEach(ret::addAll);
 		logger.fine("axioms translated.");
 		return ret;
 	}
@@ -428,16 +522,21 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public Set<InferenceType> getPrecomputableInferenceTypes() {
 		logger.finer("getPrecomputableInferenceTypes()");
 		Set<InferenceType> ret = new HashSet<>();
-		ret.add(InferenceType.CLASS_HIERARCHY);
-		ret.add(InferenceType.OBJECT_PROPERTY_HIERARCHY);
-		ret.add(InferenceType.CLASS_ASSERTIONS);
-		ret.add(InferenceType.OBJECT_PROPERTY_ASSERTIONS);
-		ret.add(InferenceType.SAME_INDIVIDUAL);
-		ret.add(InferenceType.DIFFERENT_INDIVIDUALS);
+		ret.addAll(inferenceTypeMap.keySet());
 		logger.finer("" + ret);
 		return ret;
 	}
 
+	/**
+	 * Returns the processor of the underlying reasoner, which gives access to
+	 * the hierarchical graphs computed by the classification.
+	 * 
+	 * @return the processor of the underlying reasoner
+	 */
+	public Processor getProcessor() {
+		return this.jcelCore.getProcessor();
+	}
+
 	public IntegerReasoner getReasoner() {
 		return this.jcelCore;
 	}
@@ -495,12 +594,23 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		return this.start;
 	}
 
+	/**
+	 * Returns an immutable view of the classified ontology, which can be
+	 * queried by several threads without locks. The translator can be used
+	 * concurrently to translate named entities for these queries.
+	 * 
+	 * @return an immutable view of the classified ontology
+	 */
+	public ClassificationSnapshot getSnapshot() {
+		return this.jcelCore.getSnapshot();
+	}
+
 	@Override
 	public NodeSet<OWLClass> getSubClasses(OWLClassExpression classExpression, boolean direct) {
 		Objects.requireNonNull(classExpression);
 		logger.finer("getSubClasses(" + classExpression + ", " + direct + ")");
-		NodeSet<OWLClass> ret = getTranslator()
-				.translateSSC(getReasoner().getSubClasses(getTranslator().translateCE(classExpression), direct));
+		NodeSet<OWLClass> ret = this.taxonomyNodeCache.getSubClasses(classExpression, direct,
+				() -> getReasoner().getSubClasses(getTranslator().translateCE(classExpression), direct));
 		logger.finer("" + ret);
 		return ret;
 	}
@@ -533,8 +643,8 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 			ReasonerInterruptedException, TimeOutException {
 		Objects.requireNonNull(classExpression);
 		logger.finer("getSuperClasses(" + classExpression + ", " + direct + ")");
-		NodeSet<OWLClass> ret = getTranslator()
-				.translateSSC(getReasoner().getSuperClasses(getTranslator().translateCE(classExpression), direct));
+		NodeSet<OWLClass> ret = this.taxonomyNodeCache.getSuperClasses(classExpression, direct,
+				() -> getReasoner().getSuperClasses(getTranslator().translateCE(classExpression), direct));
 		logger.finer("" + ret);
 		return ret;
 	}
@@ -580,7 +690,7 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public Node<OWLClass> getTopClassNode() {
 		logger.finer("getTopClassNode()");
-		Node<OWLClass> ret = getTranslator().translateSC(getReasoner().getTopClassNode());
+		Node<OWLClass> ret = this.taxonomyNodeCache.getClassNode(getReasoner().getTopClassNode());
 		logger.finer("" + ret);
 		return ret;
 	}
@@ -609,8 +719,8 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 			TimeOutException {
 		Objects.requireNonNull(individual);
 		logger.finer("getTypes(" + individual + ", " + direct + ")");
-		NodeSet<OWLClass> ret = getTranslator()
-				.translateSSC(getReasoner().getTypes(getTranslator().translateI(individual), direct));
+		NodeSet<OWLClass> ret = this.taxonomyNodeCache.getTypes(individual, direct,
+				() -> getReasoner().getTypes(getTranslator().translateI(individual), direct));
 		logger.finer("" + ret);
 		return ret;
 	}
@@ -618,7 +728,7 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public Node<OWLClass> getUnsatisfiableClasses() throws ReasonerInterruptedException, TimeOutException {
 		logger.finer("getUnsatisfiableClasses()");
-		Node<OWLClass> ret = getTranslator().translateSC(getReasoner().getUnsatisfiableClasses());
+		Node<OWLClass> ret = this.taxonomyNodeCache.getClassNode(getReasoner().getUnsatisfiableClasses());
 		logger.finer("" + ret);
 		return ret;
 	}
@@ -672,7 +782,11 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public boolean isPrecomputed(InferenceType inferenceType) {
 		Objects.requireNonNull(inferenceType);
 		logger.finer("isPrecomputed(" + inferenceType + ")");
-		throw new UnsupportedReasonerOperationInJcelException("Unsupported operation : isPrecomputed()");
+		Optional<IntegerInferenceType> optIntegerInferenceType = inferenceTypeMap.get(inferenceType);
+		boolean ret = optIntegerInferenceType.isPresent()
+				&& getReasoner().isPrecomputed(optIntegerInferenceType.get());
+		logger.finer("" + ret);
+		return ret;
 	}
 
 	@Override
@@ -694,16 +808,25 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	public void precomputeInferences(InferenceType... inferenceTypes)
 			throws ReasonerInterruptedException, TimeOutException, InconsistentOntologyException {
 		Objects.requireNonNull(inferenceTypes);
-		logger.finer("precomputeInferences(" + inferenceTypes + ")");
+		logger.finer("precomputeInferences(" + Arrays.asList(inferenceTypes) + ")");
+		Set<IntegerInferenceType> integerInferenceTypes = EnumSet.noneOf(IntegerInferenceType.class);
+		Arrays.asList(inferenceTypes).forEach(inferenceType -> {
+			Optional<IntegerInferenceType> optIntegerInferenceType = inferenceTypeMap.get(inferenceType);
+			if (optIntegerInferenceType.isPresent()) {
+				integerInferenceTypes.add(optIntegerInferenceType.get());
+			}
+		});
+
 		if (Objects.nonNull(this.reasonerConfiguration)) {
 			this.reasonerConfiguration.getProgressMonitor().reasonerTaskStarted(ReasonerProgressMonitor.CLASSIFYING);
 			this.reasonerConfiguration.getProgressMonitor().reasonerTaskBusy();
 		}
 
-		logger.finer("classifying ...");
+		logger.finer("precomputing " + integerInferenceTypes + " ...");
 		Date start = new Date();
-		getReasoner().classify();
-		logger.finer("jcel classified in " + ((new Date()).getTime() - start.getTime()) + "ms");
+		getReasoner().precomputeInferences(integerInferenceTypes);
+		logger.finer("jcel precomputed " + integerInferenceTypes + " in " + ((new Date()).getTime() - start.getTime())
+				+ "ms");
 
 		if (Objects.nonNull(this.reasonerConfiguration)) {
 			this.reasonerConfiguration.getProgressMonitor().reasonerTaskStopped();
@@ -714,6 +837,7 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		Objects.requireNonNull(axiom);
 		logger.finer("removeAxiom(" + axiom + ")");
 		boolean ret = this.pendingAxiomRemovals.add(axiom);
+		this.changedAxioms.add(axiom);
 		if (!this.buffering) {
 			resetReasoner();
 		}
@@ -721,7 +845,9 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	}
 
 	private void resetReasoner() {
-		this.jcelCore = new RuleBasedReasoner(getIntegerOntology(), this.translator.getOntologyObjectFactory());
+		this.taxonomyNodeCache.clear();
+		this.jcelCore = new RuleBasedReasoner(getIntegerOntology(), this.translator.getOntologyObjectFactory(),
+				this.aboxMaterializationMode);
 	}
 
 }
@@ -0,0 +1,229 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.main;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.reasoner.Node;
+import org.semanticweb.owlapi.reasoner.NodeSet;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNodeSet;
+
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class keeps the OWL nodes translated from a
+ * classification. Each node of the class hierarchy is translated only once,
+ * and it is identified by the identifiers of its classes. The node sets of the
+ * hierarchy queries on named classes and individuals are kept as well. The
+ * nodes and node sets are returned as read-only views, since they are shared
+ * among callers, and the cache can be used by concurrent queries. The cache
+ * must be cleared whenever the classification changes.
+ * 
+ * @author Julian Mendez
+ */
+class TaxonomyNodeCache {
+
+	private final OptMap<Set<Integer>, Node<OWLClass>> classNodeMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLClass, NodeSet<OWLClass>> directSubClassesMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLClass, NodeSet<OWLClass>> directSuperClassesMap = new OptMapImpl<>(
+			new ConcurrentHashMap<>());
+	private final OptMap<OWLNamedIndividual, NodeSet<OWLClass>> directTypesMap = new OptMapImpl<>(
+			new ConcurrentHashMap<>());
+	private final OptMap<OWLClass, NodeSet<OWLClass>> subClassesMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLClass, NodeSet<OWLClass>> superClassesMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final Translator translator;
+	private final OptMap<OWLNamedIndividual, NodeSet<OWLClass>> typesMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+
+	/**
+	 * Constructs a new taxonomy node cache.
+	 * 
+	 * @param translator
+	 *            translator used to create the nodes
+	 */
+	TaxonomyNodeCache(Translator translator) {
+		Objects.requireNonNull(translator);
+		this.translator = translator;
+	}
+
+	/**
+	 * Removes all the nodes and node sets of this cache.
+	 */
+	public void clear() {
+		this.classNodeMap.clear();
+		this.directSubClassesMap.clear();
+		this.directSuperClassesMap.clear();
+		this.directTypesMap.clear();
+		this.subClassesMap.clear();
+		this.superClassesMap.clear();
+		this.typesMap.clear();
+	}
+
+	/**
+	 * Returns the OWL node of the given set of equivalent classes.
+	 * 
+	 * @param integerObject
+	 *            set of equivalent classes
+	 * @return the OWL node of the given set of equivalent classes
+	 */
+	public Node<OWLClass> getClassNode(Set<IntegerClass> integerObject) {
+		Objects.requireNonNull(integerObject);
+		Set<Integer> key = integerObject.stream().map(IntegerClass::getId).collect(Collectors.toSet());
+		Optional<Node<OWLClass>> optNode = this.classNodeMap.get(key);
+		Node<OWLClass> ret;
+		if (optNode.isPresent()) {
+			ret = optNode.get();
+		} else {
+			ret = new UnmodifiableNode<>(this.translator.translateSC(integerObject));
+			this.classNodeMap.put(key, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the OWL node set of the given set of nodes.
+	 * 
+	 * @param integerObject
+	 *            set of nodes
+	 * @return the OWL node set of the given set of nodes
+	 */
+	public NodeSet<OWLClass> getClassNodeSet(Set<Set<IntegerClass>> integerObject) {
+		Objects.requireNonNull(integerObject);
+		Set<Node<OWLClass>> setOfNodes = new HashSet<>();
+		integerObject.forEach(node -> setOfNodes.add(getClassNode(node)));
+		return new UnmodifiableNodeSet<>(new OWLClassNodeSet(setOfNodes));
+	}
+
+	private <T> NodeSet<OWLClass> getNodeSet(OptMap<T, NodeSet<OWLClass>> map, T key,
+			Supplier<Set<Set<IntegerClass>>> query) {
+		Optional<NodeSet<OWLClass>> optNodeSet = map.get(key);
+		NodeSet<OWLClass> ret;
+		if (optNodeSet.isPresent()) {
+			ret = optNodeSet.get();
+		} else {
+			ret = getClassNodeSet(query.get());
+			map.put(key, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the sub classes of a class expression. The result is kept only
+	 * if the class expression is a named class.
+	 * 
+	 * @param classExpression
+	 *            class expression
+	 * @param direct
+	 *            <code>true</code> to get only the direct sub classes
+	 * @param query
+	 *            query that computes the sub classes, if they are not kept
+	 * @return the sub classes of a class expression
+	 */
+	public NodeSet<OWLClass> getSubClasses(OWLClassExpression classExpression, boolean direct,
+			Supplier<Set<Set<IntegerClass>>> query) {
+		Objects.requireNonNull(classExpression);
+		Objects.requireNonNull(query);
+		if (classExpression.isAnonymous()) {
+			return getClassNodeSet(query.get());
+		}
+		return getNodeSet(direct ? this.directSubClassesMap : this.subClassesMap, classExpression.asOWLClass(),
+				query);
+	}
+
+	/**
+	 * Returns the super classes of a class expression. The result is kept
+	 * only if the class expression is a named class.
+	 * 
+	 * @param classExpression
+	 *            class expression
+	 * @param direct
+	 *            <code>true</code> to get only the direct super classes
+	 * @param query
+	 *            query that computes the super classes, if they are not kept
+	 * @return the super classes of a class expression
+	 */
+	public NodeSet<OWLClass> getSuperClasses(OWLClassExpression classExpression, boolean direct,
+			Supplier<Set<Set<IntegerClass>>> query) {
+		Objects.requireNonNull(classExpression);
+		Objects.requireNonNull(query);
+		if (classExpression.isAnonymous()) {
+			return getClassNodeSet(query.get());
+		}
+		return getNodeSet(direct ? this.directSuperClassesMap : this.superClassesMap, classExpression.asOWLClass(),
+				query);
+	}
+
+	/**
+	 * Returns the types of an individual.
+	 * 
+	 * @param individual
+	 *            individual
+	 * @param direct
+	 *            <code>true</code> to get only the direct types
+	 * @param query
+	 *            query that computes the types, if they are not kept
+	 * @return the types of an individual
+	 */
+	public NodeSet<OWLClass> getTypes(OWLNamedIndividual individual, boolean direct,
+			Supplier<Set<Set<IntegerClass>>> query) {
+		Objects.requireNonNull(individual);
+		Objects.requireNonNull(query);
+		return getNodeSet(direct ? this.directTypesMap : this.typesMap, individual, query);
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.main;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.reasoner.Node;
+
+/**
+ * An object of this class is a read-only view of a node. It is used to share
+ * the same node among several callers.
+ * 
+ * @param <E>
+ *            type of the elements of the node
+ * 
+ * @author Julian Mendez
+ */
+class UnmodifiableNode<E extends OWLObject> implements Node<E> {
+
+	private final Node<E> node;
+
+	/**
+	 * Constructs a new read-only view of a node.
+	 * 
+	 * @param node
+	 *            node
+	 */
+	UnmodifiableNode(Node<E> node) {
+		Objects.requireNonNull(node);
+		this.node = node;
+	}
+
+	@Override
+	public boolean contains(E entity) {
+		return this.node.contains(entity);
+	}
+
+	@Override
+	public Stream<E> entities() {
+		return this.node.entities();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this.node.equals(obj);
+	}
+
+	@Override
+	public Set<E> getEntitiesMinus(E e) {
+		return Collections.unmodifiableSet(this.node.getEntitiesMinus(e));
+	}
+
+	@Override
+	public Set<E> getEntitiesMinusBottom() {
+		return Collections.unmodifiableSet(this.node.getEntitiesMinusBottom());
+	}
+
+	@Override
+	public Set<E> getEntitiesMinusTop() {
+		return Collections.unmodifiableSet(this.node.getEntitiesMinusTop());
+	}
+
+	@Override
+	public E getRepresentativeElement() {
+		return this.node.getRepresentativeElement();
+	}
+
+	@Override
+	public int getSize() {
+		return this.node.getSize();
+	}
+
+	@Override
+	public int hashCode() {
+		return this.node.hashCode();
+	}
+
+	@Override
+	public boolean isBottomNode() {
+		return this.node.isBottomNode();
+	}
+
+	@Override
+	public boolean isSingleton() {
+		return this.node.isSingleton();
+	}
+
+	@Override
+	public boolean isTopNode() {
+		return this.node.isTopNode();
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return this.node.entities().iterator();
+	}
+
+	@Override
+	public String toString() {
+		return this.node.toString();
+	}
+
+}
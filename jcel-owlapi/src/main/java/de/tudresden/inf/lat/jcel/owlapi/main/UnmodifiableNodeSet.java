@@ -0,0 +1,137 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.main;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.reasoner.Node;
+import org.semanticweb.owlapi.reasoner.NodeSet;
+
+/**
+ * An object of this class is a read-only view of a node set. It is used to
+ * share the same node set among several callers, and its nodes are expected
+ * to be read-only as well.
+ * 
+ * @param <E>
+ *            type of the elements of the nodes
+ * 
+ * @author Julian Mendez
+ */
+class UnmodifiableNodeSet<E extends OWLObject> implements NodeSet<E> {
+
+	private final NodeSet<E> nodeSet;
+
+	/**
+	 * Constructs a new read-only view of a node set.
+	 * 
+	 * @param nodeSet
+	 *            node set
+	 */
+	UnmodifiableNodeSet(NodeSet<E> nodeSet) {
+		Objects.requireNonNull(nodeSet);
+		this.nodeSet = nodeSet;
+	}
+
+	@Override
+	public boolean containsEntity(E e) {
+		return this.nodeSet.containsEntity(e);
+	}
+
+	@Override
+	public Stream<E> entities() {
+		return this.nodeSet.entities();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this.nodeSet.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.nodeSet.hashCode();
+	}
+
+	@Override
+	public boolean isBottomSingleton() {
+		return this.nodeSet.isBottomSingleton();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.nodeSet.isEmpty();
+	}
+
+	@Override
+	public boolean isSingleton() {
+		return this.nodeSet.isSingleton();
+	}
+
+	@Override
+	public boolean isTopSingleton() {
+		return this.nodeSet.isTopSingleton();
+	}
+
+	@Override
+	public Iterator<Node<E>> iterator() {
+		return this.nodeSet.nodes().iterator();
+	}
+
+	@Override
+	public Stream<Node<E>> nodes() {
+		return this.nodeSet.nodes();
+	}
+
+	@Override
+	public String toString() {
+		return this.nodeSet.toString();
+	}
+
+}
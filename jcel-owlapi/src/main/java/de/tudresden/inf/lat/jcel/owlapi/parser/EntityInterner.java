@@ -0,0 +1,146 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.parser;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * An object of this class assigns identifiers of an
+ * {@link IntegerEntityManager} to IRIs. Each IRI is stored once per entity
+ * type, and the top and bottom entities of OWL are mapped to the predefined
+ * identifiers. This class is thread-safe.
+ * 
+ * @author Julian Mendez
+ */
+public class EntityInterner {
+
+	public static final String owlBottomDataProperty = "http://www.w3.org/2002/07/owl#bottomDataProperty";
+	public static final String owlBottomObjectProperty = "http://www.w3.org/2002/07/owl#bottomObjectProperty";
+	public static final String owlNothing = "http://www.w3.org/2002/07/owl#Nothing";
+	public static final String owlThing = "http://www.w3.org/2002/07/owl#Thing";
+	public static final String owlTopDataProperty = "http://www.w3.org/2002/07/owl#topDataProperty";
+	public static final String owlTopObjectProperty = "http://www.w3.org/2002/07/owl#topObjectProperty";
+
+	private final IntegerEntityManager entityManager;
+	private final Map<IntegerEntityType, Map<String, Integer>> idMap = new EnumMap<>(IntegerEntityType.class);
+
+	/**
+	 * Constructs a new entity interner.
+	 * 
+	 * @param entityManager
+	 *            entity manager that creates the identifiers
+	 */
+	public EntityInterner(IntegerEntityManager entityManager) {
+		Objects.requireNonNull(entityManager);
+		this.entityManager = entityManager;
+		for (IntegerEntityType type : IntegerEntityType.values()) {
+			this.idMap.put(type, new ConcurrentHashMap<>());
+		}
+		this.idMap.get(IntegerEntityType.CLASS).put(owlNothing, IntegerEntityManager.bottomClassId);
+		this.idMap.get(IntegerEntityType.CLASS).put(owlThing, IntegerEntityManager.topClassId);
+		this.idMap.get(IntegerEntityType.OBJECT_PROPERTY).put(owlBottomObjectProperty,
+				IntegerEntityManager.bottomObjectPropertyId);
+		this.idMap.get(IntegerEntityType.OBJECT_PROPERTY).put(owlTopObjectProperty,
+				IntegerEntityManager.topObjectPropertyId);
+		this.idMap.get(IntegerEntityType.DATA_PROPERTY).put(owlBottomDataProperty,
+				IntegerEntityManager.bottomDataPropertyId);
+		this.idMap.get(IntegerEntityType.DATA_PROPERTY).put(owlTopDataProperty,
+				IntegerEntityManager.topDataPropertyId);
+	}
+
+	/**
+	 * Returns the entity manager.
+	 * 
+	 * @return the entity manager
+	 */
+	public IntegerEntityManager getEntityManager() {
+		return this.entityManager;
+	}
+
+	/**
+	 * Returns the identifier of the entity with the given type and IRI,
+	 * creating it if it does not exist.
+	 * 
+	 * @param type
+	 *            entity type
+	 * @param iri
+	 *            IRI of the entity
+	 * @return the identifier of the entity with the given type and IRI
+	 */
+	public Integer getId(IntegerEntityType type, String iri) {
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(iri);
+		return this.idMap.get(type).computeIfAbsent(iri,
+				key -> this.entityManager.createNamedEntity(type, key, false));
+	}
+
+	/**
+	 * Returns an unmodifiable map from IRIs to identifiers, for the given
+	 * entity type.
+	 * 
+	 * @param type
+	 *            entity type
+	 * @return an unmodifiable map from IRIs to identifiers
+	 */
+	public Map<String, Integer> getIdMap(IntegerEntityType type) {
+		Objects.requireNonNull(type);
+		return Collections.unmodifiableMap(this.idMap.get(type));
+	}
+
+	@Override
+	public String toString() {
+		return this.idMap.toString();
+	}
+
+}
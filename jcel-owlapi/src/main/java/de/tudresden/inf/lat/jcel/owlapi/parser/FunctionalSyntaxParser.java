@@ -0,0 +1,647 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectInverseOf;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectPropertyExpression;
+import de.tudresden.inf.lat.jcel.owlapi.parser.FunctionalSyntaxTokenizer.TokenType;
+
+/**
+ * An object of this class reads an ontology in OWL functional syntax and
+ * creates the complex axioms directly, without creating the objects of the OWL
+ * API. The IRIs are interned in an {@link EntityInterner}, and the axioms are
+ * given to a consumer as soon as they are read. <br>
+ * The parser accepts the same constructors as the translator from the OWL API.
+ * Annotations are discarded, and axioms that use other constructors are
+ * skipped and counted. Axioms can also appear outside an
+ * <code>Ontology(...)</code> block. An object of this class is not
+ * thread-safe, but several parsers can share the same interner.
+ * 
+ * @author Julian Mendez
+ */
+public class FunctionalSyntaxParser {
+
+	private static final String annotation = "Annotation";
+	private static final String annotationProperty = "AnnotationProperty";
+	private static final String blankNodePrefix = "_:";
+	private static final String classAssertion = "ClassAssertion";
+	private static final String dataHasValue = "DataHasValue";
+	private static final String dataProperty = "DataProperty";
+	private static final String dataPropertyAssertion = "DataPropertyAssertion";
+	private static final String declaration = "Declaration";
+	private static final String differentIndividuals = "DifferentIndividuals";
+	private static final String disjointClasses = "DisjointClasses";
+	private static final String equivalentClasses = "EquivalentClasses";
+	private static final String equivalentObjectProperties = "EquivalentObjectProperties";
+	private static final String functionalObjectProperty = "FunctionalObjectProperty";
+	private static final String importKeyword = "Import";
+	private static final String inverseFunctionalObjectProperty = "InverseFunctionalObjectProperty";
+	private static final String inverseObjectProperties = "InverseObjectProperties";
+	private static final String keywordClass = "Class";
+	private static final String namedIndividual = "NamedIndividual";
+	private static final String negativeObjectPropertyAssertion = "NegativeObjectPropertyAssertion";
+	private static final String objectIntersectionOf = "ObjectIntersectionOf";
+	private static final String objectInverseOf = "ObjectInverseOf";
+	private static final String objectOneOf = "ObjectOneOf";
+	private static final String objectProperty = "ObjectProperty";
+	private static final String objectPropertyAssertion = "ObjectPropertyAssertion";
+	private static final String objectPropertyChain = "ObjectPropertyChain";
+	private static final String objectPropertyDomain = "ObjectPropertyDomain";
+	private static final String objectPropertyRange = "ObjectPropertyRange";
+	private static final String objectSomeValuesFrom = "ObjectSomeValuesFrom";
+	private static final String ontology = "Ontology";
+	private static final String prefix = "Prefix";
+	private static final String prefixSeparator = ":";
+	private static final String reflexiveObjectProperty = "ReflexiveObjectProperty";
+	private static final String sameIndividual = "SameIndividual";
+	private static final String subClassOf = "SubClassOf";
+	private static final String subObjectPropertyOf = "SubObjectPropertyOf";
+	private static final String transitiveObjectProperty = "TransitiveObjectProperty";
+
+	private final Set<IntegerAnnotation> annotations = Collections.emptySet();
+	private final IntegerOntologyObjectFactory factory;
+	private long ignoredAxiomCount = 0;
+	private final EntityInterner interner;
+	private final Map<String, String> prefixMap = new HashMap<>();
+	private FunctionalSyntaxTokenizer tokenizer;
+
+	/**
+	 * Constructs a new parser with a new entity interner.
+	 * 
+	 * @param factory
+	 *            factory to create the axioms
+	 */
+	public FunctionalSyntaxParser(IntegerOntologyObjectFactory factory) {
+		this(factory, new EntityInterner(factory.getEntityManager()));
+	}
+
+	/**
+	 * Constructs a new parser.
+	 * 
+	 * @param factory
+	 *            factory to create the axioms
+	 * @param interner
+	 *            entity interner, which must use the entity manager of the
+	 *            factory
+	 */
+	public FunctionalSyntaxParser(IntegerOntologyObjectFactory factory, EntityInterner interner) {
+		Objects.requireNonNull(factory);
+		Objects.requireNonNull(interner);
+		if (factory.getEntityManager() != interner.getEntityManager()) {
+			throw new IllegalArgumentException("Invalid entity interner: '" + interner + "'.");
+		}
+		this.factory = factory;
+		this.interner = interner;
+		this.prefixMap.put("owl:", "http://www.w3.org/2002/07/owl#");
+		this.prefixMap.put("rdf:", "http://www.w3.org/1999/02/22-rdf-syntax-ns#");
+		this.prefixMap.put("rdfs:", "http://www.w3.org/2000/01/rdf-schema#");
+		this.prefixMap.put("xsd:", "http://www.w3.org/2001/XMLSchema#");
+	}
+
+	private void close() throws IOException {
+		expect(TokenType.CLOSE);
+		next();
+	}
+
+	private void expect(TokenType expected) {
+		if (this.tokenizer.getType() != expected) {
+			throw new OntologyParserException(this.tokenizer.getLineNumber(),
+					"Expected " + expected + ", but found " + this.tokenizer.getType() + ": '"
+							+ this.tokenizer.getText() + "'.");
+		}
+	}
+
+	private ComplexIntegerAxiomFactory getAxiomFactory() {
+		return this.factory.getComplexAxiomFactory();
+	}
+
+	private IntegerDataTypeFactory getDataTypeFactory() {
+		return this.factory.getDataTypeFactory();
+	}
+
+	/**
+	 * Returns the number of axioms that have been skipped because they use
+	 * constructors that are not supported.
+	 * 
+	 * @return the number of axioms that have been skipped
+	 */
+	public long getIgnoredAxiomCount() {
+		return this.ignoredAxiomCount;
+	}
+
+	/**
+	 * Returns the entity interner.
+	 * 
+	 * @return the entity interner
+	 */
+	public EntityInterner getInterner() {
+		return this.interner;
+	}
+
+	/**
+	 * Returns an unmodifiable map with the prefix declarations, including the
+	 * predefined prefixes.
+	 * 
+	 * @return an unmodifiable map with the prefix declarations
+	 */
+	public Map<String, String> getPrefixMap() {
+		return Collections.unmodifiableMap(this.prefixMap);
+	}
+
+	private boolean isEntityName() {
+		return this.tokenizer.getType() == TokenType.IRI || (this.tokenizer.getType() == TokenType.NAME
+				&& this.tokenizer.getText().contains(prefixSeparator)
+				&& !this.tokenizer.getText().startsWith(blankNodePrefix));
+	}
+
+	private boolean isKeyword(String keyword) {
+		return this.tokenizer.getType() == TokenType.NAME && this.tokenizer.getText().equals(keyword);
+	}
+
+	private void next() throws IOException {
+		this.tokenizer.next();
+	}
+
+	private String open() throws IOException {
+		expect(TokenType.NAME);
+		String ret = this.tokenizer.getText();
+		next();
+		expect(TokenType.OPEN);
+		next();
+		return ret;
+	}
+
+	/**
+	 * Parses the given text and returns the axioms.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @return the axioms
+	 * @throws IOException
+	 *             if something goes wrong with the reader
+	 * @throws OntologyParserException
+	 *             if the text is not in OWL functional syntax
+	 */
+	public Set<ComplexIntegerAxiom> parse(Reader reader) throws IOException {
+		Objects.requireNonNull(reader);
+		Set<ComplexIntegerAxiom> ret = new HashSet<>();
+		parse(reader, ret::add);
+		return ret;
+	}
+
+	/**
+	 * Parses the given text and gives each axiom to the consumer as soon as it
+	 * is read.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @param consumer
+	 *            consumer of the axioms
+	 * @throws IOException
+	 *             if something goes wrong with the reader
+	 * @throws OntologyParserException
+	 *             if the text is not in OWL functional syntax
+	 */
+	public void parse(Reader reader, Consumer<ComplexIntegerAxiom> consumer) throws IOException {
+		Objects.requireNonNull(reader);
+		Objects.requireNonNull(consumer);
+		this.tokenizer = new FunctionalSyntaxTokenizer(reader);
+		next();
+		while (this.tokenizer.getType() != TokenType.END) {
+			if (isKeyword(prefix)) {
+				parsePrefix();
+			} else if (isKeyword(ontology)) {
+				parseOntology(consumer);
+			} else {
+				parseAxiom(consumer);
+			}
+		}
+	}
+
+	private void parseAxiom(Consumer<ComplexIntegerAxiom> consumer) throws IOException {
+		int outerDepth = this.tokenizer.getDepth();
+		String keyword = open();
+		while (isKeyword(annotation)) {
+			skipElement();
+		}
+		try {
+			ComplexIntegerAxiom axiom = parseAxiomBody(keyword);
+			close();
+			consumer.accept(axiom);
+		} catch (UnsupportedConstructException e) {
+			while (this.tokenizer.getDepth() > outerDepth) {
+				if (this.tokenizer.getType() == TokenType.END) {
+					throw new OntologyParserException(this.tokenizer.getLineNumber(),
+							"Unexpected end of axiom: '" + keyword + "'.");
+				}
+				next();
+			}
+			next();
+			this.ignoredAxiomCount++;
+		}
+	}
+
+	private ComplexIntegerAxiom parseAxiomBody(String keyword) throws IOException {
+		ComplexIntegerAxiom ret;
+		switch (keyword) {
+		case declaration:
+			ret = parseDeclaration();
+			break;
+
+		case subClassOf: {
+			IntegerClassExpression subClass = parseClassExpression();
+			IntegerClassExpression superClass = parseClassExpression();
+			ret = getAxiomFactory().createSubClassOfAxiom(subClass, superClass, this.annotations);
+			break;
+		}
+
+		case equivalentClasses:
+			ret = getAxiomFactory().createEquivalentClassesAxiom(parseClassExpressions(), this.annotations);
+			break;
+
+		case disjointClasses:
+			ret = getAxiomFactory().createDisjointClassesAxiom(parseClassExpressions(), this.annotations);
+			break;
+
+		case subObjectPropertyOf:
+			if (isKeyword(objectPropertyChain)) {
+				open();
+				List<IntegerObjectPropertyExpression> chain = new ArrayList<>();
+				while (this.tokenizer.getType() != TokenType.CLOSE) {
+					chain.add(parseObjectPropertyExpression());
+				}
+				next();
+				ret = getAxiomFactory().createSubPropertyChainOfAxiom(chain, parseObjectPropertyExpression(),
+						this.annotations);
+			} else {
+				IntegerObjectPropertyExpression subProperty = parseObjectPropertyExpression();
+				IntegerObjectPropertyExpression superProperty = parseObjectPropertyExpression();
+				ret = getAxiomFactory().createSubObjectPropertyOfAxiom(subProperty, superProperty, this.annotations);
+			}
+			break;
+
+		case equivalentObjectProperties: {
+			Set<IntegerObjectPropertyExpression> properties = new HashSet<>();
+			while (this.tokenizer.getType() != TokenType.CLOSE) {
+				properties.add(parseObjectPropertyExpression());
+			}
+			ret = getAxiomFactory().createEquivalentObjectPropertiesAxiom(properties, this.annotations);
+			break;
+		}
+
+		case inverseObjectProperties: {
+			IntegerObjectPropertyExpression first = parseObjectPropertyExpression();
+			IntegerObjectPropertyExpression second = parseObjectPropertyExpression();
+			ret = getAxiomFactory().createInverseObjectPropertiesAxiom(first, second, this.annotations);
+			break;
+		}
+
+		case transitiveObjectProperty:
+			ret = getAxiomFactory().createTransitiveObjectPropertyAxiom(parseObjectPropertyExpression(),
+					this.annotations);
+			break;
+
+		case reflexiveObjectProperty:
+			ret = getAxiomFactory().createReflexiveObjectPropertyAxiom(parseObjectPropertyExpression(),
+					this.annotations);
+			break;
+
+		case functionalObjectProperty:
+			ret = getAxiomFactory().createFunctionalObjectPropertyAxiom(parseObjectPropertyExpression(),
+					this.annotations);
+			break;
+
+		case inverseFunctionalObjectProperty:
+			ret = getAxiomFactory().createInverseFunctionalObjectPropertyAxiom(parseObjectPropertyExpression(),
+					this.annotations);
+			break;
+
+		case objectPropertyDomain: {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression();
+			IntegerClassExpression domain = parseClassExpression();
+			ret = getAxiomFactory().createSubClassOfAxiom(getDataTypeFactory().createObjectSomeValuesFrom(property,
+					getDataTypeFactory().createClass(IntegerEntityManager.topClassId)), domain, this.annotations);
+			break;
+		}
+
+		case objectPropertyRange: {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression();
+			IntegerClassExpression range = parseClassExpression();
+			ret = getAxiomFactory().createPropertyRangeAxiom(property, range, this.annotations);
+			break;
+		}
+
+		case classAssertion: {
+			IntegerClassExpression classExpression = parseClassExpression();
+			ret = getAxiomFactory().createClassAssertionAxiom(classExpression, parseIndividual(), this.annotations);
+			break;
+		}
+
+		case objectPropertyAssertion: {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression();
+			int subject = parseIndividual();
+			int object = parseIndividual();
+			ret = getAxiomFactory().createObjectPropertyAssertionAxiom(property, subject, object, this.annotations);
+			break;
+		}
+
+		case negativeObjectPropertyAssertion: {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression();
+			int subject = parseIndividual();
+			int object = parseIndividual();
+			ret = getAxiomFactory().createNegativeObjectPropertyAssertionAxiom(property, subject, object,
+					this.annotations);
+			break;
+		}
+
+		case dataPropertyAssertion: {
+			int property = parseDataProperty();
+			int subject = parseIndividual();
+			int object = parseLiteral();
+			ret = getAxiomFactory().createDataPropertyAssertionAxiom(property, subject, object, this.annotations);
+			break;
+		}
+
+		case sameIndividual:
+			ret = getAxiomFactory().createSameIndividualAxiom(parseIndividuals(), this.annotations);
+			break;
+
+		case differentIndividuals:
+			ret = getAxiomFactory().createDifferentIndividualsAxiom(parseIndividuals(), this.annotations);
+			break;
+
+		default:
+			throw new UnsupportedConstructException(keyword);
+		}
+		return ret;
+	}
+
+	private IntegerClassExpression parseClassExpression() throws IOException {
+		IntegerClassExpression ret;
+		if (isEntityName()) {
+			ret = getDataTypeFactory().createClass(this.interner.getId(IntegerEntityType.CLASS, parseIri()));
+		} else {
+			String keyword = open();
+			switch (keyword) {
+			case objectIntersectionOf:
+				ret = getDataTypeFactory().createObjectIntersectionOf(parseClassExpressions());
+				break;
+
+			case objectSomeValuesFrom: {
+				IntegerObjectPropertyExpression property = parseObjectPropertyExpression();
+				ret = getDataTypeFactory().createObjectSomeValuesFrom(property, parseClassExpression());
+				break;
+			}
+
+			case objectOneOf:
+				ret = getDataTypeFactory().createObjectOneOf(parseIndividual());
+				if (this.tokenizer.getType() != TokenType.CLOSE) {
+					throw new UnsupportedConstructException(keyword);
+				}
+				break;
+
+			case dataHasValue: {
+				int property = parseDataProperty();
+				ret = getDataTypeFactory().createDataHasValue(property, parseLiteral());
+				break;
+			}
+
+			default:
+				throw new UnsupportedConstructException(keyword);
+			}
+			close();
+		}
+		return ret;
+	}
+
+	private Set<IntegerClassExpression> parseClassExpressions() throws IOException {
+		Set<IntegerClassExpression> ret = new HashSet<>();
+		while (this.tokenizer.getType() != TokenType.CLOSE) {
+			ret.add(parseClassExpression());
+		}
+		return ret;
+	}
+
+	private int parseDataProperty() throws IOException {
+		if (!isEntityName()) {
+			throw new UnsupportedConstructException(this.tokenizer.getText());
+		}
+		return this.interner.getId(IntegerEntityType.DATA_PROPERTY, parseIri());
+	}
+
+	private ComplexIntegerAxiom parseDeclaration() throws IOException {
+		String keyword = open();
+		int entity;
+		ComplexIntegerAxiom ret;
+		switch (keyword) {
+		case keywordClass:
+			entity = this.interner.getId(IntegerEntityType.CLASS, parseIri());
+			ret = getAxiomFactory().createClassDeclarationAxiom(entity, this.annotations);
+			break;
+
+		case objectProperty:
+			entity = this.interner.getId(IntegerEntityType.OBJECT_PROPERTY, parseIri());
+			ret = getAxiomFactory().createObjectPropertyDeclarationAxiom(entity, this.annotations);
+			break;
+
+		case namedIndividual:
+			entity = this.interner.getId(IntegerEntityType.INDIVIDUAL, parseIri());
+			ret = getAxiomFactory().createNamedIndividualDeclarationAxiom(entity, this.annotations);
+			break;
+
+		case dataProperty:
+			entity = this.interner.getId(IntegerEntityType.DATA_PROPERTY, parseIri());
+			ret = getAxiomFactory().createDataPropertyDeclarationAxiom(entity, this.annotations);
+			break;
+
+		case annotationProperty:
+		default:
+			throw new UnsupportedConstructException(keyword);
+		}
+		close();
+		return ret;
+	}
+
+	private int parseIndividual() throws IOException {
+		if (!isEntityName()) {
+			throw new UnsupportedConstructException(this.tokenizer.getText());
+		}
+		return this.interner.getId(IntegerEntityType.INDIVIDUAL, parseIri());
+	}
+
+	private Set<Integer> parseIndividuals() throws IOException {
+		Set<Integer> ret = new HashSet<>();
+		while (this.tokenizer.getType() != TokenType.CLOSE) {
+			ret.add(parseIndividual());
+		}
+		return ret;
+	}
+
+	private String parseIri() throws IOException {
+		String ret;
+		String text = this.tokenizer.getText();
+		if (this.tokenizer.getType() == TokenType.IRI) {
+			ret = text;
+		} else {
+			expect(TokenType.NAME);
+			int pos = text.indexOf(prefixSeparator) + prefixSeparator.length();
+			String namespace = this.prefixMap.get(text.substring(0, pos));
+			if (Objects.isNull(namespace)) {
+				throw new OntologyParserException(this.tokenizer.getLineNumber(),
+						"Undeclared prefix: '" + text + "'.");
+			}
+			ret = namespace + text.substring(pos);
+		}
+		next();
+		return ret;
+	}
+
+	private int parseLiteral() throws IOException {
+		if (this.tokenizer.getType() != TokenType.LITERAL) {
+			throw new UnsupportedConstructException(this.tokenizer.getText());
+		}
+		int ret = this.interner.getId(IntegerEntityType.LITERAL, this.tokenizer.getText());
+		next();
+		return ret;
+	}
+
+	private IntegerObjectPropertyExpression parseObjectPropertyExpression() throws IOException {
+		IntegerObjectPropertyExpression ret;
+		if (isEntityName()) {
+			ret = getDataTypeFactory()
+					.createObjectProperty(this.interner.getId(IntegerEntityType.OBJECT_PROPERTY, parseIri()));
+		} else {
+			String keyword = open();
+			if (!keyword.equals(objectInverseOf)) {
+				throw new UnsupportedConstructException(keyword);
+			}
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression();
+			if (property instanceof IntegerObjectProperty) {
+				ret = getDataTypeFactory().createObjectInverseOf((IntegerObjectProperty) property);
+			} else {
+				ret = ((IntegerObjectInverseOf) property).getInverse();
+			}
+			close();
+		}
+		return ret;
+	}
+
+	private void parseOntology(Consumer<ComplexIntegerAxiom> consumer) throws IOException {
+		open();
+		if (isEntityName()) {
+			next();
+			if (isEntityName()) {
+				next();
+			}
+		}
+		while (this.tokenizer.getType() == TokenType.NAME) {
+			if (isKeyword(importKeyword) || isKeyword(annotation)) {
+				skipElement();
+			} else {
+				parseAxiom(consumer);
+			}
+		}
+		close();
+	}
+
+	private void parsePrefix() throws IOException {
+		open();
+		expect(TokenType.NAME);
+		String prefixName = this.tokenizer.getText();
+		if (!prefixName.endsWith(prefixSeparator)) {
+			throw new OntologyParserException(this.tokenizer.getLineNumber(),
+					"Invalid prefix name: '" + prefixName + "'.");
+		}
+		next();
+		expect(TokenType.EQUALS);
+		next();
+		expect(TokenType.IRI);
+		this.prefixMap.put(prefixName, this.tokenizer.getText());
+		next();
+		close();
+	}
+
+	private void skipElement() throws IOException {
+		int outerDepth = this.tokenizer.getDepth();
+		String keyword = open();
+		while (this.tokenizer.getDepth() > outerDepth) {
+			if (this.tokenizer.getType() == TokenType.END) {
+				throw new OntologyParserException(this.tokenizer.getLineNumber(),
+						"Unexpected end of element: '" + keyword + "'.");
+			}
+			next();
+		}
+		next();
+	}
+
+	@Override
+	public String toString() {
+		return this.interner.toString();
+	}
+
+}
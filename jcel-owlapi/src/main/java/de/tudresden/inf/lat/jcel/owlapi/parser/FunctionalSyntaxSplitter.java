@@ -0,0 +1,237 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An object of this class splits a text in OWL functional syntax into chunks
+ * of complete axioms. It only keeps track of parentheses, IRIs, literals and
+ * comments, and leaves the parsing to a {@link FunctionalSyntaxParser}. <br>
+ * Each chunk starts with all the prefix declarations, followed by the axioms,
+ * so that it can be parsed by itself. The <code>Ontology(...)</code> block,
+ * the ontology IRIs, the imports and the ontology annotations are not included
+ * in the chunks.
+ * 
+ * @author Julian Mendez
+ */
+class FunctionalSyntaxSplitter implements ChunkReader {
+
+	/**
+	 * State of the lexical analysis.
+	 */
+	private enum State {
+		COMMENT, ESCAPE, IRI, LITERAL, NORMAL
+	}
+
+	private static final String annotation = "Annotation";
+	private static final int bufferSize = 0x10000;
+	private static final String importKeyword = "Import";
+	private static final String ontology = "Ontology";
+	private static final String prefix = "Prefix";
+
+	private int bodyDepth = 0;
+	private final char[] buffer = new char[bufferSize];
+	private final StringBuilder chunk = new StringBuilder();
+	private final int chunkSize;
+	private final StringBuilder current = new StringBuilder();
+	private int depth = 0;
+	private String elementKeyword = "";
+	private boolean endOfInput = false;
+	private boolean inElement = false;
+	private boolean inWord = false;
+	private int limit = 0;
+	private int position = 0;
+	private final StringBuilder prefixes = new StringBuilder();
+	private final Reader reader;
+	private State state = State.NORMAL;
+	private int wordEnd = 0;
+	private int wordStart = 0;
+
+	/**
+	 * Constructs a new splitter.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @param chunkSize
+	 *            minimum number of characters of each chunk, except the last
+	 *            one
+	 */
+	FunctionalSyntaxSplitter(Reader reader, int chunkSize) {
+		Objects.requireNonNull(reader);
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Invalid chunk size: '" + chunkSize + "'.");
+		}
+		this.reader = reader;
+		this.chunkSize = chunkSize;
+	}
+
+	private void clearCurrent() {
+		this.current.setLength(0);
+		this.wordStart = 0;
+		this.wordEnd = 0;
+	}
+
+	private void closeParenthesis() {
+		this.depth--;
+		if (this.inElement && this.depth == this.bodyDepth) {
+			if (this.elementKeyword.equals(prefix)) {
+				this.prefixes.append(this.current).append('\n');
+			} else if (!this.elementKeyword.equals(importKeyword) && !this.elementKeyword.equals(annotation)) {
+				this.chunk.append(this.current).append('\n');
+			}
+			clearCurrent();
+			this.inElement = false;
+		} else if (this.depth < this.bodyDepth) {
+			this.bodyDepth = this.depth;
+			clearCurrent();
+		}
+	}
+
+	@Override
+	public Optional<String> nextChunk() throws IOException {
+		while (!this.endOfInput && this.chunk.length() < this.chunkSize) {
+			if (this.position < this.limit) {
+				process(this.buffer[this.position]);
+				this.position++;
+			} else {
+				this.limit = this.reader.read(this.buffer, 0, bufferSize);
+				this.position = 0;
+				if (this.limit < 0) {
+					this.endOfInput = true;
+					if (this.current.toString().trim().length() > 0) {
+						this.chunk.append(this.current);
+						clearCurrent();
+					}
+				}
+			}
+		}
+		Optional<String> ret = Optional.empty();
+		if (this.chunk.length() > 0) {
+			ret = Optional.of(this.prefixes.toString() + this.chunk.toString());
+			this.chunk.setLength(0);
+		}
+		return ret;
+	}
+
+	private void openParenthesis() {
+		if (this.depth == this.bodyDepth) {
+			String keyword = this.wordEnd > this.wordStart
+					&& this.current.substring(this.wordEnd, this.current.length() - 1).trim().isEmpty()
+							? this.current.substring(this.wordStart, this.wordEnd)
+							: "";
+			if (this.bodyDepth == 0 && keyword.equals(ontology)) {
+				this.bodyDepth = 1;
+				clearCurrent();
+			} else {
+				int elementStart = keyword.isEmpty() ? this.current.length() - 1 : this.wordStart;
+				this.current.delete(0, elementStart);
+				this.elementKeyword = keyword;
+				this.inElement = true;
+			}
+		}
+		this.depth++;
+	}
+
+	private void process(char ch) {
+		this.current.append(ch);
+		switch (this.state) {
+		case IRI:
+			if (ch == '>') {
+				this.state = State.NORMAL;
+			}
+			break;
+
+		case LITERAL:
+			if (ch == '\\') {
+				this.state = State.ESCAPE;
+			} else if (ch == '"') {
+				this.state = State.NORMAL;
+			}
+			break;
+
+		case ESCAPE:
+			this.state = State.LITERAL;
+			break;
+
+		case COMMENT:
+			if (ch == '\n') {
+				this.state = State.NORMAL;
+			}
+			break;
+
+		default:
+			processNormal(ch);
+		}
+	}
+
+	private void processNormal(char ch) {
+		boolean wordCharacter = false;
+		if (ch == '<') {
+			this.state = State.IRI;
+		} else if (ch == '"') {
+			this.state = State.LITERAL;
+		} else if (ch == '#') {
+			this.state = State.COMMENT;
+		} else if (ch == '(') {
+			openParenthesis();
+		} else if (ch == ')') {
+			closeParenthesis();
+		} else if (!Character.isWhitespace(ch) && ch != '=') {
+			wordCharacter = true;
+			if (!this.inWord) {
+				this.wordStart = this.current.length() - 1;
+			}
+			this.wordEnd = this.current.length();
+		}
+		this.inWord = wordCharacter;
+	}
+
+}
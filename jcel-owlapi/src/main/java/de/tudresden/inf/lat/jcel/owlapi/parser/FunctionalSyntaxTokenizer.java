@@ -0,0 +1,254 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * An object of this class splits a text in OWL functional syntax into tokens.
+ * It reads the text in blocks and keeps only the current token in memory.
+ * 
+ * @author Julian Mendez
+ */
+class FunctionalSyntaxTokenizer {
+
+	/**
+	 * Type of a token.
+	 */
+	enum TokenType {
+		CLOSE, END, EQUALS, IRI, LITERAL, NAME, OPEN
+	}
+
+	private static final int bufferSize = 0x10000;
+	private static final int endOfFile = -1;
+
+	private final char[] buffer = new char[bufferSize];
+	private int depth = 0;
+	private int limit = 0;
+	private long lineNumber = 1;
+	private int position = 0;
+	private final Reader reader;
+	private final StringBuilder text = new StringBuilder();
+	private TokenType type = TokenType.END;
+
+	/**
+	 * Constructs a new tokenizer.
+	 * 
+	 * @param reader
+	 *            reader
+	 */
+	FunctionalSyntaxTokenizer(Reader reader) {
+		Objects.requireNonNull(reader);
+		this.reader = reader;
+	}
+
+	/**
+	 * Returns the number of parentheses that are open after the current
+	 * token.
+	 * 
+	 * @return the number of parentheses that are open after the current token
+	 */
+	int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Returns the line number of the current position.
+	 * 
+	 * @return the line number of the current position
+	 */
+	long getLineNumber() {
+		return this.lineNumber;
+	}
+
+	/**
+	 * Returns the text of the current token. This is the IRI without angle
+	 * brackets for an IRI, the lexical form for a literal, and the token itself
+	 * otherwise.
+	 * 
+	 * @return the text of the current token
+	 */
+	String getText() {
+		return this.text.toString();
+	}
+
+	/**
+	 * Returns the type of the current token.
+	 * 
+	 * @return the type of the current token
+	 */
+	TokenType getType() {
+		return this.type;
+	}
+
+	private boolean isDelimiter(int ch) {
+		return ch == endOfFile || Character.isWhitespace(ch) || ch == '(' || ch == ')' || ch == '<' || ch == '>'
+				|| ch == '"' || ch == '=';
+	}
+
+	/**
+	 * Reads the next token.
+	 * 
+	 * @return the type of the token that has been read
+	 * @throws IOException
+	 *             if something goes wrong with the reader
+	 */
+	TokenType next() throws IOException {
+		this.text.setLength(0);
+		int ch = skipWhitespace();
+		if (ch == endOfFile) {
+			this.type = TokenType.END;
+		} else if (ch == '(') {
+			this.depth++;
+			this.type = TokenType.OPEN;
+		} else if (ch == ')') {
+			this.depth--;
+			this.type = TokenType.CLOSE;
+		} else if (ch == '=') {
+			this.type = TokenType.EQUALS;
+		} else if (ch == '<') {
+			readIri();
+			this.type = TokenType.IRI;
+		} else if (ch == '"') {
+			readLiteral();
+			this.type = TokenType.LITERAL;
+		} else {
+			this.text.append((char) ch);
+			readName(this.text);
+			this.type = TokenType.NAME;
+		}
+		return this.type;
+	}
+
+	private int peek() throws IOException {
+		int ret = endOfFile;
+		if (this.position == this.limit) {
+			this.limit = this.reader.read(this.buffer, 0, bufferSize);
+			this.position = 0;
+		}
+		if (this.position < this.limit) {
+			ret = this.buffer[this.position];
+		}
+		return ret;
+	}
+
+	private int read() throws IOException {
+		int ret = peek();
+		if (ret != endOfFile) {
+			this.position++;
+			if (ret == '\n') {
+				this.lineNumber++;
+			}
+		}
+		return ret;
+	}
+
+	private void readIri() throws IOException {
+		int ch = read();
+		while (ch != '>') {
+			if (ch == endOfFile) {
+				throw new OntologyParserException(this.lineNumber, "Unterminated IRI: '<" + this.text + "'.");
+			}
+			this.text.append((char) ch);
+			ch = read();
+		}
+	}
+
+	private void readLiteral() throws IOException {
+		int ch = read();
+		while (ch != '"') {
+			if (ch == endOfFile) {
+				throw new OntologyParserException(this.lineNumber, "Unterminated literal: '\"" + this.text + "'.");
+			}
+			if (ch == '\\') {
+				ch = read();
+			}
+			this.text.append((char) ch);
+			ch = read();
+		}
+		if (peek() == '^') {
+			read();
+			if (read() != '^') {
+				throw new OntologyParserException(this.lineNumber, "Invalid datatype of literal: '" + this.text + "'.");
+			}
+			if (peek() == '<') {
+				read();
+				int last = read();
+				while (last != '>' && last != endOfFile) {
+					last = read();
+				}
+			} else {
+				readName(new StringBuilder());
+			}
+		} else if (peek() == '@') {
+			readName(new StringBuilder());
+		}
+	}
+
+	private void readName(StringBuilder sbuf) throws IOException {
+		while (!isDelimiter(peek())) {
+			sbuf.append((char) read());
+		}
+	}
+
+	private int skipWhitespace() throws IOException {
+		int ch = read();
+		while (ch != endOfFile && (Character.isWhitespace(ch) || ch == '#')) {
+			if (ch == '#') {
+				while (ch != endOfFile && ch != '\n') {
+					ch = read();
+				}
+			} else {
+				ch = read();
+			}
+		}
+		return ch;
+	}
+
+}
@@ -0,0 +1,690 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectPropertyExpression;
+
+/**
+ * An object of this class reads an ontology of the OWL 2 EL profile in
+ * N-Triples and creates the complex axioms directly, without creating the
+ * objects of the OWL API. The IRIs are interned in an {@link EntityInterner}.
+ * <br>
+ * Triples between IRIs are translated as soon as they are read. Triples about
+ * blank nodes, which represent class expressions, property chains and
+ * n-ary axioms, are kept until the end of the input, as well as triples whose
+ * predicate has not been declared yet. Annotations are discarded, and triples
+ * that cannot be translated are skipped and counted. An object of this class
+ * is not thread-safe, but several parsers can share the same interner.
+ * 
+ * @author Julian Mendez
+ */
+public class NTriplesParser {
+
+	private static final String blankNodePrefix = "_:";
+	private static final String comment = "#";
+	private static final String literalPrefix = "\"";
+	private static final String owl = "http://www.w3.org/2002/07/owl#";
+	private static final String owlAllDifferent = owl + "AllDifferent";
+	private static final String owlAllDisjointClasses = owl + "AllDisjointClasses";
+	private static final String owlAnnotationProperty = owl + "AnnotationProperty";
+	private static final String owlClass = owl + "Class";
+	private static final String owlDatatypeProperty = owl + "DatatypeProperty";
+	private static final String owlDifferentFrom = owl + "differentFrom";
+	private static final String owlDisjointWith = owl + "disjointWith";
+	private static final String owlDistinctMembers = owl + "distinctMembers";
+	private static final String owlEquivalentClass = owl + "equivalentClass";
+	private static final String owlEquivalentProperty = owl + "equivalentProperty";
+	private static final String owlFunctionalProperty = owl + "FunctionalProperty";
+	private static final String owlIntersectionOf = owl + "intersectionOf";
+	private static final String owlInverseFunctionalProperty = owl + "InverseFunctionalProperty";
+	private static final String owlInverseOf = owl + "inverseOf";
+	private static final String owlMembers = owl + "members";
+	private static final String owlNamedIndividual = owl + "NamedIndividual";
+	private static final String owlObjectProperty = owl + "ObjectProperty";
+	private static final String owlOneOf = owl + "oneOf";
+	private static final String owlOnProperty = owl + "onProperty";
+	private static final String owlPropertyChainAxiom = owl + "propertyChainAxiom";
+	private static final String owlReflexiveProperty = owl + "ReflexiveProperty";
+	private static final String owlSameAs = owl + "sameAs";
+	private static final String owlSomeValuesFrom = owl + "someValuesFrom";
+	private static final String owlTransitiveProperty = owl + "TransitiveProperty";
+	private static final String rdf = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+	private static final String rdfFirst = rdf + "first";
+	private static final String rdfNil = rdf + "nil";
+	private static final String rdfRest = rdf + "rest";
+	private static final String rdfType = rdf + "type";
+	private static final String rdfs = "http://www.w3.org/2000/01/rdf-schema#";
+	private static final String rdfsDomain = rdfs + "domain";
+	private static final String rdfsRange = rdfs + "range";
+	private static final String rdfsSubClassOf = rdfs + "subClassOf";
+	private static final String rdfsSubPropertyOf = rdfs + "subPropertyOf";
+	private static final String xsd = "http://www.w3.org/2001/XMLSchema#";
+
+	private final Set<IntegerAnnotation> annotations = Collections.emptySet();
+	private final Set<String> annotationProperties = new HashSet<>();
+	private final Map<String, List<String[]>> blankNodeMap = new HashMap<>();
+	private final Set<String> dataProperties = new HashSet<>();
+	private final List<String[]> deferredTriples = new ArrayList<>();
+	private final IntegerOntologyObjectFactory factory;
+	private long ignoredTripleCount = 0;
+	private final EntityInterner interner;
+	private long lineNumber = 0;
+	private final Set<String> objectProperties = new HashSet<>();
+
+	/**
+	 * Constructs a new parser with a new entity interner.
+	 * 
+	 * @param factory
+	 *            factory to create the axioms
+	 */
+	public NTriplesParser(IntegerOntologyObjectFactory factory) {
+		this(factory, new EntityInterner(factory.getEntityManager()));
+	}
+
+	/**
+	 * Constructs a new parser.
+	 * 
+	 * @param factory
+	 *            factory to create the axioms
+	 * @param interner
+	 *            entity interner, which must use the entity manager of the
+	 *            factory
+	 */
+	public NTriplesParser(IntegerOntologyObjectFactory factory, EntityInterner interner) {
+		Objects.requireNonNull(factory);
+		Objects.requireNonNull(interner);
+		if (factory.getEntityManager() != interner.getEntityManager()) {
+			throw new IllegalArgumentException("Invalid entity interner: '" + interner + "'.");
+		}
+		this.factory = factory;
+		this.interner = interner;
+	}
+
+	@SafeVarargs
+	private final <T> Set<T> asSet(T... elements) {
+		Set<T> ret = new HashSet<>();
+		for (T element : elements) {
+			ret.add(element);
+		}
+		return ret;
+	}
+
+	private ComplexIntegerAxiom getAssertionAxiom(String subject, String predicate, String object) {
+		if (isVocabulary(predicate) || this.annotationProperties.contains(predicate)) {
+			throw new UnsupportedConstructException(predicate);
+		}
+		ComplexIntegerAxiom ret;
+		if (isLiteral(object)) {
+			if (!this.dataProperties.contains(predicate)) {
+				throw new UnsupportedConstructException(predicate);
+			}
+			ret = getAxiomFactory().createDataPropertyAssertionAxiom(
+					this.interner.getId(IntegerEntityType.DATA_PROPERTY, predicate), getIndividual(subject),
+					this.interner.getId(IntegerEntityType.LITERAL, object.substring(literalPrefix.length())),
+					this.annotations);
+		} else {
+			ret = getAxiomFactory().createObjectPropertyAssertionAxiom(getObjectPropertyExpression(predicate),
+					getIndividual(subject), getIndividual(object), this.annotations);
+		}
+		return ret;
+	}
+
+	private ComplexIntegerAxiom getAxiom(String subject, String predicate, String object) {
+		ComplexIntegerAxiom ret;
+		switch (predicate) {
+		case rdfType:
+			ret = getTypeAxiom(subject, object);
+			break;
+
+		case rdfsSubClassOf:
+			ret = getAxiomFactory().createSubClassOfAxiom(getClassExpression(subject), getClassExpression(object),
+					this.annotations);
+			break;
+
+		case owlEquivalentClass:
+			ret = getAxiomFactory().createEquivalentClassesAxiom(
+					asSet(getClassExpression(subject), getClassExpression(object)), this.annotations);
+			break;
+
+		case owlDisjointWith:
+			ret = getAxiomFactory().createDisjointClassesAxiom(
+					asSet(getClassExpression(subject), getClassExpression(object)), this.annotations);
+			break;
+
+		case rdfsSubPropertyOf:
+			ret = getAxiomFactory().createSubObjectPropertyOfAxiom(getObjectPropertyExpression(subject),
+					getObjectPropertyExpression(object), this.annotations);
+			break;
+
+		case owlEquivalentProperty:
+			ret = getAxiomFactory().createEquivalentObjectPropertiesAxiom(
+					asSet(getObjectPropertyExpression(subject), getObjectPropertyExpression(object)),
+					this.annotations);
+			break;
+
+		case owlInverseOf:
+			ret = getAxiomFactory().createInverseObjectPropertiesAxiom(getObjectPropertyExpression(subject),
+					getObjectPropertyExpression(object), this.annotations);
+			break;
+
+		case rdfsDomain:
+			ret = getAxiomFactory().createSubClassOfAxiom(
+					getDataTypeFactory().createObjectSomeValuesFrom(getObjectPropertyExpression(subject),
+							getDataTypeFactory().createClass(IntegerEntityManager.topClassId)),
+					getClassExpression(object), this.annotations);
+			break;
+
+		case rdfsRange:
+			ret = getAxiomFactory().createPropertyRangeAxiom(getObjectPropertyExpression(subject),
+					getClassExpression(object), this.annotations);
+			break;
+
+		case owlPropertyChainAxiom: {
+			List<IntegerObjectPropertyExpression> chain = new ArrayList<>();
+			getList(object).forEach(property -> chain.add(getObjectPropertyExpression(property)));
+			ret = getAxiomFactory().createSubPropertyChainOfAxiom(chain, getObjectPropertyExpression(subject),
+					this.annotations);
+			break;
+		}
+
+		case owlSameAs:
+			ret = getAxiomFactory().createSameIndividualAxiom(asSet(getIndividual(subject), getIndividual(object)),
+					this.annotations);
+			break;
+
+		case owlDifferentFrom:
+			ret = getAxiomFactory().createDifferentIndividualsAxiom(
+					asSet(getIndividual(subject), getIndividual(object)), this.annotations);
+			break;
+
+		default:
+			ret = getAssertionAxiom(subject, predicate, object);
+		}
+		return ret;
+	}
+
+	private ComplexIntegerAxiomFactory getAxiomFactory() {
+		return this.factory.getComplexAxiomFactory();
+	}
+
+	private IntegerClassExpression getClassExpression(String term) {
+		IntegerClassExpression ret;
+		if (isBlankNode(term)) {
+			Optional<String> property = getValue(term, owlOnProperty);
+			Optional<String> filler = getValue(term, owlSomeValuesFrom);
+			Optional<String> operands = getValue(term, owlIntersectionOf);
+			Optional<String> individuals = getValue(term, owlOneOf);
+			if (operands.isPresent()) {
+				Set<IntegerClassExpression> operandSet = new HashSet<>();
+				getList(operands.get()).forEach(operand -> operandSet.add(getClassExpression(operand)));
+				ret = getDataTypeFactory().createObjectIntersectionOf(operandSet);
+			} else if (property.isPresent() && filler.isPresent()) {
+				ret = getDataTypeFactory().createObjectSomeValuesFrom(getObjectPropertyExpression(property.get()),
+						getClassExpression(filler.get()));
+			} else if (individuals.isPresent() && getList(individuals.get()).size() == 1) {
+				ret = getDataTypeFactory().createObjectOneOf(getIndividual(getList(individuals.get()).get(0)));
+			} else {
+				throw new UnsupportedConstructException(term);
+			}
+		} else if (isLiteral(term)) {
+			throw new UnsupportedConstructException(term);
+		} else {
+			ret = getDataTypeFactory().createClass(this.interner.getId(IntegerEntityType.CLASS, term));
+		}
+		return ret;
+	}
+
+	private IntegerDataTypeFactory getDataTypeFactory() {
+		return this.factory.getDataTypeFactory();
+	}
+
+	/**
+	 * Returns the number of triples that have been skipped because they are
+	 * annotations or cannot be translated.
+	 * 
+	 * @return the number of triples that have been skipped
+	 */
+	public long getIgnoredTripleCount() {
+		return this.ignoredTripleCount;
+	}
+
+	private int getIndividual(String term) {
+		if (isBlankNode(term) || isLiteral(term)) {
+			throw new UnsupportedConstructException(term);
+		}
+		return this.interner.getId(IntegerEntityType.INDIVIDUAL, term);
+	}
+
+	/**
+	 * Returns the entity interner.
+	 * 
+	 * @return the entity interner
+	 */
+	public EntityInterner getInterner() {
+		return this.interner;
+	}
+
+	private List<String> getList(String term) {
+		List<String> ret = new ArrayList<>();
+		String current = term;
+		while (!current.equals(rdfNil)) {
+			Optional<String> first = getValue(current, rdfFirst);
+			Optional<String> rest = getValue(current, rdfRest);
+			if (!first.isPresent() || !rest.isPresent()) {
+				throw new UnsupportedConstructException(term);
+			}
+			ret.add(first.get());
+			current = rest.get();
+		}
+		return ret;
+	}
+
+	private IntegerObjectPropertyExpression getObjectPropertyExpression(String term) {
+		IntegerObjectPropertyExpression ret;
+		if (isBlankNode(term)) {
+			Optional<String> inverse = getValue(term, owlInverseOf);
+			if (!inverse.isPresent() || isBlankNode(inverse.get())) {
+				throw new UnsupportedConstructException(term);
+			}
+			ret = getDataTypeFactory().createObjectInverseOf((IntegerObjectProperty) getObjectPropertyExpression(
+					inverse.get()));
+		} else if (isLiteral(term) || this.dataProperties.contains(term)) {
+			throw new UnsupportedConstructException(term);
+		} else {
+			ret = getDataTypeFactory()
+					.createObjectProperty(this.interner.getId(IntegerEntityType.OBJECT_PROPERTY, term));
+		}
+		return ret;
+	}
+
+	private ComplexIntegerAxiom getTypeAxiom(String subject, String type) {
+		ComplexIntegerAxiom ret;
+		switch (type) {
+		case owlClass:
+			ret = getAxiomFactory().createClassDeclarationAxiom(
+					this.interner.getId(IntegerEntityType.CLASS, subject), this.annotations);
+			break;
+
+		case owlObjectProperty:
+			this.objectProperties.add(subject);
+			ret = getAxiomFactory().createObjectPropertyDeclarationAxiom(
+					this.interner.getId(IntegerEntityType.OBJECT_PROPERTY, subject), this.annotations);
+			break;
+
+		case owlDatatypeProperty:
+			this.dataProperties.add(subject);
+			ret = getAxiomFactory().createDataPropertyDeclarationAxiom(
+					this.interner.getId(IntegerEntityType.DATA_PROPERTY, subject), this.annotations);
+			break;
+
+		case owlNamedIndividual:
+			ret = getAxiomFactory().createNamedIndividualDeclarationAxiom(getIndividual(subject), this.annotations);
+			break;
+
+		case owlTransitiveProperty:
+			ret = getAxiomFactory().createTransitiveObjectPropertyAxiom(getObjectPropertyExpression(subject),
+					this.annotations);
+			break;
+
+		case owlReflexiveProperty:
+			ret = getAxiomFactory().createReflexiveObjectPropertyAxiom(getObjectPropertyExpression(subject),
+					this.annotations);
+			break;
+
+		case owlFunctionalProperty:
+			ret = getAxiomFactory().createFunctionalObjectPropertyAxiom(getObjectPropertyExpression(subject),
+					this.annotations);
+			break;
+
+		case owlInverseFunctionalProperty:
+			ret = getAxiomFactory().createInverseFunctionalObjectPropertyAxiom(getObjectPropertyExpression(subject),
+					this.annotations);
+			break;
+
+		case owlAllDisjointClasses: {
+			Set<IntegerClassExpression> classes = new HashSet<>();
+			getList(getValue(subject, owlMembers).orElseThrow(() -> new UnsupportedConstructException(subject)))
+					.forEach(member -> classes.add(getClassExpression(member)));
+			ret = getAxiomFactory().createDisjointClassesAxiom(classes, this.annotations);
+			break;
+		}
+
+		case owlAllDifferent: {
+			Set<Integer> individuals = new HashSet<>();
+			Optional<String> members = getValue(subject, owlMembers);
+			getList(members.isPresent() ? members.get()
+					: getValue(subject, owlDistinctMembers)
+							.orElseThrow(() -> new UnsupportedConstructException(subject)))
+									.forEach(member -> individuals.add(getIndividual(member)));
+			ret = getAxiomFactory().createDifferentIndividualsAxiom(individuals, this.annotations);
+			break;
+		}
+
+		default:
+			if (type.equals(owlAnnotationProperty)) {
+				this.annotationProperties.add(subject);
+			}
+			if (isVocabulary(type) && !type.equals(EntityInterner.owlThing)) {
+				throw new UnsupportedConstructException(type);
+			}
+			ret = getAxiomFactory().createClassAssertionAxiom(getClassExpression(type), getIndividual(subject),
+					this.annotations);
+		}
+		return ret;
+	}
+
+	private Optional<String> getValue(String blankNode, String predicate) {
+		List<String[]> pairs = this.blankNodeMap.get(blankNode);
+		Optional<String> ret = Optional.empty();
+		if (Objects.nonNull(pairs)) {
+			ret = pairs.stream().filter(pair -> pair[0].equals(predicate)).map(pair -> pair[1]).findFirst();
+		}
+		return ret;
+	}
+
+	private boolean isBlankNode(String term) {
+		return term.startsWith(blankNodePrefix);
+	}
+
+	/**
+	 * Tells whether the triple can be translated before reading the rest of
+	 * the input. This is the case when the object is not a blank node, and the
+	 * predicate is either part of the vocabulary or has been declared.
+	 */
+	private boolean isDecidable(String subject, String predicate, String object) {
+		boolean ret;
+		if (isBlankNode(object)) {
+			ret = false;
+		} else if (predicate.equals(rdfsDomain) || predicate.equals(rdfsRange)
+				|| predicate.equals(rdfsSubPropertyOf)) {
+			ret = this.objectProperties.contains(subject) || this.dataProperties.contains(subject);
+		} else if (isVocabulary(predicate) || this.annotationProperties.contains(predicate)) {
+			ret = true;
+		} else {
+			ret = isLiteral(object) ? this.dataProperties.contains(predicate)
+					: this.objectProperties.contains(predicate);
+		}
+		return ret;
+	}
+
+	private boolean isLiteral(String term) {
+		return term.startsWith(literalPrefix);
+	}
+
+	private boolean isVocabulary(String iri) {
+		return iri.startsWith(owl) || iri.startsWith(rdf) || iri.startsWith(rdfs) || iri.startsWith(xsd);
+	}
+
+	/**
+	 * Adds the triples that another parser has kept until the end of its
+	 * input, as well as the properties it has found declared. This is used to
+	 * translate an input that has been parsed in several parts.
+	 * 
+	 * @param other
+	 *            parser that has read another part of the input
+	 */
+	void merge(NTriplesParser other) {
+		Objects.requireNonNull(other);
+		this.annotationProperties.addAll(other.annotationProperties);
+		this.dataProperties.addAll(other.dataProperties);
+		this.objectProperties.addAll(other.objectProperties);
+		this.deferredTriples.addAll(other.deferredTriples);
+		other.blankNodeMap.forEach((blankNode, pairs) -> this.blankNodeMap
+				.computeIfAbsent(blankNode, key -> new ArrayList<>()).addAll(pairs));
+		this.ignoredTripleCount += other.ignoredTripleCount;
+	}
+
+	/**
+	 * Parses the given text and returns the axioms.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @return the axioms
+	 * @throws IOException
+	 *             if something goes wrong with the reader
+	 * @throws OntologyParserException
+	 *             if the text is not in N-Triples
+	 */
+	public Set<ComplexIntegerAxiom> parse(Reader reader) throws IOException {
+		Objects.requireNonNull(reader);
+		Set<ComplexIntegerAxiom> ret = new HashSet<>();
+		parse(reader, ret::add);
+		return ret;
+	}
+
+	/**
+	 * Parses the given text and gives the axioms to the consumer. The axioms
+	 * that only involve IRIs are given as soon as they are read, and the other
+	 * ones at the end of the input.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @param consumer
+	 *            consumer of the axioms
+	 * @throws IOException
+	 *             if something goes wrong with the reader
+	 * @throws OntologyParserException
+	 *             if the text is not in N-Triples
+	 */
+	public void parse(Reader reader, Consumer<ComplexIntegerAxiom> consumer) throws IOException {
+		Objects.requireNonNull(reader);
+		Objects.requireNonNull(consumer);
+		parseTriples(reader, consumer);
+		resolve(consumer);
+	}
+
+	private int parseIri(String line, int start, StringBuilder sbuf) {
+		int pos = start + 1;
+		while (pos < line.length() && line.charAt(pos) != '>') {
+			sbuf.append(line.charAt(pos));
+			pos++;
+		}
+		if (pos == line.length()) {
+			throw new OntologyParserException(this.lineNumber, "Unterminated IRI: '" + line + "'.");
+		}
+		return pos + 1;
+	}
+
+	private int parseLiteral(String line, int start, StringBuilder sbuf) {
+		sbuf.append(literalPrefix);
+		int pos = start + 1;
+		while (pos < line.length() && line.charAt(pos) != '"') {
+			char ch = line.charAt(pos);
+			if (ch == '\\' && pos + 1 < line.length()) {
+				pos++;
+				ch = line.charAt(pos);
+				if (ch == 'u' || ch == 'U') {
+					int length = ch == 'u' ? 4 : 8;
+					if (pos + length >= line.length()) {
+						throw new OntologyParserException(this.lineNumber, "Invalid escape sequence: '" + line + "'.");
+					}
+					sbuf.appendCodePoint(Integer.parseInt(line.substring(pos + 1, pos + 1 + length), 16));
+					pos += length;
+				} else {
+					sbuf.append(ch == 't' ? '\t'
+							: ch == 'n' ? '\n' : ch == 'r' ? '\r' : ch == 'b' ? '\b' : ch == 'f' ? '\f' : ch);
+				}
+			} else {
+				sbuf.append(ch);
+			}
+			pos++;
+		}
+		if (pos == line.length()) {
+			throw new OntologyParserException(this.lineNumber, "Unterminated literal: '" + line + "'.");
+		}
+		pos++;
+		if (pos + 1 < line.length() && line.charAt(pos) == '^' && line.charAt(pos + 1) == '^') {
+			pos = parseIri(line, pos + 2, new StringBuilder());
+		} else {
+			while (pos < line.length() && !Character.isWhitespace(line.charAt(pos))) {
+				pos++;
+			}
+		}
+		return pos;
+	}
+
+	/**
+	 * Parses the given text without translating the triples that are kept
+	 * until the end of the input. These triples are translated by
+	 * {@link #resolve(Consumer)}.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @param consumer
+	 *            consumer of the axioms that can be translated immediately
+	 * @throws IOException
+	 *             if something goes wrong with the reader
+	 */
+	void parseTriples(Reader reader, Consumer<ComplexIntegerAxiom> consumer) throws IOException {
+		BufferedReader input = new BufferedReader(reader);
+		for (String line = input.readLine(); Objects.nonNull(line); line = input.readLine()) {
+			this.lineNumber++;
+			String trimmed = line.trim();
+			if (!trimmed.isEmpty() && !trimmed.startsWith(comment)) {
+				String[] triple = parseTriple(trimmed);
+				processTriple(triple[0], triple[1], triple[2], consumer);
+			}
+		}
+	}
+
+	private String[] parseTriple(String line) {
+		String[] ret = new String[3];
+		int pos = 0;
+		for (int index = 0; index < ret.length; index++) {
+			while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+				pos++;
+			}
+			if (pos == line.length()) {
+				throw new OntologyParserException(this.lineNumber, "Incomplete triple: '" + line + "'.");
+			}
+			StringBuilder sbuf = new StringBuilder();
+			char ch = line.charAt(pos);
+			if (ch == '<') {
+				pos = parseIri(line, pos, sbuf);
+			} else if (ch == '"' && index == 2) {
+				pos = parseLiteral(line, pos, sbuf);
+			} else if (line.startsWith(blankNodePrefix, pos) && index != 1) {
+				while (pos < line.length() && !Character.isWhitespace(line.charAt(pos))) {
+					sbuf.append(line.charAt(pos));
+					pos++;
+				}
+			} else {
+				throw new OntologyParserException(this.lineNumber, "Invalid term: '" + line.substring(pos) + "'.");
+			}
+			ret[index] = sbuf.toString();
+		}
+		return ret;
+	}
+
+	private void processTriple(String subject, String predicate, String object,
+			Consumer<ComplexIntegerAxiom> consumer) {
+		if (isBlankNode(subject)) {
+			this.blankNodeMap.computeIfAbsent(subject, key -> new ArrayList<>())
+					.add(new String[] { predicate, object });
+		} else if (isDecidable(subject, predicate, object)) {
+			translate(subject, predicate, object, consumer);
+		} else {
+			this.deferredTriples.add(new String[] { subject, predicate, object });
+		}
+	}
+
+	/**
+	 * Translates the triples that have been kept until the end of the input.
+	 * 
+	 * @param consumer
+	 *            consumer of the axioms
+	 */
+	void resolve(Consumer<ComplexIntegerAxiom> consumer) {
+		this.deferredTriples.forEach(triple -> translate(triple[0], triple[1], triple[2], consumer));
+		this.deferredTriples.clear();
+		this.blankNodeMap.forEach((blankNode, pairs) -> pairs.forEach(pair -> {
+			if (pair[0].equals(rdfsSubClassOf) || pair[0].equals(owlEquivalentClass)
+					|| pair[0].equals(owlDisjointWith) || (pair[0].equals(rdfType)
+							&& (pair[1].equals(owlAllDisjointClasses) || pair[1].equals(owlAllDifferent)))) {
+				translate(blankNode, pair[0], pair[1], consumer);
+			}
+		}));
+		this.blankNodeMap.clear();
+	}
+
+	@Override
+	public String toString() {
+		return this.interner.toString();
+	}
+
+	private void translate(String subject, String predicate, String object, Consumer<ComplexIntegerAxiom> consumer) {
+		try {
+			consumer.accept(getAxiom(subject, predicate, object));
+		} catch (UnsupportedConstructException e) {
+			this.ignoredTripleCount++;
+		}
+	}
+
+}
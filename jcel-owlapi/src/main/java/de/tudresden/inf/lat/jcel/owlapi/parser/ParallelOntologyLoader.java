@@ -0,0 +1,278 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+
+/**
+ * An object of this class loads a large ontology using several threads. The
+ * input is split into chunks: N-Triples at line boundaries, and OWL functional
+ * syntax at axiom boundaries. Each chunk is parsed by its own parser into a
+ * batch of axioms, and all the parsers share the same {@link EntityInterner},
+ * so that the identifiers are created concurrently in the same entity
+ * manager. <br>
+ * The resulting axioms are the same as the ones obtained with a single
+ * parser, but the identifiers assigned to the entities depend on the order in
+ * which the threads find them.
+ * 
+ * @author Julian Mendez
+ */
+public class ParallelOntologyLoader {
+
+	/**
+	 * Syntax of the input.
+	 */
+	public enum Format {
+		FUNCTIONAL, NTRIPLES
+	}
+
+	/**
+	 * Result of parsing a chunk.
+	 */
+	private static class Batch {
+
+		private final List<ComplexIntegerAxiom> axioms = new ArrayList<>();
+		private long ignoredCount = 0;
+		private Optional<NTriplesParser> parser = Optional.empty();
+
+	}
+
+	public static final int defaultChunkSize = 0x400000;
+	private static final Logger logger = Logger.getLogger(ParallelOntologyLoader.class.getName());
+	private static final int pendingChunksPerThread = 2;
+
+	private final int chunkSize;
+	private final IntegerOntologyObjectFactory factory;
+	private long ignoredCount = 0;
+	private final EntityInterner interner;
+	private final int numberOfThreads;
+
+	/**
+	 * Constructs a new loader with the default chunk size.
+	 * 
+	 * @param factory
+	 *            factory to create the axioms
+	 * @param numberOfThreads
+	 *            number of threads used to parse
+	 */
+	public ParallelOntologyLoader(IntegerOntologyObjectFactory factory, int numberOfThreads) {
+		this(factory, numberOfThreads, defaultChunkSize);
+	}
+
+	/**
+	 * Constructs a new loader.
+	 * 
+	 * @param factory
+	 *            factory to create the axioms
+	 * @param numberOfThreads
+	 *            number of threads used to parse
+	 * @param chunkSize
+	 *            approximate number of characters of each chunk
+	 */
+	public ParallelOntologyLoader(IntegerOntologyObjectFactory factory, int numberOfThreads, int chunkSize) {
+		Objects.requireNonNull(factory);
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("Invalid number of threads: '" + numberOfThreads + "'.");
+		}
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Invalid chunk size: '" + chunkSize + "'.");
+		}
+		this.factory = factory;
+		this.interner = new EntityInterner(factory.getEntityManager());
+		this.numberOfThreads = numberOfThreads;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Returns the number of axioms or triples that have been skipped by the
+	 * last load.
+	 * 
+	 * @return the number of axioms or triples that have been skipped by the
+	 *         last load
+	 */
+	public long getIgnoredCount() {
+		return this.ignoredCount;
+	}
+
+	/**
+	 * Returns the entity interner shared by the parsers.
+	 * 
+	 * @return the entity interner shared by the parsers
+	 */
+	public EntityInterner getInterner() {
+		return this.interner;
+	}
+
+	/**
+	 * Loads an ontology.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @param format
+	 *            syntax of the input
+	 * @return the axioms of the ontology
+	 * @throws IOException
+	 *             if something goes wrong with the reader
+	 * @throws OntologyParserException
+	 *             if the input cannot be parsed
+	 */
+	public Set<ComplexIntegerAxiom> load(Reader reader, Format format) throws IOException {
+		Objects.requireNonNull(reader);
+		Objects.requireNonNull(format);
+		Set<ComplexIntegerAxiom> ret = new HashSet<>();
+		this.ignoredCount = 0;
+		if (format.equals(Format.FUNCTIONAL)) {
+			process(new FunctionalSyntaxSplitter(reader, this.chunkSize), this::parseFunctionalSyntax, batch -> {
+				ret.addAll(batch.axioms);
+				this.ignoredCount += batch.ignoredCount;
+			});
+		} else {
+			BufferedReader input = new BufferedReader(reader);
+			NTriplesParser parser = new NTriplesParser(this.factory, this.interner);
+			process(() -> readLines(input), this::parseNTriples, batch -> {
+				ret.addAll(batch.axioms);
+				batch.parser.ifPresent(parser::merge);
+			});
+			parser.resolve(ret::add);
+			this.ignoredCount = parser.getIgnoredTripleCount();
+		}
+		return ret;
+	}
+
+	private Batch parseFunctionalSyntax(String chunk) {
+		Batch ret = new Batch();
+		FunctionalSyntaxParser parser = new FunctionalSyntaxParser(this.factory, this.interner);
+		try {
+			parser.parse(new StringReader(chunk), ret.axioms::add);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		ret.ignoredCount = parser.getIgnoredAxiomCount();
+		return ret;
+	}
+
+	private Batch parseNTriples(String chunk) {
+		Batch ret = new Batch();
+		NTriplesParser parser = new NTriplesParser(this.factory, this.interner);
+		try {
+			parser.parseTriples(new StringReader(chunk), ret.axioms::add);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		ret.parser = Optional.of(parser);
+		return ret;
+	}
+
+	private void process(ChunkReader chunkReader, Function<String, Batch> task, Consumer<Batch> merger)
+			throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(this.numberOfThreads);
+		try {
+			Deque<Future<Batch>> pending = new ArrayDeque<>();
+			int chunkCount = 0;
+			for (Optional<String> chunk = chunkReader.nextChunk(); chunk.isPresent(); chunk = chunkReader
+					.nextChunk()) {
+				String text = chunk.get();
+				pending.add(executor.submit(() -> task.apply(text)));
+				chunkCount++;
+				if (pending.size() > pendingChunksPerThread * this.numberOfThreads) {
+					merger.accept(pending.remove().get());
+				}
+			}
+			while (!pending.isEmpty()) {
+				merger.accept(pending.remove().get());
+			}
+			logger.fine("parsed " + chunkCount + " chunks using " + this.numberOfThreads + " thread(s).");
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			} else if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Optional<String> readLines(BufferedReader input) throws IOException {
+		StringBuilder sbuf = new StringBuilder();
+		for (String line = input.readLine(); Objects.nonNull(line); line = input.readLine()) {
+			sbuf.append(line).append('\n');
+			if (sbuf.length() >= this.chunkSize) {
+				break;
+			}
+		}
+		return sbuf.length() > 0 ? Optional.of(sbuf.toString()) : Optional.empty();
+	}
+
+}
@@ -46,10 +46,11 @@
 
 package de.tudresden.inf.lat.jcel.owlapi.translator;
 
-import java.util.HashMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -69,7 +70,7 @@ import de.tudresden.inf.lat.util.map.OptMapImpl;
 /**
  * An object of this class is a repository used for the translation between OWL
  * API objects and the integer numbers. Each entity is identified by an integer
- * number.
+ * number. It can be shared by translators running on different threads.
  * 
  * @author Julian Mendez
  */
@@ -78,21 +79,21 @@ public class TranslationRepository {
 	private final OWLClass bottomClass;
 	private final OWLDataProperty bottomDataProperty;
 	private final OWLObjectProperty bottomObjectProperty;
-	private final OptMap<OWLClass, Integer> classInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, OWLClass> classMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<OWLDataProperty, Integer> dataPropertyInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, OWLDataProperty> dataPropertyMap = new OptMapImpl<>(new HashMap<>());
+	private final OptMap<OWLClass, Integer> classInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, OWLClass> classMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLDataProperty, Integer> dataPropertyInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, OWLDataProperty> dataPropertyMap = new OptMapImpl<>(new ConcurrentHashMap<>());
 	private final IntegerEntityManager entityManager;
-	private final OptMap<OWLNamedIndividual, Integer> individualInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, OWLNamedIndividual> individualMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<OWLLiteral, Integer> literalInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, OWLLiteral> literalMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<OWLObjectProperty, Integer> objectPropertyInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, OWLObjectProperty> objectPropertyMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<OWLAnnotationProperty, Integer> annotationPropertyInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, OWLAnnotationProperty> annotationPropertyMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<OWLAnnotationValue, Integer> annotationValueInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, OWLAnnotationValue> annotationValueMap = new OptMapImpl<>(new HashMap<>());
+	private final OptMap<OWLNamedIndividual, Integer> individualInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, OWLNamedIndividual> individualMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLLiteral, Integer> literalInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, OWLLiteral> literalMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLObjectProperty, Integer> objectPropertyInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, OWLObjectProperty> objectPropertyMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLAnnotationProperty, Integer> annotationPropertyInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, OWLAnnotationProperty> annotationPropertyMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<OWLAnnotationValue, Integer> annotationValueInvMap = new OptMapImpl<>(new ConcurrentHashMap<>());
+	private final OptMap<Integer, OWLAnnotationValue> annotationValueMap = new OptMapImpl<>(new ConcurrentHashMap<>());
 	private final OWLClass topClass;
 	private final OWLDataProperty topDataProperty;
 	private final OWLObjectProperty topObjectProperty;
@@ -155,14 +156,8 @@ public class TranslationRepository {
 	 */
 	public boolean addClass(OWLClass cls) {
 		Objects.requireNonNull(cls);
-		boolean ret = false;
-		if (!this.classInvMap.containsKey(cls)) {
-			Integer id = this.entityManager.createNamedEntity(IntegerEntityType.CLASS, cls.toStringID(), false);
-			this.classMap.put(id, cls);
-			this.classInvMap.put(cls, id);
-			ret = true;
-		}
-		return ret;
+		return !this.classInvMap.containsKey(cls)
+				&& addEntity(this.classMap, this.classInvMap, cls, IntegerEntityType.CLASS, cls.toStringID());
 	}
 
 	/**
@@ -174,13 +169,40 @@ public class TranslationRepository {
 	 */
 	public boolean addDataProperty(OWLDataProperty dataProp) {
 		Objects.requireNonNull(dataProp);
+		return !this.dataPropertyInvMap.containsKey(dataProp)
+				&& addEntity(this.dataPropertyMap, this.dataPropertyInvMap, dataProp,
+						IntegerEntityType.DATA_PROPERTY, dataProp.toStringID());
+	}
+
+	/**
+	 * Adds the classes, object properties, data properties and named
+	 * individuals that are already defined in the entity manager, using their
+	 * names as IRIs. This is needed when the entity manager has not been
+	 * filled by this repository, for example when it comes from a loaded
+	 * normalized ontology snapshot.
+	 * 
+	 * @param dataFactory
+	 *            OWL data factory
+	 * @return <code>true</code> if and only if the repository has changed
+	 */
+	public boolean addEntityManagerEntities(OWLDataFactory dataFactory) {
+		Objects.requireNonNull(dataFactory);
 		boolean ret = false;
-		if (!this.dataPropertyInvMap.containsKey(dataProp)) {
-			Integer id = this.entityManager.createNamedEntity(IntegerEntityType.DATA_PROPERTY, dataProp.toStringID(),
-					false);
-			this.dataPropertyMap.put(id, dataProp);
-			this.dataPropertyInvMap.put(dataProp, id);
-			ret = true;
+		for (Integer id : this.entityManager.getEntities(IntegerEntityType.CLASS, false)) {
+			ret |= putEntity(this.classMap, this.classInvMap, id,
+					dataFactory.getOWLClass(IRI.create(this.entityManager.getName(id))));
+		}
+		for (Integer id : this.entityManager.getEntities(IntegerEntityType.OBJECT_PROPERTY, false)) {
+			ret |= putEntity(this.objectPropertyMap, this.objectPropertyInvMap, id,
+					dataFactory.getOWLObjectProperty(IRI.create(this.entityManager.getName(id))));
+		}
+		for (Integer id : this.entityManager.getEntities(IntegerEntityType.DATA_PROPERTY, false)) {
+			ret |= putEntity(this.dataPropertyMap, this.dataPropertyInvMap, id,
+					dataFactory.getOWLDataProperty(IRI.create(this.entityManager.getName(id))));
+		}
+		for (Integer id : this.entityManager.getEntities(IntegerEntityType.INDIVIDUAL, false)) {
+			ret |= putEntity(this.individualMap, this.individualInvMap, id,
+					dataFactory.getOWLNamedIndividual(IRI.create(this.entityManager.getName(id))));
 		}
 		return ret;
 	}
@@ -194,14 +216,8 @@ public class TranslationRepository {
 	 */
 	public boolean addLiteral(OWLLiteral lit) {
 		Objects.requireNonNull(lit);
-		boolean ret = false;
-		if (!this.literalInvMap.containsKey(lit)) {
-			Integer id = this.entityManager.createNamedEntity(IntegerEntityType.LITERAL, lit.getLiteral(), false);
-			this.literalMap.put(id, lit);
-			this.literalInvMap.put(lit, id);
-			ret = true;
-		}
-		return ret;
+		return !this.literalInvMap.containsKey(lit)
+				&& addEntity(this.literalMap, this.literalInvMap, lit, IntegerEntityType.LITERAL, lit.getLiteral());
 	}
 
 	/**
@@ -213,14 +229,9 @@ public class TranslationRepository {
 	 */
 	public boolean addNamedIndividual(OWLNamedIndividual indiv) {
 		Objects.requireNonNull(indiv);
-		boolean ret = false;
-		if (!this.individualInvMap.containsKey(indiv)) {
-			Integer id = this.entityManager.createNamedEntity(IntegerEntityType.INDIVIDUAL, indiv.toStringID(), false);
-			this.individualMap.put(id, indiv);
-			this.individualInvMap.put(indiv, id);
-			ret = true;
-		}
-		return ret;
+		return !this.individualInvMap.containsKey(indiv)
+				&& addEntity(this.individualMap, this.individualInvMap, indiv,
+						IntegerEntityType.INDIVIDUAL, indiv.toStringID());
 	}
 
 	/**
@@ -232,15 +243,9 @@ public class TranslationRepository {
 	 */
 	public boolean addObjectProperty(OWLObjectProperty objProp) {
 		Objects.requireNonNull(objProp);
-		boolean ret = false;
-		if (!this.objectPropertyInvMap.containsKey(objProp)) {
-			Integer id = this.entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, objProp.toStringID(),
-					false);
-			this.objectPropertyMap.put(id, objProp);
-			this.objectPropertyInvMap.put(objProp, id);
-			ret = true;
-		}
-		return ret;
+		return !this.objectPropertyInvMap.containsKey(objProp)
+				&& addEntity(this.objectPropertyMap, this.objectPropertyInvMap, objProp,
+						IntegerEntityType.OBJECT_PROPERTY, objProp.toStringID());
 	}
 
 	/**
@@ -252,15 +257,9 @@ public class TranslationRepository {
 	 */
 	public boolean addAnnotationProperty(OWLAnnotationProperty annProp) {
 		Objects.requireNonNull(annProp);
-		boolean ret = false;
-		if (!this.annotationPropertyInvMap.containsKey(annProp)) {
-			Integer id = this.entityManager.createNamedEntity(IntegerEntityType.ANNOTATION_PROPERTY,
-					annProp.toStringID(), false);
-			this.annotationPropertyMap.put(id, annProp);
-			this.annotationPropertyInvMap.put(annProp, id);
-			ret = true;
-		}
-		return ret;
+		return !this.annotationPropertyInvMap.containsKey(annProp)
+				&& addEntity(this.annotationPropertyMap, this.annotationPropertyInvMap, annProp,
+						IntegerEntityType.ANNOTATION_PROPERTY, annProp.toStringID());
 	}
 
 	/**
@@ -272,15 +271,36 @@ public class TranslationRepository {
 	 */
 	public boolean addAnnotationValue(OWLAnnotationValue annValue) {
 		Objects.requireNonNull(annValue);
+		return !this.annotationValueInvMap.containsKey(annValue) && annValue.asLiteral().isPresent()
+				&& addEntity(this.annotationValueMap, this.annotationValueInvMap, annValue,
+						IntegerEntityType.ANNOTATION_VALUE, annValue.asLiteral().get().getLiteral());
+	}
+
+	/**
+	 * Adds an entity to the given maps, if it is not there yet. The check and
+	 * the creation of the identifier are synchronized, so that concurrent
+	 * translators do not create two identifiers for the same entity.
+	 * 
+	 * @param map
+	 *            map from identifiers to entities
+	 * @param invMap
+	 *            map from entities to identifiers
+	 * @param entity
+	 *            entity
+	 * @param type
+	 *            type of the entity
+	 * @param name
+	 *            name of the entity
+	 * @return <code>true</code> if and only if the entity has been added
+	 */
+	private synchronized <T> boolean addEntity(OptMap<Integer, T> map, OptMap<T, Integer> invMap, T entity,
+			IntegerEntityType type, String name) {
 		boolean ret = false;
-		if (!this.annotationValueInvMap.containsKey(annValue)) {
-			if (annValue.asLiteral().isPresent()) {
-				Integer id = this.entityManager.createNamedEntity(IntegerEntityType.ANNOTATION_VALUE,
-						annValue.asLiteral().get().getLiteral(), false);
-				this.annotationValueMap.put(id, annValue);
-				this.annotationValueInvMap.put(annValue, id);
-				ret = true;
-			}
+		if (!invMap.containsKey(entity)) {
+			Integer id = this.entityManager.createNamedEntity(type, name, false);
+			map.put(id, entity);
+			invMap.put(entity, id);
+			ret = true;
 		}
 		return ret;
 	}
@@ -500,6 +520,17 @@ public class TranslationRepository {
 		this.dataPropertyInvMap.put(this.topDataProperty, IntegerEntityManager.topDataPropertyId);
 	}
 
+	private synchronized <T> boolean putEntity(OptMap<Integer, T> map, OptMap<T, Integer> invMap, Integer id,
+			T entity) {
+		boolean ret = false;
+		if (!map.containsKey(id) && !invMap.containsKey(entity)) {
+			map.put(id, entity);
+			invMap.put(entity, id);
+			ret = true;
+		}
+		return ret;
+	}
+
 	@Override
 	public String toString() {
 		StringBuffer sbuf = new StringBuffer();
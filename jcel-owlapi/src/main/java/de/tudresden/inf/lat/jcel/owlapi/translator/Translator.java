@@ -46,10 +46,18 @@
 
 package de.tudresden.inf.lat.jcel.owlapi.translator;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -166,6 +174,87 @@ public class Translator {
 		return ret;
 	}
 
+	/**
+	 * Translates a set of OWL axioms using the given number of threads.
+	 * 
+	 * @param owlObject
+	 *            set of OWL axioms
+	 * @param numberOfThreads
+	 *            number of threads used to translate the axioms
+	 * @return the set of translated axioms
+	 * @see #translateMA(Set, int)
+	 */
+	public Set<ComplexIntegerAxiom> translateSA(Set<OWLAxiom> owlObject, int numberOfThreads) {
+		Objects.requireNonNull(owlObject);
+		Set<ComplexIntegerAxiom> ret = new HashSet<>();
+		translateMA(owlObject, numberOfThreads).values().forEach(ret::addAll);
+		return ret;
+	}
+
+	/**
+	 * Translates each OWL axiom of a set using the given number of threads.
+	 * The axioms are partitioned in chunks of similar size, and each chunk is
+	 * translated on its own thread. All the threads share the same translation
+	 * repository.
+	 * 
+	 * @param owlObject
+	 *            set of OWL axioms
+	 * @param numberOfThreads
+	 *            number of threads used to translate the axioms
+	 * @return a map that associates each OWL axiom with its translation
+	 */
+	public Map<OWLAxiom, Set<ComplexIntegerAxiom>> translateMA(Set<OWLAxiom> owlObject, int numberOfThreads) {
+		Objects.requireNonNull(owlObject);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: '" + numberOfThreads + "'.");
+		}
+		Map<OWLAxiom, Set<ComplexIntegerAxiom>> ret = new HashMap<>();
+		if (numberOfThreads == 1 || owlObject.size() < 2) {
+			owlObject.forEach(axiom -> ret.put(axiom, axiom.accept(this.axiomTranslator)));
+			return ret;
+		}
+
+		int chunkSize = (owlObject.size() + numberOfThreads - 1) / numberOfThreads;
+		List<List<OWLAxiom>> chunkList = new ArrayList<>();
+		List<OWLAxiom> chunk = new ArrayList<>(chunkSize);
+		for (OWLAxiom axiom : owlObject) {
+			chunk.add(axiom);
+			if (chunk.size() == chunkSize) {
+				chunkList.add(chunk);
+				chunk = new ArrayList<>(chunkSize);
+			}
+		}
+		if (!chunk.isEmpty()) {
+			chunkList.add(chunk);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, chunkList.size()));
+		try {
+			List<Future<Map<OWLAxiom, Set<ComplexIntegerAxiom>>>> futureList = new ArrayList<>();
+			chunkList.forEach(currentChunk -> futureList.add(executor.submit(() -> {
+				Map<OWLAxiom, Set<ComplexIntegerAxiom>> translated = new HashMap<>();
+				currentChunk.forEach(axiom -> translated.put(axiom, axiom.accept(this.axiomTranslator)));
+				return translated;
+			})));
+
+			for (Future<Map<OWLAxiom, Set<ComplexIntegerAxiom>>> future : futureList) {
+				ret.putAll(future.get());
+			}
+			return ret;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	public Set<IntegerClass> translateSC(Node<OWLClass> owlObject) {
 		Objects.requireNonNull(owlObject);
 		Set<IntegerClass> ret = new HashSet<>();
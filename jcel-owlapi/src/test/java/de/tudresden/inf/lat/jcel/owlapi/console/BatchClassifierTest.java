@@ -0,0 +1,163 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the batch classifier.
+ * 
+ * @author Julian Mendez
+ */
+public class BatchClassifierTest {
+
+	public static final String url = "https://lat.inf.tu-dresden.de/jcel/";
+
+	/**
+	 * Constructs a new test for the batch classifier.
+	 */
+	public BatchClassifierTest() {
+	}
+
+	private File createDirectory() throws IOException {
+		File ret = Files.createTempDirectory("jcel").toFile();
+		ret.deleteOnExit();
+		return ret;
+	}
+
+	private File createFile(File directory, String name, String... lines) throws IOException {
+		File ret = new File(directory, name);
+		ret.deleteOnExit();
+		Files.write(ret.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+		return ret;
+	}
+
+	private File createOntologyFile(File directory, String name, String axiom) throws IOException {
+		return createFile(directory, name, "Prefix(:=<" + url + ">)", "Ontology(", axiom, ")");
+	}
+
+	private List<String> readLines(File file) throws IOException {
+		file.deleteOnExit();
+		return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A manifest with a valid ontology and a broken ontology produces the
+	 * classification of the valid ontology and one metrics line for each
+	 * ontology.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Test
+	public void testClassifyAll() throws IOException {
+		File inputDirectory = createDirectory();
+		File outputDirectory = createDirectory();
+		createOntologyFile(inputDirectory, "valid.ofn", "SubClassOf(:A :B)");
+		createFile(inputDirectory, "broken.ofn", "this is not an ontology (");
+		File manifest = createFile(inputDirectory, "manifest.txt", "# ontologies", "valid.ofn", "", "broken.ofn");
+
+		BatchClassifier classifier = new BatchClassifier(2, TaxonomyWriter.Format.FUNCTIONAL, 0);
+		Assertions.assertEquals(1, classifier.classifyAll(manifest, outputDirectory));
+
+		String classification = String.join("\n", readLines(new File(outputDirectory, "valid.ofn.ofn")));
+		Assertions.assertTrue(classification.contains("SubClassOf(<" + url + "A> <" + url + "B>)"));
+
+		List<String> metrics = readLines(new File(outputDirectory, BatchClassifier.metricsFileName));
+		Assertions.assertEquals(3, metrics.size());
+		Assertions.assertTrue(metrics.get(0).startsWith("ontology\tstatus"));
+		Assertions.assertTrue(metrics.stream()
+				.anyMatch(line -> line.startsWith(new File(inputDirectory, "valid.ofn").getPath() + "\tok\t")));
+		Assertions.assertTrue(metrics.stream()
+				.anyMatch(line -> line.startsWith(new File(inputDirectory, "broken.ofn").getPath() + "\terror\t")));
+	}
+
+	/**
+	 * Ontology files with the same name in different directories are written
+	 * to different output files, and a manifest with the same ontology file
+	 * twice is rejected.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Test
+	public void testDuplicateNames() throws IOException {
+		File inputDirectory = createDirectory();
+		File firstDirectory = new File(inputDirectory, "first");
+		File secondDirectory = new File(inputDirectory, "second");
+		firstDirectory.mkdir();
+		secondDirectory.mkdir();
+		firstDirectory.deleteOnExit();
+		secondDirectory.deleteOnExit();
+		File outputDirectory = createDirectory();
+		createOntologyFile(firstDirectory, "ontology.ofn", "SubClassOf(:A :B)");
+		createOntologyFile(secondDirectory, "ontology.ofn", "SubClassOf(:C :D)");
+		File manifest = createFile(inputDirectory, "manifest.txt", "first/ontology.ofn", "second/ontology.ofn");
+
+		BatchClassifier classifier = new BatchClassifier(2, TaxonomyWriter.Format.FUNCTIONAL, 0);
+		List<String> outputFileNames = classifier.getOutputFileNames(classifier.getOntologyFiles(manifest));
+		Assertions.assertEquals(Arrays.asList("ontology.ofn.1.ofn", "ontology.ofn.2.ofn"), outputFileNames);
+		Assertions.assertEquals(2, classifier.classifyAll(manifest, outputDirectory));
+		Assertions.assertTrue(String.join("\n", readLines(new File(outputDirectory, outputFileNames.get(0))))
+				.contains("SubClassOf(<" + url + "A> <" + url + "B>)"));
+		Assertions.assertTrue(String.join("\n", readLines(new File(outputDirectory, outputFileNames.get(1))))
+				.contains("SubClassOf(<" + url + "C> <" + url + "D>)"));
+
+		File duplicateManifest = createFile(inputDirectory, "duplicate.txt", "first/ontology.ofn",
+				"first/../first/ontology.ofn");
+		Assertions.assertThrows(IllegalArgumentException.class, () -> classifier.getOntologyFiles(duplicateManifest));
+	}
+
+}
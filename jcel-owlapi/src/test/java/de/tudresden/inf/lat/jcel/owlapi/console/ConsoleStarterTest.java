@@ -0,0 +1,193 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.functional.renderer.OWLFunctionalSyntaxRenderer;
+import org.semanticweb.owlapi.io.OWLRendererException;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import de.tudresden.inf.lat.jcel.owlapi.main.JcelReasoner;
+
+/**
+ * Tests for the console starter.
+ * 
+ * @author Julian Mendez
+ */
+public class ConsoleStarterTest {
+
+	public static final String url = "https://lat.inf.tu-dresden.de/jcel/";
+
+	/**
+	 * Constructs a new test for the console starter.
+	 */
+	public ConsoleStarterTest() {
+	}
+
+	private File createFile(String suffix, String... lines) throws IOException {
+		File ret = File.createTempFile("jcel", suffix);
+		ret.deleteOnExit();
+		Files.write(ret.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+		return ret;
+	}
+
+	private File createOntologyFile() throws IOException {
+		return createFile(".ofn", "Prefix(:=<" + url + ">)", "Ontology(", "SubClassOf(:A :B)",
+				"SubClassOf(:B ObjectSomeValuesFrom(:r :C))", "SubClassOf(ObjectSomeValuesFrom(:s :C) :D)",
+				"SubObjectPropertyOf(:r :s)", "EquivalentClasses(:E :F)", "ClassAssertion(:A :a)", ")");
+	}
+
+	private File createOutputFile(String suffix) throws IOException {
+		File ret = File.createTempFile("jcel", suffix);
+		ret.deleteOnExit();
+		return ret;
+	}
+
+	private List<String> readLines(File file) throws IOException {
+		return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The streaming classification writes the axioms of the classification
+	 * that renders the inferred ontology, except for the declarations of
+	 * individuals and the subsumptions that follow from the other axioms. The
+	 * streaming writer writes the subsumptions of each equivalence class only
+	 * once.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws OWLOntologyCreationException
+	 *             if the ontology could not be created
+	 * @throws OWLRendererException
+	 *             if a renderer error occurs
+	 */
+	@Test
+	public void testStreamingClassification() throws IOException, OWLOntologyCreationException, OWLRendererException {
+		File ontologyFile = createOntologyFile();
+		File renderedFile = createOutputFile(".ofn");
+		File streamedFile = createOutputFile(".ofn");
+
+		ConsoleStarter starter = new ConsoleStarter();
+		starter.computeClassification(ontologyFile, renderedFile, new OWLFunctionalSyntaxRenderer());
+		starter.computeClassification(ontologyFile, streamedFile, TaxonomyWriter.Format.FUNCTIONAL);
+
+		Set<OWLAxiom> rendered = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(renderedFile)
+				.getAxioms();
+		OWLOntology streamedOntology = OWLManager.createOWLOntologyManager()
+				.loadOntologyFromOntologyDocument(streamedFile);
+		Set<OWLAxiom> streamed = streamedOntology.getAxioms();
+		Assertions.assertTrue(streamed.stream().anyMatch(axiom -> axiom.isOfType(AxiomType.EQUIVALENT_CLASSES)));
+		Assertions.assertTrue(rendered.containsAll(streamed));
+
+		JcelReasoner reasoner = new JcelReasoner(streamedOntology, false);
+		Set<OWLAxiom> missing = new HashSet<>(rendered);
+		missing.removeAll(streamed);
+		missing.forEach(axiom -> Assertions.assertTrue(axiom.isOfType(AxiomType.DECLARATION)
+				? ((OWLDeclarationAxiom) axiom).getEntity().isOWLNamedIndividual() : reasoner.isEntailed(axiom)));
+		reasoner.dispose();
+	}
+
+	/**
+	 * The streaming classification of a normalized ontology snapshot writes
+	 * the same output as the streaming classification of the ontology, both
+	 * when the snapshot is created and when it is loaded. The snapshot is
+	 * created again when the ontology file changes.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws OWLOntologyCreationException
+	 *             if the ontology could not be created
+	 */
+	@Test
+	public void testSnapshotClassification() throws IOException, OWLOntologyCreationException {
+		File ontologyFile = createOntologyFile();
+		File snapshotFile = createOutputFile(".snapshot");
+		snapshotFile.delete();
+		File expectedFile = createOutputFile(".ofn");
+		File createdFile = createOutputFile(".ofn");
+		File loadedFile = createOutputFile(".ofn");
+		File changedFile = createOutputFile(".ofn");
+
+		ConsoleStarter starter = new ConsoleStarter();
+		starter.computeClassification(ontologyFile, expectedFile, TaxonomyWriter.Format.FUNCTIONAL);
+		starter.computeClassification(ontologyFile, snapshotFile, createdFile, TaxonomyWriter.Format.FUNCTIONAL);
+		Assertions.assertTrue(snapshotFile.exists());
+
+		long savedTime = 1000000000000L;
+		Assertions.assertTrue(snapshotFile.setLastModified(savedTime));
+		starter.computeClassification(ontologyFile, snapshotFile, loadedFile, TaxonomyWriter.Format.FUNCTIONAL);
+		Assertions.assertEquals(savedTime, snapshotFile.lastModified());
+
+		List<String> expected = readLines(expectedFile);
+		Assertions.assertTrue(expected.contains("SubClassOf(<" + url + "A> <" + url + "B>)"));
+		Assertions.assertEquals(expected, readLines(createdFile));
+		Assertions.assertEquals(expected, readLines(loadedFile));
+
+		List<String> changedOntology = readLines(ontologyFile);
+		changedOntology.add(changedOntology.size() - 1, "SubClassOf(:D :G)");
+		Files.write(ontologyFile.toPath(), changedOntology, StandardCharsets.UTF_8);
+		starter.computeClassification(ontologyFile, snapshotFile, changedFile, TaxonomyWriter.Format.FUNCTIONAL);
+		Assertions.assertNotEquals(savedTime, snapshotFile.lastModified());
+		Assertions.assertTrue(readLines(changedFile).contains("SubClassOf(<" + url + "D> <" + url + "G>)"));
+	}
+
+}
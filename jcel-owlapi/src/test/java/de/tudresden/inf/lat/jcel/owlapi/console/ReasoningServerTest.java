@@ -0,0 +1,142 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the reasoning server.
+ * 
+ * @author Julian Mendez
+ */
+public class ReasoningServerTest {
+
+	public static final String ontologyText = "Prefix(:=<https://lat.inf.tu-dresden.de/jcel/>)\n" //
+			+ "Ontology(<https://lat.inf.tu-dresden.de/jcel/test>\n" //
+			+ "SubClassOf(:A :B)\n" //
+			+ "SubClassOf(:B :C)\n" //
+			+ "SubClassOf(:F :C)\n" //
+			+ "SubClassOf(:F :D)\n" //
+			+ "SubClassOf(ObjectIntersectionOf(:C :D) owl:Nothing)\n" //
+			+ ")\n";
+
+	public static final String url = "https://lat.inf.tu-dresden.de/jcel/";
+
+	/**
+	 * Constructs a new test for the reasoning server.
+	 */
+	public ReasoningServerTest() {
+	}
+
+	private File createFile(String suffix, String... lines) throws IOException {
+		File ret = File.createTempFile("jcel", suffix);
+		ret.deleteOnExit();
+		Files.write(ret.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+		return ret;
+	}
+
+	private File createOntologyFile(String axiom) throws IOException {
+		return createFile(".ofn", "Prefix(:=<" + url + ">)", "Ontology(", axiom, ")");
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>B \u2291 C ,</li>
+	 * <li>F \u2291 C ,</li>
+	 * <li>F \u2291 D ,</li>
+	 * <li>C \u2293 D \u2291 \u22A5</li>
+	 * </ol>
+	 * The server answers the requests on this ontology until it is unloaded.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Test
+	public void testExecute() throws IOException {
+		File ontologyFile = createFile(".ofn", ontologyText);
+		File classificationFile = createFile(".ofn");
+		File entailedFile = createOntologyFile("SubClassOf(:A :C)");
+		File notEntailedFile = createOntologyFile("SubClassOf(:C :A)");
+		ReasoningServer server = new ReasoningServer();
+		try {
+			Assertions.assertEquals("ok test", server.execute("load test " + ontologyFile.getAbsolutePath()));
+
+			Assertions.assertTrue(server.execute("classification test " + classificationFile.getAbsolutePath())
+					.startsWith("ok "));
+			String classification = new String(Files.readAllBytes(classificationFile.toPath()),
+					StandardCharsets.UTF_8);
+			Assertions.assertTrue(classification.contains("SubClassOf(<" + url + "A> <" + url + "B>)"));
+			Assertions.assertTrue(classification.contains("SubClassOf(<" + url + "B> <" + url + "C>)"));
+
+			Assertions.assertEquals("ok true", server.execute("consistency test"));
+			Assertions.assertEquals("ok true", server.execute("sat test " + url + "A"));
+			Assertions.assertEquals("ok false", server.execute("sat test " + url + "F"));
+			Assertions.assertEquals("ok true", server.execute("entailment test " + entailedFile.getAbsolutePath()));
+			Assertions.assertEquals("ok false",
+					server.execute("entailment test " + notEntailedFile.getAbsolutePath()));
+			Assertions.assertEquals("ok " + url + "B", server.execute("superclasses test " + url + "A direct"));
+
+			Assertions.assertTrue(server.execute("unknown test").startsWith("error "));
+			Assertions.assertTrue(server.execute("sat other " + url + "A").startsWith("error "));
+
+			Assertions.assertEquals("ok test", server.execute("unload test"));
+			Assertions.assertTrue(server.execute("sat test " + url + "A").startsWith("error "));
+			Assertions.assertTrue(server.execute("unload test").startsWith("error "));
+		} finally {
+			server.shutdown();
+		}
+	}
+
+}
@@ -47,6 +47,7 @@
 package de.tudresden.inf.lat.jcel.owlapi.main;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -66,6 +67,7 @@ import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.impl.OWLClassNode;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNodeSet;
 
 /**
  * Set of tests using tiny ontologies.
@@ -96,6 +98,74 @@ public class TinyOntologyTest {
 		return ret;
 	}
 
+	/**
+	 * <ol>
+	 * <li>Declaration(Class(A)),</li>
+	 * <li>A \u2291 B</li>
+	 * </ol>
+	 * After adding B \u2291 C, the reasoner entails A \u2291 C, and after
+	 * removing A \u2291 B, it does not entail it anymore.
+	 * 
+	 * @throws OWLOntologyCreationException
+	 *             if something goes wrong with the ontology creation
+	 */
+	@Test
+	public void testIncrementalChanges() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axiomSet = new HashSet<>();
+		OWLClass a = createNewClass(factory, "A");
+		OWLClass b = createNewClass(factory, "B");
+		OWLClass c = createNewClass(factory, "C");
+		OWLAxiom aSubB = factory.getOWLSubClassOfAxiom(a, b);
+		axiomSet.add(factory.getOWLDeclarationAxiom(a));
+		axiomSet.add(aSubB);
+
+		OWLOntology ontology = manager.createOntology(axiomSet);
+		JcelReasonerFactory reasonerFactory = new JcelReasonerFactory();
+		OWLReasoner reasoner = reasonerFactory.createReasoner(ontology);
+		Assertions.assertFalse(flatten(reasoner.getSuperClasses(a, false)).contains(c));
+
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(b, c));
+		Assertions.assertTrue(flatten(reasoner.getSuperClasses(a, false)).contains(c));
+
+		manager.removeAxiom(ontology, aSubB);
+		Assertions.assertFalse(flatten(reasoner.getSuperClasses(a, false)).contains(c));
+		Assertions.assertTrue(flatten(reasoner.getSuperClasses(b, false)).contains(c));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B</li>
+	 * </ol>
+	 * Repeated queries return the same nodes until the ontology changes.
+	 * 
+	 * @throws OWLOntologyCreationException
+	 *             if something goes wrong with the ontology creation
+	 */
+	@Test
+	public void testNodeCache() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axiomSet = new HashSet<>();
+		OWLClass a = createNewClass(factory, "A");
+		OWLClass b = createNewClass(factory, "B");
+		OWLClass c = createNewClass(factory, "C");
+		axiomSet.add(factory.getOWLSubClassOfAxiom(a, b));
+
+		OWLOntology ontology = manager.createOntology(axiomSet);
+		JcelReasonerFactory reasonerFactory = new JcelReasonerFactory();
+		OWLReasoner reasoner = reasonerFactory.createReasoner(ontology);
+		NodeSet<OWLClass> subClassesOfB = reasoner.getSubClasses(b, true);
+		Assertions.assertSame(subClassesOfB, reasoner.getSubClasses(b, true));
+		Assertions.assertSame(reasoner.getEquivalentClasses(a), reasoner.getEquivalentClasses(a));
+
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(c, b));
+		NodeSet<OWLClass> newSubClassesOfB = reasoner.getSubClasses(b, true);
+		Assertions.assertNotSame(subClassesOfB, newSubClassesOfB);
+		Assertions.assertTrue(newSubClassesOfB.containsEntity(c));
+	}
+
 	/**
 	 * <ol>
 	 * <li>A \u2291 B,</li>
@@ -562,6 +632,43 @@ public class TinyOntologyTest {
 		Assertions.assertEquals(expected, reasoner.getEquivalentClasses(aAndB));
 	}
 
+	/**
+	 * @throws OWLOntologyCreationException
+	 *             if something goes wrong with the ontology creation
+	 */
+	@Test
+	public void testTinyOntology9() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axiomSet = new HashSet<>();
+		OWLClass a = createNewClass(factory, "A");
+		OWLClass b = createNewClass(factory, "B");
+		OWLClass c = createNewClass(factory, "C");
+
+		axiomSet.add(factory.getOWLEquivalentClassesAxiom(a, b));
+		axiomSet.add(factory.getOWLSubClassOfAxiom(c, a));
+
+		OWLOntology ontology = manager.createOntology(axiomSet);
+		JcelReasonerFactory reasonerFactory = new JcelReasonerFactory();
+		OWLReasoner reasoner = reasonerFactory.createReasoner(ontology);
+
+		Set<OWLClass> expectedSet = new HashSet<>();
+		expectedSet.add(a);
+		expectedSet.add(b);
+		Node<OWLClass> expectedNode = new OWLClassNode(expectedSet);
+		Assertions.assertEquals(expectedNode, reasoner.getEquivalentClasses(a));
+		Assertions.assertEquals(new OWLClassNode(c), reasoner.getEquivalentClasses(c));
+
+		Iterator<Node<OWLClass>> nodeIt = reasoner.getSuperClasses(c, true).iterator();
+		nodeIt.next();
+		Assertions.assertThrows(UnsupportedOperationException.class, nodeIt::remove);
+		Iterator<OWLClass> classIt = reasoner.getEquivalentClasses(a).iterator();
+		classIt.next();
+		Assertions.assertThrows(UnsupportedOperationException.class, classIt::remove);
+		Assertions.assertEquals(new OWLClassNodeSet(expectedNode), reasoner.getSuperClasses(c, true));
+		Assertions.assertEquals(expectedNode, reasoner.getEquivalentClasses(b));
+	}
+
 	private void verifyBottomAndTop(OWLReasoner reasoner) {
 		OWLClass top = reasoner.getRootOntology().getOWLOntologyManager().getOWLDataFactory().getOWLThing();
 		OWLClass bottom = reasoner.getRootOntology().getOWLOntologyManager().getOWLDataFactory().getOWLNothing();
@@ -0,0 +1,247 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.owlapi.main.JcelReasonerFactory;
+import de.tudresden.inf.lat.jcel.reasoner.main.RuleBasedReasoner;
+
+/**
+ * Tests for the parsers that create the integer-based axioms directly.
+ * 
+ * @author Julian Mendez
+ */
+public class OntologyParserTest {
+
+	public static final String ontologyText = "Prefix(:=<https://lat.inf.tu-dresden.de/jcel/>)\n" //
+			+ "Ontology(<https://lat.inf.tu-dresden.de/jcel/test>\n" //
+			+ "Annotation(rdfs:comment \"tiny ontology (with parentheses)\")\n" //
+			+ "Declaration(Class(:A))\n" //
+			+ "Declaration(Class(:B))\n" //
+			+ "Declaration(ObjectProperty(:r))\n" //
+			+ "Declaration(NamedIndividual(:a))\n" //
+			+ "# comment\n" //
+			+ "SubClassOf(:A ObjectSomeValuesFrom(:r :B))\n" //
+			+ "SubClassOf(Annotation(rdfs:comment \"annotated\") :B :C)\n" //
+			+ "SubClassOf(ObjectSomeValuesFrom(:s :C) :D)\n" //
+			+ "SubObjectPropertyOf(:r :s)\n" //
+			+ "SubObjectPropertyOf(ObjectPropertyChain(:s :s) :s)\n" //
+			+ "EquivalentClasses(:E ObjectIntersectionOf(:A :D))\n" //
+			+ "ObjectPropertyDomain(:t :F)\n" //
+			+ "SubClassOf(:G ObjectSomeValuesFrom(ObjectInverseOf(:u) owl:Thing))\n" //
+			+ "InverseObjectProperties(:t :u)\n" //
+			+ "ClassAssertion(:A :a)\n" //
+			+ ")\n";
+
+	/**
+	 * Constructs a new test for the parsers.
+	 */
+	public OntologyParserTest() {
+	}
+
+	private Map<String, Set<String>> classify(Set<ComplexIntegerAxiom> axioms, IntegerOntologyObjectFactory factory,
+			EntityInterner interner) {
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(axioms, factory);
+		reasoner.classify();
+		Map<String, Integer> idMap = interner.getIdMap(IntegerEntityType.CLASS);
+		Map<Integer, String> nameMap = new HashMap<>();
+		idMap.forEach((name, id) -> nameMap.put(id, name));
+		Map<String, Set<String>> ret = new TreeMap<>();
+		idMap.forEach((name, id) -> {
+			Set<String> superClasses = new TreeSet<>();
+			reasoner.getSuperClasses(factory.getDataTypeFactory().createClass(id), false)
+					.forEach(node -> node.forEach(cls -> superClasses.add(nameMap.get(cls.getId()))));
+			ret.put(name, superClasses);
+		});
+		return ret;
+	}
+
+	private Map<String, Set<String>> classify(OWLOntology ontology) {
+		OWLReasoner reasoner = new JcelReasonerFactory().createReasoner(ontology);
+		reasoner.precomputeInferences();
+		Map<String, Set<String>> ret = new TreeMap<>();
+		Set<OWLClass> classes = new TreeSet<>(ontology.getClassesInSignature());
+		classes.add(ontology.getOWLOntologyManager().getOWLDataFactory().getOWLThing());
+		classes.add(ontology.getOWLOntologyManager().getOWLDataFactory().getOWLNothing());
+		classes.forEach(cls -> {
+			Set<String> superClasses = new TreeSet<>();
+			reasoner.getSuperClasses(cls, false).entities().forEach(elem -> superClasses.add(elem.toStringID()));
+			ret.put(cls.toStringID(), superClasses);
+		});
+		reasoner.dispose();
+		return ret;
+	}
+
+	/**
+	 * Tests that the functional syntax parser gives the same classification
+	 * as the OWL API.
+	 * 
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 * @throws OWLException
+	 *             if something goes wrong with the OWL API
+	 */
+	@Test
+	public void testFunctionalSyntaxParser() throws IOException, OWLException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(new StringDocumentSource(ontologyText));
+		Map<String, Set<String>> expected = classify(ontology);
+
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		FunctionalSyntaxParser parser = new FunctionalSyntaxParser(factory);
+		Set<ComplexIntegerAxiom> axioms = parser.parse(new StringReader(ontologyText));
+		Assertions.assertEquals(0, parser.getIgnoredAxiomCount());
+		Assertions.assertEquals(ontology.getAxiomCount(), axioms.size());
+		Map<String, Set<String>> actual = classify(axioms, factory, parser.getInterner());
+		Assertions.assertEquals(expected, actual);
+		Assertions.assertTrue(actual.get("https://lat.inf.tu-dresden.de/jcel/A")
+				.contains("https://lat.inf.tu-dresden.de/jcel/D"));
+		Assertions.assertTrue(actual.get("https://lat.inf.tu-dresden.de/jcel/G")
+				.contains("https://lat.inf.tu-dresden.de/jcel/F"));
+	}
+
+	/**
+	 * Tests that the parallel loader gives the same classification as the OWL
+	 * API, using small chunks.
+	 * 
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 * @throws OWLException
+	 *             if something goes wrong with the OWL API
+	 */
+	@Test
+	public void testParallelOntologyLoader() throws IOException, OWLException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(new StringDocumentSource(ontologyText));
+		Map<String, Set<String>> expected = classify(ontology);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		manager.saveOntology(ontology, new NTriplesDocumentFormat(), output);
+		String nTriplesText = new String(output.toByteArray(), StandardCharsets.UTF_8);
+
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		ParallelOntologyLoader loader = new ParallelOntologyLoader(factory, 4, 64);
+		Set<ComplexIntegerAxiom> axioms = loader.load(new StringReader(ontologyText),
+				ParallelOntologyLoader.Format.FUNCTIONAL);
+		Assertions.assertEquals(0, loader.getIgnoredCount());
+		Assertions.assertEquals(ontology.getAxiomCount(), axioms.size());
+		Assertions.assertEquals(expected, classify(axioms, factory, loader.getInterner()));
+
+		factory = new IntegerOntologyObjectFactoryImpl();
+		loader = new ParallelOntologyLoader(factory, 4, 64);
+		axioms = loader.load(new StringReader(nTriplesText), ParallelOntologyLoader.Format.NTRIPLES);
+		Assertions.assertEquals(expected, classify(axioms, factory, loader.getInterner()));
+	}
+
+	/**
+	 * Tests that axioms with unsupported constructors are skipped.
+	 * 
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	@Test
+	public void testIgnoredAxioms() throws IOException {
+		String text = "Prefix(:=<https://lat.inf.tu-dresden.de/jcel/>)\n" //
+				+ "Declaration(AnnotationProperty(:note))\n" //
+				+ "SubClassOf(:A ObjectAllValuesFrom(:r ObjectIntersectionOf(:B :C)))\n" //
+				+ "AnnotationAssertion(:note :A \"a \\\"quoted\\\" note\"@en)\n" //
+				+ "SubClassOf(:A :B)\n";
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		FunctionalSyntaxParser parser = new FunctionalSyntaxParser(factory);
+		Set<ComplexIntegerAxiom> axioms = parser.parse(new StringReader(text));
+		Assertions.assertEquals(3, parser.getIgnoredAxiomCount());
+		Assertions.assertEquals(1, axioms.size());
+	}
+
+	/**
+	 * Tests that the N-Triples parser gives the same classification as the
+	 * OWL API, using the OWL API to write the N-Triples.
+	 * 
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 * @throws OWLException
+	 *             if something goes wrong with the OWL API
+	 */
+	@Test
+	public void testNTriplesParser() throws IOException, OWLException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(new StringDocumentSource(ontologyText));
+		Map<String, Set<String>> expected = classify(ontology);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		manager.saveOntology(ontology, new NTriplesDocumentFormat(), output);
+
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		NTriplesParser parser = new NTriplesParser(factory);
+		Set<ComplexIntegerAxiom> axioms = parser
+				.parse(new StringReader(new String(output.toByteArray(), StandardCharsets.UTF_8)));
+		Assertions.assertEquals(expected, classify(axioms, factory, parser.getInterner()));
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.owlapi.translator;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+
+/**
+ * Tests for the translator.
+ * 
+ * @author Julian Mendez
+ */
+public class TranslatorTest {
+
+	public static final int numberOfClasses = 1000;
+	public static final int numberOfObjectProperties = 10;
+	public static final int numberOfThreads = 4;
+	public static final String url = "https://lat.inf.tu-dresden.de/jcel/";
+
+	/**
+	 * Constructs a new test for the translator.
+	 */
+	public TranslatorTest() {
+	}
+
+	private OWLOntology createOntology() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		Set<OWLAxiom> axioms = new HashSet<>();
+		for (int index = 0; index < numberOfClasses; index++) {
+			OWLClass cls = factory.getOWLClass(IRI.create(url + "A" + index));
+			OWLClass nextCls = factory.getOWLClass(IRI.create(url + "A" + ((index + 1) % numberOfClasses)));
+			OWLObjectProperty property = factory
+					.getOWLObjectProperty(IRI.create(url + "r" + (index % numberOfObjectProperties)));
+			OWLNamedIndividual individual = factory.getOWLNamedIndividual(IRI.create(url + "a" + index));
+			axioms.add(factory.getOWLSubClassOfAxiom(cls, factory.getOWLObjectSomeValuesFrom(property, nextCls)));
+			axioms.add(factory.getOWLSubClassOfAxiom(factory.getOWLObjectIntersectionOf(cls, nextCls),
+					factory.getOWLObjectOneOf(individual)));
+			axioms.add(factory.getOWLClassAssertionAxiom(cls, individual));
+		}
+		return manager.createOntology(axioms);
+	}
+
+	private Translator createTranslator(OWLOntology ontology) {
+		return new Translator(ontology.getOWLOntologyManager().getOWLDataFactory(),
+				new IntegerOntologyObjectFactoryImpl());
+	}
+
+	private int size(Translator translator) {
+		return translator.getOntologyObjectFactory().getEntityManager().size();
+	}
+
+	/**
+	 * Translating an ontology with one thread and with several threads gives
+	 * the same axioms and the same identifiers when the entities are added to
+	 * the repository first, as the reasoner does. When the entities are
+	 * created while translating with several threads, each entity still gets
+	 * exactly one identifier.
+	 * 
+	 * @throws OWLOntologyCreationException
+	 *             if the ontology could not be created
+	 */
+	@Test
+	public void testConcurrentTranslation() throws OWLOntologyCreationException {
+		OWLOntology ontology = createOntology();
+		Set<OWLAxiom> axioms = ontology.getAxioms();
+
+		Translator sequentialTranslator = createTranslator(ontology);
+		sequentialTranslator.getTranslationRepository().addAxiomEntities(ontology);
+		Set<ComplexIntegerAxiom> expected = sequentialTranslator.translateSA(axioms, 1);
+
+		Translator concurrentTranslator = createTranslator(ontology);
+		concurrentTranslator.getTranslationRepository().addAxiomEntities(ontology);
+		Assertions.assertEquals(expected, concurrentTranslator.translateSA(axioms, numberOfThreads));
+		Assertions.assertEquals(size(sequentialTranslator), size(concurrentTranslator));
+
+		Translator lazyTranslator = createTranslator(ontology);
+		Set<ComplexIntegerAxiom> lazyAxioms = lazyTranslator.translateSA(axioms, numberOfThreads);
+		Assertions.assertEquals(expected.size(), lazyAxioms.size());
+		Assertions.assertEquals(size(sequentialTranslator), size(lazyTranslator));
+		Assertions.assertEquals(lazyAxioms, lazyTranslator.translateSA(axioms, 1));
+
+		TranslationRepository expectedRepository = sequentialTranslator.getTranslationRepository();
+		TranslationRepository concurrentRepository = concurrentTranslator.getTranslationRepository();
+		TranslationRepository lazyRepository = lazyTranslator.getTranslationRepository();
+		ontology.getClassesInSignature().forEach(cls -> {
+			Assertions.assertEquals(expectedRepository.getId(cls), concurrentRepository.getId(cls));
+			Assertions.assertEquals(cls, lazyRepository.getOWLClass(lazyRepository.getId(cls)));
+		});
+		ontology.getObjectPropertiesInSignature().forEach(property -> {
+			Assertions.assertEquals(expectedRepository.getId(property), concurrentRepository.getId(property));
+			Assertions.assertEquals(property, lazyRepository.getOWLObjectProperty(lazyRepository.getId(property)));
+		});
+		ontology.getIndividualsInSignature().forEach(individual -> {
+			Assertions.assertEquals(expectedRepository.getId(individual), concurrentRepository.getId(individual));
+			Assertions.assertEquals(individual,
+					lazyRepository.getOWLNamedIndividual(lazyRepository.getId(individual)));
+		});
+	}
+
+}
@@ -0,0 +1,361 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.reasoner.main;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.RealizationIndex;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RuleBasedProcessor;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerNamedIndividual;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectPropertyExpression;
+
+/**
+ * An object of this class is an immutable view of a classified ontology. It
+ * can be queried by several threads at the same time without locks. Queries
+ * on named classes, named object properties and individuals are answered
+ * from the class hierarchy, the object property hierarchy and the
+ * realization computed by the classification. Queries on other expressions
+ * need to extend the ontology, so they are delegated to the reasoner, one at
+ * a time.
+ * 
+ * @author Julian Mendez
+ */
+public class ClassificationSnapshot {
+
+	private final IntegerHierarchicalGraph classHierarchy;
+	private final IntegerDataTypeFactory dataTypeFactory;
+	private final Map<Integer, Set<Integer>> directTypes;
+	private final IntegerHierarchicalGraph objectPropertyHierarchy;
+	private final RealizationIndex realizationIndex;
+	private final RuleBasedReasoner reasoner;
+	private final Map<Integer, Set<Integer>> sameIndividualMap;
+
+	/**
+	 * Constructs a new classification snapshot. The processor must have
+	 * finished the classification.
+	 * 
+	 * @param reasoner
+	 *            reasoner that answers the queries on other expressions
+	 * @param processor
+	 *            processor that has classified the ontology
+	 * @param dataTypeFactory
+	 *            data type factory
+	 */
+	ClassificationSnapshot(RuleBasedReasoner reasoner, RuleBasedProcessor processor,
+			IntegerDataTypeFactory dataTypeFactory) {
+		Objects.requireNonNull(reasoner);
+		Objects.requireNonNull(processor);
+		Objects.requireNonNull(dataTypeFactory);
+		this.reasoner = reasoner;
+		this.dataTypeFactory = dataTypeFactory;
+		this.classHierarchy = processor.getClassHierarchy();
+		this.objectPropertyHierarchy = processor.getObjectPropertyHierarchy();
+		this.directTypes = processor.getDirectTypes();
+		this.sameIndividualMap = processor.getSameIndividualMap();
+		this.realizationIndex = processor.getRealizationIndex();
+	}
+
+	/**
+	 * Returns the classes that are equivalent to the bottom class.
+	 * 
+	 * @return the classes that are equivalent to the bottom class
+	 */
+	public Set<IntegerClass> getBottomClassNode() {
+		return toIntegerClass(this.classHierarchy.getEquivalents(this.classHierarchy.getBottomElement()));
+	}
+
+	/**
+	 * Returns the classes that are equivalent to the given class expression.
+	 * 
+	 * @param ce
+	 *            class expression
+	 * @return the classes that are equivalent to the given class expression
+	 */
+	public Set<IntegerClass> getEquivalentClasses(IntegerClassExpression ce) {
+		Objects.requireNonNull(ce);
+		if (!isClassInHierarchy(ce)) {
+			synchronized (this.reasoner) {
+				return this.reasoner.getEquivalentClasses(ce);
+			}
+		}
+		return toIntegerClass(this.classHierarchy.getEquivalents(((IntegerClass) ce).getId()));
+	}
+
+	/**
+	 * Returns the object properties that are equivalent to the given object
+	 * property expression.
+	 * 
+	 * @param pe
+	 *            object property expression
+	 * @return the object properties that are equivalent to the given object
+	 *         property expression
+	 */
+	public Set<IntegerObjectPropertyExpression> getEquivalentObjectProperties(IntegerObjectPropertyExpression pe) {
+		Objects.requireNonNull(pe);
+		if (!isObjectPropertyInHierarchy(pe)) {
+			synchronized (this.reasoner) {
+				return this.reasoner.getEquivalentObjectProperties(pe);
+			}
+		}
+		return toIntegerObjectProperty(
+				this.objectPropertyHierarchy.getEquivalents(((IntegerObjectProperty) pe).getId()));
+	}
+
+	/**
+	 * Returns the instances of the given class expression.
+	 * 
+	 * @param ce
+	 *            class expression
+	 * @param direct
+	 *            <code>true</code> if only the direct instances are requested
+	 * @return the instances of the given class expression
+	 */
+	public Set<Set<IntegerNamedIndividual>> getInstances(IntegerClassExpression ce, boolean direct) {
+		Objects.requireNonNull(ce);
+		if (!isClassInHierarchy(ce)) {
+			synchronized (this.reasoner) {
+				return this.reasoner.getInstances(ce, direct);
+			}
+		}
+		Set<Set<IntegerNamedIndividual>> ret = new HashSet<>();
+		this.realizationIndex.getInstances(((IntegerClass) ce).getId(), direct)
+				.forEach(group -> ret.add(toIntegerNamedIndividual(group)));
+		return ret;
+	}
+
+	/**
+	 * Returns the individuals that are the same as the given individual.
+	 * 
+	 * @param ind
+	 *            individual
+	 * @return the individuals that are the same as the given individual
+	 */
+	public Set<IntegerNamedIndividual> getSameIndividuals(IntegerNamedIndividual ind) {
+		Objects.requireNonNull(ind);
+		Set<Integer> group = this.sameIndividualMap.get(ind.getId());
+		return toIntegerNamedIndividual(Objects.isNull(group) ? Collections.singleton(ind.getId()) : group);
+	}
+
+	/**
+	 * Returns the sub classes of the given class expression.
+	 * 
+	 * @param ce
+	 *            class expression
+	 * @param direct
+	 *            <code>true</code> if only the direct sub classes are
+	 *            requested
+	 * @return the sub classes of the given class expression
+	 */
+	public Set<Set<IntegerClass>> getSubClasses(IntegerClassExpression ce, boolean direct) {
+		Objects.requireNonNull(ce);
+		if (!isClassInHierarchy(ce)) {
+			synchronized (this.reasoner) {
+				return this.reasoner.getSubClasses(ce, direct);
+			}
+		}
+		Integer classId = ((IntegerClass) ce).getId();
+		return toClassNodes(
+				direct ? this.classHierarchy.getChildren(classId) : this.classHierarchy.getDescendants(classId));
+	}
+
+	/**
+	 * Returns the sub object properties of the given object property
+	 * expression.
+	 * 
+	 * @param pe
+	 *            object property expression
+	 * @param direct
+	 *            <code>true</code> if only the direct sub object properties
+	 *            are requested
+	 * @return the sub object properties of the given object property
+	 *         expression
+	 */
+	public Set<Set<IntegerObjectPropertyExpression>> getSubObjectProperties(IntegerObjectPropertyExpression pe,
+			boolean direct) {
+		Objects.requireNonNull(pe);
+		if (!isObjectPropertyInHierarchy(pe)) {
+			synchronized (this.reasoner) {
+				return this.reasoner.getSubObjectProperties(pe, direct);
+			}
+		}
+		Integer propId = ((IntegerObjectProperty) pe).getId();
+		return toObjectPropertyNodes(direct ? this.objectPropertyHierarchy.getChildren(propId)
+				: this.objectPropertyHierarchy.getDescendants(propId));
+	}
+
+	/**
+	 * Returns the super classes of the given class expression.
+	 * 
+	 * @param ce
+	 *            class expression
+	 * @param direct
+	 *            <code>true</code> if only the direct super classes are
+	 *            requested
+	 * @return the super classes of the given class expression
+	 */
+	public Set<Set<IntegerClass>> getSuperClasses(IntegerClassExpression ce, boolean direct) {
+		Objects.requireNonNull(ce);
+		if (!isClassInHierarchy(ce)) {
+			synchronized (this.reasoner) {
+				return this.reasoner.getSuperClasses(ce, direct);
+			}
+		}
+		Integer classId = ((IntegerClass) ce).getId();
+		return toClassNodes(
+				direct ? this.classHierarchy.getParents(classId) : this.classHierarchy.getAncestors(classId));
+	}
+
+	/**
+	 * Returns the super object properties of the given object property
+	 * expression.
+	 * 
+	 * @param pe
+	 *            object property expression
+	 * @param direct
+	 *            <code>true</code> if only the direct super object
+	 *            properties are requested
+	 * @return the super object properties of the given object property
+	 *         expression
+	 */
+	public Set<Set<IntegerObjectPropertyExpression>> getSuperObjectProperties(IntegerObjectPropertyExpression pe,
+			boolean direct) {
+		Objects.requireNonNull(pe);
+		if (!isObjectPropertyInHierarchy(pe)) {
+			synchronized (this.reasoner) {
+				return this.reasoner.getSuperObjectProperties(pe, direct);
+			}
+		}
+		Integer propId = ((IntegerObjectProperty) pe).getId();
+		return toObjectPropertyNodes(direct ? this.objectPropertyHierarchy.getParents(propId)
+				: this.objectPropertyHierarchy.getAncestors(propId));
+	}
+
+	/**
+	 * Returns the classes that are equivalent to the top class.
+	 * 
+	 * @return the classes that are equivalent to the top class
+	 */
+	public Set<IntegerClass> getTopClassNode() {
+		return toIntegerClass(this.classHierarchy.getEquivalents(this.classHierarchy.getTopElement()));
+	}
+
+	/**
+	 * Returns the types of the given individual.
+	 * 
+	 * @param ind
+	 *            individual
+	 * @param direct
+	 *            <code>true</code> if only the direct types are requested
+	 * @return the types of the given individual
+	 */
+	public Set<Set<IntegerClass>> getTypes(IntegerNamedIndividual ind, boolean direct) {
+		Objects.requireNonNull(ind);
+		Set<Integer> directTypeSet = this.directTypes.get(ind.getId());
+		if (Objects.isNull(directTypeSet)) {
+			directTypeSet = Collections.emptySet();
+		}
+		Set<Integer> set;
+		if (direct) {
+			set = directTypeSet;
+		} else {
+			set = new HashSet<>();
+			for (Integer current : directTypeSet) {
+				set.addAll(this.classHierarchy.getAncestors(current));
+			}
+		}
+		return toClassNodes(set);
+	}
+
+	private boolean isClassInHierarchy(IntegerClassExpression ce) {
+		return (ce instanceof IntegerClass) && this.classHierarchy.getElements().contains(((IntegerClass) ce).getId());
+	}
+
+	private boolean isObjectPropertyInHierarchy(IntegerObjectPropertyExpression pe) {
+		return (pe instanceof IntegerObjectProperty)
+				&& this.objectPropertyHierarchy.getElements().contains(((IntegerObjectProperty) pe).getId());
+	}
+
+	private Set<Set<IntegerClass>> toClassNodes(Set<Integer> set) {
+		Set<Set<IntegerClass>> ret = new HashSet<>();
+		set.forEach(elem -> ret.add(toIntegerClass(this.classHierarchy.getEquivalents(elem))));
+		return ret;
+	}
+
+	private Set<IntegerClass> toIntegerClass(Set<Integer> set) {
+		Set<IntegerClass> ret = new HashSet<>();
+		set.forEach(elem -> ret.add(this.dataTypeFactory.createClass(elem)));
+		return ret;
+	}
+
+	private Set<IntegerNamedIndividual> toIntegerNamedIndividual(Set<Integer> set) {
+		Set<IntegerNamedIndividual> ret = new HashSet<>();
+		set.forEach(elem -> ret.add(this.dataTypeFactory.createNamedIndividual(elem)));
+		return ret;
+	}
+
+	private Set<IntegerObjectPropertyExpression> toIntegerObjectProperty(Set<Integer> set) {
+		Set<IntegerObjectPropertyExpression> ret = new HashSet<>();
+		set.forEach(elem -> ret.add(this.dataTypeFactory.createObjectProperty(elem)));
+		return ret;
+	}
+
+	private Set<Set<IntegerObjectPropertyExpression>> toObjectPropertyNodes(Set<Integer> set) {
+		Set<Set<IntegerObjectPropertyExpression>> ret = new HashSet<>();
+		set.forEach(elem -> ret.add(toIntegerObjectProperty(this.objectPropertyHierarchy.getEquivalents(elem))));
+		return ret;
+	}
+
+}
@@ -436,6 +436,17 @@ public interface IntegerReasoner {
 	 */
 	boolean isEntailed(Set<ComplexIntegerAxiom> axioms);
 
+	/**
+	 * Tells whether the specified kind of inference has been computed and is
+	 * still valid.
+	 * 
+	 * @param inferenceType
+	 *            kind of inference
+	 * @return <code>true</code> if and only if the specified kind of inference
+	 *         has been computed and is still valid
+	 */
+	boolean isPrecomputed(IntegerInferenceType inferenceType);
+
 	/**
 	 * Tells whether the specified class expression is satisfiable.
 	 * 
@@ -446,4 +457,13 @@ public interface IntegerReasoner {
 	 */
 	boolean isSatisfiable(IntegerClassExpression classExpression);
 
+	/**
+	 * Computes only the specified kinds of inferences. The stages of the
+	 * reasoner that are not needed for them are skipped.
+	 * 
+	 * @param inferenceTypes
+	 *            kinds of inferences
+	 */
+	void precomputeInferences(Set<IntegerInferenceType> inferenceTypes);
+
 }
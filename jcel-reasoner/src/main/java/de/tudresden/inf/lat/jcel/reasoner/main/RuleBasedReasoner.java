@@ -47,6 +47,7 @@
 package de.tudresden.inf.lat.jcel.reasoner.main;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Objects;
@@ -55,6 +56,7 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.NormalizedOntologySnapshot;
 import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RuleBasedProcessor;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
@@ -85,22 +87,94 @@ public class RuleBasedReasoner implements IntegerReasoner {
 
 	private static final Logger logger = Logger.getLogger(RuleBasedReasoner.class.getName());
 
+	private final boolean aboxMaterializationMode;
 	private final OptMap<IntegerClassExpression, Integer> auxClassInvMap = new OptMapImpl<>(new HashMap<>());
 	private final OptMap<Integer, IntegerClassExpression> auxClassMap = new OptMapImpl<>(new HashMap<>());
 	private boolean classified = false;
 	private final OntologyEntailmentChecker entailmentChecker = new OntologyEntailmentChecker(this);
 	private final IntegerOntologyObjectFactory factory;
 	private boolean interruptRequested = false;
+	private final Set<IntegerInferenceType> precomputedInferenceTypes = EnumSet.noneOf(IntegerInferenceType.class);
 	private RuleBasedProcessor processor = null;
+	private ClassificationSnapshot snapshot = null;
 	private final long timeOut = 0;
 
 	public RuleBasedReasoner(Set<ComplexIntegerAxiom> ontology, IntegerOntologyObjectFactory factory) {
+		this(ontology, factory, false);
+	}
+
+	/**
+	 * Constructs a new rule-based reasoner.
+	 * 
+	 * @param ontology
+	 *            set of axioms
+	 * @param factory
+	 *            factory
+	 * @param aboxMaterializationMode
+	 *            <code>true</code> if the types of the individuals that only
+	 *            appear in assertions are materialized after the
+	 *            classification, instead of classifying one auxiliary nominal
+	 *            class per individual
+	 */
+	public RuleBasedReasoner(Set<ComplexIntegerAxiom> ontology, IntegerOntologyObjectFactory factory,
+			boolean aboxMaterializationMode) {
 		Objects.requireNonNull(ontology);
 		Objects.requireNonNull(factory);
 		this.factory = factory;
+		this.aboxMaterializationMode = aboxMaterializationMode;
 		this.processor = createProcessor(ontology);
 	}
 
+	/**
+	 * Constructs a new rule-based reasoner for a normalized ontology snapshot.
+	 * The snapshot is loaded without translating, normalizing, or saturating
+	 * the ontology again.
+	 * 
+	 * @param snapshot
+	 *            normalized ontology snapshot
+	 * @param factory
+	 *            factory, which must use the entity manager of the snapshot
+	 */
+	public RuleBasedReasoner(NormalizedOntologySnapshot snapshot, IntegerOntologyObjectFactory factory) {
+		Objects.requireNonNull(snapshot);
+		Objects.requireNonNull(factory);
+		if (factory.getEntityManager() != snapshot.getEntityManager()) {
+			throw new IllegalArgumentException("Invalid factory: '" + factory
+					+ "'. It must use the entity manager of the snapshot.");
+		}
+		this.factory = factory;
+		this.aboxMaterializationMode = false;
+		this.processor = new RuleBasedProcessor(snapshot, factory.getNormalizedAxiomFactory());
+	}
+
+	/**
+	 * Returns a normalized ontology snapshot of the given ontology. The
+	 * snapshot can be saved and used later to create a reasoner without
+	 * preprocessing the ontology again.
+	 * 
+	 * @param ontology
+	 *            set of axioms
+	 * @param factory
+	 *            factory
+	 * @return a normalized ontology snapshot of the given ontology
+	 */
+	public static NormalizedOntologySnapshot createNormalizedOntologySnapshot(Set<ComplexIntegerAxiom> ontology,
+			IntegerOntologyObjectFactory factory) {
+		Objects.requireNonNull(ontology);
+		Objects.requireNonNull(factory);
+		Set<Integer> originalClassSet = new HashSet<>();
+		Set<Integer> originalObjectPropertySet = new HashSet<>();
+		ontology.forEach(axiom -> {
+			originalClassSet.addAll(axiom.getClassesInSignature());
+			originalObjectPropertySet.addAll(axiom.getObjectPropertiesInSignature());
+		});
+		OntologyNormalizer axiomNormalizer = new OntologyNormalizer();
+		Set<NormalizedIntegerAxiom> normalizedAxiomSet = axiomNormalizer.normalize(ontology, factory);
+		return new NormalizedOntologySnapshot(originalObjectPropertySet, originalClassSet, normalizedAxiomSet,
+				new ComplexAxiomExpressivityDetector(ontology), factory.getNormalizedAxiomFactory(),
+				factory.getEntityManager());
+	}
+
 	@Override
 	public void classify() {
 		if (!this.classified) {
@@ -117,6 +191,10 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		}
 
 		this.classified = true;
+		this.processor.getClassHierarchy();
+		this.processor.getObjectPropertyHierarchy();
+		this.precomputedInferenceTypes.add(IntegerInferenceType.CLASS_HIERARCHY);
+		this.precomputedInferenceTypes.add(IntegerInferenceType.OBJECT_PROPERTY_HIERARCHY);
 	}
 
 	private RuleBasedProcessor createProcessor(Set<ComplexIntegerAxiom> ontology) {
@@ -144,7 +222,8 @@ public class RuleBasedReasoner implements IntegerReasoner {
 
 		logger.fine("creating processor (phase 2) ...");
 		RuleBasedProcessor ret = new RuleBasedProcessor(originalObjectPropertySet, originalClassSet, normalizedAxiomSet,
-				expressivity, this.factory.getNormalizedAxiomFactory(), this.factory.getEntityManager());
+				expressivity, this.factory.getNormalizedAxiomFactory(), this.factory.getEntityManager(),
+				this.aboxMaterializationMode);
 		logger.fine("processor created.");
 		return ret;
 	}
@@ -182,6 +261,7 @@ public class RuleBasedReasoner implements IntegerReasoner {
 				this.processor.addAxioms(extendedNormalizedAxiomSet);
 
 				this.classified = false;
+				this.precomputedInferenceTypes.clear();
 			} else {
 				ret = getDataTypeFactory().createClass(optClassIndex.get());
 			}
@@ -292,42 +372,12 @@ public class RuleBasedReasoner implements IntegerReasoner {
 	@Override
 	public Set<Set<IntegerNamedIndividual>> getInstances(IntegerClassExpression ce, boolean direct) {
 		Objects.requireNonNull(ce);
-		Set<Set<IntegerNamedIndividual>> ret = new HashSet<>();
 		IntegerClass cls = flattenClassExpression(ce);
 		classify();
 
-		Integer classId = cls.getId();
-		Set<Integer> classIdSet = new HashSet<>();
-		classIdSet.add(classId);
-		if (!direct) {
-			classIdSet.addAll(getProcessor().getClassHierarchy().getDescendants(classId));
-		}
-
-		Set<Integer> indivIdSet = new HashSet<>();
-		indivIdSet.addAll(getProcessor().getDirectTypes().keySet());
-
-		while (!indivIdSet.isEmpty()) {
-			Integer indivId = indivIdSet.iterator().next();
-			indivIdSet.remove(indivId);
-
-			Set<Integer> types = getProcessor().getDirectTypes().get(indivId);
-			boolean found = types.contains(classId);
-
-			if (!found && !direct) {
-				Set<Integer> classIdSetCopy = new HashSet<>();
-				classIdSetCopy.addAll(classIdSet);
-				classIdSetCopy.retainAll(types);
-				found = !classIdSetCopy.isEmpty();
-			}
-
-			if (found) {
-				Set<Integer> equivIndivId = getProcessor().getSameIndividualMap().get(indivId);
-				Set<IntegerNamedIndividual> elem = toIntegerNamedIndividual(equivIndivId);
-				indivIdSet.removeAll(equivIndivId);
-				ret.add(elem);
-			}
-		}
-
+		Set<Set<IntegerNamedIndividual>> ret = new HashSet<>();
+		this.processor.getRealizationIndex().getInstances(cls.getId(), direct)
+				.forEach(equivIndivId -> ret.add(toIntegerNamedIndividual(equivIndivId)));
 		return ret;
 	}
 
@@ -365,8 +415,16 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		Objects.requireNonNull(ind);
 		Objects.requireNonNull(pe);
 		classify();
-		// TODO implement this query
-		throw new UnsupportedQueryException("Unsupported query: ObjectPropertyValues of " + ind + "," + pe);
+		Integer propId = getObjectPropertyExpressionId(pe);
+		if (this.factory.getEntityManager().isAuxiliary(propId)) {
+			throw new UnsupportedQueryException("Unsupported query: ObjectPropertyValues of " + ind + "," + pe);
+		}
+		OptMap<Integer, Set<Integer>> sameIndividualMap = new OptMapImpl<>(getProcessor().getSameIndividualMap());
+		Set<Set<IntegerNamedIndividual>> ret = new HashSet<>();
+		this.processor.getObjectPropertyValues(ind.getId()).getOrDefault(propId, Collections.emptySet())
+				.forEach(value -> ret.add(toIntegerNamedIndividual(
+						sameIndividualMap.get(value).orElse(Collections.singleton(value)))));
+		return ret;
 	}
 
 	public Processor getProcessor() {
@@ -390,6 +448,22 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		return toIntegerNamedIndividual(getProcessor().getSameIndividualMap().get(ind.getId()));
 	}
 
+	/**
+	 * Returns an immutable view of the classified ontology, which can be
+	 * queried by several threads without locks. The ontology is classified if
+	 * needed. The queries on expressions that are not in the classified
+	 * ontology are delegated to this reasoner, synchronized on this object.
+	 * 
+	 * @return an immutable view of the classified ontology
+	 */
+	public synchronized ClassificationSnapshot getSnapshot() {
+		classify();
+		if (Objects.isNull(this.snapshot)) {
+			this.snapshot = new ClassificationSnapshot(this, this.processor, getDataTypeFactory());
+		}
+		return this.snapshot;
+	}
+
 	@Override
 	public Set<Set<IntegerClass>> getSubClasses(IntegerClassExpression ce, boolean direct) {
 		Objects.requireNonNull(ce);
@@ -543,7 +617,8 @@ public class RuleBasedReasoner implements IntegerReasoner {
 	@Override
 	public boolean isConsistent() {
 		classify();
-		return !getUnsatisfiableClasses().contains(getProcessor().getClassHierarchy().getTopElement());
+		return !getUnsatisfiableClasses().contains(getProcessor().getClassHierarchy().getTopElement())
+				&& !this.processor.hasUnsatisfiableIndividual();
 	}
 
 	@Override
@@ -562,6 +637,12 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		return axioms.stream().allMatch(axiom -> axiom.accept(this.entailmentChecker));
 	}
 
+	@Override
+	public boolean isPrecomputed(IntegerInferenceType inferenceType) {
+		Objects.requireNonNull(inferenceType);
+		return this.precomputedInferenceTypes.contains(inferenceType);
+	}
+
 	@Override
 	public boolean isSatisfiable(IntegerClassExpression classExpression) {
 		Objects.requireNonNull(classExpression);
@@ -570,6 +651,45 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		return !getUnsatisfiableClasses().contains(cls);
 	}
 
+	private void precomputeInference(IntegerInferenceType inferenceType) {
+		if (inferenceType.equals(IntegerInferenceType.OBJECT_PROPERTY_HIERARCHY)) {
+			this.processor.precomputeObjectPropertyHierarchy();
+		} else {
+			classify();
+			if (inferenceType.equals(IntegerInferenceType.CLASS_HIERARCHY)) {
+				this.processor.getClassHierarchy();
+			} else if (inferenceType.equals(IntegerInferenceType.CLASS_ASSERTIONS)) {
+				this.processor.getRealizationIndex();
+			} else if (inferenceType.equals(IntegerInferenceType.SAME_INDIVIDUAL)) {
+				this.processor.getSameIndividualMap();
+			} else if (!inferenceType.equals(IntegerInferenceType.OBJECT_PROPERTY_ASSERTIONS)
+					&& !inferenceType.equals(IntegerInferenceType.DIFFERENT_INDIVIDUALS)) {
+				throw new IllegalArgumentException("Invalid inference type: '" + inferenceType + "'.");
+			}
+		}
+	}
+
+	/**
+	 * Computes only the specified kinds of inferences. The object property
+	 * hierarchy does not need the saturation of the ontology, and the class
+	 * hierarchy does not need the direct types or the equivalent individuals.
+	 * The object property assertions and the different individuals only need
+	 * the saturation of the ontology.
+	 * 
+	 * @param inferenceTypes
+	 *            kinds of inferences
+	 */
+	@Override
+	public void precomputeInferences(Set<IntegerInferenceType> inferenceTypes) {
+		Objects.requireNonNull(inferenceTypes);
+		inferenceTypes.forEach(inferenceType -> {
+			if (!this.precomputedInferenceTypes.contains(inferenceType)) {
+				precomputeInference(inferenceType);
+				this.precomputedInferenceTypes.add(inferenceType);
+			}
+		});
+	}
+
 	private Set<IntegerClass> toIntegerClass(Set<Integer> set) {
 		Set<IntegerClass> ret = new HashSet<>();
 		set.forEach(elem -> ret.add(getDataTypeFactory().createClass(elem)));
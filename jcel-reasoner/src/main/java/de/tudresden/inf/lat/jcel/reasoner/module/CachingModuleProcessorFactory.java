@@ -0,0 +1,229 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class creates processors for modules, and keeps the
+ * results of the classified modules. A module is identified by its set of
+ * axioms, so a module that has not changed since a previous classification is
+ * not classified again. The same factory can be given to the module processors
+ * of successive revisions of an ontology, provided that the axioms of all
+ * revisions are created with the same entity manager. <br>
+ * Only the most recently used modules are kept.
+ *
+ * @author Julian Mendez
+ */
+public class CachingModuleProcessorFactory implements ModuleProcessorFactory {
+
+	/**
+	 * An object of this class delegates the classification to another
+	 * processor and stores the result when the classification finishes.
+	 */
+	private class CachingProcessor implements Processor {
+
+		private final Set<ComplexIntegerAxiom> module;
+		private final Processor processor;
+
+		CachingProcessor(Set<ComplexIntegerAxiom> module, Processor processor) {
+			this.module = module;
+			this.processor = processor;
+		}
+
+		@Override
+		public IntegerHierarchicalGraph getClassHierarchy() {
+			return this.processor.getClassHierarchy();
+		}
+
+		@Override
+		public IntegerHierarchicalGraph getDataPropertyHierarchy() {
+			return this.processor.getDataPropertyHierarchy();
+		}
+
+		@Override
+		public Map<Integer, Set<Integer>> getDirectTypes() {
+			return this.processor.getDirectTypes();
+		}
+
+		@Override
+		public IntegerHierarchicalGraph getObjectPropertyHierarchy() {
+			return this.processor.getObjectPropertyHierarchy();
+		}
+
+		@Override
+		public Map<Integer, Set<Integer>> getSameIndividualMap() {
+			return this.processor.getSameIndividualMap();
+		}
+
+		@Override
+		public boolean isReady() {
+			return this.processor.isReady();
+		}
+
+		@Override
+		public boolean process() {
+			boolean ret = this.processor.process();
+			if (!ret) {
+				store(this.module, new ClassifiedModule(this.processor));
+			}
+			return ret;
+		}
+
+	}
+
+	private static final Logger logger = Logger.getLogger(CachingModuleProcessorFactory.class.getName());
+
+	private final OptMap<Set<ComplexIntegerAxiom>, ClassifiedModule> cache;
+	private long hits = 0;
+	private long misses = 0;
+	private final ModuleProcessorFactory processorFactory;
+
+	/**
+	 * Constructs a new caching module processor factory.
+	 *
+	 * @param factory
+	 *            factory to create the processors of modules that are not
+	 *            cached
+	 * @param maxNumberOfModules
+	 *            maximum number of classified modules to keep
+	 */
+	public CachingModuleProcessorFactory(ModuleProcessorFactory factory, int maxNumberOfModules) {
+		Objects.requireNonNull(factory);
+		if (maxNumberOfModules < 1) {
+			throw new IllegalArgumentException("Invalid maximum number of modules: '" + maxNumberOfModules + "'.");
+		}
+		this.processorFactory = factory;
+		this.cache = new OptMapImpl<>(new LinkedHashMap<Set<ComplexIntegerAxiom>, ClassifiedModule>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = -3482395733640425164L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Set<ComplexIntegerAxiom>, ClassifiedModule> eldest) {
+				return size() > maxNumberOfModules;
+			}
+
+		});
+	}
+
+	/**
+	 * Removes all the classified modules.
+	 */
+	public synchronized void clear() {
+		this.cache.clear();
+	}
+
+	@Override
+	public Processor createProcessor(Set<ComplexIntegerAxiom> axioms) {
+		Objects.requireNonNull(axioms);
+		Set<ComplexIntegerAxiom> module = Collections.unmodifiableSet(new HashSet<>(axioms));
+		Optional<ClassifiedModule> optClassifiedModule = lookUp(module);
+		Processor ret;
+		if (optClassifiedModule.isPresent()) {
+			ret = optClassifiedModule.get();
+		} else {
+			ret = new CachingProcessor(module, this.processorFactory.createProcessor(axioms));
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the number of modules that were found in the cache.
+	 *
+	 * @return the number of modules that were found in the cache
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Returns the number of modules that were not found in the cache.
+	 *
+	 * @return the number of modules that were not found in the cache
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	private synchronized Optional<ClassifiedModule> lookUp(Set<ComplexIntegerAxiom> module) {
+		Optional<ClassifiedModule> ret = this.cache.get(module);
+		if (ret.isPresent()) {
+			this.hits++;
+			logger.fine("module with " + module.size() + " axioms found in cache.");
+		} else {
+			this.misses++;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the number of classified modules kept.
+	 *
+	 * @return the number of classified modules kept
+	 */
+	public synchronized int size() {
+		return this.cache.size();
+	}
+
+	private synchronized void store(Set<ComplexIntegerAxiom> module, ClassifiedModule classifiedModule) {
+		this.cache.put(module, classifiedModule);
+	}
+
+}
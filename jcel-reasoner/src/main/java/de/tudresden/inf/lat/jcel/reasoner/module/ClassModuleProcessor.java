@@ -48,15 +48,17 @@ package de.tudresden.inf.lat.jcel.reasoner.module;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
@@ -64,6 +66,7 @@ import de.tudresden.inf.lat.jcel.core.algorithm.common.UnclassifiedOntologyExcep
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraphImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraphImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerUnionFind;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
@@ -97,13 +100,14 @@ public class ClassModuleProcessor implements Processor {
 	private final IntegerOntologyObjectFactory axiomFactory;
 	private IntegerHierarchicalGraph classHierarchy = null;
 	private final OptMap<Integer, Set<ComplexIntegerAxiom>> classToAxiom = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, Set<Integer>> classToClass = new OptMapImpl<>(new HashMap<>());
+	private ConcurrentModuleClassifier concurrentClassifier = null;
 	private IntegerHierarchicalGraphImpl dataPropertyHierarchy = null;
 	private OptMap<Integer, Set<Integer>> directTypes = null;
 	private boolean finalClassification = false;
 	private boolean isReady = false;
 	private Integer moduleIndex = 0;
 	private List<Set<ComplexIntegerAxiom>> moduleList = null;
+	private final int numberOfThreads;
 	private IntegerHierarchicalGraph objectPropertyHierarchy = null;
 	private Processor processor = null;
 	private final ModuleProcessorFactory processorFactory;
@@ -123,14 +127,53 @@ public class ClassModuleProcessor implements Processor {
 	 */
 	public ClassModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, IntegerOntologyObjectFactory axFactory,
 			ModuleProcessorFactory procFactory) {
+		this(axiomSet, axFactory, procFactory, 1);
+	}
+
+	/**
+	 * Constructs a class module processor that classifies the modules
+	 * concurrently. It uses an auxiliary processor to classify each module.
+	 * The accumulated set of axioms is classified after all modules have been
+	 * classified.
+	 *
+	 * @param axiomSet
+	 *            set of axioms
+	 * @param axFactory
+	 *            ontology object factory
+	 * @param procFactory
+	 *            factory to create the auxiliary processor
+	 * @param numberOfThreads
+	 *            number of threads used to classify the modules; if it is 1,
+	 *            the modules are classified one after the other
+	 */
+	public ClassModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, IntegerOntologyObjectFactory axFactory,
+			ModuleProcessorFactory procFactory, int numberOfThreads) {
 		Objects.requireNonNull(axiomSet);
 		Objects.requireNonNull(axFactory);
 		Objects.requireNonNull(procFactory);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: '" + numberOfThreads + "'.");
+		}
 		this.axiomFactory = axFactory;
 		this.processorFactory = procFactory;
+		this.numberOfThreads = numberOfThreads;
 		preProcess(axiomSet);
 	}
 
+	/**
+	 * Adds the result of a classified module to the accumulated set of axioms.
+	 *
+	 * @param moduleProcessor
+	 *            processor of a classified module
+	 */
+	private void accumulate(Processor moduleProcessor) {
+		this.directTypes.putAll(moduleProcessor.getDirectTypes());
+		this.sameIndividualMap.putAll(moduleProcessor.getSameIndividualMap());
+		this.accumulatedAxiomSet.addAll(convertClassHierarchyToAxioms(moduleProcessor.getClassHierarchy()));
+		this.accumulatedAxiomSet
+				.addAll(convertObjectPropertyHierarchyToAxioms(moduleProcessor.getObjectPropertyHierarchy()));
+	}
+
 	private Set<ComplexIntegerAxiom> convertClassHierarchyToAxioms(IntegerHierarchicalGraph classGraph) {
 		Set<ComplexIntegerAxiom> ret = new HashSet<>();
 		Set<IntegerAnnotation> annotations = Collections.emptySet();
@@ -181,7 +224,6 @@ public class ClassModuleProcessor implements Processor {
 	private void createMaps(Set<ComplexIntegerAxiom> axiomSet) {
 
 		this.classToAxiom.clear();
-		this.classToClass.clear();
 		this.sharedAxioms.clear();
 
 		axiomSet.forEach(axiom -> {
@@ -198,13 +240,6 @@ public class ClassModuleProcessor implements Processor {
 					}
 					optComplexAxioms.get().add(axiom);
 
-					Optional<Set<Integer>> optOtherClasses = this.classToClass.get(classId);
-					if (!optOtherClasses.isPresent()) {
-						optOtherClasses = Optional.of(new HashSet<>());
-						this.classToClass.put(classId, optOtherClasses.get());
-					}
-					optOtherClasses.get().addAll(classSet);
-
 				});
 			}
 		});
@@ -244,23 +279,30 @@ public class ClassModuleProcessor implements Processor {
 		return this.classHierarchy;
 	}
 
+	/**
+	 * Returns the clusters of classes, where two classes are in the same
+	 * cluster if they are connected by a sequence of axioms. Each cluster
+	 * contains at least one class different from top and bottom.
+	 *
+	 * @param axiomSet
+	 *            set of axioms
+	 * @return the clusters of classes, sorted by their least class different
+	 *         from top and bottom
+	 */
 	private List<Set<Integer>> getClustersOfClasses(Set<ComplexIntegerAxiom> axiomSet) {
+		IntegerUnionFind partition = new IntegerUnionFind();
+		axiomSet.forEach(axiom -> {
+			Iterator<Integer> it = axiom.getClassesInSignature().iterator();
+			if (it.hasNext()) {
+				int firstClassId = it.next();
+				partition.add(firstClassId);
+				it.forEachRemaining(classId -> partition.union(firstClassId, classId));
+			}
+		});
 
-		List<Set<Integer>> ret = new ArrayList<>();
-
-		Set<Integer> allClasses = new TreeSet<>();
-		axiomSet.forEach(axiom -> allClasses.addAll(axiom.getClassesInSignature()));
-		allClasses.remove(bottomClassId);
-		allClasses.remove(topClassId);
-
-		while (!allClasses.isEmpty()) {
-			Integer representativeId = allClasses.iterator().next();
-			allClasses.remove(representativeId);
-			Set<Integer> classSet = getReachableClasses(representativeId, axiomSet);
-			allClasses.removeAll(classSet);
-			ret.add(classSet);
-		}
-
+		List<Set<Integer>> ret = partition.getSets().stream()
+				.filter(classSet -> getRepresentative(classSet).isPresent()).collect(Collectors.toList());
+		ret.sort(Comparator.comparing(classSet -> getRepresentative(classSet).get()));
 		return ret;
 	}
 
@@ -292,20 +334,18 @@ public class ClassModuleProcessor implements Processor {
 		return this.objectPropertyHierarchy;
 	}
 
-	private Set<Integer> getReachableClasses(Integer firstClassId, Set<ComplexIntegerAxiom> axiomSet) {
-		Set<Integer> ret = new HashSet<>();
-		Set<Integer> toVisit = new HashSet<>();
-		toVisit.add(firstClassId);
-		while (!toVisit.isEmpty()) {
-			Integer classId = toVisit.iterator().next();
-			ret.add(classId);
-			Optional<Set<Integer>> reachable = this.classToClass.get(classId);
-			if (reachable.isPresent()) {
-				toVisit.addAll(reachable.get());
-			}
-			toVisit.removeAll(ret);
-		}
-		return ret;
+	/**
+	 * Returns the least class of a cluster that is different from top and
+	 * bottom.
+	 *
+	 * @param classSet
+	 *            cluster of classes
+	 * @return the least class of the cluster that is different from top and
+	 *         bottom, if such class exists
+	 */
+	private Optional<Integer> getRepresentative(Set<Integer> classSet) {
+		return classSet.stream().filter(classId -> !classId.equals(bottomClassId) && !classId.equals(topClassId))
+				.min(Comparator.naturalOrder());
 	}
 
 	@Override
@@ -344,44 +384,68 @@ public class ClassModuleProcessor implements Processor {
 
 		logger.fine("");
 		logger.fine("");
-		logger.fine("classifying module " + this.moduleIndex + " ...");
-
-		this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		if (this.numberOfThreads > 1) {
+			logger.fine("classifying " + this.moduleList.size() + " modules using " + this.numberOfThreads
+					+ " threads ...");
+			this.concurrentClassifier = new ConcurrentModuleClassifier(this.moduleList, this.processorFactory,
+					this.numberOfThreads);
+		} else {
+			logger.fine("classifying module " + this.moduleIndex + " ...");
+			this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		}
 	}
 
 	@Override
 	public boolean process() {
 		if (!this.isReady) {
-			boolean hasMoreEntries = this.processor.process();
-			if (!hasMoreEntries) {
-				if (this.finalClassification) {
-					this.classHierarchy = this.processor.getClassHierarchy();
-					this.objectPropertyHierarchy = this.processor.getObjectPropertyHierarchy();
-					this.isReady = true;
+			if (Objects.isNull(this.concurrentClassifier)) {
+				processSequentially();
+			} else {
+				processConcurrently();
+			}
+		}
+		return !this.isReady;
+	}
 
+	private void processConcurrently() {
+		if (this.concurrentClassifier.hasNext()) {
+			accumulate(this.concurrentClassifier.next());
+			logger.fine("module " + this.moduleIndex + " has been classified.");
+			this.moduleIndex++;
+		}
+		if (!this.concurrentClassifier.hasNext()) {
+			this.concurrentClassifier = null;
+			this.finalClassification = true;
+			logger.fine("classifying integration module ...");
+			this.processor = this.processorFactory.createProcessor(this.accumulatedAxiomSet);
+		}
+	}
+
+	private void processSequentially() {
+		boolean hasMoreEntries = this.processor.process();
+		if (!hasMoreEntries) {
+			if (this.finalClassification) {
+				this.classHierarchy = this.processor.getClassHierarchy();
+				this.objectPropertyHierarchy = this.processor.getObjectPropertyHierarchy();
+				this.isReady = true;
+
+			} else {
+				hasMoreEntries = true;
+				accumulate(this.processor);
+				this.processor = null;
+				logger.fine("module " + this.moduleIndex + " has been classified.");
+				logger.fine("");
+				this.moduleIndex++;
+				if (this.moduleIndex < this.moduleList.size()) {
+					logger.fine("classifying module " + this.moduleIndex + " ...");
+					this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
 				} else {
-					hasMoreEntries = true;
-					this.directTypes.putAll(this.processor.getDirectTypes());
-					this.sameIndividualMap.putAll(this.processor.getSameIndividualMap());
-					this.accumulatedAxiomSet.addAll(convertClassHierarchyToAxioms(this.processor.getClassHierarchy()));
-					this.accumulatedAxiomSet.addAll(
-							convertObjectPropertyHierarchyToAxioms(this.processor.getObjectPropertyHierarchy()));
-					this.processor = null;
-					logger.fine("module " + this.moduleIndex + " has been classified.");
-					logger.fine("");
-					this.moduleIndex++;
-					if (this.moduleIndex < this.moduleList.size()) {
-						logger.fine("classifying module " + this.moduleIndex + " ...");
-						this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
-					} else {
-						this.finalClassification = true;
-						logger.fine("classifying integration module ...");
-						this.processor = this.processorFactory.createProcessor(this.accumulatedAxiomSet);
-					}
+					this.finalClassification = true;
+					logger.fine("classifying integration module ...");
+					this.processor = this.processorFactory.createProcessor(this.accumulatedAxiomSet);
 				}
 			}
 		}
-		return !this.isReady;
 	}
 
 }
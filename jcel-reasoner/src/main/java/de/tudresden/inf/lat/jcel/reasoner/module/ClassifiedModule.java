@@ -0,0 +1,130 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.common.UnclassifiedOntologyException;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+
+/**
+ * An object of this class is the result of the classification of a module. It
+ * keeps the hierarchies and the maps of individuals computed by another
+ * processor, but not the data structures used to compute them. It is always
+ * ready.
+ *
+ * @author Julian Mendez
+ */
+public class ClassifiedModule implements Processor {
+
+	private final IntegerHierarchicalGraph classHierarchy;
+	private final IntegerHierarchicalGraph dataPropertyHierarchy;
+	private final Map<Integer, Set<Integer>> directTypes;
+	private final IntegerHierarchicalGraph objectPropertyHierarchy;
+	private final Map<Integer, Set<Integer>> sameIndividualMap;
+
+	/**
+	 * Constructs the result of a classified module.
+	 *
+	 * @param processor
+	 *            processor that has already classified the module
+	 * @throws UnclassifiedOntologyException
+	 *             if the processor has not finished the classification
+	 */
+	public ClassifiedModule(Processor processor) throws UnclassifiedOntologyException {
+		Objects.requireNonNull(processor);
+		if (!processor.isReady()) {
+			throw new UnclassifiedOntologyException();
+		}
+		this.classHierarchy = processor.getClassHierarchy();
+		this.dataPropertyHierarchy = processor.getDataPropertyHierarchy();
+		this.directTypes = Collections.unmodifiableMap(new HashMap<>(processor.getDirectTypes()));
+		this.objectPropertyHierarchy = processor.getObjectPropertyHierarchy();
+		this.sameIndividualMap = Collections.unmodifiableMap(new HashMap<>(processor.getSameIndividualMap()));
+	}
+
+	@Override
+	public IntegerHierarchicalGraph getClassHierarchy() {
+		return this.classHierarchy;
+	}
+
+	@Override
+	public IntegerHierarchicalGraph getDataPropertyHierarchy() {
+		return this.dataPropertyHierarchy;
+	}
+
+	@Override
+	public Map<Integer, Set<Integer>> getDirectTypes() {
+		return this.directTypes;
+	}
+
+	@Override
+	public IntegerHierarchicalGraph getObjectPropertyHierarchy() {
+		return this.objectPropertyHierarchy;
+	}
+
+	@Override
+	public Map<Integer, Set<Integer>> getSameIndividualMap() {
+		return this.sameIndividualMap;
+	}
+
+	@Override
+	public boolean isReady() {
+		return true;
+	}
+
+	@Override
+	public boolean process() {
+		return false;
+	}
+
+}
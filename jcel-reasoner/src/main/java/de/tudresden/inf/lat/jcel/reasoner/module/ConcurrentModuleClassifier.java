@@ -0,0 +1,150 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+
+/**
+ * An object of this class classifies independent modules concurrently. Each
+ * module is classified by its own processor on a fixed pool of threads, and
+ * the classified processors are returned in the order in which they finish.
+ * The threads of the pool are daemon threads, so a module processor that is
+ * abandoned before all its modules are merged does not keep the virtual
+ * machine alive.
+ *
+ * @author Julian Mendez
+ */
+class ConcurrentModuleClassifier {
+
+	private final CompletionService<Processor> completionService;
+	private final ExecutorService executor;
+	private int pendingModules = 0;
+
+	/**
+	 * Constructs a new concurrent module classifier and starts classifying the
+	 * given modules.
+	 *
+	 * @param moduleList
+	 *            list of modules
+	 * @param processorFactory
+	 *            factory to create the processor of each module
+	 * @param numberOfThreads
+	 *            number of threads used to classify the modules
+	 */
+	ConcurrentModuleClassifier(List<Set<ComplexIntegerAxiom>> moduleList, ModuleProcessorFactory processorFactory,
+			int numberOfThreads) {
+		Objects.requireNonNull(moduleList);
+		Objects.requireNonNull(processorFactory);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: '" + numberOfThreads + "'.");
+		}
+		ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+		this.executor = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+			Thread thread = defaultThreadFactory.newThread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.completionService = new ExecutorCompletionService<>(this.executor);
+		moduleList.forEach(module -> {
+			this.completionService.submit(() -> {
+				Processor processor = processorFactory.createProcessor(module);
+				while (processor.process()) {
+					if (Thread.currentThread().isInterrupted()) {
+						throw new InterruptedException("Classification interrupted.");
+					}
+				}
+				return processor;
+			});
+			this.pendingModules++;
+		});
+		this.executor.shutdown();
+	}
+
+	/**
+	 * Tells whether there are modules that have not been returned yet.
+	 *
+	 * @return <code>true</code> if and only if there are modules that have not
+	 *         been returned yet
+	 */
+	public boolean hasNext() {
+		return this.pendingModules > 0;
+	}
+
+	/**
+	 * Waits until the next module is classified and returns its processor.
+	 *
+	 * @return the processor of the next classified module
+	 */
+	public Processor next() {
+		if (!hasNext()) {
+			throw new IllegalStateException("All modules have been classified.");
+		}
+		try {
+			Processor ret = this.completionService.take().get();
+			this.pendingModules--;
+			return ret;
+		} catch (InterruptedException e) {
+			this.executor.shutdownNow();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			this.executor.shutdownNow();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
@@ -52,6 +52,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.IntStream;
@@ -61,6 +62,7 @@ import de.tudresden.inf.lat.jcel.core.algorithm.common.UnclassifiedOntologyExcep
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraphImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraphImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerUnionFind;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
 import de.tudresden.inf.lat.util.map.OptMap;
@@ -79,11 +81,13 @@ public class ModuleProcessor implements Processor {
 	private static final Logger logger = Logger.getLogger(ModuleProcessor.class.getName());
 
 	private IntegerHierarchicalGraphImpl classHierarchy = null;
+	private ConcurrentModuleClassifier concurrentClassifier = null;
 	private IntegerHierarchicalGraphImpl dataPropertyHierarchy = null;
 	private OptMap<Integer, Set<Integer>> directTypes = null;
 	private boolean isReady = false;
 	private Integer moduleIndex = 0;
 	private List<Set<ComplexIntegerAxiom>> moduleList = null;
+	private final int numberOfThreads;
 	private IntegerHierarchicalGraphImpl objectPropertyHierarchy = null;
 	private Processor processor = null;
 	private final ModuleProcessorFactory processorFactory;
@@ -99,26 +103,32 @@ public class ModuleProcessor implements Processor {
 	 *            factory to create the auxiliary processor
 	 */
 	public ModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, ModuleProcessorFactory factory) {
+		this(axiomSet, factory, 1);
+	}
+
+	/**
+	 * Constructs a new module processor that classifies the modules
+	 * concurrently. It uses an auxiliary processor to classify each module.
+	 * 
+	 * @param axiomSet
+	 *            set of axioms
+	 * @param factory
+	 *            factory to create the auxiliary processor
+	 * @param numberOfThreads
+	 *            number of threads used to classify the modules; if it is 1,
+	 *            the modules are classified one after the other
+	 */
+	public ModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, ModuleProcessorFactory factory, int numberOfThreads) {
 		Objects.requireNonNull(axiomSet);
 		Objects.requireNonNull(factory);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: '" + numberOfThreads + "'.");
+		}
 		this.processorFactory = factory;
+		this.numberOfThreads = numberOfThreads;
 		preProcess(axiomSet);
 	}
 
-	private boolean containsAnyClass(Set<Integer> a, Set<Integer> b) {
-		return b.stream()
-				.filter(elem -> (!elem.equals(IntegerEntityManager.bottomClassId)
-						&& !elem.equals(IntegerEntityManager.topClassId))) //
-				.anyMatch(elem -> a.contains(elem));
-	}
-
-	private boolean containsAnyProperty(Set<Integer> a, Set<Integer> b) {
-		return b.stream()
-				.filter(elem -> (!elem.equals(IntegerEntityManager.bottomObjectPropertyId)
-						&& !elem.equals(IntegerEntityManager.topObjectPropertyId))) //
-				.anyMatch(elem -> a.contains(elem));
-	}
-
 	/**
 	 * Divides a set of axioms in subsets that have disjoint sets of classes and
 	 * properties.
@@ -128,40 +138,37 @@ public class ModuleProcessor implements Processor {
 	 * @return the subsets with disjoint symbols
 	 */
 	private List<Set<ComplexIntegerAxiom>> findModules(Set<ComplexIntegerAxiom> axiomSet) {
-		List<Set<ComplexIntegerAxiom>> ret = new ArrayList<>();
-		Set<ComplexIntegerAxiom> toBeGrouped = new HashSet<>();
-		toBeGrouped.addAll(axiomSet);
-		while (!toBeGrouped.isEmpty()) {
-			ComplexIntegerAxiom firstAxiom = toBeGrouped.iterator().next();
-			toBeGrouped.remove(firstAxiom);
-			Set<ComplexIntegerAxiom> group = new HashSet<>();
-			group.add(firstAxiom);
-
-			Set<Integer> classSet = new HashSet<>();
-			classSet.addAll(firstAxiom.getClassesInSignature());
-			Set<Integer> propertySet = new HashSet<>();
-			propertySet.addAll(firstAxiom.getObjectPropertiesInSignature());
+		IntegerUnionFind partition = new IntegerUnionFind();
+		OptMap<ComplexIntegerAxiom, Integer> firstEntity = new OptMapImpl<>(new HashMap<>());
+		axiomSet.forEach(axiom -> {
+			List<Integer> entities = getRelevantEntities(axiom);
+			if (!entities.isEmpty()) {
+				int first = entities.get(0);
+				partition.add(first);
+				entities.forEach(entity -> partition.union(first, entity));
+				firstEntity.put(axiom, first);
+			}
+		});
 
-			boolean found = true;
-			while (found) {
-				found = false;
-				Set<ComplexIntegerAxiom> toVisit = new HashSet<>();
-				toVisit.addAll(toBeGrouped);
-				for (ComplexIntegerAxiom currentAxiom : toVisit) {
-					Set<Integer> classesInSignature = currentAxiom.getClassesInSignature();
-					Set<Integer> propertiesInSignature = currentAxiom.getObjectPropertiesInSignature();
-					if (containsAnyClass(classSet, classesInSignature)
-							|| containsAnyProperty(propertySet, propertiesInSignature)) {
-						toBeGrouped.remove(currentAxiom);
-						propertySet.addAll(propertiesInSignature);
-						classSet.addAll(classesInSignature);
-						group.add(currentAxiom);
-						found = true;
-					}
+		List<Set<ComplexIntegerAxiom>> ret = new ArrayList<>();
+		OptMap<Integer, Set<ComplexIntegerAxiom>> moduleByRepresentative = new OptMapImpl<>(new HashMap<>());
+		axiomSet.forEach(axiom -> {
+			Optional<Integer> optFirst = firstEntity.get(axiom);
+			if (optFirst.isPresent()) {
+				Integer representative = partition.find(optFirst.get());
+				Optional<Set<ComplexIntegerAxiom>> optModule = moduleByRepresentative.get(representative);
+				if (!optModule.isPresent()) {
+					optModule = Optional.of(new HashSet<>());
+					moduleByRepresentative.put(representative, optModule.get());
+					ret.add(optModule.get());
 				}
+				optModule.get().add(axiom);
+			} else {
+				Set<ComplexIntegerAxiom> module = new HashSet<>();
+				module.add(axiom);
+				ret.add(module);
 			}
-			ret.add(group);
-		}
+		});
 		return ret;
 	}
 
@@ -201,6 +208,28 @@ public class ModuleProcessor implements Processor {
 		return ret;
 	}
 
+	/**
+	 * Returns the classes and object properties of an axiom that can connect it
+	 * to other axioms, i.e. all except top and bottom.
+	 * 
+	 * @param axiom
+	 *            axiom
+	 * @return the classes and object properties of an axiom, except top and
+	 *         bottom
+	 */
+	private List<Integer> getRelevantEntities(ComplexIntegerAxiom axiom) {
+		List<Integer> ret = new ArrayList<>();
+		axiom.getClassesInSignature().stream()
+				.filter(elem -> (!elem.equals(IntegerEntityManager.bottomClassId)
+						&& !elem.equals(IntegerEntityManager.topClassId))) //
+				.forEach(elem -> ret.add(elem));
+		axiom.getObjectPropertiesInSignature().stream()
+				.filter(elem -> (!elem.equals(IntegerEntityManager.bottomObjectPropertyId)
+						&& !elem.equals(IntegerEntityManager.topObjectPropertyId))) //
+				.forEach(elem -> ret.add(elem));
+		return ret;
+	}
+
 	@Override
 	public Map<Integer, Set<Integer>> getSameIndividualMap() {
 		Map<Integer, Set<Integer>> ret = new HashMap<>();
@@ -215,6 +244,19 @@ public class ModuleProcessor implements Processor {
 		return this.isReady;
 	}
 
+	/**
+	 * Adds the result of a classified module to the accumulated result.
+	 * 
+	 * @param moduleProcessor
+	 *            processor of a classified module
+	 */
+	private void merge(Processor moduleProcessor) {
+		this.classHierarchy.disjointUnion(moduleProcessor.getClassHierarchy());
+		this.objectPropertyHierarchy.disjointUnion(moduleProcessor.getObjectPropertyHierarchy());
+		this.directTypes.putAll(moduleProcessor.getDirectTypes());
+		this.sameIndividualMap.putAll(moduleProcessor.getSameIndividualMap());
+	}
+
 	private void preProcess(Set<ComplexIntegerAxiom> originalAxiomSet) {
 
 		this.isReady = false;
@@ -240,35 +282,58 @@ public class ModuleProcessor implements Processor {
 
 		logger.fine("");
 		logger.fine("");
-		logger.fine("classifying module " + this.moduleIndex + " ...");
-
-		this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		if (this.numberOfThreads > 1) {
+			logger.fine("classifying " + this.moduleList.size() + " modules using " + this.numberOfThreads
+					+ " threads ...");
+			this.concurrentClassifier = new ConcurrentModuleClassifier(this.moduleList, this.processorFactory,
+					this.numberOfThreads);
+		} else {
+			logger.fine("classifying module " + this.moduleIndex + " ...");
+			this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		}
 	}
 
 	@Override
 	public boolean process() {
 		if (!this.isReady) {
-			boolean hasMoreEntries = this.processor.process();
-			if (!hasMoreEntries) {
-				this.classHierarchy.disjointUnion(this.processor.getClassHierarchy());
-				this.objectPropertyHierarchy.disjointUnion(this.processor.getObjectPropertyHierarchy());
-				this.directTypes.putAll(this.processor.getDirectTypes());
-				this.sameIndividualMap.putAll(this.processor.getSameIndividualMap());
-				this.processor = null;
-				logger.fine("module " + this.moduleIndex + " has been classified.");
-				logger.fine("");
-				this.moduleIndex++;
-				if (this.moduleIndex < this.moduleList.size()) {
-					hasMoreEntries = true;
-					logger.fine("classifying module " + this.moduleIndex + " ...");
-					this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
-				}
-				if (!hasMoreEntries) {
-					this.isReady = true;
-				}
+			if (Objects.isNull(this.concurrentClassifier)) {
+				processSequentially();
+			} else {
+				processConcurrently();
 			}
 		}
 		return !this.isReady;
 	}
 
+	private void processConcurrently() {
+		if (this.concurrentClassifier.hasNext()) {
+			merge(this.concurrentClassifier.next());
+			logger.fine("module " + this.moduleIndex + " has been classified.");
+			this.moduleIndex++;
+		}
+		if (!this.concurrentClassifier.hasNext()) {
+			this.concurrentClassifier = null;
+			this.isReady = true;
+		}
+	}
+
+	private void processSequentially() {
+		boolean hasMoreEntries = this.processor.process();
+		if (!hasMoreEntries) {
+			merge(this.processor);
+			this.processor = null;
+			logger.fine("module " + this.moduleIndex + " has been classified.");
+			logger.fine("");
+			this.moduleIndex++;
+			if (this.moduleIndex < this.moduleList.size()) {
+				hasMoreEntries = true;
+				logger.fine("classifying module " + this.moduleIndex + " ...");
+				this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+			}
+			if (!hasMoreEntries) {
+				this.isReady = true;
+			}
+		}
+	}
+
 }
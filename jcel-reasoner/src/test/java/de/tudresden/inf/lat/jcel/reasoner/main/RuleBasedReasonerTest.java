@@ -46,13 +46,32 @@
 
 package de.tudresden.inf.lat.jcel.reasoner.main;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import de.tudresden.inf.lat.jcel.core.algorithm.common.MappedProcessor;
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.common.UnclassifiedOntologyException;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.ClosureDumper;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.NormalizedOntologySnapshot;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RealizationExporter;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RuleBasedProcessor;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
 import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
@@ -60,6 +79,7 @@ import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectF
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerNamedIndividual;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
 
 /**
@@ -98,11 +118,551 @@ public class RuleBasedReasonerTest {
 				.createClass(factory.getEntityManager().createNamedEntity(IntegerEntityType.CLASS, name, false));
 	}
 
+	private IntegerNamedIndividual createNewIndividual(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory().createNamedIndividual(
+				factory.getEntityManager().createNamedEntity(IntegerEntityType.INDIVIDUAL, name, false));
+	}
+
 	private IntegerObjectProperty createNewObjectProperty(IntegerOntologyObjectFactory factory, String name) {
 		return factory.getDataTypeFactory().createObjectProperty(
 				factory.getEntityManager().createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, name, false));
 	}
 
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>&exist; r <i>.</i> B \u2291 C ,</li>
+	 * <li>A(a) ,</li>
+	 * <li>r(b, a)</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>B(a) ,</li>
+	 * <li>C(b)</li>
+	 * </ul>
+	 * in ABox materialization mode.
+	 */
+	@Test
+	public void testAboxMaterializationMode() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+		IntegerNamedIndividual indivB = createNewIndividual(factory, "b");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubClassOfAxiom(factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		// 4
+		ontology.add(factory.getComplexAxiomFactory().createObjectPropertyAssertionAxiom(r, indivB.getId(),
+				indivA.getId(), annotations));
+
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(ontology, factory, true);
+		reasoner.classify();
+
+		Assertions.assertEquals(Collections.singleton(Collections.singleton(a)), reasoner.getTypes(indivA, true));
+		Assertions.assertEquals(Collections.singleton(Collections.singleton(c)), reasoner.getTypes(indivB, true));
+
+		Set<Set<IntegerNamedIndividual>> expected = new HashSet<>();
+		expected.add(Collections.singleton(indivA));
+		Assertions.assertEquals(expected, reasoner.getInstances(b, false));
+		Assertions.assertEquals(Collections.singleton(Collections.singleton(indivB)), reasoner.getInstances(c, true));
+		Assertions.assertEquals(Collections.singleton(indivA), reasoner.getSameIndividuals(indivA));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2293 B \u2291 \u22A5 ,</li>
+	 * <li>A(a) ,</li>
+	 * <li>B(a)</li>
+	 * </ol>
+	 * is inconsistent in ABox materialization mode, while the ontology without
+	 * the last assertion is consistent.
+	 */
+	@Test
+	public void testAboxMaterializationModeInconsistency() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+
+		// 1
+		Set<IntegerClassExpression> aAndB = new HashSet<>();
+		aAndB.add(a);
+		aAndB.add(b);
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+				factory.getDataTypeFactory().createObjectIntersectionOf(aAndB),
+				factory.getDataTypeFactory().getBottomClass(), annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		RuleBasedReasoner consistentReasoner = new RuleBasedReasoner(new HashSet<>(ontology), factory, true);
+		consistentReasoner.classify();
+		Assertions.assertTrue(consistentReasoner.isConsistent());
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(b, indivA.getId(), annotations));
+
+		RuleBasedReasoner inconsistentReasoner = new RuleBasedReasoner(ontology, factory, true);
+		inconsistentReasoner.classify();
+		Assertions.assertFalse(inconsistentReasoner.isConsistent());
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 \u2203 r . B ,</li>
+	 * <li>B \u2291 C ,</li>
+	 * <li>\u2203 r . C \u2291 D ,</li>
+	 * <li>A \u2291 \u2203 s . B ,</li>
+	 * <li>A \u2291 \u2203 s . C ,</li>
+	 * <li>s is functional ,</li>
+	 * <li>r<sup>-</sup> \u2291 t</li>
+	 * </ol>
+	 * A processor resumed from a checkpoint computes the same class hierarchy
+	 * as the processor that saved the checkpoint.
+	 */
+	@Test
+	public void testCheckpoint() throws IOException {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerClass d = createNewClass(factory, "D");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerObjectProperty s = createNewObjectProperty(factory, "s");
+		IntegerObjectProperty t = createNewObjectProperty(factory, "t");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(b, c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubClassOfAxiom(factory.getDataTypeFactory().createObjectSomeValuesFrom(r, c), d, annotations));
+
+		// 4
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(s, b), annotations));
+
+		// 5
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(s, c), annotations));
+
+		// 6
+		ontology.add(factory.getComplexAxiomFactory().createFunctionalObjectPropertyAxiom(s, annotations));
+
+		// 7
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubObjectPropertyOfAxiom(factory.getDataTypeFactory().createObjectInverseOf(r), t, annotations));
+
+		NormalizedOntologySnapshot snapshot = RuleBasedReasoner.createNormalizedOntologySnapshot(ontology, factory);
+		RuleBasedProcessor processor = new RuleBasedProcessor(snapshot, factory.getNormalizedAxiomFactory());
+		for (int i = 0; i < 8; i++) {
+			processor.process();
+		}
+		File file = File.createTempFile("jcel", ".checkpoint");
+		file.deleteOnExit();
+		processor.saveCheckpoint(file);
+
+		RuleBasedProcessor resumedProcessor = RuleBasedProcessor.resume(file, factory.getNormalizedAxiomFactory());
+		while (processor.process()) {
+		}
+		while (resumedProcessor.process()) {
+		}
+
+		Assertions.assertEquals(processor.getClassHierarchy(), resumedProcessor.getClassHierarchy());
+		Assertions.assertEquals(processor.getObjectPropertyHierarchy(), resumedProcessor.getObjectPropertyHierarchy());
+		Assertions.assertTrue(resumedProcessor.getClassHierarchy().getAncestors(a.getId()).contains(d.getId()));
+		Assertions.assertThrows(IllegalStateException.class, () -> processor.saveCheckpoint(file));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>&exist; r <i>.</i> B \u2291 C ,</li>
+	 * <li>A(a)</li>
+	 * </ol>
+	 * queried concurrently through a classification snapshot.
+	 */
+	@Test
+	public void testClassificationSnapshot() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubClassOfAxiom(factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(ontology, factory);
+		ClassificationSnapshot snapshot = reasoner.getSnapshot();
+		Set<Set<IntegerClass>> superClassesOfA = reasoner.getSuperClasses(a, true);
+		Set<Set<IntegerClass>> typesOfA = reasoner.getTypes(indivA, false);
+		Set<Set<IntegerNamedIndividual>> instancesOfB = reasoner.getInstances(b, false);
+		IntegerClassExpression someRA = factory.getDataTypeFactory().createObjectSomeValuesFrom(r, a);
+
+		Assertions.assertSame(snapshot, reasoner.getSnapshot());
+		Assertions.assertTrue(IntStream.range(0, 64).parallel().allMatch(i -> {
+			if (i % 2 == 0) {
+				return superClassesOfA.equals(snapshot.getSuperClasses(a, true))
+						&& typesOfA.equals(snapshot.getTypes(indivA, false))
+						&& instancesOfB.equals(snapshot.getInstances(b, false));
+			} else {
+				return snapshot.getSuperClasses(someRA, false).contains(Collections.singleton(c));
+			}
+		}));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 &exist; r <i>.</i> B ,</li>
+	 * <li>B \u2291 C ,</li>
+	 * <li>&exist; r <i>.</i> C \u2291 D</li>
+	 * </ol>
+	 * The dump of sets S and R has the same triples as the plain output, in
+	 * Turtle, in N-Triples, and compressed. The characters that cannot appear
+	 * in an IRI, like the ones in the name of C, are escaped.
+	 * 
+	 * @throws IOException
+	 *             if something goes wrong with I/O
+	 */
+	@Test
+	public void testClosureDumper() throws IOException {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C \"c\">");
+		IntegerClass d = createNewClass(factory, "D");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(b, c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubClassOfAxiom(factory.getDataTypeFactory().createObjectSomeValuesFrom(r, c), d, annotations));
+
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(ontology, factory);
+		reasoner.classify();
+		RuleBasedProcessor processor = (RuleBasedProcessor) reasoner.getProcessor();
+
+		StringWriter plainS = new StringWriter();
+		processor.outputSetS(plainS);
+		StringWriter plainR = new StringWriter();
+		processor.outputSetR(plainR);
+		long expectedS = plainS.toString().split("\n").length;
+		long expectedR = plainR.toString().split("\n").length;
+
+		StringWriter nTriples = new StringWriter();
+		Assertions.assertEquals(expectedS, processor.dumpSetS(nTriples, ClosureDumper.Format.NTRIPLES));
+		for (String line : nTriples.toString().split("\n")) {
+			Assertions.assertTrue(line.matches("<[^>\" ]+>\t<[^>\" ]+>\t<[^>\" ]+> \\."));
+		}
+		Assertions.assertTrue(nTriples.toString()
+				.contains("\t<" + ClosureDumper.defaultNamespace + "C\\u0020\\u0022c\\u0022\\u003E> .\n"));
+
+		StringWriter turtle = new StringWriter();
+		Assertions.assertEquals(expectedS, processor.dumpSetS(turtle, ClosureDumper.Format.TURTLE));
+		Assertions.assertTrue(turtle.toString().startsWith("@prefix : <" + ClosureDumper.defaultNamespace + "> ."));
+		Assertions.assertTrue(turtle.toString().contains(":A\t:isA\t:D .\n"));
+		Assertions.assertEquals(expectedR, processor.dumpSetR(new StringWriter(), ClosureDumper.Format.TURTLE));
+
+		File file = File.createTempFile("jcel", ".nt.gz");
+		file.deleteOnExit();
+		try (Writer writer = ClosureDumper.createWriter(file)) {
+			processor.dumpSetS(writer, ClosureDumper.Format.NTRIPLES);
+		}
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+			Assertions.assertEquals(nTriples.toString(),
+					reader.lines().map(line -> line + "\n").collect(Collectors.joining()));
+		}
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>A(a) ,</li>
+	 * <li>B(b)</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>B(a)</li>
+	 * </ul>
+	 */
+	@Test
+	public void testInstances() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+		IntegerNamedIndividual indivB = createNewIndividual(factory, "b");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(b, indivB.getId(), annotations));
+
+		IntegerReasoner reasoner = new RuleBasedReasoner(ontology, factory);
+		reasoner.classify();
+
+		Set<Set<IntegerNamedIndividual>> expected = new HashSet<>();
+		expected.add(Collections.singleton(indivB));
+		Assertions.assertEquals(expected, reasoner.getInstances(b, true));
+
+		expected.add(Collections.singleton(indivA));
+		Assertions.assertEquals(expected, reasoner.getInstances(b, false));
+
+		Assertions.assertEquals(Collections.singleton(Collections.singleton(indivA)), reasoner.getInstances(a, false));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>\u2203 r . B \u2291 C ,</li>
+	 * <li>s \u2291 r ,</li>
+	 * <li>A(a) ,</li>
+	 * <li>B(b)</li>
+	 * </ol>
+	 * A stored classification has the same hierarchies and maps as the
+	 * processor that computed it.
+	 */
+	@Test
+	public void testMappedProcessor() throws IOException {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerObjectProperty s = createNewObjectProperty(factory, "s");
+		IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+		IntegerNamedIndividual indivB = createNewIndividual(factory, "b");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubClassOfAxiom(factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createSubObjectPropertyOfAxiom(s, r, annotations));
+
+		// 4
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		// 5
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(b, indivB.getId(), annotations));
+
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(ontology, factory);
+		reasoner.classify();
+		Processor processor = reasoner.getProcessor();
+		File file = File.createTempFile("jcel", ".classification");
+		file.deleteOnExit();
+		MappedProcessor.save(processor, file);
+		MappedProcessor mappedProcessor = new MappedProcessor(file);
+
+		Assertions.assertTrue(mappedProcessor.isReady());
+		Assertions.assertFalse(mappedProcessor.process());
+		Assertions.assertEquals(processor.getClassHierarchy(), mappedProcessor.getClassHierarchy());
+		Assertions.assertEquals(processor.getObjectPropertyHierarchy(), mappedProcessor.getObjectPropertyHierarchy());
+		Assertions.assertEquals(processor.getDataPropertyHierarchy(), mappedProcessor.getDataPropertyHierarchy());
+		Assertions.assertEquals(processor.getDirectTypes(), mappedProcessor.getDirectTypes());
+		Assertions.assertEquals(processor.getSameIndividualMap(), mappedProcessor.getSameIndividualMap());
+		Assertions.assertEquals(processor.getClassHierarchy().getAncestors(a.getId()),
+				mappedProcessor.getClassHierarchy().getAncestors(a.getId()));
+		Assertions.assertTrue(mappedProcessor.getObjectPropertyHierarchy().getParents(s.getId()).contains(r.getId()));
+		Assertions.assertEquals(Collections.singleton(a.getId()),
+				mappedProcessor.getDirectTypes().get(indivA.getId()));
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> mappedProcessor.getClassHierarchy().getParents(indivA.getId() + 1000));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>\u2203 r . B \u2291 C ,</li>
+	 * <li>r \u2218 r \u2291 r ,</li>
+	 * <li>r<sup>-</sup> \u2291 s ,</li>
+	 * <li>A(a)</li>
+	 * </ol>
+	 * A reasoner created from a saved and loaded normalized ontology snapshot
+	 * infers the same as a reasoner created from the ontology.
+	 */
+	@Test
+	public void testNormalizedOntologySnapshot() throws IOException {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerObjectProperty s = createNewObjectProperty(factory, "s");
+		IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubClassOfAxiom(factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createTransitiveObjectPropertyAxiom(r, annotations));
+
+		// 4
+		ontology.add(factory.getComplexAxiomFactory()
+				.createSubObjectPropertyOfAxiom(factory.getDataTypeFactory().createObjectInverseOf(r), s, annotations));
+
+		// 5
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		NormalizedOntologySnapshot snapshot = RuleBasedReasoner.createNormalizedOntologySnapshot(ontology, factory)
+				.withSource("source");
+		File file = File.createTempFile("jcel", ".snapshot");
+		file.deleteOnExit();
+		snapshot.save(file);
+
+		NormalizedOntologySnapshot loadedSnapshot = NormalizedOntologySnapshot.load(file,
+				factory.getNormalizedAxiomFactory());
+		IntegerOntologyObjectFactory snapshotFactory = new IntegerOntologyObjectFactoryImpl(
+				loadedSnapshot.getEntityManager());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new RuleBasedReasoner(loadedSnapshot, factory));
+		Assertions.assertEquals("source", loadedSnapshot.getSource());
+		Assertions.assertEquals(snapshot.getAxioms(), loadedSnapshot.getAxioms());
+		Assertions.assertEquals(snapshot.getClasses(), loadedSnapshot.getClasses());
+		Assertions.assertEquals(snapshot.getObjectProperties(), loadedSnapshot.getObjectProperties());
+		Assertions.assertEquals(snapshot.getExpressivity().toString(), loadedSnapshot.getExpressivity().toString());
+		Assertions.assertEquals(factory.getEntityManager().size(), loadedSnapshot.getEntityManager().size());
+		Assertions.assertEquals(factory.getEntityManager().getName(indivA.getId()),
+				loadedSnapshot.getEntityManager().getName(indivA.getId()));
+		Assertions.assertEquals(factory.getEntityManager().getAuxiliaryInverseObjectProperties(),
+				loadedSnapshot.getEntityManager().getAuxiliaryInverseObjectProperties());
+		Assertions.assertEquals(factory.getEntityManager().getAuxiliaryNominal(indivA.getId()),
+				loadedSnapshot.getEntityManager().getAuxiliaryNominal(indivA.getId()));
+
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(snapshot, factory);
+		RuleBasedReasoner loadedReasoner = new RuleBasedReasoner(loadedSnapshot, snapshotFactory);
+		reasoner.classify();
+		loadedReasoner.classify();
+		for (IntegerClass cls : new IntegerClass[] { a, b, c }) {
+			Assertions.assertEquals(reasoner.getSuperClasses(cls, false), loadedReasoner.getSuperClasses(cls, false));
+		}
+		Assertions.assertEquals(reasoner.getSuperObjectProperties(r, false),
+				loadedReasoner.getSuperObjectProperties(r, false));
+		Assertions.assertEquals(reasoner.getTypes(indivA, false), loadedReasoner.getTypes(indivA, false));
+		Assertions.assertTrue(loadedReasoner.getTypes(indivA, false).contains(Collections.singleton(b)));
+	}
+
+	/**
+	 * <ol>
+	 * <li>r \u2291 s ,</li>
+	 * <li>s \u2218 s \u2291 s ,</li>
+	 * <li>r(a, b) ,</li>
+	 * <li>s(b, c)</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>s(a, b) ,</li>
+	 * <li>s(a, c)</li>
+	 * </ul>
+	 * with and without ABox materialization mode.
+	 */
+	@Test
+	public void testObjectPropertyValues() {
+		for (boolean aboxMaterializationMode : new boolean[] { false, true }) {
+			Set<IntegerAnnotation> annotations = new TreeSet<>();
+			IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+			Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+			IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+			IntegerObjectProperty s = createNewObjectProperty(factory, "s");
+			IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+			IntegerNamedIndividual indivB = createNewIndividual(factory, "b");
+			IntegerNamedIndividual indivC = createNewIndividual(factory, "c");
+
+			// 1
+			ontology.add(factory.getComplexAxiomFactory().createSubObjectPropertyOfAxiom(r, s, annotations));
+
+			// 2
+			ontology.add(factory.getComplexAxiomFactory().createTransitiveObjectPropertyAxiom(s, annotations));
+
+			// 3
+			ontology.add(factory.getComplexAxiomFactory().createObjectPropertyAssertionAxiom(r, indivA.getId(),
+					indivB.getId(), annotations));
+
+			// 4
+			ontology.add(factory.getComplexAxiomFactory().createObjectPropertyAssertionAxiom(s, indivB.getId(),
+					indivC.getId(), annotations));
+
+			IntegerReasoner reasoner = new RuleBasedReasoner(ontology, factory, aboxMaterializationMode);
+			reasoner.classify();
+
+			Assertions.assertEquals(Collections.singleton(Collections.singleton(indivB)),
+					reasoner.getObjectPropertyValues(indivA, r));
+
+			Set<Set<IntegerNamedIndividual>> expected = new HashSet<>();
+			expected.add(Collections.singleton(indivB));
+			expected.add(Collections.singleton(indivC));
+			Assertions.assertEquals(expected, reasoner.getObjectPropertyValues(indivA, s));
+
+			Assertions.assertEquals(Collections.emptySet(), reasoner.getObjectPropertyValues(indivC, s));
+		}
+	}
+
 	/**
 	 * <ol>
 	 * <li>L \u2291 &exist; s <i>.</i> \u22A4 ,</li>
@@ -491,4 +1051,105 @@ public class RuleBasedReasonerTest {
 		assertUniqueDirectSubClass(reasoner, d, e);
 	}
 
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>r \u2291 s</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>r \u2291 s (without classifying the ontology),</li>
+	 * <li>A \u2291 B</li>
+	 * </ul>
+	 * and a classified reasoner reports both hierarchies as precomputed.
+	 */
+	@Test
+	public void testPrecomputeInferences() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerObjectProperty s = createNewObjectProperty(factory, "s");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createSubObjectPropertyOfAxiom(r, s, annotations));
+
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(ontology, factory);
+		reasoner.precomputeInferences(Collections.singleton(IntegerInferenceType.OBJECT_PROPERTY_HIERARCHY));
+		Assertions.assertTrue(reasoner.isPrecomputed(IntegerInferenceType.OBJECT_PROPERTY_HIERARCHY));
+		Assertions.assertFalse(reasoner.isPrecomputed(IntegerInferenceType.CLASS_HIERARCHY));
+		Assertions.assertFalse(reasoner.isClassified());
+		Assertions.assertThrows(UnclassifiedOntologyException.class,
+				() -> reasoner.getProcessor().getObjectPropertyHierarchy());
+
+		reasoner.precomputeInferences(Collections.singleton(IntegerInferenceType.CLASS_HIERARCHY));
+		Assertions.assertTrue(reasoner.isPrecomputed(IntegerInferenceType.CLASS_HIERARCHY));
+		Assertions.assertTrue(reasoner.isClassified());
+		Assertions.assertEquals(Collections.singleton(s.getId()),
+				reasoner.getProcessor().getObjectPropertyHierarchy().getParents(r.getId()));
+		Assertions.assertEquals(Collections.singleton(Collections.singleton(b)), reasoner.getSuperClasses(a, true));
+
+		RuleBasedReasoner classifiedReasoner = new RuleBasedReasoner(ontology, factory);
+		classifiedReasoner.classify();
+		Assertions.assertTrue(classifiedReasoner.isPrecomputed(IntegerInferenceType.CLASS_HIERARCHY));
+		Assertions.assertTrue(classifiedReasoner.isPrecomputed(IntegerInferenceType.OBJECT_PROPERTY_HIERARCHY));
+		Assertions.assertFalse(classifiedReasoner.isPrecomputed(IntegerInferenceType.OBJECT_PROPERTY_ASSERTIONS));
+		classifiedReasoner.precomputeInferences(Collections.singleton(IntegerInferenceType.OBJECT_PROPERTY_ASSERTIONS));
+		Assertions.assertTrue(classifiedReasoner.isPrecomputed(IntegerInferenceType.OBJECT_PROPERTY_ASSERTIONS));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>A(a) ,</li>
+	 * <li>r(a, b)</li>
+	 * </ol>
+	 * is exported as the realization
+	 * <ul>
+	 * <li>A(a) ,</li>
+	 * <li>r(a, b)</li>
+	 * </ul>
+	 */
+	@Test
+	public void testRealizationExporter() throws IOException {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerNamedIndividual indivA = createNewIndividual(factory, "a");
+		IntegerNamedIndividual indivB = createNewIndividual(factory, "b");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createObjectPropertyAssertionAxiom(r, indivA.getId(),
+				indivB.getId(), annotations));
+
+		RuleBasedReasoner reasoner = new RuleBasedReasoner(ontology, factory);
+		reasoner.classify();
+
+		StringWriter writer = new StringWriter();
+		long numberOfAssertions = new RealizationExporter((RuleBasedProcessor) reasoner.getProcessor())
+				.export(writer);
+		Assertions.assertEquals(2, numberOfAssertions);
+
+		String lineSeparator = System.lineSeparator();
+		String expected = "Ontology(" + lineSeparator + "ClassAssertion(<A> <a>)" + lineSeparator
+				+ "ObjectPropertyAssertion(<r> <a> <b>)" + lineSeparator + ")" + lineSeparator;
+		Assertions.assertEquals(expected, writer.toString());
+	}
+
 }
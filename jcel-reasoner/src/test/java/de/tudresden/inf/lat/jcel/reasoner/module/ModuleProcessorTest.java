@@ -0,0 +1,208 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RuleBasedProcessor;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.ComplexAxiomExpressivityDetector;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.normalization.OntologyNormalizer;
+
+/**
+ * Set of tests for the module processors.
+ * 
+ * @see ModuleProcessor
+ * @see ClassModuleProcessor
+ * 
+ * @author Julian Mendez
+ */
+public class ModuleProcessorTest {
+
+	private static final int numberOfModules = 0x20;
+
+	/**
+	 * Constructs a new set of tests for the module processors.
+	 */
+	public ModuleProcessorTest() {
+	}
+
+	private IntegerClass createNewClass(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory()
+				.createClass(factory.getEntityManager().createNamedEntity(IntegerEntityType.CLASS, name, false));
+	}
+
+	private IntegerObjectProperty createNewObjectProperty(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory().createObjectProperty(
+				factory.getEntityManager().createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, name, false));
+	}
+
+	/**
+	 * Creates an ontology with independent modules, where each module has the
+	 * following axioms:
+	 * <ul>
+	 * <li>A<sub>i</sub> \u2291 &exist; r<sub>i</sub> <i>.</i> B<sub>i</sub>
+	 * ,</li>
+	 * <li>&exist; r<sub>i</sub> <i>.</i> B<sub>i</sub> \u2291 C<sub>i</sub>
+	 * ,</li>
+	 * <li>C<sub>i</sub> \u2291 D<sub>i</sub></li>
+	 * </ul>
+	 */
+	private Set<ComplexIntegerAxiom> createOntology(IntegerOntologyObjectFactory factory) {
+		Set<IntegerAnnotation> annotations = Collections.emptySet();
+		Set<ComplexIntegerAxiom> ret = new HashSet<>();
+		for (int i = 0; i < numberOfModules; i++) {
+			IntegerClass a = createNewClass(factory, "A" + i);
+			IntegerClass b = createNewClass(factory, "B" + i);
+			IntegerClass c = createNewClass(factory, "C" + i);
+			IntegerClass d = createNewClass(factory, "D" + i);
+			IntegerObjectProperty r = createNewObjectProperty(factory, "r" + i);
+			ret.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+					factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), annotations));
+			ret.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+					factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), c, annotations));
+			ret.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(c, d, annotations));
+		}
+		return ret;
+	}
+
+	private ModuleProcessorFactory createProcessorFactory(IntegerOntologyObjectFactory factory) {
+		return axioms -> {
+			Set<Integer> classSet = new HashSet<>();
+			Set<Integer> objectPropertySet = new HashSet<>();
+			axioms.forEach(axiom -> {
+				classSet.addAll(axiom.getClassesInSignature());
+				objectPropertySet.addAll(axiom.getObjectPropertiesInSignature());
+			});
+			Set<NormalizedIntegerAxiom> normalizedAxiomSet = new OntologyNormalizer().normalize(axioms, factory);
+			return new RuleBasedProcessor(objectPropertySet, classSet, normalizedAxiomSet,
+					new ComplexAxiomExpressivityDetector(axioms), factory.getNormalizedAxiomFactory(),
+					factory.getEntityManager());
+		};
+	}
+
+	private IntegerHierarchicalGraph classify(Processor processor) {
+		while (processor.process()) {
+		}
+		return processor.getClassHierarchy();
+	}
+
+	private Integer getClassId(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getEntityManager().getEntities(IntegerEntityType.CLASS, false).stream()
+				.filter(elem -> factory.getEntityManager().getName(elem).equals(name)).findFirst().get();
+	}
+
+	@Test
+	public void testCachingModuleProcessorFactory() {
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		Set<ComplexIntegerAxiom> ontology = createOntology(factory);
+		ModuleProcessorFactory processorFactory = createProcessorFactory(factory);
+		CachingModuleProcessorFactory cachingFactory = new CachingModuleProcessorFactory(processorFactory,
+				2 * numberOfModules);
+
+		classify(new ModuleProcessor(ontology, cachingFactory));
+		Assertions.assertEquals(0, cachingFactory.getHits());
+		Assertions.assertEquals(numberOfModules, cachingFactory.getMisses());
+
+		Set<IntegerAnnotation> annotations = Collections.emptySet();
+		Set<ComplexIntegerAxiom> revisedOntology = new HashSet<>(ontology);
+		revisedOntology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(createNewClass(factory, "E"),
+				createNewClass(factory, "F"), annotations));
+		revisedOntology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+				factory.getDataTypeFactory().createClass(getClassId(factory, "D0")), createNewClass(factory, "G"),
+				annotations));
+
+		IntegerHierarchicalGraph actual = classify(new ModuleProcessor(revisedOntology, cachingFactory, 4));
+		Assertions.assertEquals(numberOfModules - 1, cachingFactory.getHits());
+		Assertions.assertEquals(numberOfModules + 2, cachingFactory.getMisses());
+
+		IntegerHierarchicalGraph expected = classify(new ModuleProcessor(revisedOntology, processorFactory));
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testConcurrentClassModuleProcessor() {
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		Set<ComplexIntegerAxiom> ontology = createOntology(factory);
+		ModuleProcessorFactory processorFactory = createProcessorFactory(factory);
+
+		IntegerHierarchicalGraph expected = classify(new ClassModuleProcessor(ontology, factory, processorFactory));
+		IntegerHierarchicalGraph actual = classify(
+				new ClassModuleProcessor(ontology, factory, processorFactory, 4));
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testConcurrentModuleProcessor() {
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		Set<ComplexIntegerAxiom> ontology = createOntology(factory);
+		ModuleProcessorFactory processorFactory = createProcessorFactory(factory);
+
+		IntegerHierarchicalGraph expected = classify(new ModuleProcessor(ontology, processorFactory));
+		IntegerHierarchicalGraph actual = classify(new ModuleProcessor(ontology, processorFactory, 4));
+		Assertions.assertEquals(expected, actual);
+
+		Set<Integer> expectedParents = new HashSet<>();
+		expectedParents.add(getClassId(factory, "C0"));
+		Assertions.assertEquals(expectedParents, actual.getParents(getClassId(factory, "A0")));
+	}
+
+}